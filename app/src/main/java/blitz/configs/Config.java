@@ -54,6 +54,7 @@ public class Config {
     // -=-=-=- Export Dialogue -=-=-=-
 
     public static final Dimension EXPORT_DIALOGUE_DIMENSIONS = new Dimension(300, 140);
+    public static final double EXPORT_CONTROLLER_PERIOD = 0.010; // Seconds between the setpoints of timed exports
 
 
 
@@ -106,6 +107,12 @@ public class Config {
     public static final double MAX_ZOOM_SCALE_VALUE = 2;
     public static final double ZOOM_IN_COEFFICIENT = 1.05; // Must be >1
     public static final double ZOOM_OUT_COEFFICIENT = 0.95; // Must be <1
+    public static final int FIELD_IMAGE_BUCKETS_PER_OCTAVE = 4; // Cached field image sizes per doubling of zoom
+    public static final int FIELD_IMAGE_CACHED_LEVELS = 4; // Zoom buckets kept in memory per field image
+    public static final int CANVAS_CULLING_MARGIN = 100; // Pixels around the viewport still drawn
+    public static final int CANVAS_DEFAULT_REFRESH_RATE = 60; // Frames per second when the display rate is unknown
+    public static final int CANVAS_FRAME_STATS_LOG_INTERVAL = 600; // Frames between frame statistics reports at the FINE log level
+    public static final boolean CANVAS_ACCELERATED_STATIC_LAYER = true; // Cache the static canvas content in video memory where available
 
     public static final String PATH_TO_PLUS_CURSOR_IMAGE = "app/src/main/java/blitz/resources/images/cursors/plus.png";
     public static final String PATH_TO_SCISSORS_CURSOR_IMAGE = "app/src/main/java/blitz/resources/images/cursors/scissors.png";
@@ -135,17 +142,34 @@ public class Config {
     public static final HexColor DEFAULT_FOLLOW_POINTER_COLOR = new HexColor("#33ff1c");
     public static final HexColor HIGHLIGHTED_FOLLOW_POINTER_COLOR = new HexColor("#fcdf3a");
     public  static final int FOLLOW_POINTER_DIAMETER = 8;
+    public static final int FOLLOW_POINTER_LOD_THRESHOLD = 4; // Pixels, closer follow points are collapsed into one
+    public static final int FOLLOW_POINTER_LOD_LEVELS = 8; // Decimated levels of the follow point index
+    public static final double FOLLOW_POINTER_LOD_BASE_SPACING = 1.0 / 32; // Inches between points of the finest decimated level, doubled per level
 
     // -=- HelperPointer -=-
 
     public static final HexColor DEFAULT_HELPER_POINTER_COLOR = new HexColor("#f57e1d");
     public  static final int HELPER_POINTER_DIAMETER = 12;
 
+    // -=- Hit-testing -=-
+
+    public static final int POINTER_GRID_CELL_SIZE = 32; // Pixels, must not be less than the largest pointer diameter
+
     // -=- HelperLine -=-
 
     public static final float HELPER_LINE_THICKNESS = 2f;
     public static final HexColor HELPER_LINE_COLOR = new HexColor("f57e1d");
 
+    // -=- Robot -=-
+
+    public static final double ROBOT_WIDTH = 18; // Inches
+    public static final double ROBOT_LENGTH = 18; // Inches
+    public static final HexColor ROBOT_COLOR = new HexColor("#e8412c");
+    public static final HexColor ROBOT_HEADING_COLOR = new HexColor("#ffffff");
+    public static final double[] PLAYBACK_SPEED_MULTIPLIERS = {0.25, 0.5, 1, 2, 4};
+    public static final int PLAYBACK_DEFAULT_SPEED_INDEX = 2; // Index of the multiplier used when playback starts
+    public static final double PLAYBACK_MAX_FRAME_TIME = 0.25; // Seconds, longer stalls of the EDT do not make the robot jump further
+
 
 
     // -=-=-=- CanvasInteractionPanel -=-=-=-
@@ -163,6 +187,7 @@ public class Config {
         public static final Font NORMAL_LABEL_FONT = new Font("Arial", Font.BOLD, 14);
         public static final String STANDART_TEXT_FIELD_DOUBLE_REGEX = "-?\\d{0,3}(\\.\\d{0,4})?";
         public static final String STANDART_TEXT_FIELD_INT_REGEX = "-?\\d{0,3}?";
+        public static final int INFO_PANEL_REFRESH_RATE = 30; // Max updates per second while the active entities keep changing, e.g. during a drag
 
 
 
@@ -185,6 +210,7 @@ public class Config {
     public static final Dimension OPTIONS_BAR_EMPTY_SPACE_PREFERRED_DIMENSIONS = new Dimension(8, 0);
     
     public static final int SPACING_BETWEEN_TRAJECTORY_LAYERS = 8;
+    public static final int SELECTION_ROW_SEPARATOR_THICKNESS = 2; // Line above every trajectory but the first, rows have a fixed height
     
     public static final HexColor SELECTION_PANEL_BACKGROUND_COLOR = new HexColor("#999999");
     public static final HexColor HEADER_PANEL_COLOR = new HexColor("#eeeeee");
@@ -237,6 +263,39 @@ public class Config {
     public static final double CONTROL_POINT_MAX_NUM_SEGMENTS = 200;
     public static final double CONTROL_POINT_MIN_TIME = 0;
 
+    public static final double TRAJECTORY_DEFAULT_TRACK_WIDTH = 12; // Inches between the left and right wheels
+
+    public static final double SPEED_PLANNER_MAX_LATERAL_ACCELERATION = 150; // Speed units squared per inch, v^2 k of the lateral acceleration planner
+    public static final double SPEED_PLANNER_LOOKAHEAD = 12; // Inches ahead the lateral acceleration planner slows down for turns
+
+    public static final double HEADING_MAX_TURN_RATE = 6; // Degrees the heading of a holonomic robot may turn per inch traveled between keyframes
+
+    public static final long HISTORY_MEMORY_BUDGET = 16L * 1024 * 1024; // Estimated bytes of all undo entries
+
+    public static final String JOURNAL_DIRECTORY = System.getProperty("user.home") + "/.blitz/journal";
+    public static final int JOURNAL_LOG_CAPACITY = 4 * 1024 * 1024; // Bytes of the memory-mapped edit log
+    public static final int JOURNAL_COMPACTION_THRESHOLD = 2000; // Records appended before the log is compacted
+    public static final long JOURNAL_FORCE_INTERVAL = 1000; // Milliseconds between flushes of the edit log to disk
+
+    public static final double PLAYBACK_TIME_STEP = 1.0 / 120; // Seconds between the samples of a robot pose table
+
+    public static final double MOTION_PROFILE_MAX_ACCELERATION = 120; // Speed units per second
+    public static final double MOTION_PROFILE_MAX_JERK = 600; // Speed units per second squared
+    public static final double MOTION_PROFILE_MIN_VELOCITY = 1; // Lower follow point speeds are raised to it, so the robot always arrives
+    public static final int MOTION_PROFILE_TIMING_ITERATIONS = 8; // Passes refining the velocity caps that meet control point times
+    public static final double MOTION_PROFILE_TIMING_TOLERANCE = 0.01; // Relative error of an arrival time that needs no refinement
+
+    public static final double SIMULATION_TIME_STEP = 0.005; // Seconds per step of the tracking simulator
+    public static final double SIMULATION_LOOKAHEAD = 12; // Inches from the robot to the pure pursuit target point
+    public static final double SIMULATION_VELOCITY_GAIN = 20; // Per second, proportional gain of the simulated wheel velocity loops
+    public static final double SIMULATION_MAX_WHEEL_ACCELERATION = 240; // Speed units per second
+    public static final double SIMULATION_END_TOLERANCE = 1; // Inches from the end of the path at which the robot has arrived
+    public static final double SIMULATION_TIMEOUT_FACTOR = 3; // Multiple of the profiled duration after which a run has failed
+    public static final int SWEEP_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors()); // Workers evaluating parameter sets in parallel
+
+    public static final boolean MODEL_ACCESS_DEBUG = Boolean.getBoolean("blitz.debugModelAccess"); // Report unguarded cross-thread model access
+    public static final int MODEL_EVENT_METRICS_LOG_INTERVAL = 1000; // Event bus batches between delivery metrics reports, logged at FINE
+
     
 
     // -=-=-=- Services Config -=-=-=-
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.access;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.SwingUtilities;
+
+import blitz.configs.Config;
+
+/**
+ * Guards concurrent access to the model of one workspace ({@code Trajectory},
+ * {@code ControlPoint} and its trajectories list). Every workspace owns its own
+ * instance, so work on one workspace never blocks or invalidates another.
+ *
+ * The Event Dispatch Thread owns the model: it edits it and may read it without
+ * any locking. Every mutator takes a short write lock, so background threads
+ * (calculations, exports, analysis) read a consistent model by wrapping their
+ * reads in {@link #read(Supplier)}. Reads first run optimistically without
+ * blocking and are repeated under a read lock only if a write happened meanwhile.
+ *
+ * The write lock is reentrant for its owner thread, so mutators may call each
+ * other freely. Upgrading a read to a write would deadlock and throws
+ * {@link IllegalStateException} instead.
+ *
+ * Model objects that do not belong to any workspace yet use {@link #UNBOUND},
+ * which guards nothing: they are confined to the thread building them.
+ *
+ * Mutators mark the objects they modify through {@link #markModified(Object)},
+ * so that consumers such as the undo history only revisit what changed.
+ *
+ * With {@link Config#MODEL_ACCESS_DEBUG} enabled, model reads outside the EDT
+ * that are neither wrapped in {@link #read(Supplier)} nor made by the writing
+ * thread are reported once per call site.
+ *
+ * @author Valery Rabchanka
+ */
+public final class ModelAccess {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    /**
+     * Logger instance for logging information and errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ModelAccess.class.getName());
+
+    /**
+     * Call sites already reported in debug mode.
+     */
+    private static final Set<String> REPORTED = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Access of model objects that are not part of any workspace.
+     */
+    public static final ModelAccess UNBOUND = new ModelAccess(false);
+
+    private final boolean guarding;
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Thread holding the write lock and its reentrancy depth.
+     */
+    private volatile Thread writeOwner;
+    private int writeDepth;
+
+    /**
+     * Per-thread depth of enclosing read sections, optimistic or locked.
+     */
+    private final ThreadLocal<int[]> readDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Model objects modified since the last {@link #takeModified()}, guarded by the write lock.
+     */
+    private Set<Object> modified = Collections.newSetFromMap(new IdentityHashMap<>());
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    /**
+     * Initializes the access guard of a workspace.
+     */
+    public ModelAccess() {
+        this(true);
+    }
+
+    private ModelAccess(boolean guarding) {
+        this.guarding = guarding;
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Runs a read of the model. The read is first attempted optimistically and is
+     * retried under a read lock if a write interfered. Since an optimistic read may
+     * observe a model that is being modified, any runtime exception thrown during
+     * it is treated as interference as well.
+     *
+     * @param <T> the type of the result
+     * @param reader the read to perform, possibly more than once; must not modify the model
+     * @return the result of a read that did not overlap any write
+     */
+    public <T> T read(Supplier<T> reader) {
+        if (!guarding) {
+            return reader.get();
+        }
+        int[] depth = readDepth.get();
+        if (writeOwner == Thread.currentThread() || depth[0] > 0) {
+            return reader.get();
+        }
+
+        depth[0]++;
+        try {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    T result = reader.get();
+                    if (lock.validate(stamp)) {
+                        return result;
+                    }
+                } catch (RuntimeException e) {
+                    if (lock.validate(stamp)) {
+                        throw e;
+                    }
+                }
+            }
+
+            stamp = lock.readLock();
+            try {
+                return reader.get();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    /**
+     * Runs a modification of the model under the write lock.
+     *
+     * @param writer the modification to perform
+     */
+    public void write(Runnable writer) {
+        long stamp = lockWrite();
+        try {
+            writer.run();
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Acquires the write lock, or joins it if the current thread already holds it.
+     * Must be paired with {@link #unlockWrite(long)} in a {@code finally} block.
+     *
+     * @return the stamp to release the lock with
+     * @throws IllegalStateException if the current thread is inside a read
+     */
+    public long lockWrite() {
+        if (!guarding) {
+            return 0;
+        }
+        Thread current = Thread.currentThread();
+        if (writeOwner == current) {
+            writeDepth++;
+            return 0;
+        }
+        if (readDepth.get()[0] > 0) {
+            throw new IllegalStateException("The model cannot be modified while it is being read.");
+        }
+
+        long stamp = lock.writeLock();
+        writeOwner = current;
+        writeDepth = 1;
+        return stamp;
+    }
+
+    /**
+     * Releases a write lock acquired by {@link #lockWrite()}.
+     *
+     * @param stamp the stamp returned by {@link #lockWrite()}
+     */
+    public void unlockWrite(long stamp) {
+        if (!guarding) {
+            return;
+        }
+        if (--writeDepth == 0) {
+            writeOwner = null;
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Marks a model object as modified. Must be called while holding the write lock.
+     *
+     * @param object the modified object
+     */
+    public void markModified(Object object) {
+        if (guarding) {
+            modified.add(object);
+        }
+    }
+
+    /**
+     * Returns the model objects modified since the previous call and starts a
+     * new set.
+     *
+     * @return the modified objects, by identity
+     */
+    public Set<Object> takeModified() {
+        long stamp = lockWrite();
+        try {
+            Set<Object> taken = modified;
+            modified = Collections.newSetFromMap(new IdentityHashMap<>());
+            return taken;
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Checks whether the current thread may read the model right now. Does nothing
+     * unless {@link Config#MODEL_ACCESS_DEBUG} is enabled, in which case unguarded
+     * reads from threads other than the EDT are reported.
+     */
+    public void checkRead() {
+        if (Config.MODEL_ACCESS_DEBUG
+                && guarding
+                && !SwingUtilities.isEventDispatchThread()
+                && writeOwner != Thread.currentThread()
+                && readDepth.get()[0] == 0) {
+            report("Model read outside the Event Dispatch Thread without ModelAccess.read");
+        }
+    }
+
+    /**
+     * Logs an access violation once per call site.
+     */
+    private static void report(String message) {
+        Throwable trace = new Throwable(message);
+        StackTraceElement[] frames = trace.getStackTrace();
+        String site = message;
+        for (StackTraceElement frame : frames) {
+            if (!frame.getClassName().equals(ModelAccess.class.getName())
+                    && !frame.getClassName().startsWith("blitz.models.trajectories")
+                    && !frame.getClassName().startsWith("blitz.models.workspace")) {
+                site = message + " at " + frame;
+                break;
+            }
+        }
+        if (REPORTED.add(site)) {
+            LOGGER.log(Level.WARNING, site + " [" + Thread.currentThread().getName() + "]", trace);
+        }
+    }
+
+}
@@ -16,30 +16,28 @@
 
 package blitz.models.active;
 
-import java.util.ArrayList;
-
 import blitz.models.trajectories.Trajectory;
-import blitz.models.trajectories.trajectoriesList.TrajectoriesList;
 import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.models.workspace.Workspace;
 
 /**
  * Manages the active trajectory and control point with listener support.
  * 
+ * All methods delegate to the default {@link Workspace}.
+ * 
+ * @see Workspace
+ * 
  * @author Valery Rabchanka
  */
 public class ActiveEntities {
 
-    private static Trajectory activeTrajectory;
-    private static ControlPoint activeControlPoint;
-    private static ArrayList<ActiveEntitiesListener> listeners = new ArrayList<>();
-
     /**
      * Gets the currently active trajectory.
      * 
      * @return the active trajectory, or {@code null} if none is set
      */
     public static Trajectory getActiveTrajectory() {
-        return activeTrajectory;
+        return Workspace.getDefault().getActiveTrajectory();
     }
 
     /**
@@ -48,7 +46,7 @@ public class ActiveEntities {
      * @return the active control point, or {@code null} if none is set
      */
     public static ControlPoint getActiveControlPoint() {
-        return activeControlPoint;
+        return Workspace.getDefault().getActiveControlPoint();
     }
 
     /**
@@ -59,18 +57,7 @@ public class ActiveEntities {
      * @param activeTrajectory the trajectory to set as active, or {@code null} to clear
      */
     public static void setActiveTrajectory(Trajectory activeTrajectory) {
-        if (activeTrajectory == null) {
-            ActiveEntities.activeTrajectory = null;
-            ActiveEntities.activeControlPoint = null;
-            notifyActiveTrajectoryChanged();
-            notifyActiveControlPointChanged();
-            return;
-        }
-        if (activeTrajectory.isLocked() || !activeTrajectory.isVisible()) { return; }
-        ActiveEntities.activeTrajectory = activeTrajectory;
-        ActiveEntities.activeControlPoint = null;
-        notifyActiveTrajectoryChanged();
-        notifyActiveControlPointChanged();
+        Workspace.getDefault().setActiveTrajectory(activeTrajectory);
     }
 
     /**
@@ -80,20 +67,7 @@ public class ActiveEntities {
      * @param activeControlPoint the control point to set as active, or {@code null} to clear
      */
     public static void setActiveControlPoint(ControlPoint activeControlPoint) {
-        if (activeControlPoint == null) {
-            ActiveEntities.activeControlPoint = null;
-            notifyActiveControlPointChanged();
-            return;
-        }
-        if (activeControlPoint.isLocked()) { return; }
-
-        Trajectory newTrajectory = TrajectoriesList.getTrajectoryByControlPoint(activeControlPoint);
-        if (newTrajectory == null || newTrajectory.isLocked() || !newTrajectory.isVisible()) { return; }
-
-        ActiveEntities.activeControlPoint = activeControlPoint;
-        ActiveEntities.activeTrajectory = newTrajectory;
-        notifyActiveControlPointChanged();
-        notifyActiveTrajectoryChanged();
+        Workspace.getDefault().setActiveControlPoint(activeControlPoint);
     }
 
     /**
@@ -103,7 +77,7 @@ public class ActiveEntities {
      * @param listener the listener to add
      */
     public static void addActiveListener(ActiveEntitiesListener listener) {
-        listeners.add(listener);
+        Workspace.getDefault().addActiveListener(listener);
     }
 
     /**
@@ -113,42 +87,20 @@ public class ActiveEntities {
      * @param listener the listener to remove
      */
     public static void removeActiveListener(ActiveEntitiesListener listener) {
-        listeners.remove(listener);
-    }
-
-    /**
-     * Notifies all listeners that the active trajectory has changed.
-     */
-    private static void notifyActiveTrajectoryChanged() {
-        for (ActiveEntitiesListener listener : listeners) {
-            listener.activeTrajectoryChanged(activeTrajectory);
-        }
-    }
-
-    /**
-     * Notifies all listeners that the active control point has changed.
-     */
-    private static void notifyActiveControlPointChanged() {
-        for (ActiveEntitiesListener listener : listeners) {
-            listener.activeControlPointChanged(activeControlPoint);
-        }
+        Workspace.getDefault().removeActiveListener(listener);
     }
 
     /**
      * Notifies all listeners that the state of the active control point has been edited.
      */
     public static void notifyActiveControlPointStateEdited() {
-        for (ActiveEntitiesListener listener : listeners) {
-            listener.activeControlPointStateEdited(activeControlPoint);
-        }
+        Workspace.getDefault().notifyActiveControlPointStateEdited();
     }
 
     /**
      * Notifies all listeners that the state of the active trajectory has been edited.
      */
     public static void notifyActiveTrajectoryStateEdited() {
-        for (ActiveEntitiesListener listener : listeners) {
-            listener.activeTrajectoryStateEdited(activeTrajectory);
-        }
+        Workspace.getDefault().notifyActiveTrajectoryStateEdited();
     }
 }
@@ -18,6 +18,7 @@ package blitz.models.calculations;
 
 import java.util.ArrayList;
 
+import blitz.configs.Config;
 import blitz.models.trajectories.Trajectory;
 import blitz.models.trajectories.trajectoryComponents.ControlPoint;
 import blitz.models.trajectories.trajectoryComponents.FollowPoint;
@@ -47,6 +48,27 @@ public abstract class AbstractInterpolation {
      */
     protected AbstractSpline splineObj;
 
+    /**
+     * Signed curvature at the parameter of the last {@link #calculateSpeedAtT} call,
+     * recorded on the follow point created there.
+     */
+    protected double curvatureAtT;
+
+    /**
+     * Whether speeds are capped by the lateral acceleration instead of mapped from the bent rate.
+     */
+    private boolean lateralAccelerationPlanning = false;
+
+    /**
+     * Selects the speed planner of {@link #calculateSpeedAtT}.
+     * 
+     * @param lateralAccelerationPlanning {@code true} to cap speeds by the lateral acceleration,
+     *                                    {@code false} to map them from the bent rate
+     */
+    public void setLateralAccelerationPlanning(boolean lateralAccelerationPlanning) {
+        this.lateralAccelerationPlanning = lateralAccelerationPlanning;
+    }
+
     /**
      * Calculates the list of follow points for a given trajectory using the specified spline object.
      * 
@@ -60,6 +82,12 @@ public abstract class AbstractInterpolation {
      * Calculates the speed at a given parameter t based on the curvature (bent rate) of the spline 
      * and the minimum and maximum speed constraints.
      * 
+     * With the bent rate planner, the speed is mapped linearly from maxSpeed at minBentRate
+     * down to minSpeed at maxBentRate. With the lateral acceleration planner, it is the
+     * highest speed at which the lateral acceleration {@code v^2 k} stays within
+     * {@link Config#SPEED_PLANNER_MAX_LATERAL_ACCELERATION}, {@code sqrt(a / k)}, and the bent
+     * rate limits are not used.
+     * 
      * @param minSpeed the minimum allowable speed
      * @param maxSpeed the maximum allowable speed
      * @param minBentRate the minimum bent rate (curvature)
@@ -71,11 +99,79 @@ public abstract class AbstractInterpolation {
      */
     protected double calculateSpeedAtT(double minSpeed, double maxSpeed, double minBentRate, double maxBentRate, ControlPoint p0, ControlPoint p1, double t) {
 
-        double bentRate = splineObj.calculateBentRate(p0, p1, t);
+        // The bent rate is the magnitude of the curvature, evaluated once for both
+        curvatureAtT = splineObj.calculateCurvature(p0, p1, t);
+        double bentRate = Math.abs(curvatureAtT);
+
+        if (lateralAccelerationPlanning) {
+            return lateralAccelerationSpeed(minSpeed, maxSpeed, bentRate);
+        }
+
         bentRate = Math.max(minBentRate, Math.min(bentRate, maxBentRate));
         double speed = maxSpeed - (bentRate - minBentRate) * (maxSpeed - minSpeed) / (maxBentRate - minBentRate);
         return Math.max(minSpeed, speed);
 
     }
+
+    /**
+     * Returns the highest speed within the speed limits at which the lateral acceleration
+     * stays within {@link Config#SPEED_PLANNER_MAX_LATERAL_ACCELERATION}.
+     */
+    private static double lateralAccelerationSpeed(double minSpeed, double maxSpeed, double bentRate) {
+        double speed = Math.min(maxSpeed, Math.sqrt(Config.SPEED_PLANNER_MAX_LATERAL_ACCELERATION / bentRate));
+        return Math.max(minSpeed, speed);
+    }
+
+    /**
+     * Lowers the speed of every follow point to the lowest lateral acceleration speed
+     * limit within the lookahead distance ahead of it, so the robot has slowed down
+     * when it reaches a turn rather than braking inside it. Lower speeds, such as the
+     * stop at the end of the path, are kept.
+     * 
+     * The sliding minimum is taken with a monotonic deque while walking the follow
+     * points backwards: the deque holds the follow points ahead in increasing order of
+     * their limits, so its head is the minimum of the window. Every follow point enters
+     * and leaves the deque at most once, which makes the pass linear.
+     * 
+     * @param followPoints the follow points, in order along the path and with their
+     *                     curvatures; may be {@code null}
+     * @param minSpeed     the minimum allowable speed
+     * @param maxSpeed     the maximum allowable speed
+     * @param lookahead    the distance ahead to look for slower follow points
+     */
+    public static void applyLookahead(ArrayList<FollowPoint> followPoints, double minSpeed, double maxSpeed,
+            double lookahead) {
+        if (followPoints == null || followPoints.size() < 2) {
+            return;
+        }
+        int n = followPoints.size();
+
+        double[] distances = new double[n];
+        double[] limits = new double[n];
+        for (int i = 0; i < n; i++) {
+            FollowPoint fp = followPoints.get(i);
+            limits[i] = lateralAccelerationSpeed(minSpeed, maxSpeed, Math.abs(fp.getCurvature()));
+            if (i > 0) {
+                FollowPoint prev = followPoints.get(i - 1);
+                distances[i] = distances[i - 1] + Math.hypot(fp.getX() - prev.getX(), fp.getY() - prev.getY());
+            }
+        }
+
+        // Indices of the window, head at deque[head], speeds increasing towards the tail
+        int[] deque = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            while (tail > head && limits[deque[tail - 1]] >= limits[i]) {
+                tail--;
+            }
+            deque[tail++] = i;
+            while (distances[deque[head]] - distances[i] > lookahead) {
+                head++;
+            }
+            FollowPoint fp = followPoints.get(i);
+            fp.setSpeed(Math.min(fp.getSpeed(), limits[deque[head]]));
+        }
+    }
     
 }
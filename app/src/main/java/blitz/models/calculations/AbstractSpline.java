@@ -68,6 +68,67 @@ public abstract class AbstractSpline {
      */
     public abstract double calculateBentRate(ControlPoint p0, ControlPoint p1, double t);
 
+    /**
+     * Calculates the signed curvature of the segment at the given parameter t,
+     * positive where the path turns counterclockwise. The default implementation
+     * uses numerical derivatives; splines with closed-form derivatives override it.
+     * 
+     * @param p0 the starting control point
+     * @param p1 the ending control point
+     * @param t the interpolation parameter (0 ≤ t ≤ 1)
+     * @return the signed curvature, in inverse field units
+     */
+    public double calculateCurvature(ControlPoint p0, ControlPoint p1, double t) {
+        double[] d1 = firstDerivative(p0, p1, t);
+        double[] d2 = secondDerivative(p0, p1, t);
+        return curvatureOf(d1[0], d1[1], d2[0], d2[1]);
+    }
+
+    /**
+     * Calculates the direction of travel along the segment at the given parameter t,
+     * from the tangent of the curve. The default implementation uses numerical
+     * derivatives; splines with closed-form derivatives override it.
+     * 
+     * @param p0 the starting control point
+     * @param p1 the ending control point
+     * @param t the interpolation parameter (0 ≤ t ≤ 1)
+     * @return the tangent angle in degrees, counterclockwise from the x axis
+     */
+    public double calculateTangentAngle(ControlPoint p0, ControlPoint p1, double t) {
+        double[] d1 = firstDerivative(p0, p1, t);
+        double[] d2 = secondDerivative(p0, p1, t);
+        return tangentAngleOf(d1[0], d1[1], d2[0], d2[1], p0, p1);
+    }
+
+    /**
+     * Returns the angle of the tangent {@code (x', y')} in degrees. Where the first
+     * derivative vanishes, e.g. at an end of a segment whose helper point lies on its
+     * control point, the tangent points along the second derivative, or along the
+     * chord if the curve does not move at all.
+     */
+    protected static double tangentAngleOf(double xPrime, double yPrime, double xDoublePrime, double yDoublePrime,
+            ControlPoint p0, ControlPoint p1) {
+        if (xPrime != 0 || yPrime != 0) {
+            return Math.toDegrees(Math.atan2(yPrime, xPrime));
+        }
+        if (xDoublePrime != 0 || yDoublePrime != 0) {
+            return Math.toDegrees(Math.atan2(yDoublePrime, xDoublePrime));
+        }
+        return Math.toDegrees(Math.atan2(p1.getY() - p0.getY(), p1.getX() - p0.getX()));
+    }
+
+    /**
+     * Returns the signed curvature {@code (x' y'' - y' x'') / (x'^2 + y'^2)^(3/2)} of a
+     * parametric curve, or 0 where its first derivative vanishes.
+     */
+    protected static double curvatureOf(double xPrime, double yPrime, double xDoublePrime, double yDoublePrime) {
+        double denominator = Math.pow(xPrime * xPrime + yPrime * yPrime, 1.5);
+        if (denominator == 0) {
+            return 0;
+        }
+        return (xPrime * yDoublePrime - yPrime * xDoublePrime) / denominator;
+    }
+
     /**
      * Calculates the first derivative of the spline at a given parameter t using a small delta for numerical differentiation.
      * 
@@ -19,7 +19,9 @@ package blitz.models.calculations;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
+import blitz.configs.Config;
 import blitz.models.calculations.interpolations.EquidistantIntp;
 import blitz.models.calculations.interpolations.FixedAmountIntp;
 import blitz.models.calculations.interpolations.UniformIntp;
@@ -37,6 +39,7 @@ import blitz.models.trajectories.trajectoryComponents.FollowPoint;
  * <ul>
  * <li>Bezier and Linear splines.</li>
  * <li>Equidistant, Uniform, and Fixed Amount interpolation types.</li>
+ * <li>Bent Rate and Lateral Acceleration speed planners.</li>
  * </ul>
  * 
  * @see AbstractSpline
@@ -54,21 +57,27 @@ public class Calculations {
     public static final String LINEAR_SPLINE = "Linear";
     public static final String[] ALL_SPLINE_TYPES = new String[]{BEZIER_SPLINE, LINEAR_SPLINE};
     
-    // Map for storing available interpolation types
-    private static Map<String, AbstractInterpolation> INTERPOLATION_MAP = new HashMap<>();
+    // Map for storing available interpolation types. Interpolations keep per-call state,
+    // so a fresh instance is created for every calculation to allow concurrent use.
+    private static Map<String, Supplier<AbstractInterpolation>> INTERPOLATION_MAP = new HashMap<>();
     public static final String EQUIDISTANT_INTERPOLATION = "Equidistant";
     public static final String UNIFORM_INTERPOLATION = "Uniform";
     public static final String FIXED_SPACING_INTERPOLATION = "Fixed Amount";
     public static final String[] ALL_INTERPOLATION_TYPES = new String[]{EQUIDISTANT_INTERPOLATION, UNIFORM_INTERPOLATION, FIXED_SPACING_INTERPOLATION};
 
+    // Available speed planners, see AbstractInterpolation#calculateSpeedAtT
+    public static final String BENT_RATE_PLANNER = "Bent Rate";
+    public static final String LATERAL_ACCELERATION_PLANNER = "Lateral Accel.";
+    public static final String[] ALL_SPEED_PLANNER_TYPES = new String[]{BENT_RATE_PLANNER, LATERAL_ACCELERATION_PLANNER};
+
     // Static block to initialize spline and interpolation mappings
     static {
         SPLINE_MAP.put(LINEAR_SPLINE, new LinearSpline());
         SPLINE_MAP.put(BEZIER_SPLINE, new BezierSpline());
     
-        INTERPOLATION_MAP.put(EQUIDISTANT_INTERPOLATION, new EquidistantIntp());
-        INTERPOLATION_MAP.put(UNIFORM_INTERPOLATION, new UniformIntp());
-        INTERPOLATION_MAP.put(FIXED_SPACING_INTERPOLATION, new FixedAmountIntp());
+        INTERPOLATION_MAP.put(EQUIDISTANT_INTERPOLATION, EquidistantIntp::new);
+        INTERPOLATION_MAP.put(UNIFORM_INTERPOLATION, UniformIntp::new);
+        INTERPOLATION_MAP.put(FIXED_SPACING_INTERPOLATION, FixedAmountIntp::new);
     }
 
     /**
@@ -86,6 +95,21 @@ public class Calculations {
         return false;
     }
     
+    /**
+     * Checks if the provided speed planner type is valid by comparing it with the available speed planner types.
+     * 
+     * @param type the speed planner type to check
+     * @return {@code true} if the speed planner type is valid, otherwise {@code false}
+     */
+    public static boolean isValidSpeedPlannerType(String type) {
+        for (String validType : ALL_SPEED_PLANNER_TYPES) {
+            if (validType.equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Checks if the provided spline type is valid by comparing it with the available spline types.
      * 
@@ -111,7 +135,26 @@ public class Calculations {
      */
     public static ArrayList<FollowPoint> calculateFollowPoints(Trajectory tr) {
 
-        if (tr == null || tr.size() < 2) return null;
+        if (tr == null) return null;
+
+        try {
+            // Optimistic on the first attempt, repeated under a read lock if the trajectory was edited meanwhile
+            return tr.getAccess().read(() -> calculateUnguarded(tr));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Calculates the follow points without any guarding against concurrent modification.
+     * 
+     * @param tr the trajectory for which to calculate follow points
+     * @return the follow points, or {@code null} if calculation is not possible
+     */
+    private static ArrayList<FollowPoint> calculateUnguarded(Trajectory tr) {
+
+        if (tr.size() < 2) return null;
 
         String interpolationType = tr.getInterpolationType();
         if (!isValidInterpolationType(interpolationType)) return null;
@@ -120,14 +163,18 @@ public class Calculations {
         if (!isValidSplineType(splineType)) return null;
 
         AbstractSpline splineObj = SPLINE_MAP.get(splineType);
-        AbstractInterpolation intpObj = INTERPOLATION_MAP.get(interpolationType);
-        
-        try {
-            return intpObj.calculate(tr, splineObj);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+        AbstractInterpolation intpObj = INTERPOLATION_MAP.get(interpolationType).get();
+
+        boolean lateralAcceleration = LATERAL_ACCELERATION_PLANNER.equals(tr.getSpeedPlannerType());
+        intpObj.setLateralAccelerationPlanning(lateralAcceleration);
+        ArrayList<FollowPoint> followPoints = intpObj.calculate(tr, splineObj);
+
+        if (lateralAcceleration) {
+            // Brake ahead of every turn instead of inside it
+            AbstractInterpolation.applyLookahead(followPoints, tr.getMinSpeed(), tr.getMaxSpeed(),
+                Config.SPEED_PLANNER_LOOKAHEAD);
         }
-    }    
+        return followPoints;
+    }
     
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.calculations;
+
+import java.util.List;
+
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.FollowPoint;
+
+/**
+ * Left and right wheel velocities of a differential drive following a path.
+ * 
+ * At every follow point, the wheels of a robot driving at center velocity
+ * {@code v} along a path of curvature {@code k} with track width {@code w} move at
+ * <pre>
+ *     left  = v (1 - k w / 2)
+ *     right = v (1 + k w / 2)
+ * </pre>
+ * The curvature is the one the spline calculated for the follow point during
+ * interpolation, so nothing is sampled again. Where the outer wheel would exceed
+ * the wheel speed limit, the center velocity is scaled down until it does not,
+ * keeping the ratio of the wheels and thereby the path.
+ * 
+ * The calculation is a single pass over the follow points, cheap enough to be
+ * repeated on every edit. Results are immutable and may be calculated on any thread.
+ * 
+ * @author Valery Rabchanka
+ */
+public final class DifferentialDrive {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    private final List<FollowPoint> followPoints;
+    private final double trackWidth;
+    private final double[] centerVelocities;
+    private final double[] leftVelocities;
+    private final double[] rightVelocities;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    private DifferentialDrive(List<FollowPoint> followPoints, double trackWidth, double[] centerVelocities,
+            double[] leftVelocities, double[] rightVelocities) {
+        this.followPoints = followPoints;
+        this.trackWidth = trackWidth;
+        this.centerVelocities = centerVelocities;
+        this.leftVelocities = leftVelocities;
+        this.rightVelocities = rightVelocities;
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Calculates the wheel velocities of a trajectory with its track width, limiting
+     * each wheel to its maximum speed.
+     * 
+     * @param tr the trajectory
+     * @return the wheel velocities, or {@code null} if the trajectory has no path
+     */
+    public static DifferentialDrive of(Trajectory tr) {
+        return tr.getAccess().read(() -> {
+            double maxWheelSpeed = tr.getMaxSpeed() > 0 ? tr.getMaxSpeed() : Double.POSITIVE_INFINITY;
+            return of(Calculations.calculateFollowPoints(tr), tr.getTrackWidth(), maxWheelSpeed);
+        });
+    }
+
+    /**
+     * Calculates the wheel velocities along a path, taking the speeds of the follow
+     * points as center velocities.
+     * 
+     * @param followPoints  the follow points of the path, may be {@code null}
+     * @param trackWidth    the distance between the wheels, in field units
+     * @param maxWheelSpeed the speed limit of each wheel, may be infinite
+     * @return the wheel velocities, or {@code null} if there are no follow points
+     * @throws IllegalArgumentException if the track width or the speed limit is not positive
+     */
+    public static DifferentialDrive of(List<FollowPoint> followPoints, double trackWidth, double maxWheelSpeed) {
+        if (!(trackWidth > 0) || !(maxWheelSpeed > 0)) {
+            throw new IllegalArgumentException("Track width and wheel speed limit must be positive.");
+        }
+        if (followPoints == null || followPoints.isEmpty()) {
+            return null;
+        }
+
+        int n = followPoints.size();
+        double[] center = new double[n];
+        double[] left = new double[n];
+        double[] right = new double[n];
+        double halfWidth = trackWidth / 2;
+
+        for (int i = 0; i < n; i++) {
+            FollowPoint fp = followPoints.get(i);
+            double v = fp.getSpeed();
+            double k = fp.getCurvature();
+
+            // Wheel speed per unit of center speed, the outer wheel being the faster one
+            double leftRatio = 1 - k * halfWidth;
+            double rightRatio = 1 + k * halfWidth;
+            double outerRatio = Math.max(Math.abs(leftRatio), Math.abs(rightRatio));
+            if (Math.abs(v) * outerRatio > maxWheelSpeed) {
+                v = Math.copySign(maxWheelSpeed / outerRatio, v);
+            }
+
+            center[i] = v;
+            left[i] = v * leftRatio;
+            right[i] = v * rightRatio;
+        }
+
+        return new DifferentialDrive(followPoints, trackWidth, center, left, right);
+    }
+
+    /**
+     * @return the number of follow points
+     */
+    public int size() {
+        return centerVelocities.length;
+    }
+
+    /**
+     * @return the follow points the velocities were calculated for
+     */
+    public List<FollowPoint> getFollowPoints() {
+        return followPoints;
+    }
+
+    /**
+     * @return the distance between the wheels, in field units
+     */
+    public double getTrackWidth() {
+        return trackWidth;
+    }
+
+    /**
+     * @param i the index of a follow point
+     * @return the center velocity at the follow point, after wheel limiting
+     */
+    public double getCenterVelocity(int i) {
+        return centerVelocities[i];
+    }
+
+    /**
+     * @param i the index of a follow point
+     * @return the velocity of the left wheel at the follow point
+     */
+    public double getLeftVelocity(int i) {
+        return leftVelocities[i];
+    }
+
+    /**
+     * @param i the index of a follow point
+     * @return the velocity of the right wheel at the follow point
+     */
+    public double getRightVelocity(int i) {
+        return rightVelocities[i];
+    }
+
+}
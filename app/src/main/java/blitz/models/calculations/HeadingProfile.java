@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.calculations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import blitz.configs.Config;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.services.Utils;
+
+/**
+ * Heading of the robot along a path, independent of the direction of travel for
+ * holonomic drivetrains.
+ * 
+ * Control points with a heading are keyframes. Between two keyframes the heading
+ * turns the short way around along a smoothstep of the distance traveled, so it
+ * changes at rest at every keyframe and never faster than
+ * {@link Config#HEADING_MAX_TURN_RATE} degrees per unit of distance. A turn that fits
+ * starts right at its first keyframe; one that does not is cut short, and the next
+ * turn starts from the heading actually reached. Non-keyframe control points are
+ * passed through, the heading is held after the last keyframe, and where the first
+ * control point is no keyframe the path starts facing its tangent.
+ * 
+ * A path without keyframes faces its direction of travel, like a differential drive.
+ * 
+ * Either way, headings are evaluated by the interpolations in the same pass as the
+ * positions, from the analytic tangent of the spline rather than from neighbouring
+ * follow points.
+ * 
+ * @author Valery Rabchanka
+ */
+public final class HeadingProfile {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    private final List<ControlPoint> controlPoints;
+    private final AbstractSpline splineObj;
+
+    /**
+     * Whether any control point is a keyframe; otherwise the tangent is faced.
+     */
+    private final boolean hasKeyframes;
+
+    /**
+     * Distance along the path of every control point.
+     */
+    private final double[] distances;
+
+    /**
+     * Per turn between two keyframes: start distance, unwrapped start heading, turn
+     * in degrees and the distance over which it is made.
+     */
+    private final double[] turnStarts, turnHeadings, turnDeltas, turnLengths;
+
+    /**
+     * Index of the turn of the last lookup; follow points are evaluated in order.
+     */
+    private int cursor = 0;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    private HeadingProfile(List<ControlPoint> controlPoints, AbstractSpline splineObj) {
+        this.controlPoints = controlPoints;
+        this.splineObj = splineObj;
+
+        int n = controlPoints.size();
+        int keyframes = 0;
+        for (ControlPoint cp : controlPoints) {
+            if (cp.hasHeading()) {
+                keyframes++;
+            }
+        }
+        this.hasKeyframes = keyframes > 0;
+
+        if (!hasKeyframes) {
+            distances = null;
+            turnStarts = turnHeadings = turnDeltas = turnLengths = null;
+            return;
+        }
+
+        distances = new double[n];
+        for (int i = 0; i < n - 1; i++) {
+            distances[i + 1] = distances[i] + splineObj.getArcLength(controlPoints.get(i), controlPoints.get(i + 1), 0, 1);
+        }
+
+        // Keyframe indices, starting at the first control point in any case
+        ArrayList<Integer> indices = new ArrayList<>(keyframes + 1);
+        if (!controlPoints.get(0).hasHeading()) {
+            indices.add(0);
+        }
+        for (int i = 0; i < n; i++) {
+            if (controlPoints.get(i).hasHeading()) {
+                indices.add(i);
+            }
+        }
+
+        int numTurns = indices.size();
+        turnStarts = new double[numTurns];
+        turnHeadings = new double[numTurns];
+        turnDeltas = new double[numTurns];
+        turnLengths = new double[numTurns];
+
+        ControlPoint first = controlPoints.get(0);
+        double heading = first.hasHeading() ? first.getHeading()
+            : n > 1 ? splineObj.calculateTangentAngle(first, controlPoints.get(1), 0) : 0;
+
+        for (int k = 0; k < numTurns; k++) {
+            int from = indices.get(k);
+            turnStarts[k] = distances[from];
+            turnHeadings[k] = heading;
+            if (k == numTurns - 1) {
+                // Hold the last keyframe
+                break;
+            }
+
+            int to = indices.get(k + 1);
+            double length = distances[to] - distances[from];
+            double delta = Math.IEEEremainder(controlPoints.get(to).getHeading() - heading, 360);
+
+            // The smoothstep turns fastest halfway, at 1.5 times its mean rate
+            double maxDelta = Config.HEADING_MAX_TURN_RATE * length / 1.5;
+            if (Math.abs(delta) > maxDelta) {
+                delta = Math.copySign(maxDelta, delta);
+                turnLengths[k] = length;
+            } else {
+                turnLengths[k] = 1.5 * Math.abs(delta) / Config.HEADING_MAX_TURN_RATE;
+            }
+            turnDeltas[k] = delta;
+            heading += delta;
+        }
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Prepares the heading profile of a path for one interpolation pass.
+     * 
+     * @param controlPoints the control points of the path
+     * @param splineObj     the spline the path is interpolated with
+     * @return the heading profile
+     */
+    public static HeadingProfile of(List<ControlPoint> controlPoints, AbstractSpline splineObj) {
+        return new HeadingProfile(controlPoints, splineObj);
+    }
+
+    /**
+     * Returns whether any control point is a heading keyframe.
+     * 
+     * @return {@code false} if the robot faces its direction of travel
+     */
+    public boolean hasKeyframes() {
+        return hasKeyframes;
+    }
+
+    /**
+     * Returns the heading at a point of a segment.
+     * 
+     * @param segment  the index of the control point starting the segment
+     * @param fraction the traveled fraction of the arc length of the segment, which
+     *                 interpolations that do not track it may approximate with t
+     * @param t        the spline parameter of the point (0 ≤ t ≤ 1)
+     * @return the heading in degrees, in [0, 360)
+     */
+    public double headingAt(int segment, double fraction, double t) {
+        if (!hasKeyframes) {
+            return Utils.normalizeAngle(splineObj.calculateTangentAngle(
+                controlPoints.get(segment), controlPoints.get(segment + 1), t));
+        }
+        double distance = distances[segment] + fraction * (distances[segment + 1] - distances[segment]);
+        return headingAtDistance(distance);
+    }
+
+    /**
+     * Returns the heading at the last control point.
+     * 
+     * @return the heading in degrees, in [0, 360)
+     */
+    public double headingAtEnd() {
+        int n = controlPoints.size();
+        if (n < 2) {
+            return n == 1 && controlPoints.get(0).hasHeading() ? controlPoints.get(0).getHeading() : 0;
+        }
+        return headingAt(n - 2, 1, 1);
+    }
+
+    private double headingAtDistance(double distance) {
+        if (cursor > 0 && distance < turnStarts[cursor]) {
+            cursor = 0;
+        }
+        while (cursor < turnStarts.length - 1 && turnStarts[cursor + 1] <= distance) {
+            cursor++;
+        }
+
+        double heading = turnHeadings[cursor];
+        if (turnLengths[cursor] > 0) {
+            double s = Math.min(1, Math.max(0, (distance - turnStarts[cursor]) / turnLengths[cursor]));
+            heading += turnDeltas[cursor] * s * s * (3 - 2 * s);
+        }
+        return Utils.normalizeAngle(heading);
+    }
+
+}
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.calculations;
+
+import java.util.Arrays;
+import java.util.List;
+
+import blitz.configs.Config;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.models.trajectories.trajectoryComponents.FollowPoint;
+
+/**
+ * Time-parameterized motion profile along the follow points of a trajectory.
+ * 
+ * The profile assigns every follow point a velocity, an acceleration and the time
+ * at which the robot reaches it. It is calculated after interpolation in two
+ * passes over the follow points:
+ * <ul>
+ * <li>a forward pass accelerating from rest, ramping the acceleration up by at most
+ * the jerk limit, up to the acceleration limit and the velocity limit of every
+ * follow point;</li>
+ * <li>a backward pass doing the same from rest at the end, bounded by the forward
+ * velocities, which limits the deceleration into every slower part of the path.</li>
+ * </ul>
+ * The velocity limit of a follow point is its speed, raised to at least
+ * {@link Config#MOTION_PROFILE_MIN_VELOCITY} so that the robot always arrives.
+ * The jerk limit is honored within each pass, to the resolution of the follow
+ * points; where an acceleration phase of the forward pass meets a deceleration
+ * phase of the backward pass, the acceleration may change faster.
+ * 
+ * A control point with a positive {@link ControlPoint#getTime() time} is an
+ * arrival time, counted from the start of the path, at its first follow point.
+ * The velocities between two such control points are capped so that the robot
+ * does not arrive early; the caps are refined by a bounded number of passes, see
+ * {@link Config#MOTION_PROFILE_TIMING_ITERATIONS}. An arrival time the limits do
+ * not allow is met as early as the limits do allow.
+ * 
+ * Every pass is linear in the number of follow points. Profiles are immutable and
+ * may be calculated on any thread.
+ * 
+ * <p>
+ * Example usage:
+ * <pre>
+ *     MotionProfile profile = MotionProfile.of(trajectory);
+ *     for (int i = 0; i &lt; profile.size(); i++) {
+ *         double t = profile.getTime(i);
+ *         double v = profile.getVelocity(i);
+ *     }
+ * </pre>
+ * </p>
+ * 
+ * @author Valery Rabchanka
+ */
+public final class MotionProfile {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    /**
+     * Iterations of the Newton solver for the duration of a jerk-limited step.
+     */
+    private static final int STEP_SOLVER_ITERATIONS = 8;
+
+    private final List<FollowPoint> followPoints;
+    private final double[] distances;
+    private final double[] velocities;
+    private final double[] accelerations;
+    private final double[] times;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    private MotionProfile(List<FollowPoint> followPoints, double[] distances, double[] velocities,
+            double[] accelerations, double[] times) {
+        this.followPoints = followPoints;
+        this.distances = distances;
+        this.velocities = velocities;
+        this.accelerations = accelerations;
+        this.times = times;
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Calculates the motion profile of a trajectory with the limits in {@link Config}.
+     * 
+     * @param tr the trajectory
+     * @return the motion profile, or {@code null} if the trajectory has no path
+     */
+    public static MotionProfile of(Trajectory tr) {
+        // Arrival times are read from the control points along with the follow points
+        return tr.getAccess().read(() -> of(Calculations.calculateFollowPoints(tr)));
+    }
+
+    /**
+     * Calculates the motion profile of a path with the limits in {@link Config}.
+     * 
+     * @param followPoints the follow points of the path, may be {@code null}
+     * @return the motion profile, or {@code null} if there are fewer than two follow points
+     */
+    public static MotionProfile of(List<FollowPoint> followPoints) {
+        return of(followPoints, Config.MOTION_PROFILE_MAX_ACCELERATION, Config.MOTION_PROFILE_MAX_JERK);
+    }
+
+    /**
+     * Calculates the motion profile of a path.
+     * 
+     * @param followPoints    the follow points of the path, may be {@code null}
+     * @param maxAcceleration the acceleration limit, in speed units per second
+     * @param maxJerk         the jerk limit, in speed units per second squared
+     * @return the motion profile, or {@code null} if there are fewer than two follow points
+     * @throws IllegalArgumentException if a limit is not positive
+     */
+    public static MotionProfile of(List<FollowPoint> followPoints, double maxAcceleration, double maxJerk) {
+        if (!(maxAcceleration > 0) || !(maxJerk > 0)) {
+            throw new IllegalArgumentException("Acceleration and jerk limits must be positive.");
+        }
+        if (followPoints == null || followPoints.size() < 2) {
+            return null;
+        }
+
+        int n = followPoints.size();
+        double[] steps = new double[n - 1];
+        double[] distances = new double[n];
+        double[] limits = new double[n];
+        for (int i = 0; i < n; i++) {
+            FollowPoint fp = followPoints.get(i);
+            limits[i] = Math.max(Math.abs(fp.getSpeed()), Config.MOTION_PROFILE_MIN_VELOCITY);
+            if (i > 0) {
+                FollowPoint prev = followPoints.get(i - 1);
+                steps[i - 1] = Math.hypot(fp.getX() - prev.getX(), fp.getY() - prev.getY());
+                distances[i] = distances[i - 1] + steps[i - 1];
+            }
+        }
+
+        // Follow points the robot must not reach before their control point's time
+        int[] keyIndices = new int[n];
+        double[] keyTimes = new double[n];
+        int numKeys = 0;
+        ControlPoint related = followPoints.get(0).getRelatedControlPoint();
+        for (int i = 1; i < n; i++) {
+            ControlPoint cp = followPoints.get(i).getRelatedControlPoint();
+            if (cp != null && cp != related && cp.getTime() > 0) {
+                keyIndices[numKeys] = i;
+                keyTimes[numKeys] = cp.getTime();
+                numKeys++;
+            }
+            related = cp;
+        }
+
+        double[] velocities = new double[n];
+        double[] accelerations = new double[n];
+        double[] times = new double[n];
+        double[] caps = limits;
+        double[] spanCaps = new double[numKeys];
+        Arrays.fill(spanCaps, Double.POSITIVE_INFINITY);
+
+        for (int iteration = 0; ; iteration++) {
+            profile(steps, caps, maxAcceleration, maxJerk, velocities, accelerations, times);
+            if (numKeys == 0 || iteration == Config.MOTION_PROFILE_TIMING_ITERATIONS) {
+                break;
+            }
+            if (!refineSpanCaps(keyIndices, keyTimes, numKeys, velocities, times, spanCaps)) {
+                break;
+            }
+            if (caps == limits) {
+                caps = new double[n];
+            }
+            applySpanCaps(limits, keyIndices, numKeys, spanCaps, caps);
+        }
+
+        return new MotionProfile(followPoints, distances, velocities, accelerations, times);
+    }
+
+    /**
+     * Runs both passes and derives the accelerations and times from the velocities.
+     */
+    private static void profile(double[] steps, double[] caps, double maxAcceleration, double maxJerk,
+            double[] velocities, double[] accelerations, double[] times) {
+        int n = velocities.length;
+        double[] forward = accelerations; // Reused as scratch space, overwritten below
+        pass(steps, caps, maxAcceleration, maxJerk, forward, false);
+        pass(steps, forward, maxAcceleration, maxJerk, velocities, true);
+
+        times[0] = 0;
+        for (int i = 0; i < n - 1; i++) {
+            double v0 = velocities[i];
+            double v1 = velocities[i + 1];
+            double step = steps[i];
+            accelerations[i] = step > 0 ? (v1 * v1 - v0 * v0) / (2 * step) : 0;
+            // Both ends are only at rest on a path of a single step
+            double meanVelocity = Math.max((v0 + v1) / 2, Config.MOTION_PROFILE_MIN_VELOCITY / 2);
+            times[i + 1] = times[i] + step / meanVelocity;
+        }
+        accelerations[n - 1] = 0;
+    }
+
+    /**
+     * Accelerates from rest along the path, forwards or backwards, never exceeding
+     * the given velocity caps. Each step is integrated with the mean of the
+     * accelerations at its ends.
+     * 
+     * @param steps     distances between consecutive follow points
+     * @param caps      velocity caps of the follow points
+     * @param out       receives the velocities of the follow points
+     * @param backwards {@code true} to start at the last follow point
+     */
+    private static void pass(double[] steps, double[] caps, double maxAcceleration, double maxJerk,
+            double[] out, boolean backwards) {
+        int n = out.length;
+        int i = backwards ? n - 1 : 0;
+        int direction = backwards ? -1 : 1;
+
+        double v = 0;
+        double a = 0;
+        out[i] = 0;
+        for (int k = 1; k < n; k++) {
+            int next = i + direction;
+            double step = steps[backwards ? next : i];
+            double cap = caps[next];
+
+            double vNext;
+            double aNext;
+            if (step == 0) {
+                vNext = v;
+                aNext = a;
+            } else {
+                double a0 = Math.max(a, 0);
+                double dt = jerkStepDuration(v, a0, maxJerk, step);
+
+                // Ramp the acceleration up by the jerk limit, and back down early enough
+                // to reach the velocity cap with none left
+                aNext = Math.min(a0 + maxJerk * dt, maxAcceleration);
+                aNext = Math.min(aNext, Math.sqrt(2 * maxJerk * Math.max(cap - v, 0)));
+                aNext = Math.max(aNext, a0 - maxJerk * dt);
+
+                // Mean of the accelerations at both ends over the step
+                vNext = Math.sqrt(Math.max(v * v + (a0 + aNext) * step, 0));
+            }
+
+            if (vNext > cap) {
+                vNext = cap;
+                // A zero-length step drops to the cap at once, leaving no acceleration to carry on
+                aNext = step > 0 ? Math.min(aNext, (vNext * vNext - v * v) / (2 * step)) : 0;
+            }
+
+            out[next] = vNext;
+            v = vNext;
+            a = aNext;
+            i = next;
+        }
+    }
+
+    /**
+     * Returns the duration of a step over which the acceleration grows at the jerk
+     * limit, solving {@code step = v t + a t^2 / 2 + j t^3 / 6} by Newton's method.
+     */
+    private static double jerkStepDuration(double v, double a, double jerk, double step) {
+        // Both are upper bounds of the root, from which Newton's method converges monotonically
+        double t = Math.cbrt(6 * step / jerk);
+        if (v > 0) {
+            t = Math.min(t, step / v);
+        }
+        for (int i = 0; i < STEP_SOLVER_ITERATIONS; i++) {
+            double f = v * t + a * t * t / 2 + jerk * t * t * t / 6 - step;
+            double df = v + a * t + jerk * t * t / 2;
+            if (df <= 0) {
+                break;
+            }
+            double next = t - f / df;
+            if (next >= t) {
+                break;
+            }
+            t = next;
+        }
+        return t;
+    }
+
+    /**
+     * Scales the velocity cap of every span between two arrival times by how early
+     * the robot arrives.
+     * 
+     * @return {@code true} if some cap changed enough to be worth another pass
+     */
+    private static boolean refineSpanCaps(int[] keyIndices, double[] keyTimes, int numKeys,
+            double[] velocities, double[] times, double[] spanCaps) {
+        boolean changed = false;
+        int start = 0;
+        double startTime = 0;
+        for (int k = 0; k < numKeys; k++) {
+            int end = keyIndices[k];
+            double target = keyTimes[k] - startTime;
+            double actual = times[end] - times[start];
+
+            if (target > 0 && actual > 0) {
+                double ratio = actual / target;
+                boolean early = ratio < 1 - Config.MOTION_PROFILE_TIMING_TOLERANCE;
+                boolean lateByCap = ratio > 1 + Config.MOTION_PROFILE_TIMING_TOLERANCE
+                    && spanCaps[k] != Double.POSITIVE_INFINITY;
+                if (early || lateByCap) {
+                    double cap = spanCaps[k];
+                    if (cap == Double.POSITIVE_INFINITY) {
+                        cap = 0;
+                        for (int i = start; i <= end; i++) {
+                            cap = Math.max(cap, velocities[i]);
+                        }
+                    }
+                    spanCaps[k] = Math.max(cap * ratio, Config.MOTION_PROFILE_MIN_VELOCITY);
+                    changed = true;
+                }
+            }
+
+            // The next span starts where this one is required to end, or ends if late
+            start = end;
+            startTime = Math.max(keyTimes[k], times[end]);
+        }
+        return changed;
+    }
+
+    /**
+     * Combines the velocity limits of the follow points with the span caps.
+     */
+    private static void applySpanCaps(double[] limits, int[] keyIndices, int numKeys, double[] spanCaps,
+            double[] caps) {
+        int k = 0;
+        for (int i = 0; i < limits.length; i++) {
+            while (k < numKeys && keyIndices[k] < i) {
+                k++;
+            }
+            caps[i] = k < numKeys ? Math.min(limits[i], spanCaps[k]) : limits[i];
+        }
+    }
+
+    /**
+     * @return the number of follow points
+     */
+    public int size() {
+        return times.length;
+    }
+
+    /**
+     * @return the follow points the profile was calculated for
+     */
+    public List<FollowPoint> getFollowPoints() {
+        return followPoints;
+    }
+
+    /**
+     * @param i the index of a follow point
+     * @return the time at which the robot reaches the follow point, in seconds
+     */
+    public double getTime(int i) {
+        return times[i];
+    }
+
+    /**
+     * @param i the index of a follow point
+     * @return the velocity at the follow point, in speed units
+     */
+    public double getVelocity(int i) {
+        return velocities[i];
+    }
+
+    /**
+     * @param i the index of a follow point
+     * @return the acceleration from the follow point to the next one, in speed units per second
+     */
+    public double getAcceleration(int i) {
+        return accelerations[i];
+    }
+
+    /**
+     * @param i the index of a follow point
+     * @return the distance along the path from its start to the follow point
+     */
+    public double getDistance(int i) {
+        return distances[i];
+    }
+
+    /**
+     * @return the time at which the robot reaches the end of the path, in seconds
+     */
+    public double getDuration() {
+        return times[times.length - 1];
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.calculations;
+
+import java.util.List;
+
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.FollowPoint;
+
+/**
+ * Summary statistics of a calculated trajectory path: its length and the time
+ * needed to drive it at the speeds of its follow points.
+ * 
+ * The length is the sum of the distances between consecutive follow points. The
+ * time assumes the speed changes linearly between two follow points, so each
+ * step takes its length divided by the average speed at its ends. Steps between
+ * two points with no speed cannot be driven and make the time infinite.
+ * 
+ * Statistics are immutable and may be calculated on any thread.
+ * 
+ * @see FollowPoint
+ * 
+ * @author Valery Rabchanka
+ */
+public final class PathStatistics {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    /**
+     * Statistics of a trajectory without a path.
+     */
+    public static final PathStatistics EMPTY = new PathStatistics(0, 0, 0);
+
+    private final int numFollowPoints;
+    private final double length;
+    private final double estimatedTime;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    private PathStatistics(int numFollowPoints, double length, double estimatedTime) {
+        this.numFollowPoints = numFollowPoints;
+        this.length = length;
+        this.estimatedTime = estimatedTime;
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Calculates the statistics of a trajectory. Safe to call off the Event Dispatch
+     * Thread, as the follow points are calculated under {@link blitz.models.access.ModelAccess}.
+     * 
+     * @param tr the trajectory
+     * @return the statistics, or {@link #EMPTY} if the trajectory has no path
+     */
+    public static PathStatistics of(Trajectory tr) {
+        return of(Calculations.calculateFollowPoints(tr));
+    }
+
+    /**
+     * Calculates the statistics of a path.
+     * 
+     * @param followPoints the follow points of the path, may be {@code null}
+     * @return the statistics, or {@link #EMPTY} if there are fewer than two follow points
+     */
+    public static PathStatistics of(List<FollowPoint> followPoints) {
+        if (followPoints == null || followPoints.size() < 2) {
+            return EMPTY;
+        }
+
+        double length = 0;
+        double time = 0;
+        FollowPoint prev = followPoints.get(0);
+        for (int i = 1; i < followPoints.size(); i++) {
+            FollowPoint fp = followPoints.get(i);
+            double step = Math.hypot(fp.getX() - prev.getX(), fp.getY() - prev.getY());
+            double speed = (Math.abs(prev.getSpeed()) + Math.abs(fp.getSpeed())) / 2;
+            length += step;
+            if (step > 0) {
+                time += speed > 0 ? step / speed : Double.POSITIVE_INFINITY;
+            }
+            prev = fp;
+        }
+        return new PathStatistics(followPoints.size(), length, time);
+    }
+
+    /**
+     * @return the number of follow points of the path
+     */
+    public int getNumFollowPoints() {
+        return numFollowPoints;
+    }
+
+    /**
+     * @return the length of the path, in field units
+     */
+    public double getLength() {
+        return length;
+    }
+
+    /**
+     * @return the time to drive the path, in seconds if speeds are in field units per second,
+     *         or {@link Double#POSITIVE_INFINITY} if the path stops before its end
+     */
+    public double getEstimatedTime() {
+        return estimatedTime;
+    }
+
+}
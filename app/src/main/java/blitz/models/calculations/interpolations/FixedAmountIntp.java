@@ -20,6 +20,7 @@ import java.util.ArrayList;
 
 import blitz.models.calculations.AbstractInterpolation;
 import blitz.models.calculations.AbstractSpline;
+import blitz.models.calculations.HeadingProfile;
 import blitz.models.trajectories.Trajectory;
 import blitz.models.trajectories.trajectoryComponents.ControlPoint;
 import blitz.models.trajectories.trajectoryComponents.FollowPoint;
@@ -68,6 +69,7 @@ public class FixedAmountIntp extends AbstractInterpolation {
 
         ArrayList<FollowPoint> followPoints = new ArrayList<>();
         ArrayList<ControlPoint> controlPoints = tr.getAllControlPoints();
+        HeadingProfile headings = HeadingProfile.of(controlPoints, splineObj);
 
         boolean isLastCurve;
 
@@ -95,7 +97,8 @@ public class FixedAmountIntp extends AbstractInterpolation {
                     }
                 }
 
-                FollowPoint p = new FollowPoint(coord, currentSpeed, p0); // Create follow point
+                double heading = headings.headingAt(i, t, t); // t approximates the traveled fraction
+                FollowPoint p = new FollowPoint(coord, currentSpeed, curvatureAtT, heading, p0); // Create follow point
                 followPoints.add(p); // Add follow point to list
             }
 
@@ -103,7 +106,7 @@ public class FixedAmountIntp extends AbstractInterpolation {
 
         // Add the last control point with speed 0
         ControlPoint last = tr.getLast();
-        FollowPoint fp = new FollowPoint(last.getPosition(), 0.0, last);
+        FollowPoint fp = new FollowPoint(last.getPosition(), 0.0, 0, headings.headingAtEnd(), last);
         followPoints.add(fp);
 
         return followPoints;
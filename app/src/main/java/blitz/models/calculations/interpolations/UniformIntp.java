@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import blitz.configs.Config;
 import blitz.models.calculations.AbstractInterpolation;
 import blitz.models.calculations.AbstractSpline;
+import blitz.models.calculations.HeadingProfile;
 import blitz.models.trajectories.Trajectory;
 import blitz.models.trajectories.trajectoryComponents.ControlPoint;
 import blitz.models.trajectories.trajectoryComponents.FollowPoint;
@@ -71,6 +72,7 @@ public class UniformIntp extends AbstractInterpolation {
 
         ArrayList<FollowPoint> followPoints = new ArrayList<>();
         ArrayList<ControlPoint> controlPoints = tr.getAllControlPoints();
+        HeadingProfile headings = HeadingProfile.of(controlPoints, splineObj);
         boolean isLastCurve;
         
         // Loop through each segment between consecutive control points
@@ -107,7 +109,8 @@ public class UniformIntp extends AbstractInterpolation {
                     }
                 }
                 
-                FollowPoint fp = new FollowPoint(c, currentSpeed, p0);
+                double heading = headings.headingAt(i, accumulatedLength / arcLength, t);
+                FollowPoint fp = new FollowPoint(c, currentSpeed, curvatureAtT, heading, p0);
                 followPoints.add(fp);
                 accumulatedLength += spacing;
             }
@@ -115,7 +118,7 @@ public class UniformIntp extends AbstractInterpolation {
 
         // Add the last control point with speed 0
         ControlPoint last = tr.getLast();
-        FollowPoint fp = new FollowPoint(last.getPosition(), 0.0, last);
+        FollowPoint fp = new FollowPoint(last.getPosition(), 0.0, 0, headings.headingAtEnd(), last);
         followPoints.add(fp);
 
         return followPoints;
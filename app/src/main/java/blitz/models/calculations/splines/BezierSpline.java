@@ -141,20 +141,65 @@ public class BezierSpline extends AbstractSpline {
      */
     @Override
     public double calculateBentRate(ControlPoint p0, ControlPoint p1, double t) {
+        return Math.abs(calculateCurvature(p0, p1, t));
+    }
+
+    /**
+     * Calculates the signed curvature of the Bezier curve at the given parameter t
+     * from the closed-form derivatives of the cubic.
+     * 
+     * @param cpStart the starting control point
+     * @param cpEnd the ending control point
+     * @param t the interpolation parameter (0 ≤ t ≤ 1)
+     * @return the signed curvature, positive where the curve turns counterclockwise
+     */
+    @Override
+    public double calculateCurvature(ControlPoint cpStart, ControlPoint cpEnd, double t) {
+        double[] d = derivatives(cpStart, cpEnd, t);
+        return curvatureOf(d[0], d[1], d[2], d[3]);
+    }
+
+    /**
+     * Calculates the direction of travel along the Bezier curve at the given parameter t
+     * from the closed-form derivatives of the cubic.
+     * 
+     * @param cpStart the starting control point
+     * @param cpEnd the ending control point
+     * @param t the interpolation parameter (0 ≤ t ≤ 1)
+     * @return the tangent angle in degrees, counterclockwise from the x axis
+     */
+    @Override
+    public double calculateTangentAngle(ControlPoint cpStart, ControlPoint cpEnd, double t) {
+        double[] d = derivatives(cpStart, cpEnd, t);
+        return tangentAngleOf(d[0], d[1], d[2], d[3], cpStart, cpEnd);
+    }
+
+    /**
+     * Calculates the first and second derivatives of the cubic at the given parameter t.
+     * 
+     * @param cpStart the starting control point
+     * @param cpEnd the ending control point
+     * @param t the interpolation parameter (0 ≤ t ≤ 1)
+     * @return an array containing x', y', x'' and y''
+     */
+    private double[] derivatives(ControlPoint cpStart, ControlPoint cpEnd, double t) {
+
+        CartesianCoordinate p0 = cpStart.getPosition();
+        CartesianCoordinate p1 = cpStart.getAbsStartHelperPos();
+        CartesianCoordinate p2 = cpEnd.getAbsEndHelperPos();
+        CartesianCoordinate p3 = cpEnd.getPosition();
 
-        double[] firstDerivative = firstDerivative(p0, p1, t);
-        double[] secondDerivative = secondDerivative(p0, p1, t);
+        double u = 1 - t;
 
-        double xPrime = firstDerivative[0];
-        double yPrime = firstDerivative[1];
-        double xDoublePrime = secondDerivative[0];
-        double yDoublePrime = secondDerivative[1];
+        // B'(t) = 3u^2 (P1 - P0) + 6ut (P2 - P1) + 3t^2 (P3 - P2)
+        double xPrime = 3 * u * u * (p1.getX() - p0.getX()) + 6 * u * t * (p2.getX() - p1.getX()) + 3 * t * t * (p3.getX() - p2.getX());
+        double yPrime = 3 * u * u * (p1.getY() - p0.getY()) + 6 * u * t * (p2.getY() - p1.getY()) + 3 * t * t * (p3.getY() - p2.getY());
 
-        // Curvature formula: |x' * y'' - y' * x''| / (x'^2 + y'^2)^(3/2)
-        double numerator = Math.abs(xPrime * yDoublePrime - yPrime * xDoublePrime);
-        double denominator = Math.pow(xPrime * xPrime + yPrime * yPrime, 1.5);
+        // B''(t) = 6u (P2 - 2 P1 + P0) + 6t (P3 - 2 P2 + P1)
+        double xDoublePrime = 6 * u * (p2.getX() - 2 * p1.getX() + p0.getX()) + 6 * t * (p3.getX() - 2 * p2.getX() + p1.getX());
+        double yDoublePrime = 6 * u * (p2.getY() - 2 * p1.getY() + p0.getY()) + 6 * t * (p3.getY() - 2 * p2.getY() + p1.getY());
 
-        return numerator / denominator;
+        return new double[]{xPrime, yPrime, xDoublePrime, yDoublePrime};
     }
     
 }
@@ -92,4 +92,31 @@ public class LinearSpline extends AbstractSpline {
         return 0; // Linear splines have no curvature, so the bent rate is always zero.
     }
 
+    /**
+     * Calculates the signed curvature of the linear spline, which is always zero for a straight line.
+     * 
+     * @param p0 the starting control point
+     * @param p1 the ending control point
+     * @param t the interpolation parameter (0 ≤ t ≤ 1)
+     * @return the curvature, which is always 0 for a linear spline
+     */
+    @Override
+    public double calculateCurvature(ControlPoint p0, ControlPoint p1, double t){
+        return 0;
+    }
+
+    /**
+     * Calculates the direction of travel along the linear spline, which is the direction
+     * of the line from the starting to the ending control point.
+     * 
+     * @param p0 the starting control point
+     * @param p1 the ending control point
+     * @param t the interpolation parameter (0 ≤ t ≤ 1)
+     * @return the tangent angle in degrees, counterclockwise from the x axis
+     */
+    @Override
+    public double calculateTangentAngle(ControlPoint p0, ControlPoint p1, double t){
+        return Math.toDegrees(Math.atan2(p1.getY() - p0.getY(), p1.getX() - p0.getX()));
+    }
+
 }
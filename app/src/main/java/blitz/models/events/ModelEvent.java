@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.events;
+
+/**
+ * Kinds of model notifications dispatched through the {@link ModelEventBus}.
+ *
+ * Each kind corresponds to one listener callback. Within one batch a listener
+ * receives every kind at most once.
+ *
+ * @see ModelEventBus
+ *
+ * @author Valery Rabchanka
+ */
+public enum ModelEvent {
+    TRAJECTORIES_LIST_CHANGED,
+    ACTIVE_TRAJECTORY_CHANGED,
+    ACTIVE_CONTROL_POINT_CHANGED,
+    ACTIVE_TRAJECTORY_STATE_EDITED,
+    ACTIVE_CONTROL_POINT_STATE_EDITED,
+    VISIBLE_TRAJECTORIES_CHANGED
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.events;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.SwingUtilities;
+
+import blitz.configs.Config;
+
+/**
+ * Dispatches model notifications to listeners.
+ *
+ * A deferred bus collects every notification raised during one turn of the
+ * Event Dispatch Thread and delivers them in a single batch on the next turn.
+ * Notifications are deduplicated per listener and {@link ModelEvent} kind, so a
+ * listener is called at most once per kind in a batch, and deliveries read the
+ * model state as it is when the batch runs. Listeners that perform expensive
+ * work (e.g. rebuilding a panel) may additionally request it through
+ * {@link #coalesce(Object, Runnable)} to run it once after all deliveries of a
+ * batch, regardless of how many kinds they received.
+ *
+ * A deferred bus is confined to the EDT: notifications posted from any other
+ * thread, e.g. by a guarded model write on a worker, are handed over to the EDT
+ * and batched there. {@link #coalesce(Object, Runnable)} and {@link #flush()}
+ * must be called on the EDT.
+ *
+ * An immediate bus delivers every notification synchronously on the posting
+ * thread and is meant for workspaces that are not bound to the UI.
+ *
+ * A deferred bus records delivery metrics for every listener it delivers to,
+ * confined to the EDT like the rest of its state, until the listener is removed
+ * with {@link #removeListener(Object)}. With its logger at {@link Level#FINE}, it
+ * logs them every {@link Config#MODEL_EVENT_METRICS_LOG_INTERVAL} batches, slowest
+ * listener first.
+ *
+ * @see ModelEvent
+ *
+ * @author Valery Rabchanka
+ */
+public class ModelEventBus {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    /**
+     * Logger instance for logging information and errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ModelEventBus.class.getName());
+
+    /**
+     * Whether notifications are batched until the next EDT turn.
+     */
+    private final boolean deferred;
+
+    /**
+     * Notifications waiting for the next batch, in the order they were first raised.
+     */
+    private LinkedHashMap<PendingKey, Runnable> pending = new LinkedHashMap<>();
+
+    /**
+     * Tasks requested during a batch, run once after its deliveries.
+     */
+    private LinkedHashMap<Object, Runnable> coalescedTasks = new LinkedHashMap<>();
+
+    /**
+     * Tasks run after every completed batch.
+     */
+    private final ArrayList<Runnable> batchListeners = new ArrayList<>();
+
+    /**
+     * Whether a flush is already queued on the EDT.
+     */
+    private boolean flushScheduled = false;
+
+    /**
+     * Whether a batch is being delivered right now.
+     */
+    private boolean dispatching = false;
+
+    /**
+     * Delivery metrics of every listener of a deferred bus, by identity. Accessed on the EDT only.
+     */
+    private final Map<Object, DeliveryMetrics> metrics = new IdentityHashMap<>();
+
+    /**
+     * Number of batches delivered so far.
+     */
+    private long batches = 0;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    /**
+     * Creates a model event bus.
+     *
+     * @param deferred {@code true} to batch notifications per EDT turn,
+     *                 {@code false} to deliver them immediately
+     */
+    public ModelEventBus(boolean deferred) {
+        this.deferred = deferred;
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Posts a notification for a listener. If the same listener already has a
+     * pending notification of the same kind, the new one replaces it. May be
+     * called from any thread.
+     *
+     * @param listener the listener to notify
+     * @param event the kind of notification
+     * @param delivery the call that delivers the notification to the listener
+     */
+    public void post(Object listener, ModelEvent event, Runnable delivery) {
+        if (!deferred) {
+            deliver(listener, delivery);
+            return;
+        }
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> post(listener, event, delivery));
+            return;
+        }
+
+        if (pending.put(new PendingKey(listener, event), delivery) != null) {
+            getMetrics(listener).coalesced++;
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Requests a task to be run once after all deliveries of the current batch.
+     * Repeated requests from the same owner within a batch run the task once.
+     * Outside of a batch the task is run immediately. Must be called on the EDT.
+     *
+     * @param owner the object requesting the task, used for deduplication
+     * @param task the task to run
+     */
+    public void coalesce(Object owner, Runnable task) {
+        if (!dispatching) {
+            deliver(owner, task);
+            return;
+        }
+
+        if (coalescedTasks.put(owner, task) != null) {
+            getMetrics(owner).coalesced++;
+        }
+    }
+
+    /**
+     * Forgets a listener that will no longer be notified: its pending notifications
+     * and coalesced tasks are dropped along with its delivery metrics. May be called
+     * from any thread.
+     *
+     * @param listener the listener to forget
+     */
+    public void removeListener(Object listener) {
+        if (!deferred) {
+            return;
+        }
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> removeListener(listener));
+            return;
+        }
+
+        pending.keySet().removeIf(key -> key.listener() == listener);
+        coalescedTasks.remove(listener);
+        metrics.remove(listener);
+    }
+
+    /**
+     * Adds a task that is run after every completed batch.
+     *
+     * @param listener the task to add
+     */
+    public void addBatchListener(Runnable listener) {
+        batchListeners.add(listener);
+    }
+
+    /**
+     * Removes a task that is run after every completed batch.
+     *
+     * @param listener the task to remove
+     */
+    public void removeBatchListener(Runnable listener) {
+        batchListeners.remove(listener);
+    }
+
+    /**
+     * Delivers all pending notifications now. Notifications raised by listeners
+     * during the flush are delivered in the next batch. Must be called on the EDT.
+     */
+    public void flush() {
+        flushScheduled = false;
+        if (dispatching || pending.isEmpty()) {
+            return;
+        }
+
+        LinkedHashMap<PendingKey, Runnable> batch = pending;
+        pending = new LinkedHashMap<>();
+
+        dispatching = true;
+        try {
+            for (Map.Entry<PendingKey, Runnable> entry : batch.entrySet()) {
+                deliver(entry.getKey().listener(), entry.getValue());
+            }
+
+            while (!coalescedTasks.isEmpty()) {
+                LinkedHashMap<Object, Runnable> tasks = coalescedTasks;
+                coalescedTasks = new LinkedHashMap<>();
+                for (Map.Entry<Object, Runnable> entry : tasks.entrySet()) {
+                    deliver(entry.getKey(), entry.getValue());
+                }
+            }
+        } finally {
+            dispatching = false;
+        }
+
+        for (Runnable listener : new ArrayList<>(batchListeners)) {
+            listener.run();
+        }
+
+        batches++;
+        if (batches % Config.MODEL_EVENT_METRICS_LOG_INTERVAL == 0 && LOGGER.isLoggable(Level.FINE)) {
+            logDeliveryMetrics();
+        }
+    }
+
+    /**
+     * Logs the delivery metrics of all listeners, slowest listener first.
+     */
+    private void logDeliveryMetrics() {
+        ArrayList<Map.Entry<Object, DeliveryMetrics>> entries = new ArrayList<>(metrics.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().getTotalNanos(), a.getValue().getTotalNanos()));
+
+        StringBuilder report = new StringBuilder("Model event delivery metrics after " + batches + " batches:");
+        for (Map.Entry<Object, DeliveryMetrics> entry : entries) {
+            report.append(System.lineSeparator())
+                .append("  ").append(entry.getKey().getClass().getName())
+                .append(": ").append(entry.getValue());
+        }
+        LOGGER.fine(report.toString());
+    }
+
+    /**
+     * Queues a flush on the EDT unless one is already queued.
+     */
+    private void scheduleFlush() {
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        SwingUtilities.invokeLater(this::flush);
+    }
+
+    /**
+     * Runs a delivery and, on a deferred bus, records its timing. A failing
+     * listener does not prevent delivery to the others.
+     *
+     * @param listener the listener the delivery belongs to
+     * @param delivery the delivery to run
+     */
+    private void deliver(Object listener, Runnable delivery) {
+        long start = System.nanoTime();
+        try {
+            delivery.run();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Model listener " + listener.getClass().getName() + " failed.", e);
+        }
+        if (!deferred) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        DeliveryMetrics m = getMetrics(listener);
+        m.deliveries++;
+        m.totalNanos += elapsed;
+        m.maxNanos = Math.max(m.maxNanos, elapsed);
+    }
+
+    /**
+     * Gets or creates the metrics of a listener.
+     *
+     * @param listener the listener
+     * @return the metrics of the listener
+     */
+    private DeliveryMetrics getMetrics(Object listener) {
+        return metrics.computeIfAbsent(listener, l -> new DeliveryMetrics());
+    }
+
+
+    // -=-=-=- INNER CLASSES -=-=-=-
+
+    /**
+     * Identifies a pending notification by listener identity and kind.
+     */
+    private record PendingKey(Object listener, ModelEvent event) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof PendingKey other && other.listener == listener && other.event == event;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(listener) + event.hashCode();
+        }
+    }
+
+    /**
+     * Delivery statistics of a single listener.
+     */
+    private static final class DeliveryMetrics {
+
+        private long deliveries;
+        private long coalesced;
+        private long totalNanos;
+        private long maxNanos;
+
+        /**
+         * @return the total time spent in the listener, in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return the average delivery time, in nanoseconds
+         */
+        public double getAverageNanos() {
+            return deliveries == 0 ? 0 : (double) totalNanos / deliveries;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("deliveries=%d, coalesced=%d, avg=%.1fus, max=%.1fus",
+                deliveries, coalesced, getAverageNanos() / 1000.0, maxNanos / 1000.0);
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.history;
+
+import java.util.Objects;
+
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint.SYMMETRY;
+
+/**
+ * Immutable copy of the state of a {@link ControlPoint}.
+ *
+ * Snapshots are shared between history states for as long as the control point
+ * they were taken from does not change.
+ *
+ * @see TrajectorySnapshot
+ * @see History
+ *
+ * @author Valery Rabchanka
+ */
+public final class ControlPointSnapshot {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    private final String name;
+    private final double x, y;
+    private final double rStart, thetaStart, rEnd, thetaEnd;
+    private final int numSegments;
+    private final double time;
+    private final boolean isLocked;
+    private final SYMMETRY symmetryType;
+    private final boolean hasHeading;
+    private final double heading;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    /**
+     * Instantiates a snapshot with the specified state.
+     */
+    public ControlPointSnapshot(String name, double x, double y, double rStart, double thetaStart, double rEnd,
+            double thetaEnd, int numSegments, double time, boolean isLocked, SYMMETRY symmetryType,
+            boolean hasHeading, double heading) {
+        this.name = name;
+        this.x = x;
+        this.y = y;
+        this.rStart = rStart;
+        this.thetaStart = thetaStart;
+        this.rEnd = rEnd;
+        this.thetaEnd = thetaEnd;
+        this.numSegments = numSegments;
+        this.time = time;
+        this.isLocked = isLocked;
+        this.symmetryType = symmetryType;
+        this.hasHeading = hasHeading;
+        this.heading = heading;
+    }
+
+    /**
+     * Takes a snapshot of the current state of a control point.
+     *
+     * @param cp the control point
+     * @return the snapshot
+     */
+    public static ControlPointSnapshot of(ControlPoint cp) {
+        return new ControlPointSnapshot(cp.getName(), cp.getX(), cp.getY(), cp.getRStart(), cp.getThetaStart(),
+            cp.getREnd(), cp.getThetaEnd(), cp.getNumSegments(), cp.getTime(), cp.isLocked(), cp.getSymmetryType(),
+            cp.hasHeading(), cp.getHeading());
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Checks whether this snapshot still describes the given control point.
+     *
+     * @param cp the control point to compare with
+     * @return {@code true} if the state of the control point equals this snapshot
+     */
+    public boolean matches(ControlPoint cp) {
+        return x == cp.getX()
+            && y == cp.getY()
+            && rStart == cp.getRStart()
+            && thetaStart == cp.getThetaStart()
+            && rEnd == cp.getREnd()
+            && thetaEnd == cp.getThetaEnd()
+            && numSegments == cp.getNumSegments()
+            && time == cp.getTime()
+            && isLocked == cp.isLocked()
+            && symmetryType == cp.getSymmetryType()
+            && hasHeading == cp.hasHeading()
+            && heading == cp.getHeading()
+            && Objects.equals(name, cp.getName());
+    }
+
+    /**
+     * Creates a new control point with the state of this snapshot.
+     *
+     * @return the new control point
+     */
+    public ControlPoint toControlPoint() {
+        ControlPoint cp = new ControlPoint(name, x, y, rStart, thetaStart, rEnd, thetaEnd, numSegments, time);
+
+        // The constructor mirrors the helpers, so the end helper is restored with symmetry broken first.
+        cp.setSymmetryType(ControlPoint.BROKEN_SYMMETRY_KEY);
+        cp.setREnd(rEnd);
+        cp.setThetaEnd(thetaEnd);
+        if (symmetryType == SYMMETRY.ALIGNED) {
+            cp.setSymmetryType(ControlPoint.ALIGNED_SYMMETRY_KEY);
+        } else if (symmetryType == SYMMETRY.MIRRORED) {
+            cp.setSymmetryType(ControlPoint.MIRRORED_SYMMETRY_KEY);
+        }
+        if (hasHeading) {
+            cp.setHeading(heading);
+        }
+        cp.setIsLocked(isLocked);
+        return cp;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getRStart() {
+        return rStart;
+    }
+
+    public double getThetaStart() {
+        return thetaStart;
+    }
+
+    public double getREnd() {
+        return rEnd;
+    }
+
+    public double getThetaEnd() {
+        return thetaEnd;
+    }
+
+    public int getNumSegments() {
+        return numSegments;
+    }
+
+    public double getTime() {
+        return time;
+    }
+
+    public boolean isLocked() {
+        return isLocked;
+    }
+
+    public SYMMETRY getSymmetryType() {
+        return symmetryType;
+    }
+
+    public boolean hasHeading() {
+        return hasHeading;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+}
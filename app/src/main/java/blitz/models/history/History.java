@@ -0,0 +1,605 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import blitz.configs.Config;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.models.workspace.Workspace;
+
+/**
+ * Undo/redo history of a {@link Workspace}.
+ *
+ * Every committed state is a {@link WorkspaceSnapshot}. Snapshots are
+ * structurally shared: a commit only creates new snapshot nodes for the
+ * trajectories and control points that changed since the previous commit and
+ * reuses all others, so each entry costs memory proportional to what actually
+ * changed. The changed objects are the ones the mutators marked through
+ * {@link blitz.models.access.ModelAccess#markModified(Object)}, so a commit
+ * only visits the trajectories that were touched. Committing a state identical
+ * to the current one is a no-op.
+ *
+ * Commits made while a gesture is open (see {@link #beginGesture()}) are
+ * compacted into a single entry, so a whole drag is undone at once.
+ *
+ * The estimated memory of all entries is kept under a budget by evicting the
+ * oldest entries first. Any retained state is reached in O(1); restoring it only
+ * recreates the model objects that differ from the current state.
+ *
+ * @see WorkspaceSnapshot
+ *
+ * @author Valery Rabchanka
+ */
+public class History {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    /**
+     * Estimated heap cost of the individual snapshot nodes, in bytes.
+     */
+    private static final long WORKSPACE_NODE_BYTES = 48;
+    private static final long TRAJECTORY_NODE_BYTES = 112;
+    private static final long CONTROL_POINT_NODE_BYTES = 104;
+    private static final long REFERENCE_BYTES = 8;
+
+    /**
+     * The workspace whose states are recorded.
+     */
+    private final Workspace workspace;
+
+    /**
+     * Retained states, oldest first.
+     */
+    private final ArrayList<Entry> entries = new ArrayList<>();
+
+    /**
+     * Index of the entry describing the current state, or {@code -1} before the first commit.
+     */
+    private int current = -1;
+
+    /**
+     * Index of the last entry that existed when the open gesture began, or {@code -1}
+     * if no gesture is open.
+     */
+    private int gestureBase = -1;
+
+    /**
+     * Whether a gesture is open.
+     */
+    private boolean gestureOpen = false;
+
+    /**
+     * Memory budget for all entries, in bytes.
+     */
+    private long memoryBudget = Config.HISTORY_MEMORY_BUDGET;
+
+    /**
+     * Estimated memory of all entries, in bytes.
+     */
+    private long usedMemory = 0;
+
+    /**
+     * Snapshot nodes of the model objects as of the last capture or restore,
+     * in both directions.
+     */
+    private IdentityHashMap<Trajectory, TrajectorySnapshot> trajectoryNodes = new IdentityHashMap<>();
+    private IdentityHashMap<TrajectorySnapshot, Trajectory> trajectoryObjects = new IdentityHashMap<>();
+    private IdentityHashMap<ControlPoint, ControlPointSnapshot> controlPointNodes = new IdentityHashMap<>();
+    private IdentityHashMap<ControlPointSnapshot, ControlPoint> controlPointObjects = new IdentityHashMap<>();
+
+    /**
+     * Trajectory each captured control point belongs to.
+     */
+    private IdentityHashMap<ControlPoint, Trajectory> controlPointOwners = new IdentityHashMap<>();
+
+    /**
+     * Listeners notified when the current state changes.
+     */
+    private final ArrayList<HistoryListener> listeners = new ArrayList<>();
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    /**
+     * Creates an empty history for a workspace.
+     *
+     * @param workspace the workspace whose states are recorded
+     */
+    public History(Workspace workspace) {
+        this.workspace = workspace;
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Records the current state of the workspace if it differs from the current
+     * entry. Discards all redoable entries when a new entry is created.
+     *
+     * @return {@code true} if the history changed
+     */
+    public boolean commit() {
+        WorkspaceSnapshot snapshot = capture();
+
+        if (current >= 0 && snapshot.sharesTrajectoriesWith(entries.get(current).snapshot)) {
+            return false;
+        }
+
+        // Drop redoable entries
+        for (int i = entries.size() - 1; i > current; i--) {
+            usedMemory -= entries.remove(i).cost;
+        }
+
+        if (gestureOpen && current > gestureBase) {
+            // Compact the gesture into its first entry
+            Entry replaced = entries.get(current);
+            usedMemory -= replaced.cost;
+            Entry entry = new Entry(snapshot, estimateCost(snapshot, current > 0 ? entries.get(current - 1).snapshot : null));
+            entries.set(current, entry);
+            usedMemory += entry.cost;
+        } else {
+            Entry entry = new Entry(snapshot, estimateCost(snapshot, current >= 0 ? entries.get(current).snapshot : null));
+            entries.add(entry);
+            current++;
+            usedMemory += entry.cost;
+        }
+
+        evict();
+        notifyHistoryListeners();
+        return true;
+    }
+
+    /**
+     * Reverts the workspace to the previous entry. Uncommitted changes are
+     * committed first, so they are undone as well.
+     *
+     * @return {@code true} if a state was restored
+     */
+    public boolean undo() {
+        commit();
+        if (!canUndo()) {
+            return false;
+        }
+        current--;
+        restore(entries.get(current).snapshot);
+        notifyHistoryListeners();
+        return true;
+    }
+
+    /**
+     * Re-applies the next entry.
+     *
+     * @return {@code true} if a state was restored
+     */
+    public boolean redo() {
+        if (commit() || !canRedo()) {
+            return false;
+        }
+        current++;
+        restore(entries.get(current).snapshot);
+        notifyHistoryListeners();
+        return true;
+    }
+
+    /**
+     * Replaces the state of the workspace with the given snapshot and commits
+     * it as a new entry, so loading it can be undone.
+     *
+     * @param snapshot the state to load
+     */
+    public void load(WorkspaceSnapshot snapshot) {
+        commit();
+        restore(snapshot);
+        commit();
+    }
+
+    public boolean canUndo() {
+        return current > 0;
+    }
+
+    public boolean canRedo() {
+        return current < entries.size() - 1;
+    }
+
+    /**
+     * Opens a gesture. All commits until {@link #endGesture()} are compacted
+     * into one entry.
+     */
+    public void beginGesture() {
+        commit();
+        gestureOpen = true;
+        gestureBase = current;
+    }
+
+    /**
+     * Closes the open gesture and commits its final state.
+     */
+    public void endGesture() {
+        if (!gestureOpen) {
+            return;
+        }
+        commit();
+        gestureOpen = false;
+        gestureBase = -1;
+    }
+
+    /**
+     * Gets a retained state.
+     *
+     * @param index the index of the entry, {@code 0} being the oldest
+     * @return the state
+     */
+    public WorkspaceSnapshot getState(int index) {
+        return entries.get(index).snapshot;
+    }
+
+    /**
+     * @return the number of retained entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the index of the entry describing the current state
+     */
+    public int getCurrentIndex() {
+        return current;
+    }
+
+    /**
+     * @return the estimated memory of all entries, in bytes
+     */
+    public long getUsedMemory() {
+        return usedMemory;
+    }
+
+    /**
+     * Sets the memory budget and evicts entries that no longer fit.
+     *
+     * @param bytes the budget, in bytes
+     */
+    public void setMemoryBudget(long bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive.");
+        }
+        memoryBudget = bytes;
+        evict();
+    }
+
+    /**
+     * @return the current state, or {@code null} before the first commit
+     */
+    public WorkspaceSnapshot getCurrentState() {
+        return current >= 0 ? entries.get(current).snapshot : null;
+    }
+
+    /**
+     * Adds a listener notified when the current state changes.
+     *
+     * @param listener the listener to add
+     */
+    public void addHistoryListener(HistoryListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener notified when the current state changes.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeHistoryListener(HistoryListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Notifies all listeners about the current state.
+     */
+    private void notifyHistoryListeners() {
+        WorkspaceSnapshot state = getCurrentState();
+        for (HistoryListener listener : listeners) {
+            listener.historyStateChanged(state);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the workspace. Only the trajectories that were modified
+     * since the previous capture, or hold a modified control point, get new nodes;
+     * all others reuse their previous node.
+     *
+     * @return the snapshot
+     */
+    private WorkspaceSnapshot capture() {
+        Set<Object> modified = workspace.getAccess().takeModified();
+        ArrayList<Trajectory> trajectories = workspace.getTrajectoriesList();
+
+        if (modified.contains(workspace)) {
+            forgetRemovedTrajectories(trajectories);
+        }
+
+        // A modified control point invalidates the node of its trajectory
+        Set<Trajectory> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object object : modified) {
+            if (object instanceof Trajectory tr) {
+                changed.add(tr);
+            } else if (object instanceof ControlPoint cp && controlPointOwners.containsKey(cp)) {
+                changed.add(controlPointOwners.get(cp));
+            }
+        }
+
+        ArrayList<TrajectorySnapshot> trajectorySnapshots = new ArrayList<>(trajectories.size());
+        for (Trajectory tr : trajectories) {
+            TrajectorySnapshot node = trajectoryNodes.get(tr);
+            if (node == null || changed.contains(tr)) {
+                node = captureTrajectory(tr, node, modified);
+            }
+            trajectorySnapshots.add(node);
+        }
+
+        Trajectory activeTrajectory = workspace.getActiveTrajectory();
+        ControlPoint activeControlPoint = workspace.getActiveControlPoint();
+        int activeTrajectoryIndex = activeTrajectory == null ? -1 : trajectories.indexOf(activeTrajectory);
+        int activeControlPointIndex = activeTrajectory == null || activeControlPoint == null ? -1 : activeTrajectory.indexOf(activeControlPoint);
+
+        return new WorkspaceSnapshot(trajectorySnapshots, activeTrajectoryIndex, activeControlPointIndex);
+    }
+
+    /**
+     * Takes a snapshot of a trajectory, reusing the nodes of its unmodified control
+     * points, or its previous node if nothing about it changed.
+     *
+     * @param tr the trajectory
+     * @param previous the node of its previous capture, or {@code null}
+     * @param modified the objects modified since the previous capture
+     * @return the node of the trajectory
+     */
+    private TrajectorySnapshot captureTrajectory(Trajectory tr, TrajectorySnapshot previous, Set<Object> modified) {
+        ArrayList<ControlPoint> controlPoints = tr.getAllControlPoints();
+        ArrayList<ControlPointSnapshot> cpSnapshots = new ArrayList<>(controlPoints.size());
+        boolean sameControlPoints = previous != null && previous.getControlPoints().size() == controlPoints.size();
+        boolean unchanged = sameControlPoints && previous.matchesAttributes(tr);
+
+        for (int i = 0; i < controlPoints.size(); i++) {
+            ControlPoint cp = controlPoints.get(i);
+            sameControlPoints = sameControlPoints && controlPointObjects.get(previous.getControlPoints().get(i)) == cp;
+
+            ControlPointSnapshot node = controlPointNodes.get(cp);
+            if (node == null || (modified.contains(cp) && !node.matches(cp))) {
+                if (node != null) {
+                    controlPointObjects.remove(node);
+                }
+                node = ControlPointSnapshot.of(cp);
+                controlPointNodes.put(cp, node);
+                controlPointObjects.put(node, cp);
+            }
+            controlPointOwners.put(cp, tr);
+            cpSnapshots.add(node);
+            unchanged = unchanged && previous.getControlPoints().get(i) == node;
+        }
+
+        if (previous != null && !sameControlPoints) {
+            // Forget the control points that left the trajectory
+            Set<ControlPoint> current = Collections.newSetFromMap(new IdentityHashMap<>());
+            current.addAll(controlPoints);
+            for (ControlPointSnapshot old : previous.getControlPoints()) {
+                ControlPoint cp = controlPointObjects.get(old);
+                if (cp != null && !current.contains(cp) && controlPointOwners.get(cp) == tr) {
+                    forgetControlPoint(cp);
+                }
+            }
+        }
+
+        TrajectorySnapshot node = unchanged ? previous : TrajectorySnapshot.of(tr, cpSnapshots);
+        if (node != previous) {
+            if (previous != null) {
+                trajectoryObjects.remove(previous);
+            }
+            trajectoryNodes.put(tr, node);
+            trajectoryObjects.put(node, tr);
+        }
+        return node;
+    }
+
+    /**
+     * Drops the nodes of the trajectories that are no longer part of the workspace.
+     *
+     * @param trajectories the trajectories of the workspace
+     */
+    private void forgetRemovedTrajectories(ArrayList<Trajectory> trajectories) {
+        Set<Trajectory> present = Collections.newSetFromMap(new IdentityHashMap<>());
+        present.addAll(trajectories);
+
+        for (Trajectory tr : new ArrayList<>(trajectoryNodes.keySet())) {
+            if (present.contains(tr)) {
+                continue;
+            }
+            TrajectorySnapshot node = trajectoryNodes.remove(tr);
+            trajectoryObjects.remove(node);
+            for (ControlPointSnapshot cpNode : node.getControlPoints()) {
+                ControlPoint cp = controlPointObjects.get(cpNode);
+                if (cp != null && controlPointOwners.get(cp) == tr) {
+                    forgetControlPoint(cp);
+                }
+            }
+        }
+    }
+
+    private void forgetControlPoint(ControlPoint cp) {
+        ControlPointSnapshot node = controlPointNodes.remove(cp);
+        if (node != null) {
+            controlPointObjects.remove(node);
+        }
+        controlPointOwners.remove(cp);
+    }
+
+    /**
+     * Replaces the trajectories of the workspace with the given state. Model
+     * objects whose snapshot node is part of the state are kept as they are;
+     * only the others are recreated.
+     *
+     * @param snapshot the state to restore
+     */
+    private void restore(WorkspaceSnapshot snapshot) {
+        IdentityHashMap<Trajectory, TrajectorySnapshot> newTrajectoryNodes = new IdentityHashMap<>();
+        IdentityHashMap<TrajectorySnapshot, Trajectory> newTrajectoryObjects = new IdentityHashMap<>();
+        IdentityHashMap<ControlPoint, ControlPointSnapshot> newControlPointNodes = new IdentityHashMap<>();
+        IdentityHashMap<ControlPointSnapshot, ControlPoint> newControlPointObjects = new IdentityHashMap<>();
+        IdentityHashMap<ControlPoint, Trajectory> newControlPointOwners = new IdentityHashMap<>();
+        Set<ControlPoint> usedControlPoints = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        // First pass: keep unchanged trajectories with all their control points
+        Trajectory[] restored = new Trajectory[snapshot.getTrajectories().size()];
+        for (int i = 0; i < restored.length; i++) {
+            TrajectorySnapshot node = snapshot.getTrajectories().get(i);
+            Trajectory tr = trajectoryObjects.get(node);
+            if (tr != null && !newTrajectoryNodes.containsKey(tr)) {
+                restored[i] = tr;
+                newTrajectoryNodes.put(tr, node);
+                newTrajectoryObjects.put(node, tr);
+                for (int j = 0; j < tr.size(); j++) {
+                    ControlPoint cp = tr.getControlPoint(j);
+                    usedControlPoints.add(cp);
+                    newControlPointOwners.put(cp, tr);
+                    newControlPointNodes.put(cp, node.getControlPoints().get(j));
+                    newControlPointObjects.put(node.getControlPoints().get(j), cp);
+                }
+            }
+        }
+
+        // Second pass: recreate the others, keeping unchanged control points
+        for (int i = 0; i < restored.length; i++) {
+            if (restored[i] != null) {
+                continue;
+            }
+            TrajectorySnapshot node = snapshot.getTrajectories().get(i);
+            Trajectory tr = node.toEmptyTrajectory();
+            for (ControlPointSnapshot cpNode : node.getControlPoints()) {
+                ControlPoint cp = controlPointObjects.get(cpNode);
+                if (cp == null || !usedControlPoints.add(cp)) {
+                    cp = cpNode.toControlPoint();
+                    usedControlPoints.add(cp);
+                }
+                tr.addControlPoint(cp);
+                newControlPointOwners.put(cp, tr);
+                newControlPointNodes.put(cp, cpNode);
+                newControlPointObjects.put(cpNode, cp);
+            }
+            restored[i] = tr;
+            newTrajectoryNodes.put(tr, node);
+            newTrajectoryObjects.put(node, tr);
+        }
+
+        trajectoryNodes = newTrajectoryNodes;
+        trajectoryObjects = newTrajectoryObjects;
+        controlPointNodes = newControlPointNodes;
+        controlPointObjects = newControlPointObjects;
+        controlPointOwners = newControlPointOwners;
+
+        ArrayList<Trajectory> trajectories = new ArrayList<>(restored.length);
+        Collections.addAll(trajectories, restored);
+        workspace.setTrajectoriesList(trajectories);
+
+        // The nodes describe the restored model exactly, the marks of restoring it are stale
+        workspace.getAccess().takeModified();
+
+        int trIndex = snapshot.getActiveTrajectoryIndex();
+        int cpIndex = snapshot.getActiveControlPointIndex();
+        if (0 <= trIndex && trIndex < trajectories.size()) {
+            Trajectory tr = trajectories.get(trIndex);
+            if (0 <= cpIndex && cpIndex < tr.size()) {
+                workspace.setActiveControlPoint(tr.getControlPoint(cpIndex));
+            } else {
+                workspace.setActiveTrajectory(tr);
+            }
+        }
+    }
+
+    /**
+     * Estimates the memory of the nodes of a snapshot that are not shared with
+     * the previous one. Only the trajectories that differ are looked into.
+     *
+     * @param snapshot the new snapshot
+     * @param previous the previous snapshot, or {@code null}
+     * @return the estimated cost, in bytes
+     */
+    private static long estimateCost(WorkspaceSnapshot snapshot, WorkspaceSnapshot previous) {
+        Set<TrajectorySnapshot> sharedTrajectories = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<ControlPointSnapshot> replacedControlPoints = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (previous != null) {
+            Set<TrajectorySnapshot> current = Collections.newSetFromMap(new IdentityHashMap<>());
+            current.addAll(snapshot.getTrajectories());
+            for (TrajectorySnapshot tr : previous.getTrajectories()) {
+                if (current.contains(tr)) {
+                    sharedTrajectories.add(tr);
+                } else {
+                    replacedControlPoints.addAll(tr.getControlPoints());
+                }
+            }
+        }
+
+        long cost = WORKSPACE_NODE_BYTES + REFERENCE_BYTES * snapshot.getTrajectories().size();
+        for (TrajectorySnapshot tr : snapshot.getTrajectories()) {
+            if (sharedTrajectories.contains(tr)) {
+                continue;
+            }
+            cost += TRAJECTORY_NODE_BYTES + REFERENCE_BYTES * tr.getControlPoints().size();
+            for (ControlPointSnapshot cp : tr.getControlPoints()) {
+                if (!replacedControlPoints.contains(cp)) {
+                    cost += CONTROL_POINT_NODE_BYTES;
+                }
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Evicts the oldest entries until the estimated memory fits the budget.
+     * The current entry is never evicted.
+     */
+    private void evict() {
+        while (usedMemory > memoryBudget && current > 0) {
+            usedMemory -= entries.remove(0).cost;
+            current--;
+            if (gestureOpen) {
+                gestureBase--;
+            }
+        }
+    }
+
+
+    // -=-=-=- INNER CLASSES -=-=-=-
+
+    /**
+     * A retained state and its estimated memory.
+     */
+    private static final class Entry {
+
+        private final WorkspaceSnapshot snapshot;
+        private final long cost;
+
+        private Entry(WorkspaceSnapshot snapshot, long cost) {
+            this.snapshot = snapshot;
+            this.cost = cost;
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.history;
+
+/**
+ * Listener interface for changes of the current state of a {@link History}.
+ * 
+ * @author Valery Rabchanka
+ */
+public interface HistoryListener {
+
+    /**
+     * Called after a commit, undo or redo changed the current state.
+     * 
+     * @param current the new current state
+     */
+    void historyStateChanged(WorkspaceSnapshot current);
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.history;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import blitz.models.trajectories.Trajectory;
+
+/**
+ * Immutable copy of the state of a {@link Trajectory}.
+ *
+ * The control point snapshots are shared with other trajectory snapshots
+ * wherever the control points did not change in between.
+ *
+ * @see ControlPointSnapshot
+ * @see History
+ *
+ * @author Valery Rabchanka
+ */
+public final class TrajectorySnapshot {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    private final String name;
+    private final boolean isVisible, isLocked;
+    private final double spacing;
+    private final double minSpeed;
+    private final double maxSpeed;
+    private final double minBentRate;
+    private final double maxBentRate;
+    private final double trackWidth;
+    private final String interpolationType;
+    private final String splineType;
+    private final String speedPlannerType;
+    private final List<ControlPointSnapshot> controlPoints;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    /**
+     * Instantiates a snapshot with the specified state.
+     *
+     * @param controlPoints the control point snapshots, owned by the new snapshot from now on
+     */
+    public TrajectorySnapshot(String name, boolean isVisible, boolean isLocked, double spacing, double minSpeed,
+            double maxSpeed, double minBentRate, double maxBentRate, double trackWidth, String interpolationType,
+            String splineType, String speedPlannerType, List<ControlPointSnapshot> controlPoints) {
+        this.name = name;
+        this.isVisible = isVisible;
+        this.isLocked = isLocked;
+        this.spacing = spacing;
+        this.minSpeed = minSpeed;
+        this.maxSpeed = maxSpeed;
+        this.minBentRate = minBentRate;
+        this.maxBentRate = maxBentRate;
+        this.trackWidth = trackWidth;
+        this.interpolationType = interpolationType;
+        this.splineType = splineType;
+        this.speedPlannerType = speedPlannerType;
+        this.controlPoints = Collections.unmodifiableList(controlPoints);
+    }
+
+    /**
+     * Takes a snapshot of the attributes of a trajectory combined with the given
+     * control point snapshots.
+     *
+     * @param tr the trajectory
+     * @param controlPoints snapshots of the control points of the trajectory
+     * @return the snapshot
+     */
+    public static TrajectorySnapshot of(Trajectory tr, List<ControlPointSnapshot> controlPoints) {
+        return new TrajectorySnapshot(tr.getName(), tr.isVisible(), tr.isLocked(), tr.getSpacing(),
+            tr.getMinSpeed(), tr.getMaxSpeed(), tr.getMinBentRate(), tr.getMaxBentRate(), tr.getTrackWidth(),
+            tr.getInterpolationType(), tr.getSplineType(), tr.getSpeedPlannerType(), controlPoints);
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Checks whether the attributes of the trajectory, excluding its control
+     * points, equal this snapshot.
+     *
+     * @param tr the trajectory to compare with
+     * @return {@code true} if the attributes are equal
+     */
+    public boolean matchesAttributes(Trajectory tr) {
+        return isVisible == tr.isVisible()
+            && isLocked == tr.isLocked()
+            && spacing == tr.getSpacing()
+            && minSpeed == tr.getMinSpeed()
+            && maxSpeed == tr.getMaxSpeed()
+            && minBentRate == tr.getMinBentRate()
+            && maxBentRate == tr.getMaxBentRate()
+            && trackWidth == tr.getTrackWidth()
+            && Objects.equals(name, tr.getName())
+            && Objects.equals(interpolationType, tr.getInterpolationType())
+            && Objects.equals(splineType, tr.getSplineType())
+            && Objects.equals(speedPlannerType, tr.getSpeedPlannerType());
+    }
+
+    /**
+     * Creates a new trajectory with the attributes of this snapshot and no control points.
+     *
+     * @return the new trajectory
+     */
+    public Trajectory toEmptyTrajectory() {
+        Trajectory tr = new Trajectory(name);
+        tr.setSplineType(splineType);
+        tr.setInterpolationType(interpolationType);
+        tr.setSpeedPlannerType(speedPlannerType);
+        tr.setSpacing(spacing);
+        tr.setMaxSpeed(maxSpeed);
+        tr.setMinSpeed(minSpeed);
+        tr.setMaxBentRate(maxBentRate);
+        tr.setMinBentRate(minBentRate);
+        tr.setTrackWidth(trackWidth);
+        tr.setIsVisible(isVisible);
+        tr.setIsLocked(isLocked);
+        return tr;
+    }
+
+    /**
+     * Creates a new trajectory with the state of this snapshot.
+     *
+     * @return the new trajectory
+     */
+    public Trajectory toTrajectory() {
+        Trajectory tr = toEmptyTrajectory();
+        for (ControlPointSnapshot cp : controlPoints) {
+            tr.addControlPoint(cp.toControlPoint());
+        }
+        return tr;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isVisible() {
+        return isVisible;
+    }
+
+    public boolean isLocked() {
+        return isLocked;
+    }
+
+    public double getSpacing() {
+        return spacing;
+    }
+
+    public double getMinSpeed() {
+        return minSpeed;
+    }
+
+    public double getMaxSpeed() {
+        return maxSpeed;
+    }
+
+    public double getMinBentRate() {
+        return minBentRate;
+    }
+
+    public double getMaxBentRate() {
+        return maxBentRate;
+    }
+
+    public double getTrackWidth() {
+        return trackWidth;
+    }
+
+    public String getInterpolationType() {
+        return interpolationType;
+    }
+
+    public String getSplineType() {
+        return splineType;
+    }
+
+    public String getSpeedPlannerType() {
+        return speedPlannerType;
+    }
+
+    /**
+     * @return an unmodifiable list of the control point snapshots
+     */
+    public List<ControlPointSnapshot> getControlPoints() {
+        return controlPoints;
+    }
+
+}
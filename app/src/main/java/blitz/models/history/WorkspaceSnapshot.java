@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.history;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable copy of the trajectory list of a workspace together with the
+ * position of its active entities.
+ *
+ * @see TrajectorySnapshot
+ * @see History
+ *
+ * @author Valery Rabchanka
+ */
+public final class WorkspaceSnapshot {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    private final List<TrajectorySnapshot> trajectories;
+    private final int activeTrajectoryIndex;
+    private final int activeControlPointIndex;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    /**
+     * Instantiates a snapshot with the specified state.
+     *
+     * @param trajectories the trajectory snapshots, owned by the new snapshot from now on
+     * @param activeTrajectoryIndex the index of the active trajectory, or {@code -1}
+     * @param activeControlPointIndex the index of the active control point within the active trajectory, or {@code -1}
+     */
+    public WorkspaceSnapshot(List<TrajectorySnapshot> trajectories, int activeTrajectoryIndex, int activeControlPointIndex) {
+        this.trajectories = Collections.unmodifiableList(trajectories);
+        this.activeTrajectoryIndex = activeTrajectoryIndex;
+        this.activeControlPointIndex = activeControlPointIndex;
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Checks whether this snapshot holds exactly the same trajectory snapshots
+     * as another one. Thanks to structural sharing this is an identity comparison.
+     *
+     * @param other the snapshot to compare with
+     * @return {@code true} if both snapshots share all trajectory snapshots
+     */
+    public boolean sharesTrajectoriesWith(WorkspaceSnapshot other) {
+        if (other == null || other.trajectories.size() != trajectories.size()) {
+            return false;
+        }
+        for (int i = 0; i < trajectories.size(); i++) {
+            if (trajectories.get(i) != other.trajectories.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return an unmodifiable list of the trajectory snapshots
+     */
+    public List<TrajectorySnapshot> getTrajectories() {
+        return trajectories;
+    }
+
+    public int getActiveTrajectoryIndex() {
+        return activeTrajectoryIndex;
+    }
+
+    public int getActiveControlPointIndex() {
+        return activeControlPointIndex;
+    }
+
+}
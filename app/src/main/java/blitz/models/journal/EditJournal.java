@@ -0,0 +1,788 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.journal;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import javax.swing.SwingUtilities;
+
+import blitz.configs.Config;
+import blitz.models.history.ControlPointSnapshot;
+import blitz.models.history.History;
+import blitz.models.history.HistoryListener;
+import blitz.models.history.TrajectorySnapshot;
+import blitz.models.history.WorkspaceSnapshot;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint.SYMMETRY;
+
+/**
+ * Crash-safe autosave journal of a {@link History}.
+ *
+ * Every change of the current history state is diffed against the previously
+ * journaled state and appended as compact binary records to a memory-mapped
+ * log. Only changed control points are written when a trajectory keeps its
+ * attributes and size; otherwise the whole trajectory is written. Encoding and
+ * writing happen on a background thread; the calling thread only hands over the
+ * immutable snapshot.
+ *
+ * The log is periodically compacted into a full snapshot file, also in the
+ * background. Snapshot and log carry a generation number, and every record is
+ * checksummed, so a crash at any point leaves a state that replays to the last
+ * completely written edit.
+ *
+ * A journal directory is used by one running instance at a time: it must be
+ * locked with {@link #tryLock()} before it is recovered or started, so a second
+ * window never replays, compacts or replaces the live journal of the first.
+ *
+ * @see History
+ * @see WorkspaceSnapshot
+ *
+ * @author Valery Rabchanka
+ */
+public class EditJournal implements HistoryListener {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    /**
+     * Logger instance for logging information and errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(EditJournal.class.getName());
+
+    private static final int MAGIC = 0x424C545A; // "BLTZ"
+    private static final int FORMAT_VERSION = 4;
+
+    /**
+     * File header: magic, format version, generation, clean-shutdown flag.
+     */
+    private static final int HEADER_BYTES = 16;
+    private static final int CLEAN_FLAG_OFFSET = 12;
+
+    /**
+     * Record header: payload length, generation, CRC32 of generation and payload.
+     */
+    private static final int RECORD_HEADER_BYTES = 12;
+
+    private static final byte LAYOUT_RECORD = 1;
+    private static final byte TRAJECTORY_RECORD = 2;
+    private static final byte CONTROL_POINT_RECORD = 3;
+
+    private static final String LOG_FILE_NAME = "edits.log";
+    private static final String SNAPSHOT_FILE_NAME = "snapshot.bin";
+    private static final String LOCK_FILE_NAME = "journal.lock";
+
+    private final Path logPath;
+    private final Path snapshotPath;
+    private final Path lockPath;
+
+    /**
+     * Exclusive lock on the journal directory, held from {@link #tryLock()} until the journal is closed.
+     */
+    private FileChannel lockChannel;
+    private FileLock directoryLock;
+
+    /**
+     * Single background thread performing all file access after {@link #start(History)}.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Blitz Edit Journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The fields below are confined to the journal thread.
+
+    private History history;
+    private FileChannel logChannel;
+    private MappedByteBuffer log;
+    private int generation;
+    private int recordsSinceCompaction;
+    private long lastForceTime;
+    private WorkspaceSnapshot journaled;
+    private final RecordEncoder encoder = new RecordEncoder();
+    private final CRC32 crc = new CRC32();
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    /**
+     * Creates a journal stored in the given directory. Nothing is written until
+     * {@link #start(History)} is called.
+     *
+     * @param directory the directory of the journal files
+     */
+    public EditJournal(Path directory) {
+        this.logPath = directory.resolve(LOG_FILE_NAME);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE_NAME);
+        this.lockPath = directory.resolve(LOCK_FILE_NAME);
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Takes an exclusive lock on the journal directory for this process. The
+     * lock is released by the operating system if the process dies.
+     *
+     * @return {@code true} if the lock is held, {@code false} if another instance
+     *         holds it or the directory cannot be locked
+     */
+    public boolean tryLock() {
+        if (directoryLock != null) {
+            return true;
+        }
+        try {
+            Files.createDirectories(lockPath.getParent());
+            lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            directoryLock = lockChannel.tryLock();
+        } catch (IOException | OverlappingFileLockException e) {
+            LOGGER.log(Level.FINE, "Could not lock the edit journal.", e);
+        }
+        if (directoryLock == null) {
+            LOGGER.info("The edit journal is used by another instance, autosave is disabled.");
+            releaseLock();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Replays the journal left by a previous session that did not shut down
+     * cleanly. Replay stops at the first incomplete or corrupted record.
+     *
+     * @return the last journaled state, or {@code null} if there is nothing to recover
+     * @throws IllegalStateException if the journal directory is not locked
+     */
+    public WorkspaceSnapshot recover() {
+        checkLocked();
+        try {
+            if (!Files.exists(snapshotPath)) {
+                return null;
+            }
+
+            ReplayState state = new ReplayState();
+            ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
+            int snapshotGeneration = readHeader(snapshot);
+            if (snapshotGeneration < 0) {
+                return null;
+            }
+            replay(snapshot, snapshotGeneration, state);
+
+            if (Files.exists(logPath)) {
+                ByteBuffer logBuffer = ByteBuffer.wrap(Files.readAllBytes(logPath));
+                int logGeneration = readHeader(logBuffer);
+                if (logGeneration == snapshotGeneration) {
+                    if (logBuffer.getInt(CLEAN_FLAG_OFFSET) != 0) {
+                        return null;
+                    }
+                    replay(logBuffer, logGeneration, state);
+                }
+            }
+
+            WorkspaceSnapshot recovered = state.toSnapshot();
+            return recovered.getTrajectories().isEmpty() ? null : recovered;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not recover the edit journal.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Starts journaling the given history. The current state is written as a
+     * fresh snapshot, replacing whatever the journal held before.
+     *
+     * @param history the history to journal
+     * @throws IllegalStateException if the journal directory is not locked
+     */
+    public void start(History history) {
+        checkLocked();
+        WorkspaceSnapshot initial = history.getCurrentState();
+        history.addHistoryListener(this);
+        executor.execute(() -> {
+            try {
+                this.history = history;
+                Files.createDirectories(logPath.getParent());
+                logChannel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                log = logChannel.map(FileChannel.MapMode.READ_WRITE, 0, Config.JOURNAL_LOG_CAPACITY);
+                generation = Math.max(readExistingGeneration(), 0);
+                journaled = initial;
+                compact();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not open the edit journal, autosave is disabled.", e);
+                disable();
+            }
+        });
+    }
+
+    /**
+     * Hands a new state over to the journal thread. Called on the thread that
+     * owns the history and returns immediately.
+     */
+    @Override
+    public void historyStateChanged(WorkspaceSnapshot current) {
+        executor.execute(() -> append(current));
+    }
+
+    /**
+     * Flushes all pending records and marks the journal as cleanly shut down,
+     * so the next session does not offer to recover it.
+     */
+    public void close() {
+        executor.execute(() -> {
+            if (log != null) {
+                log.putInt(CLEAN_FLAG_OFFSET, 1);
+                log.force();
+                disable();
+            }
+            releaseLock();
+        });
+        executor.shutdown();
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Appends the difference between the journaled state and the given state.
+     */
+    private void append(WorkspaceSnapshot state) {
+        if (log == null || state == null || state == journaled) {
+            return;
+        }
+        try {
+            encoder.reset();
+            int records = encodeDifference(journaled, state);
+            journaled = state;
+
+            if (log.position() + encoder.size() > log.capacity()) {
+                compact();
+                return;
+            }
+
+            log.put(encoder.buffer(), 0, encoder.size());
+            recordsSinceCompaction += records;
+
+            if (recordsSinceCompaction >= Config.JOURNAL_COMPACTION_THRESHOLD) {
+                compact();
+            } else if (System.currentTimeMillis() - lastForceTime >= Config.JOURNAL_FORCE_INTERVAL) {
+                log.force();
+                lastForceTime = System.currentTimeMillis();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not write to the edit journal, autosave is disabled.", e);
+            disable();
+        }
+    }
+
+    /**
+     * Writes the journaled state as a new snapshot generation and resets the log.
+     */
+    private void compact() throws IOException {
+        int newGeneration = generation + 1;
+
+        encoder.reset();
+        encoder.header(newGeneration);
+        encodeFull(journaled, newGeneration);
+
+        Path tempPath = snapshotPath.resolveSibling(SNAPSHOT_FILE_NAME + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer data = ByteBuffer.wrap(encoder.buffer(), 0, encoder.size());
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(tempPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        // Records of older generations left in the log are ignored from now on
+        generation = newGeneration;
+        log.clear();
+        log.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(generation).putInt(0);
+        log.putInt(0);
+        log.position(HEADER_BYTES);
+        log.force();
+        lastForceTime = System.currentTimeMillis();
+        recordsSinceCompaction = 0;
+    }
+
+    /**
+     * Encodes the records turning one state into another.
+     *
+     * @return the number of records encoded
+     */
+    private int encodeDifference(WorkspaceSnapshot from, WorkspaceSnapshot to) {
+        List<TrajectorySnapshot> oldTrajectories = from == null ? List.of() : from.getTrajectories();
+        List<TrajectorySnapshot> newTrajectories = to.getTrajectories();
+        int records = 0;
+
+        for (int i = 0; i < newTrajectories.size(); i++) {
+            TrajectorySnapshot newTr = newTrajectories.get(i);
+            TrajectorySnapshot oldTr = i < oldTrajectories.size() ? oldTrajectories.get(i) : null;
+            if (newTr == oldTr) {
+                continue;
+            }
+
+            if (oldTr != null && haveSameAttributes(oldTr, newTr)) {
+                for (int j = 0; j < newTr.getControlPoints().size(); j++) {
+                    ControlPointSnapshot cp = newTr.getControlPoints().get(j);
+                    if (cp != oldTr.getControlPoints().get(j)) {
+                        encoder.beginRecord(generation, CONTROL_POINT_RECORD);
+                        encoder.putInt(i).putInt(j);
+                        encoder.controlPoint(cp);
+                        encoder.endRecord(crc);
+                        records++;
+                    }
+                }
+            } else {
+                encoder.beginRecord(generation, TRAJECTORY_RECORD);
+                encoder.putInt(i);
+                encoder.trajectory(newTr);
+                encoder.endRecord(crc);
+                records++;
+            }
+        }
+
+        if (from == null
+                || oldTrajectories.size() != newTrajectories.size()
+                || from.getActiveTrajectoryIndex() != to.getActiveTrajectoryIndex()
+                || from.getActiveControlPointIndex() != to.getActiveControlPointIndex()) {
+            encodeLayout(to, generation);
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * Encodes the records describing a complete state.
+     */
+    private void encodeFull(WorkspaceSnapshot state, int recordGeneration) {
+        if (state == null) {
+            return;
+        }
+        for (int i = 0; i < state.getTrajectories().size(); i++) {
+            encoder.beginRecord(recordGeneration, TRAJECTORY_RECORD);
+            encoder.putInt(i);
+            encoder.trajectory(state.getTrajectories().get(i));
+            encoder.endRecord(crc);
+        }
+        encodeLayout(state, recordGeneration);
+    }
+
+    private void encodeLayout(WorkspaceSnapshot state, int recordGeneration) {
+        encoder.beginRecord(recordGeneration, LAYOUT_RECORD);
+        encoder.putInt(state.getTrajectories().size());
+        encoder.putInt(state.getActiveTrajectoryIndex());
+        encoder.putInt(state.getActiveControlPointIndex());
+        encoder.endRecord(crc);
+    }
+
+    /**
+     * Checks whether two trajectory snapshots differ in control points only.
+     */
+    private static boolean haveSameAttributes(TrajectorySnapshot a, TrajectorySnapshot b) {
+        return a.getControlPoints().size() == b.getControlPoints().size()
+            && a.isVisible() == b.isVisible()
+            && a.isLocked() == b.isLocked()
+            && a.getSpacing() == b.getSpacing()
+            && a.getMinSpeed() == b.getMinSpeed()
+            && a.getMaxSpeed() == b.getMaxSpeed()
+            && a.getMinBentRate() == b.getMinBentRate()
+            && a.getMaxBentRate() == b.getMaxBentRate()
+            && a.getTrackWidth() == b.getTrackWidth()
+            && a.getName().equals(b.getName())
+            && Objects.equals(a.getInterpolationType(), b.getInterpolationType())
+            && Objects.equals(a.getSplineType(), b.getSplineType())
+            && Objects.equals(a.getSpeedPlannerType(), b.getSpeedPlannerType());
+    }
+
+    /**
+     * Reads the generation stored in the existing log or snapshot, so a new
+     * session never reuses a generation of stale records.
+     */
+    private int readExistingGeneration() {
+        int result = -1;
+        for (Path path : new Path[]{snapshotPath, logPath}) {
+            try {
+                if (Files.exists(path) && Files.size(path) >= HEADER_BYTES) {
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                        channel.read(header, 0);
+                        header.flip();
+                        result = Math.max(result, readHeader(header));
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Could not read journal header of " + path, e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads and validates a file header.
+     *
+     * @return the generation, or {@code -1} if the header is invalid
+     */
+    private static int readHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            return -1;
+        }
+        int fileGeneration = buffer.getInt();
+        buffer.getInt(); // clean flag
+        return fileGeneration;
+    }
+
+    /**
+     * Applies all valid records of the given generation to the replay state.
+     */
+    private static void replay(ByteBuffer buffer, int expectedGeneration, ReplayState state) {
+        CRC32 checksum = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int recordGeneration = buffer.getInt();
+            int storedCrc = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining() || recordGeneration != expectedGeneration) {
+                return;
+            }
+
+            checksum.reset();
+            checksum.update(buffer.array(), start + 4, 4);
+            checksum.update(buffer.array(), buffer.position(), length);
+            if ((int) checksum.getValue() != storedCrc) {
+                return;
+            }
+
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            try {
+                if (!state.apply(payload)) {
+                    return;
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+                return;
+            }
+        }
+    }
+
+    private void checkLocked() {
+        if (directoryLock == null) {
+            throw new IllegalStateException("The journal directory must be locked first.");
+        }
+    }
+
+    /**
+     * Releases the lock on the journal directory, if held.
+     */
+    private void releaseLock() {
+        try {
+            if (directoryLock != null) {
+                directoryLock.release();
+            }
+            if (lockChannel != null) {
+                lockChannel.close();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not release the edit journal lock.", e);
+        }
+        directoryLock = null;
+        lockChannel = null;
+    }
+
+    /**
+     * Stops journaling after an unrecoverable error or on close.
+     */
+    private void disable() {
+        if (history != null) {
+            History h = history;
+            SwingUtilities.invokeLater(() -> h.removeHistoryListener(this));
+        }
+        log = null;
+        if (logChannel != null) {
+            try {
+                logChannel.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Could not close the edit journal.", e);
+            }
+            logChannel = null;
+        }
+    }
+
+
+    // -=-=-=- INNER CLASSES -=-=-=-
+
+    /**
+     * Growable, reusable buffer encoding records.
+     */
+    private static final class RecordEncoder {
+
+        private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private int recordStart;
+
+        void reset() {
+            buffer.clear();
+        }
+
+        byte[] buffer() {
+            return buffer.array();
+        }
+
+        int size() {
+            return buffer.position();
+        }
+
+        void header(int fileGeneration) {
+            ensure(HEADER_BYTES);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(fileGeneration).putInt(0);
+        }
+
+        void beginRecord(int recordGeneration, byte type) {
+            ensure(RECORD_HEADER_BYTES + 1);
+            recordStart = buffer.position();
+            buffer.putInt(0).putInt(recordGeneration).putInt(0);
+            buffer.put(type);
+        }
+
+        void endRecord(CRC32 crc) {
+            int payloadStart = recordStart + RECORD_HEADER_BYTES;
+            int length = buffer.position() - payloadStart;
+            crc.reset();
+            crc.update(buffer.array(), recordStart + 4, 4);
+            crc.update(buffer.array(), payloadStart, length);
+            buffer.putInt(recordStart, length);
+            buffer.putInt(recordStart + 8, (int) crc.getValue());
+        }
+
+        RecordEncoder putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+            return this;
+        }
+
+        void putDouble(double value) {
+            ensure(8);
+            buffer.putDouble(value);
+        }
+
+        void putBoolean(boolean value) {
+            ensure(1);
+            buffer.put((byte) (value ? 1 : 0));
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void controlPoint(ControlPointSnapshot cp) {
+            putString(cp.getName());
+            putDouble(cp.getX());
+            putDouble(cp.getY());
+            putDouble(cp.getRStart());
+            putDouble(cp.getThetaStart());
+            putDouble(cp.getREnd());
+            putDouble(cp.getThetaEnd());
+            putInt(cp.getNumSegments());
+            putDouble(cp.getTime());
+            putBoolean(cp.isLocked());
+            putInt(cp.getSymmetryType() == null ? -1 : cp.getSymmetryType().ordinal());
+            putBoolean(cp.hasHeading());
+            putDouble(cp.getHeading());
+        }
+
+        void trajectory(TrajectorySnapshot tr) {
+            putString(tr.getName());
+            putBoolean(tr.isVisible());
+            putBoolean(tr.isLocked());
+            putDouble(tr.getSpacing());
+            putDouble(tr.getMinSpeed());
+            putDouble(tr.getMaxSpeed());
+            putDouble(tr.getMinBentRate());
+            putDouble(tr.getMaxBentRate());
+            putDouble(tr.getTrackWidth());
+            putString(tr.getInterpolationType());
+            putString(tr.getSplineType());
+            putString(tr.getSpeedPlannerType());
+            putInt(tr.getControlPoints().size());
+            for (ControlPointSnapshot cp : tr.getControlPoints()) {
+                controlPoint(cp);
+            }
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+    }
+
+    /**
+     * State rebuilt while replaying records.
+     */
+    private static final class ReplayState {
+
+        private final ArrayList<TrajectorySnapshot> trajectories = new ArrayList<>();
+        private int activeTrajectoryIndex = -1;
+        private int activeControlPointIndex = -1;
+
+        /**
+         * Applies one record payload.
+         *
+         * @return {@code false} if the record does not fit the state
+         */
+        boolean apply(ByteBuffer payload) {
+            byte type = payload.get();
+            switch (type) {
+                case LAYOUT_RECORD: {
+                    int count = payload.getInt();
+                    if (count < 0 || count > trajectories.size()) return false;
+                    while (trajectories.size() > count) {
+                        trajectories.removeLast();
+                    }
+                    activeTrajectoryIndex = payload.getInt();
+                    activeControlPointIndex = payload.getInt();
+                    return !trajectories.contains(null);
+                }
+                case TRAJECTORY_RECORD: {
+                    int slot = payload.getInt();
+                    if (slot < 0) return false;
+                    TrajectorySnapshot tr = readTrajectory(payload);
+                    while (trajectories.size() <= slot) {
+                        trajectories.add(null);
+                    }
+                    trajectories.set(slot, tr);
+                    return true;
+                }
+                case CONTROL_POINT_RECORD: {
+                    int slot = payload.getInt();
+                    int index = payload.getInt();
+                    TrajectorySnapshot tr = trajectories.get(slot);
+                    if (tr == null) return false;
+                    ArrayList<ControlPointSnapshot> cps = new ArrayList<>(tr.getControlPoints());
+                    cps.set(index, readControlPoint(payload));
+                    trajectories.set(slot, new TrajectorySnapshot(tr.getName(), tr.isVisible(), tr.isLocked(),
+                        tr.getSpacing(), tr.getMinSpeed(), tr.getMaxSpeed(), tr.getMinBentRate(), tr.getMaxBentRate(),
+                        tr.getTrackWidth(), tr.getInterpolationType(), tr.getSplineType(), tr.getSpeedPlannerType(), cps));
+                    return true;
+                }
+                default:
+                    return false;
+            }
+        }
+
+        WorkspaceSnapshot toSnapshot() {
+            ArrayList<TrajectorySnapshot> result = new ArrayList<>();
+            for (TrajectorySnapshot tr : trajectories) {
+                if (tr != null) result.add(tr);
+            }
+            return new WorkspaceSnapshot(result, activeTrajectoryIndex, activeControlPointIndex);
+        }
+
+        private static TrajectorySnapshot readTrajectory(ByteBuffer in) {
+            String name = readString(in);
+            boolean isVisible = in.get() != 0;
+            boolean isLocked = in.get() != 0;
+            double spacing = in.getDouble();
+            double minSpeed = in.getDouble();
+            double maxSpeed = in.getDouble();
+            double minBentRate = in.getDouble();
+            double maxBentRate = in.getDouble();
+            double trackWidth = in.getDouble();
+            String interpolationType = readString(in);
+            String splineType = readString(in);
+            String speedPlannerType = readString(in);
+            int count = in.getInt();
+            if (count < 0 || count > in.remaining()) {
+                throw new IllegalArgumentException("Invalid control point count: " + count);
+            }
+            ArrayList<ControlPointSnapshot> cps = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                cps.add(readControlPoint(in));
+            }
+            return new TrajectorySnapshot(name, isVisible, isLocked, spacing, minSpeed, maxSpeed,
+                minBentRate, maxBentRate, trackWidth, interpolationType, splineType, speedPlannerType, cps);
+        }
+
+        private static ControlPointSnapshot readControlPoint(ByteBuffer in) {
+            String name = readString(in);
+            double x = in.getDouble();
+            double y = in.getDouble();
+            double rStart = in.getDouble();
+            double thetaStart = in.getDouble();
+            double rEnd = in.getDouble();
+            double thetaEnd = in.getDouble();
+            int numSegments = in.getInt();
+            double time = in.getDouble();
+            boolean isLocked = in.get() != 0;
+            int symmetry = in.getInt();
+            SYMMETRY symmetryType = symmetry < 0 ? null : SYMMETRY.values()[symmetry];
+            boolean hasHeading = in.get() != 0;
+            double heading = in.getDouble();
+            return new ControlPointSnapshot(name, x, y, rStart, thetaStart, rEnd, thetaEnd,
+                numSegments, time, isLocked, symmetryType, hasHeading, heading);
+        }
+
+        private static String readString(ByteBuffer in) {
+            int length = in.getInt();
+            if (length < 0) {
+                return null;
+            }
+            if (length > in.remaining()) {
+                throw new IllegalArgumentException("Invalid string length: " + length);
+            }
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+}
@@ -0,0 +1,551 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import blitz.configs.Config;
+import blitz.models.calculations.Calculations;
+import blitz.models.calculations.MotionProfile;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoriesList.TrajectoriesList;
+import blitz.models.trajectories.trajectoryComponents.FollowPoint;
+
+/**
+ * Evaluates many sets of the speed and spacing parameters of a trajectory in
+ * parallel and ranks them, replacing trial and error through the info panel.
+ * 
+ * For every {@link Parameters} set, the follow points are calculated, timed by their
+ * {@link MotionProfile} and tracked by a {@link PurePursuitSimulator} with the track
+ * width and maximum speed the trajectory had when the sweep started, so sets asking
+ * more of the wheels than they can give show up as saturation. The sets come from
+ * {@link #grid(Parameters, Parameters, int)} or {@link #sample(Parameters, Parameters, int, long)}.
+ * 
+ * A sweep copies the trajectory and its control points once, within a single read
+ * of the model on the calling thread. The {@link Config#SWEEP_THREADS} workers copy
+ * that detached snapshot for every set they evaluate, so they never take the
+ * lock of the workspace while the user keeps editing. Workers take the
+ * next set until all are done or the sweep is cancelled, reporting progress after
+ * each one. The best set is written back with {@link Parameters#applyTo(Trajectory)}.
+ * 
+ * <p>
+ * Example usage:
+ * <pre>
+ *     List&lt;Parameters&gt; sets = ParameterSweep.grid(lower, upper, 3);
+ *     ParameterSweep sweep = ParameterSweep.start(tr, sets, Ranking.TRACKING_ERROR, listener);
+ *     sweep.getBest().getParameters().applyTo(tr);
+ * </pre>
+ * </p>
+ * 
+ * @author Valery Rabchanka
+ */
+public final class ParameterSweep {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    /**
+     * Threads shared by all sweeps.
+     */
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(Config.SWEEP_THREADS, r -> {
+        Thread thread = new Thread(r, "Blitz Parameter Sweep");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Orders of the outcomes, each preferring sets whose simulated run completed.
+     */
+    public enum Ranking {
+        /** Shortest profiled time along the path first. */
+        PATH_TIME(Comparator.comparingDouble(Outcome::getPathTime)),
+        /** Smallest root mean square cross-track error first. */
+        TRACKING_ERROR(Comparator.comparingDouble(Outcome::getTrackingError)),
+        /** Fewest follow points first. */
+        POINT_COUNT(Comparator.comparingInt(Outcome::getNumFollowPoints));
+
+        private final Comparator<Outcome> order;
+
+        Ranking(Comparator<Outcome> metric) {
+            this.order = Comparator.comparing((Outcome o) -> !o.isCompleted())
+                .thenComparing(metric)
+                .thenComparingDouble(Outcome::getPathTime);
+        }
+    }
+
+    private final List<Parameters> candidates;
+    private final Trajectory snapshot;
+    private final Outcome[] outcomes;
+    private final Ranking ranking;
+    private final ProgressListener listener;
+    private final double trackWidth;
+    private final double maxWheelSpeed;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final CountDownLatch finished;
+    private volatile boolean cancelled = false;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    private ParameterSweep(Trajectory tr, List<Parameters> candidates, Ranking ranking, ProgressListener listener) {
+        this.candidates = candidates;
+        this.ranking = ranking;
+        this.listener = listener;
+        this.outcomes = new Outcome[candidates.size()];
+        this.snapshot = tr.getAccess().read(() -> new Trajectory(tr));
+        this.trackWidth = snapshot.getTrackWidth();
+        this.maxWheelSpeed = snapshot.getMaxSpeed() > 0 ? snapshot.getMaxSpeed() : Double.POSITIVE_INFINITY;
+
+        int numWorkers = Math.min(Config.SWEEP_THREADS, Math.max(1, candidates.size()));
+        this.finished = new CountDownLatch(numWorkers);
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Starts evaluating parameter sets of a trajectory in the background.
+     * 
+     * @param tr         the trajectory to tune
+     * @param candidates the parameter sets to evaluate
+     * @param ranking    the order of the outcomes
+     * @param listener   notified on a worker thread after each evaluated set, may be {@code null}
+     * @return the running sweep
+     * @throws IllegalArgumentException if an argument is {@code null} or a set is invalid
+     */
+    public static ParameterSweep start(Trajectory tr, List<Parameters> candidates, Ranking ranking,
+            ProgressListener listener) {
+        if (tr == null || candidates == null || ranking == null) {
+            throw new IllegalArgumentException("Trajectory, parameter sets and ranking are required.");
+        }
+        for (Parameters p : candidates) {
+            if (p == null || !p.isValid()) {
+                throw new IllegalArgumentException("Invalid parameter set: " + p);
+            }
+        }
+
+        ParameterSweep sweep = new ParameterSweep(tr, List.copyOf(candidates), ranking, listener);
+        for (long i = sweep.finished.getCount(); i > 0; i--) {
+            WORKERS.execute(sweep::work);
+        }
+        return sweep;
+    }
+
+    /**
+     * Evaluates parameter sets until none are left or the sweep is cancelled.
+     */
+    private void work() {
+        try {
+            int i;
+            while (!cancelled && (i = next.getAndIncrement()) < outcomes.length) {
+                outcomes[i] = evaluate(candidates.get(i));
+                int done = completed.incrementAndGet();
+                if (listener != null) {
+                    listener.progressed(done, outcomes.length);
+                }
+            }
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    private Outcome evaluate(Parameters parameters) {
+        try {
+            Trajectory copy = new Trajectory(snapshot);
+            parameters.set(copy);
+            return evaluateUnguarded(parameters, copy);
+        } catch (RuntimeException e) {
+            // A set that cannot be evaluated ranks last instead of stopping the worker
+            return new Outcome(parameters, 0, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, false, 0);
+        }
+    }
+
+    private Outcome evaluateUnguarded(Parameters parameters, Trajectory copy) {
+        ArrayList<FollowPoint> followPoints = Calculations.calculateFollowPoints(copy);
+        MotionProfile profile = MotionProfile.of(followPoints);
+        if (profile == null) {
+            return new Outcome(parameters, 0, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, false, 0);
+        }
+
+        PurePursuitSimulator.Result run = PurePursuitSimulator.of(profile, trackWidth, maxWheelSpeed,
+            Config.SIMULATION_MAX_WHEEL_ACCELERATION).run();
+        return new Outcome(parameters, followPoints.size(), profile.getDuration(), run.getRmsCrossTrackError(),
+            run.isCompleted(), run.getSaturation());
+    }
+
+    /**
+     * Stops the sweep after the sets being evaluated; the others are skipped.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return {@code true} if the sweep was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return {@code true} if all workers have stopped, having finished or been cancelled
+     */
+    public boolean isDone() {
+        return finished.getCount() == 0;
+    }
+
+    /**
+     * @return the number of evaluated parameter sets
+     */
+    public int getCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * @return the number of parameter sets of the sweep
+     */
+    public int getTotal() {
+        return outcomes.length;
+    }
+
+    /**
+     * Waits for the sweep to finish and returns the outcomes of all parameter sets,
+     * best first.
+     * 
+     * @return the ranked outcomes
+     * @throws InterruptedException  if interrupted while waiting
+     * @throws CancellationException if the sweep was cancelled
+     */
+    public List<Outcome> getRanked() throws InterruptedException {
+        finished.await();
+        if (cancelled) {
+            throw new CancellationException("The parameter sweep was cancelled.");
+        }
+        Outcome[] ranked = outcomes.clone();
+        Arrays.sort(ranked, ranking.order);
+        return List.of(ranked);
+    }
+
+    /**
+     * Waits for the sweep to finish and returns the outcome of the best parameter set.
+     * 
+     * @return the best outcome, or {@code null} if there were no parameter sets
+     * @throws InterruptedException  if interrupted while waiting
+     * @throws CancellationException if the sweep was cancelled
+     */
+    public Outcome getBest() throws InterruptedException {
+        List<Outcome> ranked = getRanked();
+        return ranked.isEmpty() ? null : ranked.get(0);
+    }
+
+    /**
+     * Returns every combination of evenly spaced values of each parameter between two
+     * bounds, skipping invalid ones such as a minimum speed above the maximum speed.
+     * 
+     * @param lower             the lowest value of each parameter
+     * @param upper             the highest value of each parameter
+     * @param valuesPerParameter the number of values of each parameter; parameters with
+     *                          equal bounds take a single value
+     * @return the parameter sets
+     * @throws IllegalArgumentException if a bound is missing or the number of values is not positive
+     */
+    public static List<Parameters> grid(Parameters lower, Parameters upper, int valuesPerParameter) {
+        if (lower == null || upper == null || valuesPerParameter < 1) {
+            throw new IllegalArgumentException("Bounds and a positive number of values are required.");
+        }
+
+        double[] low = lower.toArray();
+        double[] high = upper.toArray();
+        int[] counts = new int[Parameters.SIZE];
+        int total = 1;
+        for (int k = 0; k < Parameters.SIZE; k++) {
+            counts[k] = low[k] == high[k] ? 1 : valuesPerParameter;
+            total *= counts[k];
+        }
+
+        List<Parameters> result = new ArrayList<>();
+        int[] digits = new int[Parameters.SIZE];
+        double[] values = new double[Parameters.SIZE];
+        for (int n = 0; n < total; n++) {
+            int rest = n;
+            for (int k = 0; k < Parameters.SIZE; k++) {
+                digits[k] = rest % counts[k];
+                rest /= counts[k];
+                values[k] = counts[k] == 1 ? low[k] : low[k] + (high[k] - low[k]) * digits[k] / (counts[k] - 1);
+            }
+            Parameters p = Parameters.fromArray(values);
+            if (p.isValid()) {
+                result.add(p);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns parameter sets drawn uniformly between two bounds, skipping invalid ones.
+     * 
+     * @param lower the lowest value of each parameter
+     * @param upper the highest value of each parameter
+     * @param count the number of sets to draw
+     * @param seed  the seed of the random numbers, so samples can be repeated
+     * @return the valid parameter sets among those drawn
+     * @throws IllegalArgumentException if a bound is missing or the count is negative
+     */
+    public static List<Parameters> sample(Parameters lower, Parameters upper, int count, long seed) {
+        if (lower == null || upper == null || count < 0) {
+            throw new IllegalArgumentException("Bounds and a non-negative count are required.");
+        }
+
+        double[] low = lower.toArray();
+        double[] high = upper.toArray();
+        Random random = new Random(seed);
+        List<Parameters> result = new ArrayList<>(count);
+        double[] values = new double[Parameters.SIZE];
+        for (int n = 0; n < count; n++) {
+            for (int k = 0; k < Parameters.SIZE; k++) {
+                values[k] = low[k] + (high[k] - low[k]) * random.nextDouble();
+            }
+            Parameters p = Parameters.fromArray(values);
+            if (p.isValid()) {
+                result.add(p);
+            }
+        }
+        return result;
+    }
+
+
+    // -=-=-=- INNER CLASSES -=-=-=-
+
+    /**
+     * Receives the progress of a sweep.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * Called on a worker thread after a parameter set was evaluated.
+         * 
+         * @param completed the number of evaluated parameter sets
+         * @param total     the number of parameter sets of the sweep
+         */
+        void progressed(int completed, int total);
+    }
+
+    /**
+     * Speed and spacing parameters of a trajectory.
+     */
+    public static final class Parameters {
+
+        private static final int SIZE = 5;
+
+        private final double spacing;
+        private final double minSpeed, maxSpeed;
+        private final double minBentRate, maxBentRate;
+
+        /**
+         * Instantiates a parameter set.
+         */
+        public Parameters(double spacing, double minSpeed, double maxSpeed, double minBentRate, double maxBentRate) {
+            this.spacing = spacing;
+            this.minSpeed = minSpeed;
+            this.maxSpeed = maxSpeed;
+            this.minBentRate = minBentRate;
+            this.maxBentRate = maxBentRate;
+        }
+
+        /**
+         * Returns the current parameters of a trajectory.
+         * 
+         * @param tr the trajectory
+         * @return its parameter set
+         */
+        public static Parameters of(Trajectory tr) {
+            return new Parameters(tr.getSpacing(), tr.getMinSpeed(), tr.getMaxSpeed(), tr.getMinBentRate(),
+                tr.getMaxBentRate());
+        }
+
+        private static Parameters fromArray(double[] values) {
+            return new Parameters(values[0], values[1], values[2], values[3], values[4]);
+        }
+
+        private double[] toArray() {
+            return new double[]{spacing, minSpeed, maxSpeed, minBentRate, maxBentRate};
+        }
+
+        /**
+         * Returns whether a trajectory accepts the parameters: a spacing within
+         * [0.1, 12), non-negative speeds, bent rates within [0, 1], and minimums below
+         * the maximums.
+         * 
+         * @return {@code true} if the parameters are valid
+         */
+        public boolean isValid() {
+            return 0.1 <= spacing && spacing < 12
+                && 0 <= minSpeed && minSpeed <= maxSpeed
+                && 0 <= minBentRate && minBentRate < maxBentRate && maxBentRate <= 1;
+        }
+
+        /**
+         * Writes the parameters to a trajectory on the Event Dispatch Thread and
+         * notifies the listeners, so the edit is recorded in the history and
+         * rendered. May be called from any thread; off the EDT the write is queued
+         * and this method returns right away.
+         * 
+         * @param tr the trajectory
+         * @throws IllegalArgumentException if the parameters are invalid
+         */
+        public void applyTo(Trajectory tr) {
+            if (!isValid()) {
+                throw new IllegalArgumentException("Invalid parameter set: " + this);
+            }
+            Runnable apply = () -> {
+                tr.getAccess().write(() -> set(tr));
+                TrajectoriesList.notifyTrajectoryStateEdited(tr);
+            };
+            if (SwingUtilities.isEventDispatchThread()) {
+                apply.run();
+            } else {
+                SwingUtilities.invokeLater(apply);
+            }
+        }
+
+        /**
+         * Writes the parameters, lowering the minimums first so no intermediate state
+         * is rejected.
+         */
+        private void set(Trajectory tr) {
+            tr.setMinSpeed(0);
+            tr.setMaxSpeed(maxSpeed);
+            tr.setMinSpeed(minSpeed);
+            tr.setMinBentRate(0);
+            tr.setMaxBentRate(maxBentRate);
+            tr.setMinBentRate(minBentRate);
+            tr.setSpacing(spacing);
+        }
+
+        public double getSpacing() {
+            return spacing;
+        }
+
+        public double getMinSpeed() {
+            return minSpeed;
+        }
+
+        public double getMaxSpeed() {
+            return maxSpeed;
+        }
+
+        public double getMinBentRate() {
+            return minBentRate;
+        }
+
+        public double getMaxBentRate() {
+            return maxBentRate;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("spacing %.4f, speed %.4f-%.4f, bent rate %.4f-%.4f",
+                spacing, minSpeed, maxSpeed, minBentRate, maxBentRate);
+        }
+    }
+
+    /**
+     * Evaluation of a parameter set.
+     */
+    public static final class Outcome {
+
+        private final Parameters parameters;
+        private final int numFollowPoints;
+        private final double pathTime;
+        private final double trackingError;
+        private final boolean completed;
+        private final double saturation;
+
+        private Outcome(Parameters parameters, int numFollowPoints, double pathTime, double trackingError,
+                boolean completed, double saturation) {
+            this.parameters = parameters;
+            this.numFollowPoints = numFollowPoints;
+            this.pathTime = pathTime;
+            this.trackingError = trackingError;
+            this.completed = completed;
+            this.saturation = saturation;
+        }
+
+        /**
+         * @return the evaluated parameter set
+         */
+        public Parameters getParameters() {
+            return parameters;
+        }
+
+        /**
+         * @return the number of follow points of the path
+         */
+        public int getNumFollowPoints() {
+            return numFollowPoints;
+        }
+
+        /**
+         * @return the profiled time along the path, in seconds
+         */
+        public double getPathTime() {
+            return pathTime;
+        }
+
+        /**
+         * @return the root mean square cross-track error of the simulated run, in field units
+         */
+        public double getTrackingError() {
+            return trackingError;
+        }
+
+        /**
+         * @return {@code true} if the simulated robot reached the end of the path
+         */
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        /**
+         * @return the fraction of simulated steps in which a wheel was saturated
+         */
+        public double getSaturation() {
+            return saturation;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d points, %.3f s, error %.3f%s, saturated %.1f%%", parameters,
+                numFollowPoints, pathTime, trackingError, completed ? "" : " (not completed)", saturation * 100);
+        }
+    }
+
+}
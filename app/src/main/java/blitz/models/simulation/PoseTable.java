@@ -0,0 +1,243 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.simulation;
+
+import java.util.List;
+
+import blitz.configs.Config;
+import blitz.models.calculations.MotionProfile;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.FollowPoint;
+
+/**
+ * Robot poses along a path, sampled at a fixed time step.
+ * 
+ * The table is built once from the {@link MotionProfile} of a trajectory, which
+ * times the arrival at every follow point. The heading is the one calculated for the
+ * follow points by the {@link blitz.models.calculations.HeadingProfile}: the direction
+ * of travel, or the keyframed heading of a holonomic robot.
+ * 
+ * Looking up the pose at a time is a constant-time interpolation between the two
+ * neighbouring samples into a caller-provided array, without any allocation.
+ * 
+ * Tables are immutable and may be built on any thread.
+ * 
+ * @author Valery Rabchanka
+ */
+public final class PoseTable {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    /**
+     * Indices of the pose components written by {@link #poseAt(double, double[])}.
+     */
+    public static final int X = 0, Y = 1, HEADING = 2, SPEED = 3;
+
+    /**
+     * Length of a pose array.
+     */
+    public static final int POSE_SIZE = 4;
+
+    private final double timeStep;
+    private final double duration;
+    private final int numSamples;
+    private final double[] xs, ys, headings, speeds;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    private PoseTable(double timeStep, double duration, double[] xs, double[] ys, double[] headings, double[] speeds) {
+        this.timeStep = timeStep;
+        this.duration = duration;
+        this.numSamples = xs.length;
+        this.xs = xs;
+        this.ys = ys;
+        this.headings = headings;
+        this.speeds = speeds;
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Builds the pose table of a trajectory at {@link Config#PLAYBACK_TIME_STEP}.
+     * 
+     * @param tr the trajectory
+     * @return the pose table, or {@code null} if the trajectory has no path
+     */
+    public static PoseTable of(Trajectory tr) {
+        return of(MotionProfile.of(tr), Config.PLAYBACK_TIME_STEP);
+    }
+
+    /**
+     * Builds the pose table of a path.
+     * 
+     * @param followPoints the follow points of the path, may be {@code null}
+     * @param timeStep     the time between two samples, in seconds
+     * @return the pose table, or {@code null} if there are fewer than two follow points
+     * @throws IllegalArgumentException if the time step is not positive
+     */
+    public static PoseTable of(List<FollowPoint> followPoints, double timeStep) {
+        return of(MotionProfile.of(followPoints), timeStep);
+    }
+
+    /**
+     * Builds the pose table of a motion profile.
+     * 
+     * @param profile  the motion profile of the path, may be {@code null}
+     * @param timeStep the time between two samples, in seconds
+     * @return the pose table, or {@code null} if there is no profile
+     * @throws IllegalArgumentException if the time step is not positive
+     */
+    public static PoseTable of(MotionProfile profile, double timeStep) {
+        if (!(timeStep > 0)) {
+            throw new IllegalArgumentException("Time step must be positive.");
+        }
+        if (profile == null) {
+            return null;
+        }
+
+        List<FollowPoint> followPoints = profile.getFollowPoints();
+        int n = profile.size();
+        double[] arrival = new double[n];
+        for (int i = 0; i < n; i++) {
+            arrival[i] = profile.getTime(i);
+        }
+
+        // Sample positions, speeds and headings, walking the follow points alongside the samples.
+        // The last sample is taken at the end of the profile, which may be less than a step after the one before
+        double duration = arrival[n - 1];
+        int numSamples = (int) Math.ceil(duration / timeStep) + 1;
+        double[] xs = new double[numSamples];
+        double[] ys = new double[numSamples];
+        double[] speeds = new double[numSamples];
+        double[] headings = new double[numSamples];
+        int seg = 0;
+        for (int k = 0; k < numSamples; k++) {
+            double t = Math.min(k * timeStep, duration);
+            while (seg < n - 2 && arrival[seg + 1] < t) {
+                seg++;
+            }
+            FollowPoint p0 = followPoints.get(seg);
+            FollowPoint p1 = followPoints.get(seg + 1);
+            double span = arrival[seg + 1] - arrival[seg];
+            double f = span > 0 ? (t - arrival[seg]) / span : 1;
+            xs[k] = p0.getX() + (p1.getX() - p0.getX()) * f;
+            ys[k] = p0.getY() + (p1.getY() - p0.getY()) * f;
+            speeds[k] = profile.getVelocity(seg) + (profile.getVelocity(seg + 1) - profile.getVelocity(seg)) * f;
+
+            // Interpolate the heading the short way around
+            double h0 = Math.toRadians(p0.getHeading());
+            double turn = Math.IEEEremainder(Math.toRadians(p1.getHeading()) - h0, 2 * Math.PI);
+            headings[k] = h0 + turn * f;
+        }
+
+        return new PoseTable(timeStep, duration, xs, ys, headings, speeds);
+    }
+
+    /**
+     * Writes the pose at a time into an array, interpolating between the two
+     * neighbouring samples. Times outside the table are clamped to its ends.
+     * 
+     * @param time the time since the start of the path, in seconds
+     * @param pose the array of at least {@link #POSE_SIZE} receiving x, y, heading
+     *             (radians, counterclockwise from the x axis) and speed
+     */
+    public void poseAt(double time, double[] pose) {
+        int i;
+        double f;
+        if (!(time > 0)) {
+            i = 0;
+            f = 0;
+        } else if (time >= duration) {
+            i = numSamples - 1;
+            f = 0;
+        } else {
+            i = Math.min((int) (time / timeStep), numSamples - 2);
+            double start = i * timeStep;
+            f = (time - start) / (Math.min(start + timeStep, duration) - start);
+        }
+        int j = Math.min(i + 1, numSamples - 1);
+
+        pose[X] = xs[i] + (xs[j] - xs[i]) * f;
+        pose[Y] = ys[i] + (ys[j] - ys[i]) * f;
+        pose[SPEED] = speeds[i] + (speeds[j] - speeds[i]) * f;
+
+        // Interpolate the heading the short way around
+        double turn = Math.IEEEremainder(headings[j] - headings[i], 2 * Math.PI);
+        pose[HEADING] = headings[i] + turn * f;
+    }
+
+    /**
+     * Writes the pose of a sample into an array.
+     * 
+     * @param index the index of the sample, at time {@code index * getTimeStep()}, or
+     *              {@link #getDuration()} for the last one
+     * @param pose  the array of at least {@link #POSE_SIZE} receiving the pose, laid out
+     *              as by {@link #poseAt(double, double[])}
+     */
+    public void sampleAt(int index, double[] pose) {
+        pose[X] = xs[index];
+        pose[Y] = ys[index];
+        pose[HEADING] = headings[index];
+        pose[SPEED] = speeds[index];
+    }
+
+    /**
+     * Returns the time at which the robot is closest to a position.
+     * 
+     * @param x the x-coordinate in field units
+     * @param y the y-coordinate in field units
+     * @return the time of the closest sample, in seconds
+     */
+    public double nearestTime(double x, double y) {
+        int best = 0;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (int k = 0; k < numSamples; k++) {
+            double dx = xs[k] - x;
+            double dy = ys[k] - y;
+            double distance = dx * dx + dy * dy;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = k;
+            }
+        }
+        return Math.min(best * timeStep, duration);
+    }
+
+    /**
+     * @return the time needed to drive the whole path, in seconds
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return the time between two samples, in seconds
+     */
+    public double getTimeStep() {
+        return timeStep;
+    }
+
+    /**
+     * @return the number of samples
+     */
+    public int getNumSamples() {
+        return numSamples;
+    }
+
+}
@@ -0,0 +1,440 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.simulation;
+
+import java.util.List;
+
+import blitz.configs.Config;
+import blitz.models.calculations.MotionProfile;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.FollowPoint;
+
+/**
+ * Headless simulation of a differential drive tracking a path with pure pursuit,
+ * to tune the lookahead and gains before going to the field.
+ * 
+ * Every step, the controller steers towards the point of the path at the lookahead
+ * distance from the robot along the arc of curvature {@code 2 y / d^2}, at the
+ * velocity the {@link MotionProfile} plans at the follow point after the closest one. The wheel
+ * commands are scaled down to the wheel speed limit, and each wheel follows its
+ * command through a proportional velocity loop limited to the wheel acceleration.
+ * A run ends when the robot is within {@link Config#SIMULATION_END_TOLERANCE} of the
+ * end of the path, or has failed after {@link Config#SIMULATION_TIMEOUT_FACTOR} times
+ * the profiled duration.
+ * 
+ * The path is copied into arrays once, and stepping touches nothing else, so a run
+ * allocates only its {@link Result}. Simulators are immutable, so runs with
+ * different parameters may proceed on any number of threads at once.
+ * 
+ * @author Valery Rabchanka
+ */
+public final class PurePursuitSimulator {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    private final int numPoints;
+    private final double[] xs, ys;
+
+    /**
+     * Distance along the path and profiled velocity at every follow point.
+     */
+    private final double[] distances, velocities;
+
+    private final double startHeading;
+    private final double duration;
+
+    private final double trackWidth;
+    private final double maxWheelSpeed;
+    private final double maxWheelAcceleration;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    private PurePursuitSimulator(MotionProfile profile, double trackWidth, double maxWheelSpeed,
+            double maxWheelAcceleration) {
+        List<FollowPoint> followPoints = profile.getFollowPoints();
+        this.numPoints = profile.size();
+        this.xs = new double[numPoints];
+        this.ys = new double[numPoints];
+        this.distances = new double[numPoints];
+        this.velocities = new double[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            FollowPoint fp = followPoints.get(i);
+            xs[i] = fp.getX();
+            ys[i] = fp.getY();
+            distances[i] = profile.getDistance(i);
+            velocities[i] = profile.getVelocity(i);
+        }
+        this.startHeading = pathDirectionAtStart();
+        this.duration = profile.getDuration();
+        this.trackWidth = trackWidth;
+        this.maxWheelSpeed = maxWheelSpeed;
+        this.maxWheelAcceleration = maxWheelAcceleration;
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Prepares the simulation of a trajectory, driven by a robot with its track width
+     * and maximum speed and the wheel acceleration in {@link Config}.
+     * 
+     * @param tr the trajectory
+     * @return the simulator, or {@code null} if the trajectory has no path
+     */
+    public static PurePursuitSimulator of(Trajectory tr) {
+        return tr.getAccess().read(() -> {
+            double maxWheelSpeed = tr.getMaxSpeed() > 0 ? tr.getMaxSpeed() : Double.POSITIVE_INFINITY;
+            return of(MotionProfile.of(tr), tr.getTrackWidth(), maxWheelSpeed, Config.SIMULATION_MAX_WHEEL_ACCELERATION);
+        });
+    }
+
+    /**
+     * Prepares the simulation of a profiled path.
+     * 
+     * @param profile              the motion profile of the path, may be {@code null}
+     * @param trackWidth           the distance between the wheels, in field units
+     * @param maxWheelSpeed        the speed limit of each wheel, may be infinite
+     * @param maxWheelAcceleration the acceleration limit of each wheel, in speed units per second
+     * @return the simulator, or {@code null} if there is no profile
+     * @throws IllegalArgumentException if the track width or a limit is not positive
+     */
+    public static PurePursuitSimulator of(MotionProfile profile, double trackWidth, double maxWheelSpeed,
+            double maxWheelAcceleration) {
+        if (!(trackWidth > 0) || !(maxWheelSpeed > 0) || !(maxWheelAcceleration > 0)) {
+            throw new IllegalArgumentException("Track width and wheel limits must be positive.");
+        }
+        if (profile == null) {
+            return null;
+        }
+        return new PurePursuitSimulator(profile, trackWidth, maxWheelSpeed, maxWheelAcceleration);
+    }
+
+    /**
+     * Returns the direction of the path at its start, from the first follow point to
+     * the next one at a different position. The heading of the follow points is not
+     * used, as a holonomic robot may face away from the direction of travel.
+     * 
+     * @return the direction in radians, counterclockwise from the x axis
+     */
+    private double pathDirectionAtStart() {
+        for (int i = 1; i < numPoints; i++) {
+            double dx = xs[i] - xs[0];
+            double dy = ys[i] - ys[0];
+            if (dx != 0 || dy != 0) {
+                return Math.atan2(dy, dx);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Simulates tracking the path with the lookahead, gain and time step in {@link Config}.
+     * 
+     * @return the result of the run
+     */
+    public Result run() {
+        return run(Config.SIMULATION_LOOKAHEAD, Config.SIMULATION_VELOCITY_GAIN, Config.SIMULATION_TIME_STEP);
+    }
+
+    /**
+     * Simulates tracking the path.
+     * 
+     * @param lookahead    the distance from the robot to the target point, in field units
+     * @param velocityGain the proportional gain of the wheel velocity loops, per second
+     * @param timeStep     the duration of a step, in seconds
+     * @return the result of the run
+     * @throws IllegalArgumentException if a parameter is not positive
+     */
+    public Result run(double lookahead, double velocityGain, double timeStep) {
+        if (!(lookahead > 0) || !(velocityGain > 0) || !(timeStep > 0)) {
+            throw new IllegalArgumentException("Lookahead, gain and time step must be positive.");
+        }
+
+        int last = numPoints - 1;
+        double halfWidth = trackWidth / 2;
+        double maxDelta = maxWheelAcceleration * timeStep;
+        double endToleranceSq = Config.SIMULATION_END_TOLERANCE * Config.SIMULATION_END_TOLERANCE;
+        double timeout = Math.max(duration * Config.SIMULATION_TIMEOUT_FACTOR, duration + 1);
+        int maxSteps = (int) Math.ceil(timeout / timeStep);
+
+        // Robot state
+        double x = xs[0];
+        double y = ys[0];
+        double heading = startHeading;
+        double left = 0;
+        double right = 0;
+
+        // Path progress: closest follow point and target point on a segment
+        int closest = 0;
+        int targetSegment = 0;
+        double targetFraction = 0;
+
+        double maxError = 0;
+        double sumSqError = 0;
+        int saturatedSteps = 0;
+        int steps = 0;
+        boolean completed = false;
+
+        while (steps < maxSteps) {
+
+            // Closest follow point, searched ahead within twice the lookahead along the path
+            double bestSq = distanceSq(x, y, closest);
+            for (int i = closest + 1; i <= last && distances[i] - distances[closest] <= 2 * lookahead; i++) {
+                double dSq = distanceSq(x, y, i);
+                if (dSq < bestSq) {
+                    bestSq = dSq;
+                    closest = i;
+                }
+            }
+
+            double endSq = distanceSq(x, y, last);
+            if (endSq <= endToleranceSq || closest == last && isPastEnd(x, y)) {
+                completed = true;
+                break;
+            }
+
+            // Cross-track error to the segments around the closest follow point
+            double errorSq = bestSq;
+            if (closest > 0) {
+                errorSq = Math.min(errorSq, segmentDistanceSq(x, y, closest - 1));
+            }
+            if (closest < last) {
+                errorSq = Math.min(errorSq, segmentDistanceSq(x, y, closest));
+            }
+            double error = Math.sqrt(errorSq);
+            maxError = Math.max(maxError, error);
+            sumSqError += errorSq;
+
+            // Target point: the furthest intersection of the lookahead circle with the path
+            double targetX, targetY;
+            if (endSq <= lookahead * lookahead) {
+                targetSegment = last;
+                targetX = xs[last];
+                targetY = ys[last];
+            } else {
+                if (targetSegment < closest - 1) {
+                    targetSegment = Math.max(0, closest - 1);
+                    targetFraction = 0;
+                }
+                for (int i = targetSegment; i < last && distances[i] - distances[closest] <= 2 * lookahead; i++) {
+                    double f = intersection(x, y, lookahead, i);
+                    if (f >= 0 && (i > targetSegment || f >= targetFraction)) {
+                        targetSegment = i;
+                        targetFraction = f;
+                    }
+                }
+                if (targetSegment >= last) {
+                    targetX = xs[last];
+                    targetY = ys[last];
+                } else {
+                    targetX = xs[targetSegment] + (xs[targetSegment + 1] - xs[targetSegment]) * targetFraction;
+                    targetY = ys[targetSegment] + (ys[targetSegment + 1] - ys[targetSegment]) * targetFraction;
+                }
+            }
+
+            // Curvature of the arc through the target point, tangent to the heading
+            double cos = Math.cos(heading);
+            double sin = Math.sin(heading);
+            double dx = targetX - x;
+            double dy = targetY - y;
+            double dSq = dx * dx + dy * dy;
+            double curvature = dSq > 0 ? 2 * (cos * dy - sin * dx) / dSq : 0;
+
+            // Wheel commands at the velocity planned ahead of the robot, which is zero at
+            // the start, scaled down to the wheel speed limit
+            double v = Math.max(velocities[Math.min(closest + 1, last)], Config.MOTION_PROFILE_MIN_VELOCITY);
+            double leftCommand = v * (1 - curvature * halfWidth);
+            double rightCommand = v * (1 + curvature * halfWidth);
+            boolean saturated = false;
+            double outer = Math.max(Math.abs(leftCommand), Math.abs(rightCommand));
+            if (outer > maxWheelSpeed) {
+                leftCommand *= maxWheelSpeed / outer;
+                rightCommand *= maxWheelSpeed / outer;
+                saturated = true;
+            }
+
+            // Wheel velocity loops, limited to the wheel acceleration
+            double leftDelta = velocityGain * (leftCommand - left) * timeStep;
+            double rightDelta = velocityGain * (rightCommand - right) * timeStep;
+            if (Math.abs(leftDelta) > maxDelta) {
+                leftDelta = Math.copySign(maxDelta, leftDelta);
+                saturated = true;
+            }
+            if (Math.abs(rightDelta) > maxDelta) {
+                rightDelta = Math.copySign(maxDelta, rightDelta);
+                saturated = true;
+            }
+            left += leftDelta;
+            right += rightDelta;
+            if (saturated) {
+                saturatedSteps++;
+            }
+
+            // Move along the arc, with the heading at the middle of the step
+            double speed = (left + right) / 2;
+            double turnRate = (right - left) / trackWidth;
+            double midHeading = heading + turnRate * timeStep / 2;
+            x += speed * Math.cos(midHeading) * timeStep;
+            y += speed * Math.sin(midHeading) * timeStep;
+            heading += turnRate * timeStep;
+
+            steps++;
+        }
+
+        double rmsError = steps > 0 ? Math.sqrt(sumSqError / steps) : 0;
+        double saturation = steps > 0 ? (double) saturatedSteps / steps : 0;
+        return new Result(completed, steps * timeStep, maxError, rmsError, saturation, steps);
+    }
+
+    private double distanceSq(double x, double y, int i) {
+        double dx = xs[i] - x;
+        double dy = ys[i] - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Returns the squared distance from a point to the segment starting at a follow point.
+     */
+    private double segmentDistanceSq(double x, double y, int i) {
+        double sx = xs[i + 1] - xs[i];
+        double sy = ys[i + 1] - ys[i];
+        double lengthSq = sx * sx + sy * sy;
+        double f = lengthSq > 0 ? ((x - xs[i]) * sx + (y - ys[i]) * sy) / lengthSq : 0;
+        f = Math.max(0, Math.min(1, f));
+        double dx = xs[i] + sx * f - x;
+        double dy = ys[i] + sy * f - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Returns the fraction of the segment starting at a follow point where a circle
+     * around a point leaves it, or {@code -1} if it does not.
+     */
+    private double intersection(double x, double y, double radius, int i) {
+        double sx = xs[i + 1] - xs[i];
+        double sy = ys[i + 1] - ys[i];
+        double ox = xs[i] - x;
+        double oy = ys[i] - y;
+        double a = sx * sx + sy * sy;
+        if (a == 0) {
+            return -1;
+        }
+        double b = 2 * (ox * sx + oy * sy);
+        double c = ox * ox + oy * oy - radius * radius;
+        double discriminant = b * b - 4 * a * c;
+        if (discriminant < 0) {
+            return -1;
+        }
+        double f = (-b + Math.sqrt(discriminant)) / (2 * a);
+        return f >= 0 && f <= 1 ? f : -1;
+    }
+
+    /**
+     * Returns whether a point lies beyond the end of the path, along its last segment.
+     */
+    private boolean isPastEnd(double x, double y) {
+        int last = numPoints - 1;
+        double sx = xs[last] - xs[last - 1];
+        double sy = ys[last] - ys[last - 1];
+        return (x - xs[last]) * sx + (y - ys[last]) * sy > 0;
+    }
+
+    /**
+     * @return the profiled duration of the path, in seconds
+     */
+    public double getProfiledDuration() {
+        return duration;
+    }
+
+
+    // -=-=-=- INNER CLASSES -=-=-=-
+
+    /**
+     * Outcome of a simulated run.
+     */
+    public static final class Result {
+
+        private final boolean completed;
+        private final double completionTime;
+        private final double maxCrossTrackError;
+        private final double rmsCrossTrackError;
+        private final double saturation;
+        private final int numSteps;
+
+        private Result(boolean completed, double completionTime, double maxCrossTrackError,
+                double rmsCrossTrackError, double saturation, int numSteps) {
+            this.completed = completed;
+            this.completionTime = completionTime;
+            this.maxCrossTrackError = maxCrossTrackError;
+            this.rmsCrossTrackError = rmsCrossTrackError;
+            this.saturation = saturation;
+            this.numSteps = numSteps;
+        }
+
+        /**
+         * @return {@code true} if the robot reached the end of the path before the timeout
+         */
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        /**
+         * @return the simulated time until the robot arrived, or until the timeout, in seconds
+         */
+        public double getCompletionTime() {
+            return completionTime;
+        }
+
+        /**
+         * @return the largest distance between the robot and the path, in field units
+         */
+        public double getMaxCrossTrackError() {
+            return maxCrossTrackError;
+        }
+
+        /**
+         * @return the root mean square distance between the robot and the path, in field units
+         */
+        public double getRmsCrossTrackError() {
+            return rmsCrossTrackError;
+        }
+
+        /**
+         * @return the fraction of steps in which a wheel was limited in speed or acceleration
+         */
+        public double getSaturation() {
+            return saturation;
+        }
+
+        /**
+         * @return the number of simulated steps
+         */
+        public int getNumSteps() {
+            return numSteps;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s in %.3f s, cross-track error max %.3f rms %.3f, saturated %.1f%%",
+                completed ? "Completed" : "Timed out", completionTime, maxCrossTrackError, rmsCrossTrackError,
+                saturation * 100);
+        }
+    }
+
+}
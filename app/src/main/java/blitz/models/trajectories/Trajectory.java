@@ -24,6 +24,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
+import blitz.configs.Config;
+import blitz.models.access.ModelAccess;
 import blitz.models.active.ActiveEntities;
 import blitz.models.calculations.Calculations;
 import blitz.models.trajectories.trajectoryComponents.ControlPoint;
@@ -43,9 +45,16 @@ public class Trajectory {
     private double maxSpeed;
     private double minBentRate;
     private double maxBentRate;
+    private double trackWidth;
 
     private String interpolationType;
     private String splineType;
+    private String speedPlannerType;
+
+    /**
+     * Access guard of the workspace owning this Trajectory, or null if it has none.
+     */
+    private transient ModelAccess access;
 
 
 
@@ -63,28 +72,36 @@ public class Trajectory {
         setIsLocked(false);
         setSplineType(Calculations.BEZIER_SPLINE);
         setInterpolationType(Calculations.EQUIDISTANT_INTERPOLATION);
+        setSpeedPlannerType(Calculations.BENT_RATE_PLANNER);
         setSpacing(0.5);
         setMaxSpeed(127);
         setMinSpeed(0);
         setMinBentRate(0);
         setMaxBentRate(1);
+        setTrackWidth(Config.TRAJECTORY_DEFAULT_TRACK_WIDTH);
     }
 
     /**
-     * Initializes Trajectory as a copy of other.
+     * Initializes Trajectory as a copy of other, with copies of its control points.
+     * The copy is detached from any workspace until it is added to one.
      * 
      * @param other                 some other Trajectory
      */
     public Trajectory(Trajectory other){
         setName(other.getName());
-        controlPoints = other.copyAllControlPoints();
+        controlPoints = new ArrayList<ControlPoint>();
+        for (ControlPoint cp : other.getAllControlPoints()) {
+            controlPoints.add(new ControlPoint(cp));
+        }
         setIsVisible(true);
         setIsLocked(false);
         setSplineType(other.getSplineType());
         setInterpolationType(other.getInterpolationType());
+        setSpeedPlannerType(other.getSpeedPlannerType());
         setSpacing(other.getSpacing());
         setMaxSpeed(other.getMaxSpeed());
         setMinSpeed(other.getMinSpeed());
+        setTrackWidth(other.getTrackWidth());
     }
 
 
@@ -94,65 +111,104 @@ public class Trajectory {
     // -=-=-=- METHODS -=-=-=-
 
     public void setMaxSpeed(double speed) {
-        if (speed < 0) {
-            throw new IllegalArgumentException("Max speed must be non-negative.");
-        }
-        if (minSpeed > 0 && speed < minSpeed) {
-            throw new IllegalArgumentException("Max speed cannot be less than the minimum speed.");
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            if (speed < 0) {
+                throw new IllegalArgumentException("Max speed must be non-negative.");
+            }
+            if (minSpeed > 0 && speed < minSpeed) {
+                throw new IllegalArgumentException("Max speed cannot be less than the minimum speed.");
+            }
+            maxSpeed = speed;
+        } finally {
+            guard.unlockWrite(stamp);
         }
-        maxSpeed = speed;
     }
     
     public double getMaxSpeed() {
+        getAccess().checkRead();
         return maxSpeed;
     }
     
     public void setMinSpeed(double speed) {
-        if (speed < 0) {
-            throw new IllegalArgumentException("Min speed must be non-negative.");
-        }
-        if (maxSpeed > 0 && speed > maxSpeed) {
-            throw new IllegalArgumentException("Min speed cannot be greater than the maximum speed.");
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            if (speed < 0) {
+                throw new IllegalArgumentException("Min speed must be non-negative.");
+            }
+            if (maxSpeed > 0 && speed > maxSpeed) {
+                throw new IllegalArgumentException("Min speed cannot be greater than the maximum speed.");
+            }
+            minSpeed = speed;
+        } finally {
+            guard.unlockWrite(stamp);
         }
-        minSpeed = speed;
     }
     
     public double getMinSpeed() {
+        getAccess().checkRead();
         return minSpeed;
     }
     
     public void setMinBentRate(double rate) {
-        if (rate < 0 || rate > 1) {
-            throw new IllegalArgumentException("Min bent rate must be between 0 and 1.");
-        }
-        if (maxBentRate > 0 && rate > maxBentRate) {
-            throw new IllegalArgumentException("Min bent rate cannot be greater than the maximum bent rate.");
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Min bent rate must be between 0 and 1.");
+            }
+            if (maxBentRate > 0 && rate > maxBentRate) {
+                throw new IllegalArgumentException("Min bent rate cannot be greater than the maximum bent rate.");
+            }
+            minBentRate = rate;
+        } finally {
+            guard.unlockWrite(stamp);
         }
-        minBentRate = rate;
     }
     
     public double getMinBentRate() {
+        getAccess().checkRead();
         return minBentRate;
     }
     
     public void setMaxBentRate(double rate) {
-        if (rate < 0 || rate > 1) {
-            throw new IllegalArgumentException("Max bent rate must be between 0 and 1.");
-        }
-        if (minBentRate > 0 && rate < minBentRate) {
-            throw new IllegalArgumentException("Max bent rate cannot be less than the minimum bent rate.");
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Max bent rate must be between 0 and 1.");
+            }
+            if (minBentRate > 0 && rate < minBentRate) {
+                throw new IllegalArgumentException("Max bent rate cannot be less than the minimum bent rate.");
+            }
+            maxBentRate = rate;
+        } finally {
+            guard.unlockWrite(stamp);
         }
-        maxBentRate = rate;
     }
     
     public double getMaxBentRate() {
+        getAccess().checkRead();
         return maxBentRate;
     }
     
 
     public void setInterpolationType(String type){
-        if(Calculations.isValidInterpolationType(type)){
-            interpolationType = type;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            if(Calculations.isValidInterpolationType(type)){
+                interpolationType = type;
+            }
+        } finally {
+            guard.unlockWrite(stamp);
         }
         if(ActiveEntities.getActiveTrajectory() == this){
             ActiveEntities.notifyActiveTrajectoryStateEdited();
@@ -160,16 +216,52 @@ public class Trajectory {
     }
 
     public String getInterpolationType(){
+        getAccess().checkRead();
         return interpolationType;
     }
 
+    public void setSpeedPlannerType(String type){
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            if(Calculations.isValidSpeedPlannerType(type)){
+                speedPlannerType = type;
+            }
+        } finally {
+            guard.unlockWrite(stamp);
+        }
+        if(ActiveEntities.getActiveTrajectory() == this){
+            ActiveEntities.notifyActiveTrajectoryStateEdited();
+        }
+    }
+
+    /**
+     * Returns the speed planner of this trajectory. Trajectories saved before speed
+     * planners were selectable use {@link Calculations#BENT_RATE_PLANNER}.
+     * 
+     * @return one of {@link Calculations#ALL_SPEED_PLANNER_TYPES}
+     */
+    public String getSpeedPlannerType(){
+        getAccess().checkRead();
+        return speedPlannerType != null ? speedPlannerType : Calculations.BENT_RATE_PLANNER;
+    }
+
     public String getSplineType(){
+        getAccess().checkRead();
         return splineType;
     }
     
     public void setSplineType(String type){
-        if(Calculations.isValidSplineType(type)){
-            splineType = type;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            if(Calculations.isValidSplineType(type)){
+                splineType = type;
+            }
+        } finally {
+            guard.unlockWrite(stamp);
         }
         if(ActiveEntities.getActiveTrajectory() == this){
             ActiveEntities.notifyActiveTrajectoryStateEdited();
@@ -177,62 +269,163 @@ public class Trajectory {
     }
 
     public void setSpacing(double d){
-        if(0.1 <= d && d < 12){
-            spacing = d;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            if(0.1 <= d && d < 12){
+                spacing = d;
+            }
+        } finally {
+            guard.unlockWrite(stamp);
         }
     }
 
     public double getSpacing(){
+        getAccess().checkRead();
         return spacing;
     }
 
+    /**
+     * Sets the distance between the left and right wheels of the differential drive
+     * following this trajectory.
+     * 
+     * @param width the track width in field units
+     * @throws IllegalArgumentException if the width is not positive
+     */
+    public void setTrackWidth(double width){
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            if (!(width > 0)) {
+                throw new IllegalArgumentException("Track width must be positive.");
+            }
+            trackWidth = width;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the track width of the differential drive following this trajectory.
+     * Trajectories saved before the track width existed have
+     * {@link Config#TRAJECTORY_DEFAULT_TRACK_WIDTH}.
+     * 
+     * @return the track width in field units
+     */
+    public double getTrackWidth(){
+        getAccess().checkRead();
+        return trackWidth > 0 ? trackWidth : Config.TRAJECTORY_DEFAULT_TRACK_WIDTH;
+    }
+
     public void setName(String name){
-        this.name = name;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.name = name;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     public String getName(){
+        getAccess().checkRead();
         return name;
     }
 
     public ControlPoint getFirst(){
+        getAccess().checkRead();
         if(controlPoints.isEmpty()) return null;
         return controlPoints.getFirst();
     }
 
     public ControlPoint getLast(){
+        getAccess().checkRead();
         if(controlPoints.isEmpty()) return null;
         return controlPoints.getLast();
     }
 
     public boolean isEmpty(){
+        getAccess().checkRead();
         return controlPoints.isEmpty();
     }
 
     public void addControlPoint(ControlPoint cp){
-        controlPoints.add(cp);
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            cp.attach(access);
+            controlPoints.add(cp);
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     public void addControlPoint(double x, double y){
-        controlPoints.add(new ControlPoint(getNextAvaliableName(), x, y));
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            ControlPoint cp = new ControlPoint(getNextAvaliableName(), x, y);
+            cp.attach(access);
+            controlPoints.add(cp);
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     public void addControlPoint(CartesianCoordinate c){
-        controlPoints.add(new ControlPoint(getNextAvaliableName(), c.getX(), c.getY()));
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            ControlPoint cp = new ControlPoint(getNextAvaliableName(), c.getX(), c.getY());
+            cp.attach(access);
+            controlPoints.add(cp);
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     public void insertControlPoint(int index, ControlPoint cp){
-        controlPoints.add(index, cp);
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            cp.attach(access);
+            controlPoints.add(index, cp);
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     public void removeControlPoint(ControlPoint cp){
-        controlPoints.remove(cp);
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            controlPoints.remove(cp);
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     public void removeControlPoint(int index){
-        controlPoints.remove(index);
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            controlPoints.remove(index);
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     public boolean contains(ControlPoint cp) {
+        getAccess().checkRead();
         for (ControlPoint controlPoint : controlPoints) {
             if(controlPoint == cp){
                 return true;
@@ -242,22 +435,27 @@ public class Trajectory {
     }
 
     public int indexOf(ControlPoint cp){
+        getAccess().checkRead();
         return controlPoints.indexOf(cp);
     }
 
     public ArrayList<ControlPoint> getAllControlPoints(){
+        getAccess().checkRead();
         return controlPoints;
     }
 
     public ArrayList<ControlPoint> copyAllControlPoints(){
+        getAccess().checkRead();
         return new ArrayList<ControlPoint>(controlPoints);
     }
 
     public ControlPoint getControlPoint(int index){
+        getAccess().checkRead();
         return controlPoints.get(index);
     }
 
     public ControlPoint getControlPoint(String name){
+        getAccess().checkRead();
         for (ControlPoint controlPoint : controlPoints) {
             if(controlPoint.getName().equals(name)){
                 return controlPoint;
@@ -272,6 +470,7 @@ public class Trajectory {
     }    
 
     public String getNextAvaliableName(){
+        getAccess().checkRead();
         
         String name = "Control Point 1";
         int i = 1;
@@ -287,23 +486,63 @@ public class Trajectory {
     }
 
     public boolean isVisible() {
+        getAccess().checkRead();
         return isVisible;
     }
 
     public void setIsVisible(boolean isVisible) {
-        this.isVisible = isVisible;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.isVisible = isVisible;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     public boolean isLocked() {
+        getAccess().checkRead();
         return isLocked;
     }
 
     public void setIsLocked(boolean isLocked) {
-        this.isLocked = isLocked;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.isLocked = isLocked;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     public int size(){
+        getAccess().checkRead();
         return controlPoints.size();
     }
+    /**
+     * Binds this Trajectory and its control points to the access guard of the
+     * workspace owning it. Called by the workspace under its write lock.
+     * 
+     * @param access                access guard of the owning workspace, or null to detach
+     */
+    public void attach(ModelAccess access) {
+        this.access = access;
+        for (ControlPoint cp : controlPoints) {
+            cp.attach(access);
+        }
+    }
+
+    /**
+     * Returns the access guard to read this Trajectory under from background threads.
+     * 
+     * @return access guard of the owning workspace, or {@link ModelAccess#UNBOUND}
+     */
+    public ModelAccess getAccess() {
+        ModelAccess current = access;
+        return current != null ? current : ModelAccess.UNBOUND;
+    }
+
     
 }
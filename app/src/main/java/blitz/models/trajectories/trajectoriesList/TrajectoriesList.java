@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import blitz.models.active.ActiveEntities;
 import blitz.models.trajectories.Trajectory;
 import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.models.workspace.Workspace;
 
 /**
  * Manages a list of trajectories and provides functionality to modify, 
@@ -30,28 +31,18 @@ import blitz.models.trajectories.trajectoryComponents.ControlPoint;
  * operations such as cutting a trajectory, moving trajectories up or down, 
  * and notifying listeners when the trajectory list changes.
  * 
+ * All methods delegate to the default {@link Workspace}.
+ * 
  * @see Trajectory
  * @see ControlPoint
  * @see TrajectoriesListListener
  * @see ActiveEntities
+ * @see Workspace
  * 
  * @author Valery Rabchanka
  */
 public class TrajectoriesList {
 
-    // -=-=-=- FIELDS -=-=-=-
-
-    /**
-     * The list of all trajectories.
-     */
-    private static ArrayList<Trajectory> trajectoriesList = new ArrayList<>();
-
-    /**
-     * The list of listeners for changes in the trajectory list.
-     */
-    private static ArrayList<TrajectoriesListListener> listeners = new ArrayList<>();
-
-
     // -=-=-=- METHODS -=-=-=-
 
     /**
@@ -60,41 +51,7 @@ public class TrajectoriesList {
      * @param cp the control point at which to cut the trajectory
      */
     public static void cutTrajectoryAtControlPoint(ControlPoint cp) {
-
-        if (cp == null || cp.isLocked()) {
-            return;
-        }
-    
-        Trajectory tr1 = getTrajectoryByControlPoint(cp);
-    
-        if (tr1 == null || tr1.isLocked()) {
-            return;
-        }
-    
-        if (tr1.getAllControlPoints().getLast() == cp || tr1.getAllControlPoints().getFirst() == cp) {
-            return; // Cannot cut if cp is the first or last point
-        }
-    
-        int indexTR1 = trajectoriesList.indexOf(tr1);
-        Trajectory tr2 = new Trajectory(getNextAvaliableName());
-    
-        int indexOfCP = tr1.indexOf(cp);
-    
-        // Add all control points after cp to tr2
-        for (int i = indexOfCP; i < tr1.getAllControlPoints().size(); i++) {
-            ControlPoint insertCP = tr1.getControlPoint(i);
-            tr2.addControlPoint(new ControlPoint(insertCP));
-        }
-    
-        // Remove all control points after cp from tr1
-        for (int i = tr1.getAllControlPoints().size() - 1; i > indexOfCP; i--) {
-            tr1.removeControlPoint(tr1.getControlPoint(i));
-        }
-    
-        // Insert the new trajectory after tr1 in the list
-        trajectoriesList.add(indexTR1 + 1, tr2);
-    
-        notifyTrajectoriesListListeners();
+        Workspace.getDefault().cutTrajectoryAtControlPoint(cp);
     }
 
     /**
@@ -103,20 +60,7 @@ public class TrajectoriesList {
      * @param tr the trajectory to move down
      */
     public static void moveTrajectoryDown(Trajectory tr) {
-        if (!trajectoriesList.contains(tr)) {
-            return;
-        }
-    
-        int indexTR = trajectoriesList.indexOf(tr);
-        if (indexTR == trajectoriesList.size() - 1) {
-            return; // Cannot move down if it is the last trajectory
-        }
-    
-        int indexTR2 = indexTR + 1;
-        Trajectory temp = trajectoriesList.get(indexTR2);
-        trajectoriesList.set(indexTR2, tr);
-        trajectoriesList.set(indexTR, temp);
-        notifyTrajectoriesListListeners();
+        Workspace.getDefault().moveTrajectoryDown(tr);
     }
 
     /**
@@ -125,20 +69,16 @@ public class TrajectoriesList {
      * @param tr the trajectory to move up
      */
     public static void moveTrajectoryUp(Trajectory tr) {
-        if (!trajectoriesList.contains(tr)) {
-            return;
-        }
-    
-        int indexTR = trajectoriesList.indexOf(tr);
-        if (indexTR == 0) {
-            return; // Cannot move up if it is the first trajectory
-        }
-    
-        int indexTR2 = indexTR - 1;
-        Trajectory temp = trajectoriesList.get(indexTR2);
-        trajectoriesList.set(indexTR2, tr);
-        trajectoriesList.set(indexTR, temp);
-        notifyTrajectoriesListListeners();
+        Workspace.getDefault().moveTrajectoryUp(tr);
+    }
+
+    /**
+     * Notifies the listeners that the state of a trajectory has been edited.
+     * 
+     * @param tr the edited trajectory
+     */
+    public static void notifyTrajectoryStateEdited(Trajectory tr) {
+        Workspace.getDefault().notifyTrajectoryStateEdited(tr);
     }
 
     /**
@@ -147,7 +87,7 @@ public class TrajectoriesList {
      * @param listener the listener to add
      */
     public static void addTrajecoriesListListener(TrajectoriesListListener listener) {
-        listeners.add(listener);
+        Workspace.getDefault().addTrajectoriesListListener(listener);
     }
 
     /**
@@ -156,16 +96,7 @@ public class TrajectoriesList {
      * @param listener the listener to remove
      */
     public static void removeTrajecoriesListListener(TrajectoriesListListener listener) {
-        listeners.remove(listener);
-    }
-
-    /**
-     * Notifies all listeners that the trajectory list has changed.
-     */
-    private static void notifyTrajectoriesListListeners() {
-        for (TrajectoriesListListener listener : listeners) {
-            listener.TrajectoryListChanged();
-        }
+        Workspace.getDefault().removeTrajectoriesListListener(listener);
     }
 
     /**
@@ -174,7 +105,7 @@ public class TrajectoriesList {
      * @return an {@link ArrayList} of all trajectories
      */
     public static ArrayList<Trajectory> getTrajectoriesList() {
-        return trajectoriesList;
+        return Workspace.getDefault().getTrajectoriesList();
     }
 
     /**
@@ -184,7 +115,7 @@ public class TrajectoriesList {
      * @return the trajectory at the specified index
      */
     public static Trajectory getTrajectoryByIndex(int index) {
-        return trajectoriesList.get(index);
+        return Workspace.getDefault().getTrajectoryByIndex(index);
     }
 
     /**
@@ -194,10 +125,7 @@ public class TrajectoriesList {
      * @return the trajectory with the specified name, or {@code null} if not found
      */
     public static Trajectory getTrajectoryByName(String name) {
-        for (Trajectory tr : trajectoriesList) {
-            if (tr.getName().equals(name)) return tr;
-        }
-        return null;
+        return Workspace.getDefault().getTrajectoryByName(name);
     }
 
     /**
@@ -206,11 +134,7 @@ public class TrajectoriesList {
      * @return an array of all trajectory names
      */
     public static String[] getAllTrajectoriesNames() {
-        ArrayList<String> names = new ArrayList<>();
-        for (Trajectory tr : trajectoriesList) {
-            names.add(tr.getName());
-        }
-        return names.toArray(new String[0]);
+        return Workspace.getDefault().getAllTrajectoriesNames();
     }
 
     /**
@@ -219,7 +143,7 @@ public class TrajectoriesList {
      * @return a copy of the current list of trajectories
      */
     public static ArrayList<Trajectory> copyTrajectoriesList() {
-        return new ArrayList<>(trajectoriesList);
+        return Workspace.getDefault().copyTrajectoriesList();
     }
 
     /**
@@ -229,7 +153,7 @@ public class TrajectoriesList {
      * @return {@code true} if the list contains the trajectory, otherwise {@code false}
      */
     public static boolean contains(Trajectory tr) {
-        return trajectoriesList.contains(tr);
+        return Workspace.getDefault().contains(tr);
     }
 
     /**
@@ -239,12 +163,7 @@ public class TrajectoriesList {
      * @return the trajectory that contains the control point, or {@code null} if not found
      */
     public static Trajectory getTrajectoryByControlPoint(ControlPoint cp) {
-        for (Trajectory trajectory : trajectoriesList) {
-            if (trajectory.contains(cp)) {
-                return trajectory;
-            }
-        }
-        return null;
+        return Workspace.getDefault().getTrajectoryByControlPoint(cp);
     }
 
     /**
@@ -254,7 +173,7 @@ public class TrajectoriesList {
      * @return the index of the trajectory, or {@code -1} if not found
      */
     public static int getTrajectoryIndex(Trajectory tr) {
-        return trajectoriesList.indexOf(tr);
+        return Workspace.getDefault().getTrajectoryIndex(tr);
     }
 
     /**
@@ -263,9 +182,7 @@ public class TrajectoriesList {
      * @param trajectories the new list of trajectories
      */
     public static void setTrajectoriesList(ArrayList<Trajectory> trajectories) {
-        trajectoriesList = trajectories;
-        notifyTrajectoriesListListeners();
-        ActiveEntities.setActiveTrajectory(null);
+        Workspace.getDefault().setTrajectoriesList(trajectories);
     }
 
     /**
@@ -274,19 +191,14 @@ public class TrajectoriesList {
      * @param tr the trajectory to add
      */
     public static void addTrajectory(Trajectory tr) {
-        if (tr == null) {
-            throw new NullPointerException("Trajectory cannot be null!");
-        }
-        trajectoriesList.add(tr);
-        notifyTrajectoriesListListeners();
+        Workspace.getDefault().addTrajectory(tr);
     }
 
     /**
      * Adds a new trajectory with the next available name and notifies listeners.
      */
     public static void addTrajectory() {
-        trajectoriesList.add(new Trajectory(getNextAvaliableName()));
-        notifyTrajectoriesListListeners();
+        Workspace.getDefault().addTrajectory();
     }
 
     /**
@@ -295,12 +207,7 @@ public class TrajectoriesList {
      * @param tr the trajectory to remove
      */
     public static void removeTrajectory(Trajectory tr) {
-        if (tr == null) {
-            throw new NullPointerException("Trajectory cannot be null!");
-        }
-
-        trajectoriesList.remove(tr);
-        notifyTrajectoriesListListeners();
+        Workspace.getDefault().removeTrajectory(tr);
     }
 
     /**
@@ -309,20 +216,7 @@ public class TrajectoriesList {
      * @return the next available trajectory name
      */
     public static String getNextAvaliableName() {
-        
-        String name = null;
-        int i = 1;
-        boolean nameIsTaken = true;
-        while (nameIsTaken) { 
-            name = "Trajectory " + i++;
-            nameIsTaken = false;
-            for (Trajectory tr : trajectoriesList) {
-                if (tr.getName().equals(name)) {
-                    nameIsTaken = true;
-                }
-            }
-        }
-        return name;
+        return Workspace.getDefault().getNextAvaliableName();
     }
     
 }
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import blitz.configs.Config;
+import blitz.models.access.ModelAccess;
 import blitz.services.CartesianCoordinate;
 import blitz.services.PolarCoordinate;
 import blitz.services.Utils;
@@ -44,6 +45,13 @@ public final class ControlPoint {
 
     private boolean isLocked;
 
+    // Heading keyframe of a holonomic robot, in degrees, used only if hasHeading
+    private boolean hasHeading;
+    private double heading;
+
+    // Access guard of the workspace owning this Control Point, or null if it has none
+    private transient ModelAccess access;
+
     private static Map<String, SYMMETRY> symmetryMap = new HashMap<>();
     public static final String BROKEN_SYMMETRY_KEY = "Broken";
     public static final String ALIGNED_SYMMETRY_KEY = "Aligned";
@@ -110,6 +118,9 @@ public final class ControlPoint {
 
     public ControlPoint(ControlPoint cp) {
         this(cp.getName(), cp.getX(), cp.getY(), cp.getRStart(), cp.getThetaStart(), cp.getREnd(), cp.getThetaEnd(), cp.getNumSegments(), cp.getTime());
+        if (cp.hasHeading()) {
+            setHeading(cp.getHeading());
+        }
     }
 
     // -=-=-=- METHODS -=-=-=-
@@ -122,8 +133,15 @@ public final class ControlPoint {
      * @param name the name to set
      */
     public void setName(String name) {
-        if(isValidName(name))
-            this.name = name;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            if(isValidName(name))
+                this.name = name;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -132,6 +150,7 @@ public final class ControlPoint {
      * @return the name
      */
     public String getName() {
+        getAccess().checkRead();
         return name;
     }
 
@@ -143,16 +162,25 @@ public final class ControlPoint {
     }
 
     public SYMMETRY getSymmetryType(){
+        getAccess().checkRead();
         return symmetryType;
     }
 
     public void setSymmetryType(String symmetryType){
-        this.symmetryType = symmetryMap.get(symmetryType);
-        setRStart(getRStart());
-        setThetaStart(getThetaStart());
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.symmetryType = symmetryMap.get(symmetryType);
+            setRStart(getRStart());
+            setThetaStart(getThetaStart());
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     public int getNumSegments() {
+        getAccess().checkRead();
         return numSegments;
     }
 
@@ -164,11 +192,19 @@ public final class ControlPoint {
     }
 
     public void setNumSegments(int numSegments) {
-        if(isValidNumSegments(numSegments))
-            this.numSegments = numSegments;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            if(isValidNumSegments(numSegments))
+                this.numSegments = numSegments;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     public double getTime() {
+        getAccess().checkRead();
         return time;
     }
 
@@ -180,8 +216,68 @@ public final class ControlPoint {
     }
 
     public void setTime(double time) {
-        if(isValidTime(time))
-            this.time = time;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            if(isValidTime(time))
+                this.time = time;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns whether the Control Point is a keyframe of the heading profile.
+     * 
+     * @return {@code true} if a heading is set
+     */
+    public boolean hasHeading() {
+        getAccess().checkRead();
+        return hasHeading;
+    }
+
+    /**
+     * Returns the heading the robot faces at the Control Point.
+     * 
+     * @return the heading in degrees, in [0, 360); meaningful only if {@link #hasHeading()}
+     */
+    public double getHeading() {
+        getAccess().checkRead();
+        return heading;
+    }
+
+    /**
+     * Makes the Control Point a keyframe of the heading profile, independent of
+     * the direction of travel.
+     * 
+     * @param heading the heading in degrees, counterclockwise from the x axis
+     */
+    public void setHeading(double heading) {
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.heading = Utils.normalizeAngle(heading);
+            this.hasHeading = true;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the heading keyframe of the Control Point.
+     */
+    public void clearHeading() {
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.hasHeading = false;
+            this.heading = 0;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -191,8 +287,15 @@ public final class ControlPoint {
      * @param y y position
      */
     public void setPosition(double x, double y) {
-        this.x = x;
-        this.y = y;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.x = x;
+            this.y = y;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -201,7 +304,14 @@ public final class ControlPoint {
      * @param x x position
      */
     public void setX(double x) {
-        this.x = x;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.x = x;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -210,10 +320,18 @@ public final class ControlPoint {
      * @param y y position
      */
     public void setY(double y) {
-        this.y = y;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.y = y;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     public CartesianCoordinate getPosition(){
+        getAccess().checkRead();
         return new CartesianCoordinate(x, y);
     }
 
@@ -223,6 +341,7 @@ public final class ControlPoint {
      * @return x position
      */
     public double getX() {
+        getAccess().checkRead();
         return x;
     }
 
@@ -232,6 +351,7 @@ public final class ControlPoint {
      * @return y position
      */
     public double getY() {
+        getAccess().checkRead();
         return y;
     }
 
@@ -243,9 +363,16 @@ public final class ControlPoint {
      * @param r radial distance
      */
     public void setRStart(double r) {
-        this.rStart = r;
-        if(symmetryType == SYMMETRY.MIRRORED){
-            rEnd = r;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.rStart = r;
+            if(symmetryType == SYMMETRY.MIRRORED){
+                rEnd = r;
+            }
+        } finally {
+            guard.unlockWrite(stamp);
         }
     }
 
@@ -255,9 +382,16 @@ public final class ControlPoint {
      * @param theta angular position
      */
     public void setThetaStart(double theta) {
-        this.thetaStart = Utils.normalizeAngle(theta);
-        if(symmetryType == SYMMETRY.ALIGNED || symmetryType == SYMMETRY.MIRRORED){
-            thetaEnd = Utils.normalizeAngle(theta+180);
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.thetaStart = Utils.normalizeAngle(theta);
+            if(symmetryType == SYMMETRY.ALIGNED || symmetryType == SYMMETRY.MIRRORED){
+                thetaEnd = Utils.normalizeAngle(theta+180);
+            }
+        } finally {
+            guard.unlockWrite(stamp);
         }
     }
 
@@ -268,9 +402,16 @@ public final class ControlPoint {
      * @param y y position relative to Control Point
      */
     public void setRelStartHelperPos(double x, double y) {
-        PolarCoordinate p = Utils.cartesianToPolar(x, y);
-        setRStart(p.getR());
-        setThetaStart(p.getTheta());
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            PolarCoordinate p = Utils.cartesianToPolar(x, y);
+            setRStart(p.getR());
+            setThetaStart(p.getTheta());
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -289,6 +430,7 @@ public final class ControlPoint {
      * @return relative Cartesian coordinates of the Start Helper Point
      */
     public CartesianCoordinate getRelStartHelperPos() {
+        getAccess().checkRead();
         return Utils.polarToCartesian(rStart, thetaStart);
     }
 
@@ -298,6 +440,7 @@ public final class ControlPoint {
      * @return absolute Cartesian coordinates of the Start Helper Point
      */
     public CartesianCoordinate getAbsStartHelperPos() {
+        getAccess().checkRead();
         CartesianCoordinate relStart = getRelStartHelperPos();
         double absX = this.x + relStart.getX();
         double absY = this.y + relStart.getY();
@@ -312,9 +455,16 @@ public final class ControlPoint {
      * @param r radial distance
      */
     public void setREnd(double r) {
-        this.rEnd = r;
-        if(symmetryType == SYMMETRY.MIRRORED){
-            rStart = r;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.rEnd = r;
+            if(symmetryType == SYMMETRY.MIRRORED){
+                rStart = r;
+            }
+        } finally {
+            guard.unlockWrite(stamp);
         }
     }
 
@@ -324,9 +474,16 @@ public final class ControlPoint {
      * @param theta angular position
      */
     public void setThetaEnd(double theta) {
-        this.thetaEnd = Utils.normalizeAngle(theta);
-        if(symmetryType == SYMMETRY.ALIGNED || symmetryType == SYMMETRY.MIRRORED){
-            thetaStart = Utils.normalizeAngle(theta+180);
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.thetaEnd = Utils.normalizeAngle(theta);
+            if(symmetryType == SYMMETRY.ALIGNED || symmetryType == SYMMETRY.MIRRORED){
+                thetaStart = Utils.normalizeAngle(theta+180);
+            }
+        } finally {
+            guard.unlockWrite(stamp);
         }
     }
 
@@ -337,9 +494,16 @@ public final class ControlPoint {
      * @param y y position relative to Control Point
      */
     public void setRelEndHelperPos(double x, double y) {
-        PolarCoordinate p = Utils.cartesianToPolar(x, y);
-        setREnd(p.getR());
-        setThetaEnd(p.getTheta());
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            PolarCoordinate p = Utils.cartesianToPolar(x, y);
+            setREnd(p.getR());
+            setThetaEnd(p.getTheta());
+        } finally {
+            guard.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -358,6 +522,7 @@ public final class ControlPoint {
      * @return relative Cartesian coordinates of the End Helper Point
      */
     public CartesianCoordinate getRelEndHelperPos() {
+        getAccess().checkRead();
         return Utils.polarToCartesian(rEnd, thetaEnd);
     }
 
@@ -367,6 +532,7 @@ public final class ControlPoint {
      * @return absolute Cartesian coordinates of the End Helper Point
      */
     public CartesianCoordinate getAbsEndHelperPos() {
+        getAccess().checkRead();
         CartesianCoordinate relEnd = getRelEndHelperPos();
         double absX = this.x + relEnd.getX();
         double absY = this.y + relEnd.getY();
@@ -374,26 +540,57 @@ public final class ControlPoint {
     }
 
     public double getRStart() {
+        getAccess().checkRead();
         return rStart;
     }
 
     public double getThetaStart() {
+        getAccess().checkRead();
         return thetaStart;
     }
 
     public double getREnd() {
+        getAccess().checkRead();
         return rEnd;
     }
 
     public double getThetaEnd() {
+        getAccess().checkRead();
         return thetaEnd;
     }
 
     public boolean isLocked() {
+        getAccess().checkRead();
         return isLocked;
     }
 
     public void setIsLocked(boolean isLocked) {
-        this.isLocked = isLocked;
+        ModelAccess guard = getAccess();
+        long stamp = guard.lockWrite();
+        try {
+            guard.markModified(this);
+            this.isLocked = isLocked;
+        } finally {
+            guard.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Binds this Control Point to the access guard of the workspace owning it.
+     * 
+     * @param access access guard of the owning workspace, or null to detach
+     */
+    public void attach(ModelAccess access) {
+        this.access = access;
+    }
+
+    /**
+     * Returns the access guard to read this Control Point under from background threads.
+     * 
+     * @return access guard of the owning workspace, or {@link ModelAccess#UNBOUND}
+     */
+    public ModelAccess getAccess() {
+        ModelAccess current = access;
+        return current != null ? current : ModelAccess.UNBOUND;
     }
 }
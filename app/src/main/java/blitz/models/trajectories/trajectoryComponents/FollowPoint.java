@@ -33,6 +33,8 @@ public class FollowPoint {
     
     private double x, y;
     private double speed;
+    private double curvature;
+    private double heading;
     private ControlPoint relatedCP;
 
     // -=-=-=- CONSTRUCTORS -=-=-=-
@@ -60,9 +62,38 @@ public class FollowPoint {
      * @param relatedCP the control point related to this follow point
      */
     public FollowPoint(CartesianCoordinate c, double speed, ControlPoint relatedCP) {
+        this(c, speed, 0, relatedCP);
+    }
+
+    /**
+     * Constructs a FollowPoint from a {@link CartesianCoordinate}, speed, curvature of the
+     * path, and related control point.
+     * 
+     * @param c         the Cartesian coordinate of the follow point
+     * @param speed     the speed at this point
+     * @param curvature the signed curvature of the path at this point, positive when turning counterclockwise
+     * @param relatedCP the control point related to this follow point
+     */
+    public FollowPoint(CartesianCoordinate c, double speed, double curvature, ControlPoint relatedCP) {
+        this(c, speed, curvature, 0, relatedCP);
+    }
+
+    /**
+     * Constructs a FollowPoint from a {@link CartesianCoordinate}, speed, curvature of the
+     * path, heading of the robot, and related control point.
+     * 
+     * @param c         the Cartesian coordinate of the follow point
+     * @param speed     the speed at this point
+     * @param curvature the signed curvature of the path at this point, positive when turning counterclockwise
+     * @param heading   the heading of the robot at this point, in degrees
+     * @param relatedCP the control point related to this follow point
+     */
+    public FollowPoint(CartesianCoordinate c, double speed, double curvature, double heading, ControlPoint relatedCP) {
         this.x = c.getX();
         this.y = c.getY();
         this.speed = speed;
+        this.curvature = curvature;
+        this.heading = heading;
         this.relatedCP = relatedCP;
     }
 
@@ -104,6 +135,36 @@ public class FollowPoint {
         return speed;
     }
 
+    /**
+     * Sets the speed at this follow point, e.g. when a speed planner refines it after
+     * interpolation.
+     * 
+     * @param speed the speed
+     */
+    public void setSpeed(double speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * Returns the signed curvature of the path at this follow point, as calculated
+     * by the spline during interpolation.
+     * 
+     * @return the curvature in inverse field units, positive when turning counterclockwise
+     */
+    public double getCurvature() {
+        return curvature;
+    }
+
+    /**
+     * Returns the heading of the robot at this follow point, as calculated by the
+     * {@link blitz.models.calculations.HeadingProfile} during interpolation.
+     * 
+     * @return the heading in degrees, counterclockwise from the x axis
+     */
+    public double getHeading() {
+        return heading;
+    }
+
     /**
      * Returns the control point related to this follow point.
      * 
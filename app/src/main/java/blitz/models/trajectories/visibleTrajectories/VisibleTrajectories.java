@@ -16,23 +16,22 @@
 
 package blitz.models.trajectories.visibleTrajectories;
 
-import java.util.ArrayList;
+import blitz.models.workspace.Workspace;
 
 /**
  * Manages the list of listeners that are notified when visible trajectories change.
  * This class allows listeners to register and be notified of any changes in the visibility
  * of trajectories.
  * 
+ * All methods delegate to the default {@link Workspace}.
+ * 
  * @see VisibleTrajectoriesListener
+ * @see Workspace
  * 
  * @author Valery Rabchanka
  */
 public class VisibleTrajectories {
     
-    // -=-=-=- FIELDS -=-=-=-
-    
-    private static ArrayList<VisibleTrajectoriesListener> listeners = new ArrayList<>();
-
     // -=-=-=- METHODS -=-=-=-
 
     /**
@@ -41,7 +40,7 @@ public class VisibleTrajectories {
      * @param listener the listener to add
      */
     public static void addVisibleTrajectoriesListener(VisibleTrajectoriesListener listener) {
-        listeners.add(listener);
+        Workspace.getDefault().addVisibleTrajectoriesListener(listener);
     }
 
     /**
@@ -50,16 +49,14 @@ public class VisibleTrajectories {
      * @param listener the listener to remove
      */
     public static void removeVisibleTrajectoriesListener(VisibleTrajectoriesListener listener) {
-        listeners.remove(listener);
+        Workspace.getDefault().removeVisibleTrajectoriesListener(listener);
     }
 
     /**
      * Notifies all listeners that the visible trajectories have changed.
      */
     public static void notifyVisibleTrajectoriesChanged() {
-        for (VisibleTrajectoriesListener listener : listeners) {
-            listener.visibleTrajectoriesChanged();
-        }
+        Workspace.getDefault().notifyVisibleTrajectoriesChanged();
     }
 
 }
@@ -0,0 +1,700 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.models.workspace;
+
+import java.util.ArrayList;
+
+import blitz.models.access.ModelAccess;
+import blitz.models.active.ActiveEntities;
+import blitz.models.active.ActiveEntitiesListener;
+import blitz.models.events.ModelEvent;
+import blitz.models.events.ModelEventBus;
+import blitz.models.history.History;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoriesList.TrajectoriesList;
+import blitz.models.trajectories.trajectoriesList.TrajectoriesListListener;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.models.trajectories.visibleTrajectories.VisibleTrajectories;
+import blitz.models.trajectories.visibleTrajectories.VisibleTrajectoriesListener;
+
+/**
+ * An independent editing context that owns a list of trajectories, the active
+ * trajectory and control point, and the listeners interested in them.
+ *
+ * The application UI works with the default workspace through the static
+ * facades {@link TrajectoriesList}, {@link ActiveEntities} and
+ * {@link VisibleTrajectories}. Any number of additional workspaces may be
+ * created, for example to load, recalculate and export several routine files
+ * side by side in one process. A single workspace is not thread-safe and should
+ * be confined to one thread at a time; distinct workspaces share no state.
+ *
+ * Notifications are dispatched through the workspace's {@link ModelEventBus}.
+ * The default workspace batches them per Event Dispatch Thread turn, other
+ * workspaces deliver them immediately.
+ *
+ * Each workspace keeps its own undo/redo {@link History}. The default workspace
+ * commits to it after every batch of notifications; other workspaces commit
+ * explicitly.
+ *
+ * @see TrajectoriesList
+ * @see ActiveEntities
+ * @see VisibleTrajectories
+ *
+ * @author Valery Rabchanka
+ */
+public class Workspace {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    /**
+     * The workspace the application UI is bound to.
+     */
+    private static final Workspace DEFAULT_WORKSPACE = new Workspace(new ArrayList<>(), true);
+
+    /**
+     * The list of all trajectories of this workspace.
+     */
+    private ArrayList<Trajectory> trajectoriesList;
+
+    /**
+     * The currently active trajectory, or {@code null}.
+     */
+    private Trajectory activeTrajectory;
+
+    /**
+     * The currently active control point, or {@code null}.
+     */
+    private ControlPoint activeControlPoint;
+
+    /**
+     * Listeners notified about changes to the trajectory list.
+     */
+    private final ArrayList<TrajectoriesListListener> trajectoriesListListeners = new ArrayList<>();
+
+    /**
+     * Listeners notified about changes to the active entities.
+     */
+    private final ArrayList<ActiveEntitiesListener> activeListeners = new ArrayList<>();
+
+    /**
+     * Listeners notified about changes to trajectory visibility.
+     */
+    private final ArrayList<VisibleTrajectoriesListener> visibleTrajectoriesListeners = new ArrayList<>();
+
+    /**
+     * Guards concurrent access to the model of this workspace.
+     */
+    private final ModelAccess access = new ModelAccess();
+
+    /**
+     * The bus all notifications of this workspace are dispatched through.
+     */
+    private final ModelEventBus eventBus;
+
+    /**
+     * The undo/redo history of this workspace.
+     */
+    private final History history;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    /**
+     * Creates an empty workspace.
+     */
+    public Workspace() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Creates a workspace that owns the given list of trajectories.
+     *
+     * @param trajectories the trajectories of the new workspace
+     */
+    public Workspace(ArrayList<Trajectory> trajectories) {
+        this(trajectories, false);
+    }
+
+    /**
+     * Creates a workspace that owns the given list of trajectories.
+     *
+     * @param trajectories the trajectories of the new workspace
+     * @param deferredEvents whether notifications are batched per EDT turn
+     */
+    private Workspace(ArrayList<Trajectory> trajectories, boolean deferredEvents) {
+        if (trajectories == null) {
+            throw new NullPointerException("Trajectories list cannot be null!");
+        }
+        this.trajectoriesList = trajectories;
+        for (Trajectory tr : trajectories) {
+            tr.attach(access);
+        }
+        this.eventBus = new ModelEventBus(deferredEvents);
+        this.history = new History(this);
+        history.commit();
+        if (deferredEvents) {
+            eventBus.addBatchListener(history::commit);
+        }
+    }
+
+    /**
+     * Gets the workspace the application UI is bound to.
+     *
+     * @return the default workspace
+     */
+    public static Workspace getDefault() {
+        return DEFAULT_WORKSPACE;
+    }
+
+    /**
+     * Gets the guard of concurrent access to the model of this workspace.
+     *
+     * @return the access guard of this workspace
+     */
+    public ModelAccess getAccess() {
+        return access;
+    }
+
+    /**
+     * Gets the bus notifications of this workspace are dispatched through.
+     *
+     * @return the event bus of this workspace
+     */
+    public ModelEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Gets the undo/redo history of this workspace.
+     *
+     * @return the history of this workspace
+     */
+    public History getHistory() {
+        return history;
+    }
+
+
+    // -=-=-=- TRAJECTORIES LIST -=-=-=-
+
+    /**
+     * Cuts the trajectory at the specified control point, splitting it into two separate trajectories.
+     *
+     * @param cp the control point at which to cut the trajectory
+     */
+    public void cutTrajectoryAtControlPoint(ControlPoint cp) {
+        long stamp = access.lockWrite();
+        try {
+            access.markModified(this);
+            if (cp == null || cp.isLocked()) {
+                return;
+            }
+
+            Trajectory tr1 = getTrajectoryByControlPoint(cp);
+
+            if (tr1 == null || tr1.isLocked()) {
+                return;
+            }
+
+            if (tr1.getAllControlPoints().getLast() == cp || tr1.getAllControlPoints().getFirst() == cp) {
+                return; // Cannot cut if cp is the first or last point
+            }
+
+            int indexTR1 = trajectoriesList.indexOf(tr1);
+            Trajectory tr2 = new Trajectory(getNextAvaliableName());
+            tr2.attach(access);
+
+            int indexOfCP = tr1.indexOf(cp);
+
+            // Add all control points after cp to tr2
+            for (int i = indexOfCP; i < tr1.getAllControlPoints().size(); i++) {
+                ControlPoint insertCP = tr1.getControlPoint(i);
+                tr2.addControlPoint(new ControlPoint(insertCP));
+            }
+
+            // Remove all control points after cp from tr1
+            for (int i = tr1.getAllControlPoints().size() - 1; i > indexOfCP; i--) {
+                tr1.removeControlPoint(tr1.getControlPoint(i));
+            }
+
+            // Insert the new trajectory after tr1 in the list
+            trajectoriesList.add(indexTR1 + 1, tr2);
+        } finally {
+            access.unlockWrite(stamp);
+        }
+
+        notifyTrajectoriesListListeners();
+    }
+
+    /**
+     * Moves the specified trajectory down in the list, swapping it with the next trajectory.
+     *
+     * @param tr the trajectory to move down
+     */
+    public void moveTrajectoryDown(Trajectory tr) {
+        long stamp = access.lockWrite();
+        try {
+            access.markModified(this);
+            if (!trajectoriesList.contains(tr)) {
+                return;
+            }
+
+            int indexTR = trajectoriesList.indexOf(tr);
+            if (indexTR == trajectoriesList.size() - 1) {
+                return; // Cannot move down if it is the last trajectory
+            }
+
+            int indexTR2 = indexTR + 1;
+            Trajectory temp = trajectoriesList.get(indexTR2);
+            trajectoriesList.set(indexTR2, tr);
+            trajectoriesList.set(indexTR, temp);
+        } finally {
+            access.unlockWrite(stamp);
+        }
+        notifyTrajectoriesListListeners();
+    }
+
+    /**
+     * Moves the specified trajectory up in the list, swapping it with the previous trajectory.
+     *
+     * @param tr the trajectory to move up
+     */
+    public void moveTrajectoryUp(Trajectory tr) {
+        long stamp = access.lockWrite();
+        try {
+            access.markModified(this);
+            if (!trajectoriesList.contains(tr)) {
+                return;
+            }
+
+            int indexTR = trajectoriesList.indexOf(tr);
+            if (indexTR == 0) {
+                return; // Cannot move up if it is the first trajectory
+            }
+
+            int indexTR2 = indexTR - 1;
+            Trajectory temp = trajectoriesList.get(indexTR2);
+            trajectoriesList.set(indexTR2, tr);
+            trajectoriesList.set(indexTR, temp);
+        } finally {
+            access.unlockWrite(stamp);
+        }
+        notifyTrajectoriesListListeners();
+    }
+
+    /**
+     * Gets the list of all trajectories.
+     *
+     * @return an {@link ArrayList} of all trajectories
+     */
+    public ArrayList<Trajectory> getTrajectoriesList() {
+        access.checkRead();
+        return trajectoriesList;
+    }
+
+    /**
+     * Gets a trajectory by its index in the list.
+     *
+     * @param index the index of the trajectory
+     * @return the trajectory at the specified index
+     */
+    public Trajectory getTrajectoryByIndex(int index) {
+        access.checkRead();
+        return trajectoriesList.get(index);
+    }
+
+    /**
+     * Gets a trajectory by its name.
+     *
+     * @param name the name of the trajectory
+     * @return the trajectory with the specified name, or {@code null} if not found
+     */
+    public Trajectory getTrajectoryByName(String name) {
+        for (Trajectory tr : trajectoriesList) {
+            if (tr.getName().equals(name)) return tr;
+        }
+        return null;
+    }
+
+    /**
+     * Gets an array of all trajectory names.
+     *
+     * @return an array of all trajectory names
+     */
+    public String[] getAllTrajectoriesNames() {
+        ArrayList<String> names = new ArrayList<>();
+        for (Trajectory tr : trajectoriesList) {
+            names.add(tr.getName());
+        }
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * Creates a copy of the current list of trajectories.
+     *
+     * @return a copy of the current list of trajectories
+     */
+    public ArrayList<Trajectory> copyTrajectoriesList() {
+        access.checkRead();
+        return new ArrayList<>(trajectoriesList);
+    }
+
+    /**
+     * Checks if the list contains the specified trajectory.
+     *
+     * @param tr the trajectory to check
+     * @return {@code true} if the list contains the trajectory, otherwise {@code false}
+     */
+    public boolean contains(Trajectory tr) {
+        return trajectoriesList.contains(tr);
+    }
+
+    /**
+     * Gets the trajectory that contains the specified control point.
+     *
+     * @param cp the control point to search for
+     * @return the trajectory that contains the control point, or {@code null} if not found
+     */
+    public Trajectory getTrajectoryByControlPoint(ControlPoint cp) {
+        for (Trajectory trajectory : trajectoriesList) {
+            if (trajectory.contains(cp)) {
+                return trajectory;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the index of the specified trajectory in the list.
+     *
+     * @param tr the trajectory to find
+     * @return the index of the trajectory, or {@code -1} if not found
+     */
+    public int getTrajectoryIndex(Trajectory tr) {
+        return trajectoriesList.indexOf(tr);
+    }
+
+    /**
+     * Sets the list of trajectories, notifies listeners of the change and
+     * clears the active entities.
+     *
+     * @param trajectories the new list of trajectories
+     */
+    public void setTrajectoriesList(ArrayList<Trajectory> trajectories) {
+        long stamp = access.lockWrite();
+        try {
+            access.markModified(this);
+            if (trajectories == null) {
+                throw new NullPointerException("Trajectories list cannot be null!");
+            }
+            for (Trajectory tr : trajectories) {
+                tr.attach(access);
+            }
+            trajectoriesList = trajectories;
+        } finally {
+            access.unlockWrite(stamp);
+        }
+        notifyTrajectoriesListListeners();
+        setActiveTrajectory(null);
+    }
+
+    /**
+     * Adds a trajectory to the list and notifies listeners.
+     *
+     * @param tr the trajectory to add
+     */
+    public void addTrajectory(Trajectory tr) {
+        long stamp = access.lockWrite();
+        try {
+            access.markModified(this);
+            if (tr == null) {
+                throw new NullPointerException("Trajectory cannot be null!");
+            }
+            tr.attach(access);
+            trajectoriesList.add(tr);
+        } finally {
+            access.unlockWrite(stamp);
+        }
+        notifyTrajectoriesListListeners();
+    }
+
+    /**
+     * Adds a new trajectory with the next available name and notifies listeners.
+     */
+    public void addTrajectory() {
+        long stamp = access.lockWrite();
+        try {
+            access.markModified(this);
+            Trajectory tr = new Trajectory(getNextAvaliableName());
+            tr.attach(access);
+            trajectoriesList.add(tr);
+        } finally {
+            access.unlockWrite(stamp);
+        }
+        notifyTrajectoriesListListeners();
+    }
+
+    /**
+     * Removes a trajectory from the list and notifies listeners.
+     *
+     * @param tr the trajectory to remove
+     */
+    public void removeTrajectory(Trajectory tr) {
+        long stamp = access.lockWrite();
+        try {
+            access.markModified(this);
+            if (tr == null) {
+                throw new NullPointerException("Trajectory cannot be null!");
+            }
+
+            trajectoriesList.remove(tr);
+        } finally {
+            access.unlockWrite(stamp);
+        }
+        notifyTrajectoriesListListeners();
+    }
+
+    /**
+     * Gets the next available unique name for a trajectory.
+     *
+     * @return the next available trajectory name
+     */
+    public String getNextAvaliableName() {
+
+        String name = null;
+        int i = 1;
+        boolean nameIsTaken = true;
+        while (nameIsTaken) {
+            name = "Trajectory " + i++;
+            nameIsTaken = false;
+            for (Trajectory tr : trajectoriesList) {
+                if (tr.getName().equals(name)) {
+                    nameIsTaken = true;
+                }
+            }
+        }
+        return name;
+    }
+
+
+    // -=-=-=- ACTIVE ENTITIES -=-=-=-
+
+    /**
+     * Gets the currently active trajectory.
+     *
+     * @return the active trajectory, or {@code null} if none is set
+     */
+    public Trajectory getActiveTrajectory() {
+        return activeTrajectory;
+    }
+
+    /**
+     * Gets the currently active control point.
+     *
+     * @return the active control point, or {@code null} if none is set
+     */
+    public ControlPoint getActiveControlPoint() {
+        return activeControlPoint;
+    }
+
+    /**
+     * Sets the active trajectory and notifies listeners about the change.
+     * If the given trajectory is {@code null}, both the active trajectory
+     * and control point are cleared.
+     *
+     * @param trajectory the trajectory to set as active, or {@code null} to clear
+     */
+    public void setActiveTrajectory(Trajectory trajectory) {
+        if (trajectory == null) {
+            activeTrajectory = null;
+            activeControlPoint = null;
+            notifyActiveTrajectoryChanged();
+            notifyActiveControlPointChanged();
+            return;
+        }
+        if (trajectory.isLocked() || !trajectory.isVisible()) { return; }
+        activeTrajectory = trajectory;
+        activeControlPoint = null;
+        notifyActiveTrajectoryChanged();
+        notifyActiveControlPointChanged();
+    }
+
+    /**
+     * Sets the active control point and updates the active trajectory accordingly.
+     * If the given control point is {@code null}, the active control point is cleared.
+     *
+     * @param controlPoint the control point to set as active, or {@code null} to clear
+     */
+    public void setActiveControlPoint(ControlPoint controlPoint) {
+        if (controlPoint == null) {
+            activeControlPoint = null;
+            notifyActiveControlPointChanged();
+            return;
+        }
+        if (controlPoint.isLocked()) { return; }
+
+        Trajectory newTrajectory = getTrajectoryByControlPoint(controlPoint);
+        if (newTrajectory == null || newTrajectory.isLocked() || !newTrajectory.isVisible()) { return; }
+
+        activeControlPoint = controlPoint;
+        activeTrajectory = newTrajectory;
+        notifyActiveControlPointChanged();
+        notifyActiveTrajectoryChanged();
+    }
+
+
+    // -=-=-=- LISTENERS -=-=-=-
+
+    /**
+     * Adds a listener to the list of trajectory list listeners.
+     *
+     * @param listener the listener to add
+     */
+    public void addTrajectoriesListListener(TrajectoriesListListener listener) {
+        trajectoriesListListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener from the list of trajectory list listeners.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeTrajectoriesListListener(TrajectoriesListListener listener) {
+        trajectoriesListListeners.remove(listener);
+        forgetListener(listener);
+    }
+
+    /**
+     * Adds a listener that will be notified of changes to active entities.
+     *
+     * @param listener the listener to add
+     */
+    public void addActiveListener(ActiveEntitiesListener listener) {
+        activeListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener that is notified of changes to active entities.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeActiveListener(ActiveEntitiesListener listener) {
+        activeListeners.remove(listener);
+        forgetListener(listener);
+    }
+
+    /**
+     * Adds a listener to the list of visible trajectories listeners.
+     *
+     * @param listener the listener to add
+     */
+    public void addVisibleTrajectoriesListener(VisibleTrajectoriesListener listener) {
+        visibleTrajectoriesListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener from the list of visible trajectories listeners.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeVisibleTrajectoriesListener(VisibleTrajectoriesListener listener) {
+        visibleTrajectoriesListeners.remove(listener);
+        forgetListener(listener);
+    }
+
+    /**
+     * Lets the event bus forget a listener once it is removed from every list.
+     *
+     * @param listener the removed listener
+     */
+    private void forgetListener(Object listener) {
+        if (!trajectoriesListListeners.contains(listener)
+                && !activeListeners.contains(listener)
+                && !visibleTrajectoriesListeners.contains(listener)) {
+            eventBus.removeListener(listener);
+        }
+    }
+
+    /**
+     * Notifies all listeners that the trajectory list has changed.
+     */
+    private void notifyTrajectoriesListListeners() {
+        for (TrajectoriesListListener listener : trajectoriesListListeners) {
+            eventBus.post(listener, ModelEvent.TRAJECTORIES_LIST_CHANGED, listener::TrajectoryListChanged);
+        }
+    }
+
+    /**
+     * Notifies all listeners that the active trajectory has changed.
+     */
+    private void notifyActiveTrajectoryChanged() {
+        for (ActiveEntitiesListener listener : activeListeners) {
+            eventBus.post(listener, ModelEvent.ACTIVE_TRAJECTORY_CHANGED, () -> listener.activeTrajectoryChanged(activeTrajectory));
+        }
+    }
+
+    /**
+     * Notifies all listeners that the active control point has changed.
+     */
+    private void notifyActiveControlPointChanged() {
+        for (ActiveEntitiesListener listener : activeListeners) {
+            eventBus.post(listener, ModelEvent.ACTIVE_CONTROL_POINT_CHANGED, () -> listener.activeControlPointChanged(activeControlPoint));
+        }
+    }
+
+    /**
+     * Notifies all listeners that the state of the active control point has been edited.
+     */
+    public void notifyActiveControlPointStateEdited() {
+        for (ActiveEntitiesListener listener : activeListeners) {
+            eventBus.post(listener, ModelEvent.ACTIVE_CONTROL_POINT_STATE_EDITED, () -> listener.activeControlPointStateEdited(activeControlPoint));
+        }
+    }
+
+    /**
+     * Notifies all listeners that the state of the active trajectory has been edited.
+     */
+    public void notifyActiveTrajectoryStateEdited() {
+        for (ActiveEntitiesListener listener : activeListeners) {
+            eventBus.post(listener, ModelEvent.ACTIVE_TRAJECTORY_STATE_EDITED, () -> listener.activeTrajectoryStateEdited(activeTrajectory));
+        }
+    }
+
+    /**
+     * Notifies all listeners that the state of a trajectory has been edited. Edits
+     * of the active trajectory are reported as such; edits of any other trajectory
+     * re-render the visible trajectories.
+     *
+     * @param tr the edited trajectory
+     */
+    public void notifyTrajectoryStateEdited(Trajectory tr) {
+        if (tr == activeTrajectory) {
+            notifyActiveTrajectoryStateEdited();
+        } else {
+            notifyVisibleTrajectoriesChanged();
+        }
+    }
+
+    /**
+     * Notifies all listeners that the visible trajectories have changed.
+     */
+    public void notifyVisibleTrajectoriesChanged() {
+        for (VisibleTrajectoriesListener listener : visibleTrajectoriesListeners) {
+            eventBus.post(listener, ModelEvent.VISIBLE_TRAJECTORIES_CHANGED, listener::visibleTrajectoriesChanged);
+        }
+    }
+
+}
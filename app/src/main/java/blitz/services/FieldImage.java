@@ -16,11 +16,22 @@
 
 package blitz.services;
 
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
 
 import blitz.configs.Config;
 import blitz.ui.application.panels.canvasPanel.CanvasPanel;
@@ -29,19 +40,53 @@ import blitz.ui.application.panels.canvasPanel.CanvasPanel;
  * Represents a field image with scaling support based on zoom levels.
  * Handles reading the image from file, extracting dimensions, and updating its size based on zoom.
  * 
+ * Scaled copies are cached per zoom bucket (a fixed fraction of an octave) in a
+ * display-compatible format, so repaints only blit. All rescaling happens on a
+ * background thread: until the bucket of the current zoom and an exact-size copy
+ * are ready, the nearest cached image is returned and scaled while drawing.
+ * The cache lives as long as this instance, i.e. until the field changes.
+ * 
  * @author Valery Rabchanka
  */
 public class FieldImage {
 
     // -=-=-=- FIELDS -=-=-=-
 
-    private BufferedImage fieldImage;
     private BufferedImage initialFieldImage;
     private String path;
     private String fieldName;
     private int originalWidth, originalHeight;
     private int width, height;
 
+    /**
+     * Scaled copies keyed by zoom bucket, least recently used first.
+     */
+    private final Map<Integer, BufferedImage> pyramid = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+            return size() > Config.FIELD_IMAGE_CACHED_LEVELS;
+        }
+    };
+
+    /**
+     * Copy scaled exactly to {@link #exactWidth} x {@link #exactHeight}, or {@code null}.
+     */
+    private BufferedImage exactImage;
+    private int exactWidth, exactHeight;
+    private Future<?> pendingRescale;
+    private final Set<Integer> pendingBuckets = new HashSet<>();
+    private int pendingWidth, pendingHeight;
+    private Runnable imageUpdatedCallback;
+
+    /**
+     * Background thread shared by all field images for rescaling.
+     */
+    private static final ExecutorService RESCALER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Blitz Field Image Rescaler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     // -=-=-=- CONSTRUCTORS -=-=-=-
 
     /**
@@ -136,28 +181,132 @@ public class FieldImage {
     }
 
     /**
-     * Updates the field image by resizing it according to the current width and height.
+     * Returns the best cached image for the current zoom scale without rescaling on
+     * the calling thread. The image is meant to be drawn at {@link #getWidth()} x
+     * {@link #getHeight()}. If it is not the exact size, the missing zoom bucket and
+     * an exact copy are requested in the background.
      * 
-     * @throws IOException if the image cannot be resized
+     * @return the buffered image
      */
-    private void updateFieldImage() throws IOException {
+    public BufferedImage getBufferedImage() {
         updateWidth();
         updateHeight();
-        fieldImage = Utils.resizeImage(initialFieldImage, getWidth(), getHeight());
+
+        if (exactImage != null && exactWidth == width && exactHeight == height) {
+            return exactImage;
+        }
+
+        int bucket = (int) Math.ceil(Math.log(CanvasPanel.getZoomScale()) / Math.log(2) * Config.FIELD_IMAGE_BUCKETS_PER_OCTAVE);
+        BufferedImage level = pyramid.get(bucket);
+        if (level == null) {
+            requestBucket(bucket);
+            level = getNearestCachedImage();
+        }
+
+        if (level.getWidth() == width && level.getHeight() == height) {
+            exactImage = level;
+            exactWidth = width;
+            exactHeight = height;
+        } else {
+            requestExactImage(width, height);
+        }
+        return level;
     }
 
     /**
-     * Returns the buffered image after updating its size based on zoom scale.
+     * Sets the callback run on the Event Dispatch Thread whenever a better image
+     * becomes available, typically a repaint of the canvas.
      * 
-     * @return the buffered image
+     * @param callback the callback, or {@code null}
      */
-    public BufferedImage getBufferedImage() {
-        try {
-            updateFieldImage();
-        } catch (IOException e) {
-            e.printStackTrace();
+    public void setImageUpdatedCallback(Runnable callback) {
+        this.imageUpdatedCallback = callback;
+    }
+
+    /**
+     * Returns the cached image closest in size to the current one, preferring larger
+     * ones, or the source image if nothing is cached yet.
+     */
+    private BufferedImage getNearestCachedImage() {
+        BufferedImage nearest = exactImage;
+        for (BufferedImage level : pyramid.values()) {
+            if (nearest == null || isCloser(level, nearest)) {
+                nearest = level;
+            }
+        }
+        return nearest != null ? nearest : initialFieldImage;
+    }
+
+    private boolean isCloser(BufferedImage candidate, BufferedImage best) {
+        double candidateDistance = Math.abs(Math.log((double) candidate.getWidth() / width));
+        double bestDistance = Math.abs(Math.log((double) best.getWidth() / width));
+        if (candidateDistance != bestDistance) {
+            return candidateDistance < bestDistance;
         }
-        return fieldImage;
+        return candidate.getWidth() > best.getWidth();
+    }
+
+    /**
+     * Schedules building a zoom bucket unless it is already scheduled.
+     */
+    private void requestBucket(int bucket) {
+        if (!pendingBuckets.add(bucket)) {
+            return;
+        }
+        double bucketZoom = Math.pow(2, (double) bucket / Config.FIELD_IMAGE_BUCKETS_PER_OCTAVE);
+        int bucketWidth = (int) Math.ceil(originalWidth * Config.PIXELS_IN_ONE_INCH * bucketZoom);
+        int bucketHeight = (int) Math.ceil(originalHeight * Config.PIXELS_IN_ONE_INCH * bucketZoom);
+        RESCALER.submit(() -> {
+            BufferedImage scaled = scale(initialFieldImage, bucketWidth, bucketHeight);
+            SwingUtilities.invokeLater(() -> {
+                pendingBuckets.remove(bucket);
+                pyramid.put(bucket, scaled);
+                boolean exactShown = exactImage != null && exactWidth == width && exactHeight == height;
+                if (imageUpdatedCallback != null && !exactShown) {
+                    imageUpdatedCallback.run();
+                }
+            });
+        });
+    }
+
+    /**
+     * Schedules an exact rescale, replacing any pending one for a different size.
+     */
+    private void requestExactImage(int targetWidth, int targetHeight) {
+        if (pendingRescale != null && !pendingRescale.isDone()) {
+            if (pendingWidth == targetWidth && pendingHeight == targetHeight) {
+                return;
+            }
+            pendingRescale.cancel(false);
+        }
+        pendingWidth = targetWidth;
+        pendingHeight = targetHeight;
+        pendingRescale = RESCALER.submit(() -> {
+            BufferedImage scaled = scale(initialFieldImage, targetWidth, targetHeight);
+            SwingUtilities.invokeLater(() -> {
+                exactImage = scaled;
+                exactWidth = targetWidth;
+                exactHeight = targetHeight;
+                if (imageUpdatedCallback != null && targetWidth == width && targetHeight == height) {
+                    imageUpdatedCallback.run();
+                }
+            });
+        });
+    }
+
+    /**
+     * Scales an image with bilinear filtering into a display-compatible image.
+     */
+    private static BufferedImage scale(BufferedImage source, int targetWidth, int targetHeight) {
+        BufferedImage scaled = GraphicsEnvironment.isHeadless()
+            ? new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_ARGB)
+            : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                .createCompatibleImage(targetWidth, targetHeight, source.getTransparency());
+        Graphics2D graphics2D = scaled.createGraphics();
+        graphics2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics2D.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        graphics2D.dispose();
+        return scaled;
     }
 
     /**
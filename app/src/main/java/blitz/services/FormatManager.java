@@ -23,6 +23,10 @@ import java.util.Set;
 import java.util.function.Function;
 
 import blitz.configs.Config;
+import blitz.models.calculations.DifferentialDrive;
+import blitz.models.calculations.HeadingProfile;
+import blitz.models.calculations.MotionProfile;
+import blitz.models.simulation.PoseTable;
 import blitz.models.trajectories.Trajectory;
 import blitz.models.trajectories.trajectoryComponents.FollowPoint;
 
@@ -36,6 +40,9 @@ import blitz.models.trajectories.trajectoryComponents.FollowPoint;
  * Supported Formats:
  * <ul>
  *     <li>LemLib v0.4.0</li>
+ *     <li>Timed setpoints, one per controller period</li>
+ *     <li>Differential drive wheel velocities</li>
+ *     <li>Holonomic poses with an independent heading</li>
  * </ul>
  * 
  * @author Valery Rabchanka
@@ -54,6 +61,9 @@ public class FormatManager {
     // Static block to initialize the format mappings
     static {
         formatMap.put("LemLib v0.4.0", FormatManager::LemLib_v_0_4_0);
+        formatMap.put(String.format("Timed %.0f ms", Config.EXPORT_CONTROLLER_PERIOD * 1000), FormatManager::Timed_Setpoints);
+        formatMap.put("Differential Drive", FormatManager::Differential_Drive);
+        formatMap.put("Holonomic", FormatManager::Holonomic);
     }
 
     // -=-=-=- METHODS -=-=-=-
@@ -134,4 +144,150 @@ public class FormatManager {
 
         return result.toString();
     }
+
+    /**
+     * Formats the trajectory as setpoints at a fixed controller period.
+     * 
+     * The follow points are timed by the {@link MotionProfile} of the trajectory and
+     * resampled every {@link Config#EXPORT_CONTROLLER_PERIOD} seconds in a single sweep
+     * over the arrival times, so the robot picks the setpoint of a loop iteration by
+     * its count instead of searching the path.
+     * 
+     * The format includes:
+     * <ul>
+     *     <li>One line per controller period with x, y, heading (degrees, counterclockwise
+     *     from the x axis) and velocity, separated by commas.</li>
+     *     <li>An "endData" marker.</li>
+     *     <li>Application info from {@link Config#APP_INFO}.</li>
+     * </ul>
+     * 
+     * @param tr the {@link Trajectory} to format
+     * @return the formatted string, or {@code null} if the trajectory is invalid
+     */
+    public static String Timed_Setpoints(Trajectory tr) {
+
+        // Validation
+        if (tr == null || tr.size() < 2) return null;
+
+        PoseTable table = PoseTable.of(MotionProfile.of(tr), Config.EXPORT_CONTROLLER_PERIOD);
+        if (table == null) return null;
+
+        // Formatting
+        StringBuilder result = new StringBuilder();
+
+        // Append the setpoint of each controller period
+        double[] pose = new double[PoseTable.POSE_SIZE];
+        for (int i = 0; i < table.getNumSamples(); i++) {
+            table.sampleAt(i, pose);
+            result.append(String.format("%.4f, %.4f, %.4f, %.4f", pose[PoseTable.X], pose[PoseTable.Y],
+                Math.toDegrees(pose[PoseTable.HEADING]), pose[PoseTable.SPEED]));
+            if (i < table.getNumSamples() - 1) {
+                result.append(",");
+            }
+            result.append("\n");
+        }
+
+        // Append endData
+        result.append("endData\n");
+
+        // Append BLITZ InfoPanel
+        result.append(Config.APP_INFO);
+
+        return result.toString();
+    }
+
+    /**
+     * Formats the trajectory as left and right wheel velocities of a differential drive.
+     * 
+     * The velocities are calculated by {@link DifferentialDrive} from the curvature at each
+     * follow point and the track width of the trajectory, with each wheel limited to the
+     * maximum speed of the trajectory.
+     * 
+     * The format includes:
+     * <ul>
+     *     <li>Each follow point's x, y coordinates, left and right wheel velocities, separated by commas.</li>
+     *     <li>An "endData" marker.</li>
+     *     <li>Application info from {@link Config#APP_INFO}.</li>
+     * </ul>
+     * 
+     * @param tr the {@link Trajectory} to format
+     * @return the formatted string, or {@code null} if the trajectory is invalid
+     */
+    public static String Differential_Drive(Trajectory tr) {
+
+        // Validation
+        if (tr == null || tr.size() < 2) return null;
+
+        DifferentialDrive drive = DifferentialDrive.of(tr);
+        if (drive == null) return null;
+
+        // Formatting
+        StringBuilder result = new StringBuilder();
+
+        // Append the wheel velocities at each follow point
+        for (int i = 0; i < drive.size(); i++) {
+            FollowPoint fp = drive.getFollowPoints().get(i);
+            result.append(String.format("%.4f, %.4f, %.4f, %.4f", fp.getX(), fp.getY(),
+                drive.getLeftVelocity(i), drive.getRightVelocity(i)));
+            if (i < drive.size() - 1) {
+                result.append(",");
+            }
+            result.append("\n");
+        }
+
+        // Append endData
+        result.append("endData\n");
+
+        // Append BLITZ InfoPanel
+        result.append(Config.APP_INFO);
+
+        return result.toString();
+    }
+
+    /**
+     * Formats the trajectory as poses of a holonomic drivetrain, whose heading is
+     * independent of the direction of travel.
+     * 
+     * The heading at each follow point is the one of its {@link HeadingProfile}, turning
+     * between the heading keyframes of the control points, or the tangent of the path
+     * if there are none.
+     * 
+     * The format includes:
+     * <ul>
+     *     <li>Each follow point's x, y coordinates, heading (degrees, counterclockwise
+     *     from the x axis) and speed, separated by commas.</li>
+     *     <li>An "endData" marker.</li>
+     *     <li>Application info from {@link Config#APP_INFO}.</li>
+     * </ul>
+     * 
+     * @param tr the {@link Trajectory} to format
+     * @return the formatted string, or {@code null} if the trajectory is invalid
+     */
+    public static String Holonomic(Trajectory tr) {
+
+        // Validation
+        if (tr == null || tr.size() < 2) return null;
+
+        // Formatting
+        StringBuilder result = new StringBuilder();
+
+        // Append the pose at each follow point
+        ArrayList<FollowPoint> followPoints = tr.calculateFollowPoints();
+        for (int i = 0; i < followPoints.size(); i++) {
+            FollowPoint fp = followPoints.get(i);
+            result.append(String.format("%.4f, %.4f, %.4f, %.4f", fp.getX(), fp.getY(), fp.getHeading(), fp.getSpeed()));
+            if (i < followPoints.size() - 1) {
+                result.append(",");
+            }
+            result.append("\n");
+        }
+
+        // Append endData
+        result.append("endData\n");
+
+        // Append BLITZ InfoPanel
+        result.append(Config.APP_INFO);
+
+        return result.toString();
+    }
 }
@@ -16,11 +16,15 @@
 
 package blitz.services;
 
+import java.awt.Color;
 import java.util.ArrayList;
 import java.util.List;
 
 public class Gradient {
 
+    // Resolution of the compiled lookup table
+    public static final int LUT_SIZE = 1024;
+
     private static class ColorPoint {
         double position;
         HexColor color;
@@ -33,6 +37,10 @@ public class Gradient {
 
     private final List<ColorPoint> colorPoints = new ArrayList<>();
 
+    // Lookup table compiled from the color points, packed ARGB and shared Color instances per entry
+    private volatile int[] lut = new int[LUT_SIZE];
+    private volatile Color[] lutColors = new Color[LUT_SIZE];
+
     // Add a color to the gradient at a specific position (0.0 to 1.0)
     public void addColorPoint(double position, HexColor color) {
         if (position < 0.0 || position > 1.0) {
@@ -40,6 +48,46 @@ public class Gradient {
         }
         colorPoints.add(new ColorPoint(position, color));
         colorPoints.sort((cp1, cp2) -> Double.compare(cp1.position, cp2.position));
+        compile();
+    }
+
+    // Rebuild the lookup table; complete tables are published, so readers on other threads never see a partial one
+    private void compile() {
+        int[] newLut = new int[LUT_SIZE];
+        Color[] newColors = new Color[LUT_SIZE];
+        for (int i = 0; i < LUT_SIZE; i++) {
+            newLut[i] = 0xFF000000 | interpolateRGB((double) i / (LUT_SIZE - 1));
+            newColors[i] = (i > 0 && newLut[i] == newLut[i - 1]) ? newColors[i - 1] : new Color(newLut[i], true);
+        }
+        lut = newLut;
+        lutColors = newColors;
+    }
+
+    // Index of the lookup table entry for a value (0.0 to 1.0), values outside the range are clamped
+    public int getLutIndex(double value) {
+        if (!(value > 0.0)) return 0; // Also maps NaN to the start
+        if (value >= 1.0) return LUT_SIZE - 1;
+        return (int) (value * (LUT_SIZE - 1) + 0.5);
+    }
+
+    // Packed ARGB color of a lookup table entry
+    public int getARGBAtIndex(int index) {
+        return lut[index];
+    }
+
+    // Shared Color instance of a lookup table entry, never allocates
+    public Color getColorAtIndex(int index) {
+        return lutColors[index];
+    }
+
+    // Packed ARGB color at a value (0.0 to 1.0) from the lookup table
+    public int getARGBAt(double value) {
+        return getARGBAtIndex(getLutIndex(value));
+    }
+
+    // Shared Color instance at a value (0.0 to 1.0) from the lookup table
+    public Color getLutColorAt(double value) {
+        return getColorAtIndex(getLutIndex(value));
     }
 
     // Calculate the color at a specific value (0.0 to 1.0) on the gradient
@@ -47,6 +95,14 @@ public class Gradient {
         if (value < 0.0 || value > 1.0) {
             throw new IllegalArgumentException("Value must be between 0 and 1.");
         }
+        return new HexColor(String.format("#%06X", interpolateRGB(value)));
+    }
+
+    // Interpolate the packed RGB color at a specific value (0.0 to 1.0) between the surrounding color points
+    private int interpolateRGB(double value) {
+        if (colorPoints.isEmpty()) {
+            return 0;
+        }
 
         // Find two color points surrounding the value
         ColorPoint start = null, end = null;
@@ -60,7 +116,7 @@ public class Gradient {
 
         // If value is exactly at the position of a color point, return that color
         if (start == null || end == null) {
-            return colorPoints.get(colorPoints.size() - 1).color;
+            return colorPoints.get(colorPoints.size() - 1).color.getRGB() & 0xFFFFFF;
         }
 
         // Calculate the ratio between the two points
@@ -74,7 +130,7 @@ public class Gradient {
         int green = (int) (((startRGB >> 8) & 0xFF) * (1 - ratio) + ((endRGB >> 8) & 0xFF) * ratio);
         int blue = (int) ((startRGB & 0xFF) * (1 - ratio) + ((endRGB & 0xFF) * ratio));
 
-        return new HexColor(String.format("#%02X%02X%02X", red, green, blue));
+        return (red << 16) | (green << 8) | blue;
     }
     
 }
@@ -26,6 +26,7 @@ import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 
 import javax.imageio.ImageIO;
@@ -38,6 +39,7 @@ import javax.swing.JFrame;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JViewport;
@@ -45,6 +47,10 @@ import javax.swing.KeyStroke;
 import javax.swing.text.JTextComponent;
 
 import blitz.configs.Config;
+import blitz.models.history.History;
+import blitz.models.history.WorkspaceSnapshot;
+import blitz.models.journal.EditJournal;
+import blitz.models.workspace.Workspace;
 import blitz.services.FieldImage;
 import blitz.services.Utils;
 import blitz.ui.application.menu.Export;
@@ -122,7 +128,7 @@ public class MainFrame extends JFrame {
     private JScrollPane scrollPane;
     
     /**
-     * Menu bar that contains various menus like File, View, Preferences, and Help.
+     * Menu bar that contains various menus like File, Edit, View, Preferences, and Help.
      */
     private JMenuBar menuBar;
     
@@ -144,11 +150,40 @@ public class MainFrame extends JFrame {
         constructMenuBar();
         constructFrame();
         setupKeyBindings();
+        setupEditJournal();
         requestFocusInWindow();
         toFront();
     }
 
     // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Sets up the crash-safe edit journal of the default workspace.
+     *
+     * If the previous session ended without a clean shutdown, the user is offered
+     * to restore its last journaled state before journaling starts again. If
+     * another instance already journals into the directory, autosave stays off.
+     */
+    private void setupEditJournal() {
+        EditJournal journal = new EditJournal(Paths.get(Config.JOURNAL_DIRECTORY));
+        if (!journal.tryLock()) {
+            return;
+        }
+        History history = Workspace.getDefault().getHistory();
+
+        WorkspaceSnapshot recovered = journal.recover();
+        if (recovered != null) {
+            int choice = JOptionPane.showConfirmDialog(this,
+                "Blitz was not closed properly. Restore the unsaved session?",
+                "Restore Session", JOptionPane.YES_NO_OPTION);
+            if (choice == JOptionPane.YES_OPTION) {
+                history.load(recovered);
+            }
+        }
+
+        journal.start(history);
+        Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "Blitz Edit Journal Shutdown"));
+    }
     
     /**
      * Sets up key bindings for tool selection and other shortcuts.
@@ -288,6 +323,37 @@ public class MainFrame extends JFrame {
             }
         });
 
+        // Key Bindings for the robot playback of the Show Robot tool
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_SPACE, 0), "togglePlayback");
+        actionMap.put("togglePlayback", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (!isFocusOnTextField.getAsBoolean()) {
+                    canvasPanel.togglePlayback();
+                }
+            }
+        });
+
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_CLOSE_BRACKET, 0), "fasterPlayback");
+        actionMap.put("fasterPlayback", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (!isFocusOnTextField.getAsBoolean()) {
+                    canvasPanel.changePlaybackSpeed(true);
+                }
+            }
+        });
+
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_OPEN_BRACKET, 0), "slowerPlayback");
+        actionMap.put("slowerPlayback", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (!isFocusOnTextField.getAsBoolean()) {
+                    canvasPanel.changePlaybackSpeed(false);
+                }
+            }
+        });
+
         // Key Binding for creating a new trajectory
         inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_N, 0), "newTrajectory");
         actionMap.put("newTrajectory", new AbstractAction() {
@@ -311,6 +377,30 @@ public class MainFrame extends JFrame {
             }
         });
 
+        // Key Bindings for undo and redo
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.META_DOWN_MASK), "undo");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK), "undo");
+        actionMap.put("undo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (!isFocusOnTextField.getAsBoolean()) {
+                    Workspace.getDefault().getHistory().undo();
+                }
+            }
+        });
+
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.META_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK), "redo");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK), "redo");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK), "redo");
+        actionMap.put("redo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (!isFocusOnTextField.getAsBoolean()) {
+                    Workspace.getDefault().getHistory().redo();
+                }
+            }
+        });
+
         // Key Binding for exporting
         inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_E, InputEvent.SHIFT_DOWN_MASK), "Export");
         inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_E, InputEvent.META_DOWN_MASK), "Export");
@@ -325,7 +415,7 @@ public class MainFrame extends JFrame {
     }
     
     /**
-     * Constructs the menu bar with File, View, Preferences, and Help menus.
+     * Constructs the menu bar with File, Edit, View, Preferences, and Help menus.
      * 
      * This method sets up the menu bar at the top of the application frame, adding various
      * menu items and their associated action listeners for functionalities like Open, Save,
@@ -354,6 +444,20 @@ public class MainFrame extends JFrame {
         exportAsMenuItem.addActionListener((ActionEvent e) -> {Export.createExportDialogue();});
         fileMenu.add(exportAsMenuItem);
 
+        // -=- Edit Menu -=-
+        JMenu editMenu = new JMenu("Edit");
+        menuBar.add(editMenu);
+
+        // Undo Menu Item
+        JMenuItem undoMenuItem = new JMenuItem("Undo");
+        undoMenuItem.addActionListener((ActionEvent e) -> { Workspace.getDefault().getHistory().undo(); });
+        editMenu.add(undoMenuItem);
+
+        // Redo Menu Item
+        JMenuItem redoMenuItem = new JMenuItem("Redo");
+        redoMenuItem.addActionListener((ActionEvent e) -> { Workspace.getDefault().getHistory().redo(); });
+        editMenu.add(redoMenuItem);
+
         // -=- View Menu -=-
         JMenu viewMenu = new JMenu("View");
         menuBar.add(viewMenu);
@@ -160,14 +160,15 @@ public class Open {
     }
     
     /**
-     * Parses trajectories from the specified JSON file.
+     * Parses trajectories from the specified JSON file. Does not touch any
+     * workspace, so it may be used to load files into independent workspaces.
      * 
      * @param path the file path of the JSON file
      * @return an {@link ArrayList} of {@link Trajectory} objects parsed from the file
      * @throws FileNotFoundException if the file does not exist
      * @throws IOException if an I/O error occurs during reading
      */
-    private static ArrayList<Trajectory> parseTrajectoriesFromFile(String path) throws FileNotFoundException, IOException {
+    public static ArrayList<Trajectory> parseTrajectoriesFromFile(String path) throws FileNotFoundException, IOException {
         ArrayList<Trajectory> trajectories = new ArrayList<>();
         Gson gson = new Gson();
         
@@ -16,21 +16,33 @@
 
 package blitz.ui.application.panels.canvasPanel;
 
+import java.awt.AlphaComposite;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.MouseInfo;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 
 import blitz.models.trajectories.Trajectory;
 import blitz.models.active.ActiveEntitiesListener;
 import blitz.models.calculations.Calculations;
+import blitz.models.simulation.PoseTable;
 import blitz.models.trajectories.trajectoriesList.TrajectoriesListListener;
 import blitz.ui.application.panels.canvasInteractionPanel.CanvasInteractionPanel;
 
 
 import blitz.ui.application.panels.canvasPanel.pointers.ControlPointer;
 import blitz.ui.application.panels.canvasPanel.pointers.FollowPointer;
+import blitz.ui.application.panels.canvasPanel.pointers.FollowPointerLayer;
+import blitz.ui.application.panels.canvasPanel.pointers.PointerGrid;
+import blitz.ui.application.panels.canvasPanel.pointers.RobotFootprint;
 
 import blitz.ui.application.panels.canvasPanel.pointers.HelperLine;
 import blitz.models.trajectories.visibleTrajectories.VisibleTrajectories;
@@ -38,7 +50,11 @@ import blitz.models.trajectories.visibleTrajectories.VisibleTrajectoriesListener
 
 import blitz.ui.application.panels.toolPanel.tools.ToolListener;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
 
 import java.awt.event.MouseListener;
 
@@ -68,6 +84,7 @@ import blitz.models.trajectories.trajectoryComponents.FollowPoint;
 import blitz.configs.Config;
 import blitz.models.trajectories.trajectoriesList.TrajectoriesList;
 import blitz.models.active.ActiveEntities;
+import blitz.models.workspace.Workspace;
 import blitz.ui.application.panels.canvasPanel.pointers.HelperPointer;
 
 import blitz.services.CartesianCoordinate;
@@ -93,13 +110,54 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
     private ArrayList<Trajectory> visibleTrajectories;
     private ArrayList<ControlPointer> controlPointers;
     private ArrayList<HelperPointer> helperPointers;
+
+    // Spatial indexes over the screen positions of the pointers, ids are list indices
+    private final PointerGrid controlPointerGrid = new PointerGrid(Config.POINTER_GRID_CELL_SIZE);
+    private final PointerGrid helperPointerGrid = new PointerGrid(Config.POINTER_GRID_CELL_SIZE);
     private ArrayList<HelperLine> helperLines;
-    private ArrayList<FollowPointer> followPointers;
+    private final Map<Trajectory, FollowPointerLayer> followPointerLayers = new IdentityHashMap<>();
+    private FollowPointerLayer spareFollowPointerLayer = new FollowPointerLayer();
+
+    // Screen area the control pointers were built for, null if none were culled
+    private Rectangle controlPointersBounds;
 
     private HelperPointer selectedHelperPointer;
 
+    // Invalidations collected until the next frame
+    private final FrameScheduler frameScheduler = new FrameScheduler(this::renderFrame);
+    private boolean visibleTrajectoriesOutdated = false;
+    private boolean pointersOutdated = false;
+    private final Set<Trajectory> outdatedTrajectories = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean fullRepaintNeeded = false;
+
+    // Screen area to repaint when the frame does not need a full repaint, reused between frames
+    private final Rectangle dirtyRegion = new Rectangle();
+    private boolean dirty = false;
+
+    // Robot shown by the Show Robot tool, playing back the path of one trajectory
+    private final RobotPlayback robotPlayback = new RobotPlayback();
+    private final RobotFootprint robotFootprint = new RobotFootprint();
+    private Trajectory playbackTrajectory;
+    private boolean robotDragged = false;
+
+    // The field and all trajectories but the active one, cached offscreen
+    private final StaticLayer staticLayer = new StaticLayer(this::paintStaticContent);
+    private Trajectory staticLayerActiveTrajectory;
+
+    // Follow points are kept in field coordinates and only change with the model,
+    // not when the view is scrolled or zoomed
+    private boolean followPointsOutdated = true;
+
+    // Field to screen mapping for the zoom it was built for
+    private AffineTransform fieldToScreen;
+    private AffineTransform screenToField;
+    private double transformZoomX = Double.NaN;
+    private double transformZoomY = Double.NaN;
+
     private HashMap<CURSOR, Cursor> cursorMap;
 
+    private static final AlphaComposite POINTER_COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f);
+
     public static enum CURSOR{
         SCISSORS,
         MOVE,
@@ -122,8 +180,8 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
 
         visibleTrajectories = new ArrayList<Trajectory>();
         controlPointers = new ArrayList<ControlPointer>();
-        followPointers = new ArrayList<FollowPointer>();
         helperPointers = new ArrayList<HelperPointer>();
+        helperLines = new ArrayList<HelperLine>();
 
         selectedHelperPointer = null;
 
@@ -189,25 +247,30 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
         return true;
     }
 
-    private void clearControlPointers(){
-        controlPointers = new ArrayList<ControlPointer>();
-    }
-
-    private void clearFollowPointers(){
-        followPointers = new ArrayList<FollowPointer>();
-    }
-
     private void clearHelperPointers(){
         helperPointers = new ArrayList<HelperPointer>();
+        helperPointerGrid.clear();
     }
 
     private void clearHelperLines(){
         helperLines = new ArrayList<HelperLine>();
     }
 
+    /**
+     * Rebuilds the control pointers of the visible trajectories. Pointers whose
+     * bounds, grown by the reach of their helper handles, fall outside of the
+     * culling bounds are skipped, except the one of the active control point.
+     */
     private void populateControlPointers(){
         
-        clearControlPointers();
+        // Pointer ids are list indices, so the grid is updated in place: ids that
+        // are still used move to their new position, the rest are removed
+        int oldCount = controlPointers.size();
+        controlPointers = new ArrayList<ControlPointer>();
+        Rectangle view = getCullingBounds();
+        controlPointersBounds = view;
+        double pixelsPerUnit = Config.PIXELS_IN_ONE_INCH * getZoomScale();
+        ControlPoint active = ActiveEntities.getActiveControlPoint();
 
         for (Trajectory tr : visibleTrajectories) {
             for (ControlPoint cp : tr.getAllControlPoints()) {
@@ -215,39 +278,103 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
                 CartesianCoordinate coordinate = convertFieldToScreenCoordinates(cp.getPosition());
                 int x = (int) coordinate.getX();
                 int y = (int) coordinate.getY();
+
+                if(view != null && cp != active){
+                    int reach = Config.CONTROL_POINTER_DIAMETER / 2
+                        + (int) Math.ceil(Math.max(cp.getRStart(), cp.getREnd()) * pixelsPerUnit);
+                    if(!view.intersects(x - reach, y - reach, 2 * reach, 2 * reach)){
+                        continue;
+                    }
+                }
+
                 ControlPointer pointer = new ControlPointer(x, y, cp);
-                if(cp.equals(ActiveEntities.getActiveControlPoint())){
+                if(cp == active){
                     pointer.setState(State.SELECTED);
                 }
+                pointer.setGridId(controlPointers.size());
+                controlPointerGrid.move(pointer.getGridId(), x, y);
                 controlPointers.add(pointer);
 
             }
         }
+        for (int id = controlPointers.size(); id < oldCount; id++) {
+            controlPointerGrid.remove(id);
+        }
 
     }
 
-    private void populateFollowPointers(){
+    /**
+     * Recalculates the follow pointers of outdated trajectories, or of all visible
+     * ones after a model-wide change. Layers of untouched trajectories are kept.
+     * 
+     * @return the field-space area in which the follow pointers changed, or
+     *         {@code null} if nothing changed
+     */
+    private Rectangle2D populateFollowPointers(){
 
-        clearFollowPointers();
+        Rectangle2D changed = null;
+        Set<Trajectory> visible = Collections.newSetFromMap(new IdentityHashMap<>());
+        visible.addAll(visibleTrajectories);
+        followPointerLayers.keySet().retainAll(visible);
 
         for (Trajectory tr : visibleTrajectories) {
-            
-            ArrayList<FollowPoint> followPoints = tr.calculateFollowPoints();
-            
-            if(followPoints == null){
+
+            FollowPointerLayer oldLayer = followPointerLayers.get(tr);
+            if(oldLayer != null && !followPointsOutdated && !outdatedTrajectories.contains(tr)){
                 continue;
             }
 
-            for (FollowPoint fp : followPoints) {
-                CartesianCoordinate coordinate = convertFieldToScreenCoordinates(fp.getPosition());
-                int x = (int) coordinate.getX();
-                int y = (int) coordinate.getY();
-                double speedColorCoeff = fp.getSpeed() / (tr.getMaxSpeed() - tr.getMinSpeed());
-                followPointers.add(new FollowPointer(x, y, speedColorCoeff, fp.getRelatedControlPoint()));
+            FollowPointerLayer layer = spareFollowPointerLayer;
+            layer.clear();
+            ArrayList<FollowPoint> followPoints = tr.calculateFollowPoints();
+            if(tr == playbackTrajectory){
+                robotPlayback.setTable(PoseTable.of(followPoints, Config.PLAYBACK_TIME_STEP));
+            }
+            if(followPoints != null){
+                for (FollowPoint fp : followPoints) {
+                    double speedColorCoeff = fp.getSpeed() / (tr.getMaxSpeed() - tr.getMinSpeed());
+                    layer.add(fp.getX(), fp.getY(), speedColorCoeff, fp.getRelatedControlPoint());
+                }
             }
+            followPointerLayers.put(tr, layer);
 
+            if(oldLayer != null){
+                Rectangle2D layerChanged = FollowPointerLayer.getChangedBounds(oldLayer, layer);
+                if(layerChanged != null && tr != staticLayerActiveTrajectory){
+                    staticLayer.invalidate();
+                }
+                if(layerChanged != null){
+                    if(changed == null){
+                        changed = layerChanged;
+                    } else {
+                        changed.add(layerChanged);
+                    }
+                }
+                spareFollowPointerLayer = oldLayer;
+            } else {
+                spareFollowPointerLayer = new FollowPointerLayer();
+                fullRepaintNeeded = true;
+            }
         }
 
+        followPointsOutdated = false;
+        outdatedTrajectories.clear();
+        return changed;
+    }
+
+    /**
+     * Returns the visible part of the canvas grown by {@link Config#CANVAS_CULLING_MARGIN},
+     * outside of which nothing is drawn when the repaint area is not known.
+     * 
+     * @return the culling bounds in screen coordinates, or {@code null} if the canvas is not shown yet
+     */
+    private Rectangle getCullingBounds(){
+        Rectangle view = getVisibleRect();
+        if(view.isEmpty()){
+            return null;
+        }
+        view.grow(Config.CANVAS_CULLING_MARGIN, Config.CANVAS_CULLING_MARGIN);
+        return view;
     }
 
     private void populateHelperPointers() {
@@ -263,14 +390,14 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
                     if(!isControlPointerLast(p)){
                         CartesianCoordinate helperStartCoord = convertFieldToScreenCoordinates(cp.getAbsStartHelperPos());
                         HelperPointer helperStartPointer = new HelperPointer((int) helperStartCoord.getX(), (int) helperStartCoord.getY(), cp, true);
-                        helperPointers.add(helperStartPointer);
+                        addHelperPointer(helperStartPointer);
                         createHelperLine(helperStartPointer);
                     }
         
                     if(!isControlPointerFirst(p)){
                         CartesianCoordinate endStartCoord = convertFieldToScreenCoordinates(cp.getAbsEndHelperPos());
                         HelperPointer helperEndPointer = new HelperPointer((int) endStartCoord.getX(), (int) endStartCoord.getY(), cp, false);
-                        helperPointers.add(helperEndPointer);
+                        addHelperPointer(helperEndPointer);
                         createHelperLine(helperEndPointer);
                     }
 
@@ -279,6 +406,11 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
         }
     }
 
+    private void addHelperPointer(HelperPointer p){
+        helperPointerGrid.insert(helperPointers.size(), p.getCenterX(), p.getCenterY());
+        helperPointers.add(p);
+    }
+
     private boolean isControlPointerFirst(ControlPointer p){
         ControlPoint cp = p.getRelatedControlPoint();
         Trajectory tr = TrajectoriesList.getTrajectoryByControlPoint(cp);
@@ -310,32 +442,15 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
         helperLines.add(line);
     }
 
-    private void addAllComponents() {
-        removeAll();
-    
-        for (HelperPointer p : helperPointers) {
-            add(p);
-        }
-    
-        for (ControlPointer p : controlPointers) {
-            add(p);
-        }
-
-        for (HelperLine l : helperLines) {
-            add(l);
-        }
-    
-        
-    
-        for (FollowPointer p : followPointers) {
-            add(p);
-        }
-        repaint();
-    }
-
+    /**
+     * Returns the pointer of the active control point. It is resolved from the model
+     * rather than from the pointer states, which only the next frame updates.
+     */
     private ControlPointer getSelectedControlPointer(){
+        ControlPoint active = ActiveEntities.getActiveControlPoint();
+        if(active == null) return null;
         for (ControlPointer p : controlPointers) {
-            if(p.isSelected()){
+            if(p.getRelatedControlPoint() == active){
                 return p;
             }
         }
@@ -350,16 +465,44 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
         return selectedHelperPointer == null;
     }
 
+    /**
+     * Returns the transform mapping field coordinates (inches, y up) to screen
+     * coordinates of the canvas at the current zoom. It is rebuilt only when the
+     * zoom changes and must not be modified.
+     * 
+     * @return the field to screen transform
+     */
+    public AffineTransform getFieldToScreenTransform() {
+        if (fieldToScreen == null || transformZoomX != getZoomScaleX() || transformZoomY != getZoomScaleY()) {
+            AffineTransform t = AffineTransform.getScaleInstance(getZoomScaleX(), getZoomScaleY());
+            t.translate(Config.CANVAS_PANEL_X_OFFSET, Config.CANVAS_PANEL_Y_OFFSET);
+            t.scale(Config.PIXELS_IN_ONE_INCH, -Config.PIXELS_IN_ONE_INCH);
+            try {
+                screenToField = t.createInverse();
+            } catch (NoninvertibleTransformException e) {
+                // The zoom is bounded away from zero, so the transform is always invertible
+                throw new IllegalStateException(e);
+            }
+            fieldToScreen = t;
+            transformZoomX = getZoomScaleX();
+            transformZoomY = getZoomScaleY();
+        }
+        return fieldToScreen;
+    }
+
+    private AffineTransform getScreenToFieldTransform() {
+        getFieldToScreenTransform();
+        return screenToField;
+    }
+
     public CartesianCoordinate convertFieldToScreenCoordinates(CartesianCoordinate field) {
-        double screenX = ( (field.getX()  * Config.PIXELS_IN_ONE_INCH) + Config.CANVAS_PANEL_X_OFFSET ) * getZoomScaleX();
-        double screenY = ( (-field.getY() * Config.PIXELS_IN_ONE_INCH) + Config.CANVAS_PANEL_Y_OFFSET ) * getZoomScaleY();
-        return new CartesianCoordinate((int) screenX, (int) screenY);
+        Point2D screen = getFieldToScreenTransform().transform(new Point2D.Double(field.getX(), field.getY()), null);
+        return new CartesianCoordinate((int) screen.getX(), (int) screen.getY());
     }
     
     public CartesianCoordinate convertScreenToFieldCoordinates(CartesianCoordinate screen) {
-        double fieldX = ( ( (screen.getX() / getZoomScaleX()) - Config.CANVAS_PANEL_X_OFFSET) / Config.PIXELS_IN_ONE_INCH );
-        double fieldY = ((-((screen.getY() / getZoomScaleY()) - Config.CANVAS_PANEL_Y_OFFSET)) / Config.PIXELS_IN_ONE_INCH) ;
-        return new CartesianCoordinate(fieldX, fieldY);
+        Point2D field = getScreenToFieldTransform().transform(new Point2D.Double(screen.getX(), screen.getY()), null);
+        return new CartesianCoordinate(field.getX(), field.getY());
     }
 
     public void setCanvasInteractionPanel(CanvasInteractionPanel cip){
@@ -412,9 +555,8 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
             // Resume updates and force a final update
             scrollPane.getViewport().setIgnoreRepaint(false);
             this.setIgnoreRepaint(false);
-            this.renderVisibleTrajectories();
+            this.renderView();
             revalidate();
-            repaint();
         }
     }
 
@@ -460,9 +602,8 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
             // Resume updates and force a final update
             scrollPane.getViewport().setIgnoreRepaint(false);
             this.setIgnoreRepaint(false);
-            this.renderVisibleTrajectories();
+            this.renderView();
             revalidate();
-            repaint();
         }
     }
     
@@ -506,11 +647,227 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
     }
 
     public void renderVisibleTrajectories(){
-        populateControlPointers();
-        populateFollowPointers();
-        populateHelperPointers();
-        addAllComponents();
-        repaint();
+        followPointsOutdated = true;
+        renderView();
+    }
+
+    /**
+     * Requests the control and helper pointers to be rebuilt for the current zoom
+     * and the whole canvas to be repainted in the next frame. Follow points are only
+     * recalculated after a model change; zooming and scrolling reuse them as they
+     * are kept in field coordinates.
+     */
+    private void renderView(){
+        fullRepaintNeeded = true;
+        pointersOutdated = true;
+        frameScheduler.requestFrame();
+    }
+
+    /**
+     * Renders a frame, applying all invalidations collected since the last one.
+     * 
+     * Unless the view or the set of visible trajectories changed, only the screen
+     * area where pointers differ from the previous frame is repainted: the old and
+     * new bounds of the changed follow pointer segments, control pointers, helper
+     * pointers and helper lines.
+     */
+    private void renderFrame(){
+        if(visibleTrajectoriesOutdated){
+            visibleTrajectoriesOutdated = false;
+            ArrayList<Trajectory> visible = collectVisibleTrajectories();
+            if(!visible.equals(visibleTrajectories)){
+                visibleTrajectories = visible;
+                fullRepaintNeeded = true;
+            }
+            pointersOutdated = true;
+        }
+        if(followPointsOutdated){
+            fullRepaintNeeded = true;
+        }
+        if(ActiveEntities.getActiveTrajectory() != staticLayerActiveTrajectory){
+            staticLayerActiveTrajectory = ActiveEntities.getActiveTrajectory();
+            fullRepaintNeeded = true;
+        }
+        if(pointersOutdated){
+            pointersOutdated = false;
+            ArrayList<ControlPointer> oldControlPointers = controlPointers;
+            ArrayList<HelperPointer> oldHelperPointers = helperPointers;
+            ArrayList<HelperLine> oldHelperLines = helperLines;
+
+            populateControlPointers();
+            Rectangle2D changedField = populateFollowPointers();
+            populateHelperPointers();
+
+            if(!fullRepaintNeeded){
+                addChangedControlPointers(oldControlPointers, controlPointers);
+                addHelpersToDirtyRegion(oldHelperPointers, oldHelperLines);
+                addHelpersToDirtyRegion(helperPointers, helperLines);
+                if(changedField != null){
+                    Rectangle changedScreen = getFieldToScreenTransform().createTransformedShape(changedField).getBounds();
+                    changedScreen.grow(Config.FOLLOW_POINTER_DIAMETER, Config.FOLLOW_POINTER_DIAMETER);
+                    addDirtyRegion(changedScreen);
+                }
+            }
+        }
+        renderRobot();
+
+        if(fullRepaintNeeded){
+            staticLayer.invalidate();
+            repaint();
+        } else if(dirty){
+            repaint(dirtyRegion);
+        }
+        fullRepaintNeeded = false;
+        dirty = false;
+    }
+
+    /**
+     * Advances the robot playback and places the robot footprint at its pose,
+     * repainting its old and new area. Requests the next frame while playing.
+     * Allocates nothing.
+     */
+    private void renderRobot(){
+        if(playbackTrajectory == null){
+            return;
+        }
+        if(!visibleTrajectories.contains(playbackTrajectory)){
+            stopPlayback();
+            return;
+        }
+        if(robotPlayback.getTable() == null){
+            return;
+        }
+        if(robotFootprint.isPlaced()){
+            addDirtyRegion(robotFootprint.getBounds());
+        }
+        robotPlayback.advance(System.nanoTime());
+        robotFootprint.place(robotPlayback.getPose(), getFieldToScreenTransform());
+        addDirtyRegion(robotFootprint.getBounds());
+        if(robotPlayback.isPlaying()){
+            frameScheduler.requestFrame();
+        }
+    }
+
+    /**
+     * Starts playing back the path of the active trajectory, or of the first visible
+     * one if none is active.
+     */
+    private void startPlayback(){
+        Trajectory tr = ActiveEntities.getActiveTrajectory();
+        if(tr == null || !visibleTrajectories.contains(tr)){
+            tr = visibleTrajectories.isEmpty() ? null : visibleTrajectories.get(0);
+        }
+        playbackTrajectory = tr;
+        robotPlayback.setTable(tr == null ? null : PoseTable.of(tr));
+        robotPlayback.setTime(0);
+        robotPlayback.play();
+        frameScheduler.requestFrame();
+    }
+
+    /**
+     * Stops the playback and removes the robot from the canvas.
+     */
+    private void stopPlayback(){
+        if(playbackTrajectory == null){
+            return;
+        }
+        playbackTrajectory = null;
+        robotPlayback.setTable(null);
+        if(robotFootprint.isPlaced()){
+            addDirtyRegion(robotFootprint.getBounds());
+            robotFootprint.clear();
+        }
+        frameScheduler.requestFrame();
+    }
+
+    /**
+     * Pauses or resumes the robot playback of the Show Robot tool.
+     */
+    public void togglePlayback(){
+        if(playbackTrajectory != null){
+            robotPlayback.togglePause();
+            frameScheduler.requestFrame();
+        }
+    }
+
+    /**
+     * Switches the robot playback to the next faster or slower speed multiplier.
+     * 
+     * @param faster {@code true} to speed up, {@code false} to slow down
+     */
+    public void changePlaybackSpeed(boolean faster){
+        if(faster){
+            robotPlayback.speedUp();
+        } else {
+            robotPlayback.slowDown();
+        }
+    }
+
+    /**
+     * Moves the robot playback to the moment the robot is closest to a screen point.
+     */
+    private void scrubPlayback(int x, int y){
+        PoseTable table = robotPlayback.getTable();
+        if(table == null){
+            return;
+        }
+        Point2D field = getScreenToFieldTransform().transform(new Point2D.Double(x, y), null);
+        robotPlayback.pause();
+        robotPlayback.setTime(table.nearestTime(field.getX(), field.getY()));
+        frameScheduler.requestFrame();
+    }
+
+    private void addChangedControlPointers(ArrayList<ControlPointer> oldPointers, ArrayList<ControlPointer> newPointers){
+        Map<ControlPoint, ControlPointer> oldByControlPoint = new IdentityHashMap<>();
+        for (ControlPointer p : oldPointers) {
+            oldByControlPoint.put(p.getRelatedControlPoint(), p);
+        }
+        for (ControlPointer p : newPointers) {
+            ControlPointer old = oldByControlPoint.remove(p.getRelatedControlPoint());
+            if(old == null){
+                addDirtyRegion(p.getBounds());
+            } else if(old.getCenterX() != p.getCenterX() || old.getCenterY() != p.getCenterY()
+                    || old.getState() != p.getState()){
+                addDirtyRegion(old.getBounds());
+                addDirtyRegion(p.getBounds());
+            }
+        }
+        for (ControlPointer old : oldByControlPoint.values()) {
+            addDirtyRegion(old.getBounds());
+        }
+    }
+
+    private void addHelpersToDirtyRegion(ArrayList<HelperPointer> pointers, ArrayList<HelperLine> lines){
+        for (HelperPointer p : pointers) {
+            addDirtyRegion(p.getBounds());
+        }
+        for (HelperLine l : lines) {
+            addDirtyRegion(l.getBounds());
+        }
+    }
+
+    private void addDirtyRegion(Rectangle r){
+        if(!dirty){
+            dirtyRegion.setBounds(r);
+            dirty = true;
+        } else {
+            dirtyRegion.add(r);
+        }
+    }
+
+    /**
+     * Delivers pending model notifications and renders the frame they request, so
+     * that hit-testing sees pointers matching the current model.
+     */
+    private void flushPendingFrame(){
+        Workspace.getDefault().getEventBus().flush();
+        frameScheduler.flush();
+    }
+
+    @Override
+    public void removeNotify(){
+        frameScheduler.stop();
+        super.removeNotify();
     }
 
     private ArrayList<ControlPointer> getControlPointers() {
@@ -535,16 +892,14 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
         this.helperPointers = helperPointers;
     }
 
-    private ArrayList<FollowPointer> getFollowPointers() {
-        return followPointers;
-    }
-
-    private void setFollowPointers(ArrayList<FollowPointer> followPointers) {
-        this.followPointers = followPointers;
-    }
-
     public void setScrollPane(JScrollPane p){
         scrollPane = p;
+        // Culled control pointers are rebuilt once the view leaves the area they were built for
+        p.getViewport().addChangeListener(e -> {
+            if(controlPointersBounds != null && !controlPointersBounds.contains(getVisibleRect())){
+                requestPointersRender();
+            }
+        });
     }
 
     @Override
@@ -552,9 +907,11 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
 
     @Override
     public void mousePressed(MouseEvent e) {
+        flushPendingFrame();
         mouseFieldPosBeforePanning = (new CartesianCoordinate(e.getX(), e.getY()));
         switch (Tool.getSelectedTool()) {
             case MOVE:
+                Workspace.getDefault().getHistory().beginGesture();
                 setSelectedHelperPointer(e.getX(), e.getY());
                 if(isSelectedHelperPointerEmpty()){
                     setSelectedControlPointer(e.getX(), e.getY());
@@ -580,6 +937,7 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
                 break;
             
             case SHOW_ROBOT:
+                robotDragged = false;
                 break;
             
             case MERGE:
@@ -598,11 +956,10 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
     }
 
     private void setSelectedControlPointer(int x, int y){
-        for (ControlPointer p : controlPointers) {
-            if(p.isWithinPointer(x, y)){
-                ActiveEntities.setActiveControlPoint(p.getRelatedControlPoint());
-                return;
-            }
+        int id = controlPointerGrid.find(x, y, Config.CONTROL_POINTER_DIAMETER / 2, i -> true);
+        if(id >= 0){
+            ActiveEntities.setActiveControlPoint(controlPointers.get(id).getRelatedControlPoint());
+            return;
         }
         ActiveEntities.setActiveTrajectory(null);
     }
@@ -610,59 +967,42 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
 
 
     private boolean isCursorWithinAnyFreeControlPoint() {
-        Point cursorScreenPosition = MouseInfo.getPointerInfo().getLocation();
-        Point panelScreenPosition = this.getLocationOnScreen();
-    
-        // Convert screen position to field coordinates
-        CartesianCoordinate c =
-            new CartesianCoordinate(
-                cursorScreenPosition.x - panelScreenPosition.x, 
-                cursorScreenPosition.y - panelScreenPosition.y
-                );
-    
-        // Check if cursor is within any control pointer
-        for (ControlPointer p : controlPointers) {
-            boolean isCPLocked = p.getRelatedControlPoint().isLocked();
-            boolean isTrLocked = TrajectoriesList.getTrajectoryByControlPoint(p.getRelatedControlPoint()).isLocked();
-            if (p.isWithinPointer((int) c.getX(), (int) c.getY()) && !isCPLocked && !isTrLocked) {
-                return true;
-            }
-        }
-    
-        return false;
+        Point c = getCursorPosition();
+        return isWithinAnyFreeControlPoint(c.x, c.y);
+    }
+
+    private boolean isWithinAnyFreeControlPoint(int x, int y) {
+        // Only the pointers near the position are checked, the locks only for those within reach
+        int id = controlPointerGrid.find(x, y, Config.CONTROL_POINTER_DIAMETER / 2, i -> {
+            ControlPoint cp = controlPointers.get(i).getRelatedControlPoint();
+            return !cp.isLocked() && !TrajectoriesList.getTrajectoryByControlPoint(cp).isLocked();
+        });
+        return id >= 0;
     }
 
     
     private boolean isCursorWithinAnyHelperPoint() {
+        Point c = getCursorPosition();
+        return isWithinAnyHelperPoint(c.x, c.y);
+    }
+
+    private boolean isWithinAnyHelperPoint(int x, int y) {
+        return helperPointerGrid.find(x, y, Config.HELPER_POINTER_DIAMETER / 2, i -> true) >= 0;
+    }
+
+    /**
+     * Returns the position of the mouse cursor relative to the canvas.
+     */
+    private Point getCursorPosition() {
         Point cursorScreenPosition = MouseInfo.getPointerInfo().getLocation();
         Point panelScreenPosition = this.getLocationOnScreen();
-    
-        // Convert screen position to field coordinates
-        CartesianCoordinate c =
-            new CartesianCoordinate(
-                cursorScreenPosition.x - panelScreenPosition.x, 
-                cursorScreenPosition.y - panelScreenPosition.y
-                );
-    
-        // Check if cursor is within any control pointer
-        for (HelperPointer p : helperPointers) {
-            if (p.isWithinPointer((int) c.getX(), (int) c.getY())) {
-                return true;
-            }
-        }
-    
-        return false;
+        return new Point(cursorScreenPosition.x - panelScreenPosition.x, cursorScreenPosition.y - panelScreenPosition.y);
     }
     
 
     private void setSelectedHelperPointer(int x, int y){
-        for (HelperPointer p : helperPointers) {
-            if(p.isWithinPointer(x, y)){
-                selectedHelperPointer = p;
-                return;
-            }
-        }
-        selectedHelperPointer = null;
+        int id = helperPointerGrid.find(x, y, Config.HELPER_POINTER_DIAMETER / 2, i -> true);
+        selectedHelperPointer = id >= 0 ? helperPointers.get(id) : null;
     }
 
     public void addControlPointToSelectedTrajectory(int x, int y){
@@ -697,9 +1037,13 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
     }
 
     private FollowPointer getSelectedFollowPointer(int x, int y){
-        for (FollowPointer p : followPointers) {
-            if(p.isWithinPointer(x, y)){
-                return p;
+        CartesianCoordinate c = convertScreenToFieldCoordinates(new CartesianCoordinate(x, y));
+        double fieldRadius = (Config.FOLLOW_POINTER_DIAMETER / 2) / (Config.PIXELS_IN_ONE_INCH * getZoomScale());
+        for (Trajectory tr : visibleTrajectories) {
+            FollowPointerLayer layer = followPointerLayers.get(tr);
+            int index = layer == null ? -1 : layer.indexAt(c.getX(), c.getY(), fieldRadius);
+            if(index >= 0){
+                return layer.getPointer(index, getFieldToScreenTransform());
             }
         }
         return null;
@@ -739,6 +1083,8 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
                 break;
             
             case SHOW_ROBOT:
+                robotDragged = true;
+                scrubPlayback(e.getX(), e.getY());
                 break;
             
             case MERGE:
@@ -760,8 +1106,16 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
     public void moveSelectedControlPointer(int screenX, int screenY){
         this.setCursor(cursorMap.get(CURSOR.HAND_GRABBING));
         CartesianCoordinate fieldCoordinate = convertScreenToFieldCoordinates(new CartesianCoordinate(screenX, screenY));
-        ControlPoint cp = getSelectedControlPointer().getRelatedControlPoint();
+        ControlPointer pointer = getSelectedControlPointer();
+        if(pointer == null) return;
+        ControlPoint cp = pointer.getRelatedControlPoint();
         cp.setPosition(fieldCoordinate.getX(), fieldCoordinate.getY());
+
+        // Keep hit-testing exact until the next render rebuilds the pointers,
+        // the area the pointer leaves is repainted with the next frame
+        addDirtyRegion(pointer.getBounds());
+        pointer.setCenterPosition(screenX, screenY);
+        controlPointerGrid.move(pointer.getGridId(), screenX, screenY);
         ActiveEntities.notifyActiveControlPointStateEdited();
     }
 
@@ -809,6 +1163,7 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
     public void mouseReleased(MouseEvent e) {
         switch (Tool.getSelectedTool()) {
             case MOVE:
+                Workspace.getDefault().getHistory().endGesture();
                 break;
 
             case ADD:
@@ -824,6 +1179,9 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
                 break;
             
             case SHOW_ROBOT:
+                if(!robotDragged){
+                    togglePlayback();
+                }
                 break;
             
             case MERGE:
@@ -848,7 +1206,7 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
 
         switch (Tool.getSelectedTool()) {
             case MOVE:
-                if(isCursorWithinAnyFreeControlPoint() || isCursorWithinAnyHelperPoint()){
+                if(isWithinAnyFreeControlPoint(e.getX(), e.getY()) || isWithinAnyHelperPoint(e.getX(), e.getY())){
                     this.setCursor(cursorMap.get(CURSOR.HAND_POINTING));
                 } else {
                     this.setCursor(cursorMap.get(CURSOR.HAND_OPEN));
@@ -908,39 +1266,140 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
     public void setFieldImage(String path) {
         if(path == null){
             fieldImage = null;
+            staticLayer.invalidate();
             return;
         }
         fieldImage = new FieldImage(path);
+        fieldImage.setImageUpdatedCallback(() -> {
+            staticLayer.invalidate();
+            repaint();
+        });
+        staticLayer.invalidate();
         repaint();
     }
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-    
+        Rectangle visible = getVisibleRect();
+        if (visible.isEmpty()) {
+            super.paintComponent(g);
+            return;
+        }
+
+        // The static content is blitted from its cached image, only the active
+        // trajectory and the pointers are painted on top every time
+        staticLayer.paint((Graphics2D) g, this, visible);
+        paintPointers(g);
+    }
+
+    /**
+     * Paints the content of the static layer: the background, the field and the
+     * follow pointers of all visible trajectories except the active one.
+     * 
+     * @param g2 the {@link Graphics2D} context of the static layer, in canvas coordinates
+     */
+    private void paintStaticContent(Graphics2D g2) {
+        g2.setColor(getBackground());
+        Rectangle clip = g2.getClipBounds();
+        g2.fillRect(clip.x, clip.y, clip.width, clip.height);
+
         // Draw the image at the center of the panel
-        if (fieldImage != null && fieldImage.getBufferedImage() != null) {
-            BufferedImage field = fieldImage.getBufferedImage();
+        BufferedImage field = fieldImage != null ? fieldImage.getBufferedImage() : null;
+        if (field != null) {
             
             // Use the scaled width and height from the FieldImage object
             int imageX = (getWidth() - fieldImage.getWidth()) / 2;
             int imageY = (getHeight() - fieldImage.getHeight()) / 2;
             
-            // Draw the image at the calculated position
-            g.drawImage(field, imageX, imageY, fieldImage.getWidth(), fieldImage.getHeight(), this);
+            // Draw the image at the calculated position, smoothing a cached zoom bucket
+            // until the exactly scaled image is ready
+            boolean exact = field.getWidth() == fieldImage.getWidth() && field.getHeight() == fieldImage.getHeight();
+            if (!exact) {
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            }
+            g2.drawImage(field, imageX, imageY, fieldImage.getWidth(), fieldImage.getHeight(), this);
+            if (!exact) {
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            }
         }
+
+        g2.setComposite(POINTER_COMPOSITE);
+        paintFollowPointers(g2, clip, false);
     }
 
-    public void activeTrajectoryChanged(Trajectory tr) {
+    /**
+     * Paints the follow pointers of the active trajectory, helper lines, control
+     * pointers and helper pointers over the static layer in a single pass, bottom
+     * to top, sharing one semi-transparent composite.
+     * 
+     * @param g the {@link Graphics} context of the canvas
+     */
+    private void paintPointers(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setComposite(POINTER_COMPOSITE);
+
+            paintFollowPointers(g2, g.getClipBounds(), true);
+            for (HelperLine l : helperLines) {
+                l.paint(g2);
+            }
+            for (ControlPointer p : controlPointers) {
+                Rectangle bounds = p.getBounds();
+                if(g2.hitClip(bounds.x, bounds.y, bounds.width, bounds.height)){
+                    p.paint(g2);
+                }
+            }
+            for (HelperPointer p : helperPointers) {
+                p.paint(g2);
+            }
 
+            g2.setComposite(AlphaComposite.SrcOver);
+            robotFootprint.paint(g2);
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    /**
+     * Paints the follow pointers of either the active or all other visible
+     * trajectories. Follow pointers are mapped from field coordinates by the current
+     * transform, skipping the segments outside the repainted area.
+     * 
+     * @param g2 the {@link Graphics2D} context, with the pointer composite set
+     * @param clip the repainted area, or {@code null} if not known
+     * @param active {@code true} to paint the active trajectory only, {@code false} for all others
+     */
+    private void paintFollowPointers(Graphics2D g2, Rectangle clip, boolean active) {
+        Rectangle view = clip != null ? new Rectangle(clip) : getCullingBounds();
+        if(clip != null){
+            view.grow(Config.FOLLOW_POINTER_DIAMETER, Config.FOLLOW_POINTER_DIAMETER);
+        }
+        Rectangle2D fieldView = view == null ? null
+            : getScreenToFieldTransform().createTransformedShape(view).getBounds2D();
+
+        for (Trajectory tr : visibleTrajectories) {
+            FollowPointerLayer layer = followPointerLayers.get(tr);
+            if(layer != null && (tr == staticLayerActiveTrajectory) == active){
+                layer.paint(g2, getFieldToScreenTransform(), fieldView);
+            }
+        }
+    }
+
+    public void activeTrajectoryChanged(Trajectory tr) {
+        requestPointersRender();
     }
 
     public void activeControlPointChanged(ControlPoint cp) {
-        renderVisibleTrajectories();
+        requestPointersRender();
     }
 
     @Override
     public void selectedToolChanged(Tools tool) {
+        if(Tool.getSelectedTool() == Tools.SHOW_ROBOT){
+            startPlayback();
+        } else {
+            stopPlayback();
+        }
         switch (Tool.getSelectedTool()) {
             case MOVE:
                 if(isCursorWithinAnyFreeControlPoint() || isCursorWithinAnyHelperPoint()){
@@ -992,16 +1451,22 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
 
     @Override
     public void activeControlPointStateEdited(ControlPoint cp) {
-        renderVisibleTrajectories();
+        Trajectory tr = cp != null ? TrajectoriesList.getTrajectoryByControlPoint(cp) : ActiveEntities.getActiveTrajectory();
+        requestTrajectoryRender(tr);
     }
 
     @Override
     public void TrajectoryListChanged() {
-        updateVisibleTrajectories();
+        requestRender(true);
     }
 
     public void updateVisibleTrajectories(){
-        visibleTrajectories = new ArrayList<>();
+        // Now set only the visible trajectories
+        setVisibleTrajectories(collectVisibleTrajectories());
+    }
+
+    private ArrayList<Trajectory> collectVisibleTrajectories(){
+        ArrayList<Trajectory> visibleTrajectories = new ArrayList<>();
         ArrayList<Trajectory> allTrajectories = TrajectoriesList.getTrajectoriesList();
         
         // Iterate through all trajectories and add visible ones to visibleTrajectories
@@ -1010,21 +1475,55 @@ public class CanvasPanel extends JPanel implements MouseListener, MouseMotionLis
                 visibleTrajectories.add(trajectory);
             }
         }
-        
-        // Now set only the visible trajectories
-        setVisibleTrajectories(visibleTrajectories);
+        return visibleTrajectories;
     }
     
     
 
     @Override
     public void visibleTrajectoriesChanged() {
-        updateVisibleTrajectories();
+        requestRender(true);
     }
 
     @Override
     public void activeTrajectoryStateEdited(Trajectory tr) {
-        updateVisibleTrajectories();
+        visibleTrajectoriesOutdated = true;
+        requestTrajectoryRender(tr);
+    }
+
+    /**
+     * Requests everything to be rendered anew in the next frame.
+     *
+     * @param updateVisible whether the list of visible trajectories must be rebuilt as well
+     */
+    private void requestRender(boolean updateVisible) {
+        visibleTrajectoriesOutdated |= updateVisible;
+        followPointsOutdated = true;
+        requestPointersRender();
+    }
+
+    /**
+     * Requests the follow pointers of a single edited trajectory to be recalculated
+     * in the next frame, repainting only where they changed.
+     *
+     * @param tr the edited trajectory, or {@code null} if not known
+     */
+    private void requestTrajectoryRender(Trajectory tr) {
+        if (tr == null) {
+            followPointsOutdated = true;
+        } else {
+            outdatedTrajectories.add(tr);
+        }
+        requestPointersRender();
+    }
+
+    /**
+     * Requests the control and helper pointers to be rebuilt in the next frame,
+     * e.g. after the selection changed.
+     */
+    private void requestPointersRender() {
+        pointersOutdated = true;
+        frameScheduler.requestFrame();
     }
     
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.ui.application.panels.canvasPanel;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.Timer;
+
+import blitz.configs.Config;
+
+/**
+ * Paces the rendering of the canvas to the display refresh rate.
+ *
+ * Any number of frame requests made between two display refreshes are collected
+ * into a single frame. A frame requested while the scheduler is idle is rendered
+ * on the next turn of the Event Dispatch Thread; further frames follow at most
+ * once per refresh interval for as long as requests keep coming, e.g. during
+ * a drag, a zoom or a playback. The scheduler stops its timer when no frame is
+ * requested.
+ *
+ * The scheduler keeps frame statistics: requests merged into pending frames,
+ * refreshes missed because the EDT was busy (dropped frames) and frames whose
+ * rendering took longer than a refresh interval (late frames). They are logged
+ * at {@link Level#FINE} every {@link Config#CANVAS_FRAME_STATS_LOG_INTERVAL}
+ * frames and when the scheduler is stopped.
+ *
+ * Must only be used on the Event Dispatch Thread.
+ *
+ * @author Valery Rabchanka
+ */
+public class FrameScheduler {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    /**
+     * Logger instance for logging information and errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(FrameScheduler.class.getName());
+
+    /**
+     * Renders a frame.
+     */
+    private final Runnable frameTask;
+
+    /**
+     * Length of one display refresh, in nanoseconds.
+     */
+    private final long frameNanos;
+
+    private final Timer timer;
+
+    /**
+     * Whether a frame was requested since the last one was rendered.
+     */
+    private boolean requested = false;
+
+    /**
+     * When the running timer is expected to tick next, in {@link System#nanoTime()} units.
+     */
+    private long expectedTick;
+
+    /**
+     * When the last frame started, or {@code Long.MIN_VALUE} before the first one.
+     */
+    private long lastFrameStart = Long.MIN_VALUE;
+
+    private final FrameStats stats = new FrameStats();
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    /**
+     * Creates a scheduler paced to the refresh rate of the default screen.
+     *
+     * @param frameTask renders a frame
+     */
+    public FrameScheduler(Runnable frameTask) {
+        this(frameTask, getDisplayRefreshRate());
+    }
+
+    /**
+     * Creates a scheduler paced to the given refresh rate.
+     *
+     * @param frameTask   renders a frame
+     * @param refreshRate the number of frames per second
+     */
+    public FrameScheduler(Runnable frameTask, int refreshRate) {
+        if (refreshRate <= 0) {
+            throw new IllegalArgumentException("Refresh rate must be positive.");
+        }
+        this.frameTask = frameTask;
+        this.frameNanos = 1_000_000_000L / refreshRate;
+
+        int delay = (int) Math.max(1, frameNanos / 1_000_000);
+        timer = new Timer(delay, e -> tick());
+        timer.setRepeats(true);
+        timer.setCoalesce(true);
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Requests a frame. Requests made before the frame is rendered are merged
+     * into it.
+     */
+    public void requestFrame() {
+        stats.requests++;
+        if (requested) {
+            stats.merged++;
+            return;
+        }
+        requested = true;
+
+        if (!timer.isRunning()) {
+            // Render right away when idle for at least a refresh, otherwise wait out the interval
+            long now = System.nanoTime();
+            long wait = lastFrameStart == Long.MIN_VALUE ? 0 : Math.max(0, lastFrameStart + frameNanos - now);
+            timer.setInitialDelay((int) (wait / 1_000_000));
+            expectedTick = now + wait;
+            timer.start();
+        }
+    }
+
+    /**
+     * Renders a pending frame right away, e.g. before reading state the frame
+     * would update.
+     */
+    public void flush() {
+        if (requested) {
+            renderFrame(System.nanoTime());
+        }
+    }
+
+    /**
+     * Stops the timer, discards a pending frame and logs the frame statistics.
+     */
+    public void stop() {
+        timer.stop();
+        requested = false;
+        logStats();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        if (!requested) {
+            timer.stop();
+            return;
+        }
+
+        long overdue = now - expectedTick;
+        if (overdue > frameNanos) {
+            stats.dropped += overdue / frameNanos;
+        }
+        expectedTick = now + frameNanos;
+
+        renderFrame(now);
+    }
+
+    private void renderFrame(long start) {
+        requested = false;
+        lastFrameStart = start;
+        try {
+            frameTask.run();
+        } finally {
+            long duration = System.nanoTime() - start;
+            stats.frames++;
+            stats.totalNanos += duration;
+            stats.maxNanos = Math.max(stats.maxNanos, duration);
+            if (duration > frameNanos) {
+                stats.late++;
+            }
+            if (stats.frames % Config.CANVAS_FRAME_STATS_LOG_INTERVAL == 0) {
+                logStats();
+            }
+        }
+    }
+
+    private void logStats() {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Canvas frames: " + stats);
+        }
+    }
+
+    /**
+     * Returns the refresh rate of the default screen, or
+     * {@link Config#CANVAS_DEFAULT_REFRESH_RATE} if it is not known.
+     */
+    private static int getDisplayRefreshRate() {
+        if (!GraphicsEnvironment.isHeadless()) {
+            try {
+                int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDisplayMode().getRefreshRate();
+                if (rate != DisplayMode.REFRESH_RATE_UNKNOWN && rate > 0) {
+                    return rate;
+                }
+            } catch (RuntimeException e) {
+                // Fall through to the default rate
+            }
+        }
+        return Config.CANVAS_DEFAULT_REFRESH_RATE;
+    }
+
+
+    // -=-=-=- INNER CLASSES -=-=-=-
+
+    /**
+     * Rendering statistics of a {@link FrameScheduler}.
+     */
+    private static final class FrameStats {
+
+        private long requests;
+        private long merged;
+        private long frames;
+        private long dropped;
+        private long late;
+        private long totalNanos;
+        private long maxNanos;
+
+        /**
+         * @return the average frame time, in nanoseconds
+         */
+        public double getAverageNanos() {
+            return frames == 0 ? 0 : (double) totalNanos / frames;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("frames=%d, requests=%d, merged=%d, dropped=%d, late=%d, avg=%.1fus, max=%.1fus",
+                frames, requests, merged, dropped, late, getAverageNanos() / 1000.0, maxNanos / 1000.0);
+        }
+    }
+
+}
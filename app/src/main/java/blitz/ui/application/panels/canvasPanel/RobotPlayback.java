@@ -0,0 +1,230 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.ui.application.panels.canvasPanel;
+
+import blitz.configs.Config;
+import blitz.models.simulation.PoseTable;
+
+/**
+ * Plays back the motion of the robot along a {@link PoseTable}.
+ * 
+ * The playback clock advances in whole steps of the table's time step: the real
+ * time elapsed since the previous frame, scaled by the speed multiplier, is
+ * accumulated and consumed in fixed steps, so the shown poses do not depend on
+ * the frame rate. A single frame never advances by more than
+ * {@link Config#PLAYBACK_MAX_FRAME_TIME}, so a busy Event Dispatch Thread does not
+ * make the robot jump. Playback stops at the end of the path.
+ * 
+ * The playback can be paused, scrubbed to any time and sped up or slowed down
+ * through {@link Config#PLAYBACK_SPEED_MULTIPLIERS}. Advancing and looking up the
+ * pose allocate nothing.
+ * 
+ * Must only be used on the Event Dispatch Thread.
+ * 
+ * @author Valery Rabchanka
+ */
+public class RobotPlayback {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    private PoseTable table;
+
+    /**
+     * Current playback time, a whole number of time steps, in seconds.
+     */
+    private double time = 0;
+
+    /**
+     * Scaled real time not yet consumed by a whole step, in seconds.
+     */
+    private double accumulator = 0;
+
+    private boolean playing = false;
+
+    /**
+     * {@link System#nanoTime()} of the previous advance while playing, or {@code -1}.
+     */
+    private long lastNanos = -1;
+
+    private int speedIndex = Config.PLAYBACK_DEFAULT_SPEED_INDEX;
+
+    /**
+     * Pose at the current time, see {@link PoseTable#poseAt(double, double[])}.
+     */
+    private final double[] pose = new double[PoseTable.POSE_SIZE];
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Sets the table to play back, keeping the current time within its duration.
+     * 
+     * @param table the pose table, or {@code null} to have no robot
+     */
+    public void setTable(PoseTable table) {
+        this.table = table;
+        if (table == null) {
+            pause();
+            return;
+        }
+        time = snap(Math.min(time, table.getDuration()));
+        table.poseAt(time, pose);
+    }
+
+    /**
+     * @return the table played back, or {@code null}
+     */
+    public PoseTable getTable() {
+        return table;
+    }
+
+    /**
+     * Starts or resumes playing; from the start if the end was reached.
+     */
+    public void play() {
+        if (table == null) {
+            return;
+        }
+        if (time >= table.getDuration()) {
+            setTime(0);
+        }
+        playing = true;
+        lastNanos = -1;
+        accumulator = 0;
+    }
+
+    /**
+     * Pauses playing, keeping the current time.
+     */
+    public void pause() {
+        playing = false;
+        lastNanos = -1;
+    }
+
+    /**
+     * Pauses if playing, plays otherwise.
+     */
+    public void togglePause() {
+        if (playing) {
+            pause();
+        } else {
+            play();
+        }
+    }
+
+    /**
+     * @return whether the playback is running
+     */
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    /**
+     * Moves the playback to a time, e.g. while scrubbing.
+     * 
+     * @param time the time since the start of the path, in seconds; clamped to the path
+     */
+    public void setTime(double time) {
+        if (table == null) {
+            return;
+        }
+        this.time = snap(Math.max(0, Math.min(time, table.getDuration())));
+        accumulator = 0;
+        table.poseAt(this.time, pose);
+    }
+
+    /**
+     * @return the current playback time, in seconds
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Advances the playback to the present.
+     * 
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return {@code true} if the pose changed
+     */
+    public boolean advance(long nowNanos) {
+        if (!playing || table == null) {
+            return false;
+        }
+        if (lastNanos < 0) {
+            lastNanos = nowNanos;
+            return false;
+        }
+
+        double elapsed = Math.min((nowNanos - lastNanos) / 1e9, Config.PLAYBACK_MAX_FRAME_TIME);
+        lastNanos = nowNanos;
+        accumulator += elapsed * getSpeedMultiplier();
+
+        double step = table.getTimeStep();
+        long steps = (long) (accumulator / step);
+        if (steps == 0) {
+            return false;
+        }
+        accumulator -= steps * step;
+        time += steps * step;
+
+        if (time >= table.getDuration()) {
+            time = table.getDuration();
+            pause();
+        }
+        table.poseAt(time, pose);
+        return true;
+    }
+
+    /**
+     * Rounds a time to a whole number of time steps.
+     */
+    private double snap(double time) {
+        double step = table.getTimeStep();
+        return Math.min(Math.round(time / step) * step, table.getDuration());
+    }
+
+    /**
+     * Switches to the next larger speed multiplier, if any.
+     */
+    public void speedUp() {
+        speedIndex = Math.min(speedIndex + 1, Config.PLAYBACK_SPEED_MULTIPLIERS.length - 1);
+    }
+
+    /**
+     * Switches to the next smaller speed multiplier, if any.
+     */
+    public void slowDown() {
+        speedIndex = Math.max(speedIndex - 1, 0);
+    }
+
+    /**
+     * @return the factor by which the playback is faster than real time
+     */
+    public double getSpeedMultiplier() {
+        return Config.PLAYBACK_SPEED_MULTIPLIERS[speedIndex];
+    }
+
+    /**
+     * Returns the pose at the current time. The array is reused and must not be modified.
+     * 
+     * @return the pose, laid out as by {@link PoseTable#poseAt(double, double[])}
+     */
+    public double[] getPose() {
+        return pose;
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.ui.application.panels.canvasPanel;
+
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.function.Consumer;
+
+import blitz.configs.Config;
+
+/**
+ * Caches the parts of the canvas that rarely change, such as the field and the
+ * trajectories not being edited, in an offscreen image covering the visible area.
+ *
+ * The image is a {@link VolatileImage} where Java2D can accelerate it, so that
+ * repainting the static content is a single accelerated blit. Volatile contents
+ * may be lost at any time (e.g. on a display mode change); they are then
+ * re-rendered transparently. Where acceleration is unavailable, or disabled by
+ * {@link Config#CANVAS_ACCELERATED_STATIC_LAYER}, a {@link BufferedImage} is used
+ * instead.
+ *
+ * The content is re-rendered only after {@link #invalidate()} or when the visible
+ * area moves or is resized.
+ *
+ * @author Valery Rabchanka
+ */
+public class StaticLayer {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    /**
+     * Paints the static content in canvas coordinates.
+     */
+    private final Consumer<Graphics2D> renderer;
+
+    private VolatileImage volatileImage;
+    private BufferedImage softwareImage;
+
+    /**
+     * Whether volatile images are used; turned off for good once they turn out
+     * to be unavailable or not accelerated.
+     */
+    private boolean accelerated = Config.CANVAS_ACCELERATED_STATIC_LAYER;
+
+    /**
+     * The canvas area the image currently holds.
+     */
+    private Rectangle bounds;
+
+    private boolean contentValid = false;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    /**
+     * Creates a static layer.
+     *
+     * @param renderer paints the static content in canvas coordinates, opaquely
+     *                 covering the clip it is given
+     */
+    public StaticLayer(Consumer<Graphics2D> renderer) {
+        this.renderer = renderer;
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Marks the content as outdated, to be re-rendered with the next paint.
+     */
+    public void invalidate() {
+        contentValid = false;
+    }
+
+    /**
+     * Paints the static content of the given canvas area, re-rendering it first if
+     * it is outdated or was lost.
+     *
+     * @param g         the {@link Graphics2D} context of the canvas
+     * @param component the canvas, providing the graphics configuration
+     * @param area      the visible area of the canvas
+     */
+    public void paint(Graphics2D g, Component component, Rectangle area) {
+        if (!area.equals(bounds)) {
+            bounds = new Rectangle(area);
+            contentValid = false;
+        }
+
+        GraphicsConfiguration gc = component.getGraphicsConfiguration();
+        if (accelerated && gc != null) {
+            paintVolatile(g, gc);
+        } else {
+            paintSoftware(g, gc);
+        }
+    }
+
+    private void paintVolatile(Graphics2D g, GraphicsConfiguration gc) {
+        while (true) {
+            if (volatileImage == null || volatileImage.getWidth() != bounds.width
+                    || volatileImage.getHeight() != bounds.height) {
+                createVolatileImage(gc);
+                if (!accelerated) {
+                    paintSoftware(g, gc);
+                    return;
+                }
+            }
+
+            int status = volatileImage.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                createVolatileImage(gc);
+                if (!accelerated) {
+                    paintSoftware(g, gc);
+                    return;
+                }
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                contentValid = false;
+            }
+
+            if (!contentValid) {
+                render(volatileImage.createGraphics());
+            }
+            g.drawImage(volatileImage, bounds.x, bounds.y, null);
+
+            if (!volatileImage.contentsLost()) {
+                return;
+            }
+            // Lost while rendering or drawing, try again
+            contentValid = false;
+        }
+    }
+
+    private void createVolatileImage(GraphicsConfiguration gc) {
+        if (volatileImage != null) {
+            volatileImage.flush();
+            volatileImage = null;
+        }
+        contentValid = false;
+        try {
+            volatileImage = gc.createCompatibleVolatileImage(bounds.width, bounds.height, Transparency.OPAQUE);
+        } catch (RuntimeException e) {
+            volatileImage = null;
+        }
+        if (volatileImage == null || !volatileImage.getCapabilities().isAccelerated()) {
+            // No benefit over a plain image, which cannot lose its contents
+            if (volatileImage != null) {
+                volatileImage.flush();
+                volatileImage = null;
+            }
+            accelerated = false;
+        }
+    }
+
+    private void paintSoftware(Graphics2D g, GraphicsConfiguration gc) {
+        if (softwareImage == null || softwareImage.getWidth() != bounds.width
+                || softwareImage.getHeight() != bounds.height) {
+            softwareImage = gc != null
+                ? gc.createCompatibleImage(bounds.width, bounds.height, Transparency.OPAQUE)
+                : new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_RGB);
+            contentValid = false;
+        }
+        if (!contentValid) {
+            render(softwareImage.createGraphics());
+        }
+        g.drawImage(softwareImage, bounds.x, bounds.y, null);
+    }
+
+    private void render(Graphics2D g) {
+        try {
+            g.translate(-bounds.x, -bounds.y);
+            g.setClip(bounds.x, bounds.y, bounds.width, bounds.height);
+            renderer.accept(g);
+        } finally {
+            g.dispose();
+        }
+        contentValid = true;
+    }
+
+}
@@ -16,10 +16,6 @@
 
 package blitz.ui.application.panels.canvasPanel.pointers;
 
-import java.awt.AlphaComposite;
-import java.awt.Graphics;
-import java.awt.Graphics2D;
-
 import blitz.configs.Config;
 import blitz.models.trajectories.trajectoryComponents.ControlPoint;
 
@@ -34,7 +30,7 @@ import blitz.models.trajectories.trajectoryComponents.ControlPoint;
  * <pre>
  *     ControlPoint controlPoint = new ControlPoint(...);
  *     ControlPointer controlPointer = new ControlPointer(100, 150, controlPoint);
- *     canvasPanel.add(controlPointer);
+ *     controlPointer.paint(g2);
  * </pre>
  * </p>
  * 
@@ -49,6 +45,11 @@ public class ControlPointer extends Pointer{
      */
     private State state;
 
+    /**
+     * The id of the pointer in the spatial index of the canvas, -1 if not indexed.
+     */
+    private int gridId = -1;
+
     // -=-=-=- CONSTRUCTORS -=-=-=-=-
     
     /**
@@ -117,26 +118,20 @@ public class ControlPointer extends Pointer{
     }
 
     /**
-     * Paints the pointer component, rendering it as a semi-transparent filled oval.
+     * Sets the id of the pointer in the spatial index of the canvas.
      * 
-     * The appearance of the pointer changes based on its current color, which reflects its state.
+     * @param gridId the id, -1 if the pointer is not indexed
+     */
+    public void setGridId(int gridId){
+        this.gridId = gridId;
+    }
+
+    /**
+     * Retrieves the id of the pointer in the spatial index of the canvas.
      * 
-     * @param g the {@link Graphics} context in which to paint
+     * @return the id, -1 if the pointer is not indexed
      */
-    @Override
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g.create();
-        try {
-            // Set semi-transparent composite
-            g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
-            // Set the color based on the current state
-            g2.setColor(color);
-            // Draw the filled oval representing the pointer
-            g2.fillOval(0, 0, diameter, diameter);
-        } finally {
-            // Dispose the Graphics2D object to free resources
-            g2.dispose();
-        }
+    public int getGridId(){
+        return gridId;
     }
 }
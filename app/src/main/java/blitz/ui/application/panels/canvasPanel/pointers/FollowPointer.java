@@ -16,9 +16,7 @@
 
 package blitz.ui.application.panels.canvasPanel.pointers;
 
-import java.awt.AlphaComposite;
-import java.awt.Graphics;
-import java.awt.Graphics2D;
+import java.awt.Color;
 
 import blitz.configs.Config;
 import blitz.models.trajectories.trajectoryComponents.ControlPoint;
@@ -38,7 +36,7 @@ import blitz.services.HexColor;
  *     ControlPoint controlPoint = new ControlPoint(...);
  *     double speedCoeff = 0.5; // Example speed coefficient
  *     FollowPointer followPointer = new FollowPointer(100, 150, speedCoeff, controlPoint);
- *     canvasPanel.add(followPointer);
+ *     followPointer.paint(g2);
  * </pre>
  * </p>
  * 
@@ -75,7 +73,7 @@ public class FollowPointer extends Pointer{
      * @throws NullPointerException     if {@code relatedCP} is {@code null}
      */
     public FollowPointer(int x, int y, double speedColorCoeff, ControlPoint relatedCP){
-        super(x, y, gradient.getColorAt(speedColorCoeff), Config.FOLLOW_POINTER_DIAMETER, relatedCP);
+        super(x, y, gradient.getLutColorAt(speedColorCoeff), Config.FOLLOW_POINTER_DIAMETER, relatedCP);
         
         // Validate speedColorCoeff
         if (speedColorCoeff < 0.0 || speedColorCoeff > 1.0) {
@@ -91,25 +89,23 @@ public class FollowPointer extends Pointer{
     // -=-=-=- METHODS -=-=-=-=-
 
     /**
-     * Paints the follow pointer component, rendering it as a semi-transparent filled oval.
+     * Returns the color of a follow pointer with the given speed coefficient.
      * 
-     * @param g the {@link Graphics} context in which to paint
+     * @param speedColorCoeff the speed coefficient, clamped to the range [0.0, 1.0]
+     * @return the shared {@link Color} instance from the gradient lookup table
      */
-    @Override
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g.create();
-        try {
-            // Set semi-transparent composite
-            g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
-            // Set the color based on the speed coefficient
-            g2.setColor(color);
-            // Draw the filled oval representing the pointer
-            g2.fillOval(0, 0, diameter, diameter);
-        } finally {
-            // Dispose the Graphics2D object to free resources
-            g2.dispose();
-        }
+    public static Color getColorFor(double speedColorCoeff) {
+        return gradient.getLutColorAt(speedColorCoeff);
+    }
+
+    /**
+     * Returns the gradient shared by all follow pointers, e.g. to map speeds to colors
+     * by lookup table index.
+     * 
+     * @return the shared {@link Gradient}
+     */
+    public static Gradient getGradient() {
+        return gradient;
     }
     
 }
@@ -0,0 +1,460 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.ui.application.panels.canvasPanel.pointers;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import blitz.configs.Config;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.services.Gradient;
+
+/**
+ * Holds all follow pointers of the canvas in primitive arrays instead of one
+ * object per point.
+ *
+ * A busy field has thousands of follow points. Keeping them in parallel arrays
+ * lets the canvas paint them in a single loop, while hit-testing goes through a
+ * {@link PointerGrid} so only the points near the cursor are examined. A
+ * {@link FollowPointer} object is only created for a point that was actually hit.
+ *
+ * Positions are kept in field coordinates, so the layer stays valid while the
+ * canvas is zoomed or panned. Points are grouped into segments (runs sharing the
+ * same related control point) with field-space bounds; painting skips segments
+ * outside the view and maps the rest to the screen in one batched transform.
+ *
+ * When zoomed out, follow points closer on screen than
+ * {@link Config#FOLLOW_POINTER_LOD_THRESHOLD} are collapsed into representatives.
+ * A multi-resolution index, built once per layer, assigns every point the
+ * coarsest level it survives and orders each segment by level, so any level is a
+ * prefix of its segment. Each collapsed run is represented by the point deviating
+ * most from the speed trend of the run, and the slowest and fastest points of a
+ * segment as well as its ends are kept on every level.
+ *
+ * @see FollowPointer
+ *
+ * @author Valery Rabchanka
+ */
+public class FollowPointerLayer {
+
+    // -=-=-=- FIELDS -=-=-=-=-
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int size;
+
+    /**
+     * Interleaved field coordinates: x0, y0, x1, y1, ...
+     */
+    private double[] fieldPoints = new double[2 * INITIAL_CAPACITY];
+    private double[] speedColorCoeffs = new double[INITIAL_CAPACITY];
+    private int[] colorIndices = new int[INITIAL_CAPACITY];
+    private ControlPoint[] relatedControlPoints = new ControlPoint[INITIAL_CAPACITY];
+
+    /**
+     * First point and field-space bounds (minX, minY, maxX, maxY) of every segment.
+     */
+    private int segmentCount;
+    private int[] segmentStarts = new int[INITIAL_CAPACITY];
+    private double[] segmentBounds = new double[4 * INITIAL_CAPACITY];
+
+    /**
+     * Multi-resolution index: level of every point, points of every segment ordered
+     * by descending level, and the number of points of every segment per level.
+     */
+    private boolean lodIndexOutdated = true;
+    private int[] lodLevels = new int[INITIAL_CAPACITY];
+    private int[] lodOrder = new int[INITIAL_CAPACITY];
+    private int[] lodCounts = new int[INITIAL_CAPACITY * (LOD_LEVELS + 1)];
+
+    private static final int LOD_LEVELS = Config.FOLLOW_POINTER_LOD_LEVELS;
+
+    /**
+     * Screen coordinates of the segment being painted, reused across paints.
+     */
+    private double[] screenPoints = new double[2 * INITIAL_CAPACITY];
+
+    private final int diameter = Config.FOLLOW_POINTER_DIAMETER;
+
+    private final Gradient gradient = FollowPointer.getGradient();
+
+    /**
+     * Grid over the field positions scaled to unzoomed pixels.
+     */
+    private final PointerGrid grid = new PointerGrid(Config.POINTER_GRID_CELL_SIZE);
+
+    // -=-=-=- METHODS -=-=-=-=-
+
+    /**
+     * Removes all follow pointers, keeping the allocated arrays for reuse.
+     */
+    public void clear() {
+        Arrays.fill(relatedControlPoints, 0, size, null);
+        size = 0;
+        segmentCount = 0;
+        lodIndexOutdated = true;
+        grid.clear();
+    }
+
+    /**
+     * Adds a follow pointer. Consecutive pointers with the same related control
+     * point form one segment.
+     *
+     * @param fieldX          the x-coordinate of the pointer on the field
+     * @param fieldY          the y-coordinate of the pointer on the field
+     * @param speedColorCoeff the speed coefficient determining the pointer's color
+     * @param relatedCP       the {@link ControlPoint} of the segment the pointer belongs to
+     */
+    public void add(double fieldX, double fieldY, double speedColorCoeff, ControlPoint relatedCP) {
+        if (size == speedColorCoeffs.length) {
+            grow();
+        }
+        fieldPoints[2 * size] = fieldX;
+        fieldPoints[2 * size + 1] = fieldY;
+        speedColorCoeffs[size] = speedColorCoeff;
+        colorIndices[size] = gradient.getLutIndex(speedColorCoeff);
+        relatedControlPoints[size] = relatedCP;
+        grid.insert(size, toGrid(fieldX), toGrid(-fieldY));
+        lodIndexOutdated = true;
+
+        if (size == 0 || relatedControlPoints[size - 1] != relatedCP) {
+            beginSegment(fieldX, fieldY);
+        } else {
+            int b = 4 * (segmentCount - 1);
+            segmentBounds[b] = Math.min(segmentBounds[b], fieldX);
+            segmentBounds[b + 1] = Math.min(segmentBounds[b + 1], fieldY);
+            segmentBounds[b + 2] = Math.max(segmentBounds[b + 2], fieldX);
+            segmentBounds[b + 3] = Math.max(segmentBounds[b + 3], fieldY);
+        }
+        size++;
+    }
+
+    /**
+     * Paints the follow pointers of all segments intersecting the view. The caller
+     * sets up the composite shared by all shapes of the pass.
+     *
+     * @param g2            the {@link Graphics2D} context of the canvas
+     * @param fieldToScreen the transform from field to screen coordinates
+     * @param fieldView     the visible part of the field, or {@code null} to paint everything
+     */
+    public void paint(Graphics2D g2, AffineTransform fieldToScreen, Rectangle2D fieldView) {
+        int radius = diameter / 2;
+        int currentIndex = -1;
+
+        int level = getLodLevel(fieldToScreen);
+        if (level > 0 && lodIndexOutdated) {
+            buildLodIndex();
+        }
+        double m00 = fieldToScreen.getScaleX(), m01 = fieldToScreen.getShearX(), m02 = fieldToScreen.getTranslateX();
+        double m10 = fieldToScreen.getShearY(), m11 = fieldToScreen.getScaleY(), m12 = fieldToScreen.getTranslateY();
+
+        for (int s = 0; s < segmentCount; s++) {
+            int b = 4 * s;
+            if (fieldView != null && !fieldView.intersects(segmentBounds[b], segmentBounds[b + 1],
+                    segmentBounds[b + 2] - segmentBounds[b], segmentBounds[b + 3] - segmentBounds[b + 1])) {
+                continue;
+            }
+
+            int start = segmentStarts[s];
+            int end = segmentEnd(s);
+
+            if (level > 0) {
+                // Only the representatives of the level, a prefix of the segment's order,
+                // painted back to front so that the extremes stay on top
+                int count = lodCounts[s * (LOD_LEVELS + 1) + level];
+                for (int j = start + count - 1; j >= start; j--) {
+                    int i = lodOrder[j];
+                    if (colorIndices[i] != currentIndex) {
+                        currentIndex = colorIndices[i];
+                        g2.setColor(gradient.getColorAtIndex(currentIndex));
+                    }
+                    double x = fieldPoints[2 * i], y = fieldPoints[2 * i + 1];
+                    g2.fillOval((int) (m00 * x + m01 * y + m02) - radius, (int) (m10 * x + m11 * y + m12) - radius,
+                        diameter, diameter);
+                }
+                continue;
+            }
+
+            fieldToScreen.transform(fieldPoints, 2 * start, screenPoints, 0, end - start);
+
+            for (int i = start; i < end; i++) {
+                if (colorIndices[i] != currentIndex) {
+                    currentIndex = colorIndices[i];
+                    g2.setColor(gradient.getColorAtIndex(currentIndex));
+                }
+                int k = 2 * (i - start);
+                g2.fillOval((int) screenPoints[k] - radius, (int) screenPoints[k + 1] - radius, diameter, diameter);
+            }
+        }
+    }
+
+    /**
+     * Returns the coarsest level of detail whose point spacing stays below the
+     * collapse threshold at the scale of the given transform.
+     *
+     * @param fieldToScreen the transform from field to screen coordinates
+     * @return the level to paint, {@code 0} for all points
+     */
+    private static int getLodLevel(AffineTransform fieldToScreen) {
+        double pixelsPerUnit = Math.sqrt(Math.abs(fieldToScreen.getDeterminant()));
+        double threshold = Config.FOLLOW_POINTER_LOD_THRESHOLD / pixelsPerUnit;
+        int level = 0;
+        while (level < LOD_LEVELS && getLodSpacing(level + 1) <= threshold) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Returns the minimal field distance between the representatives of a level.
+     */
+    private static double getLodSpacing(int level) {
+        return Config.FOLLOW_POINTER_LOD_BASE_SPACING * (1 << (level - 1));
+    }
+
+    /**
+     * Builds the multi-resolution index. Every level decimates the survivors of the
+     * previous one: consecutive survivors closer than the level spacing to the first
+     * point of their run are collapsed into the point deviating most from the linear
+     * speed trend across the run. O(n) per level.
+     */
+    private void buildLodIndex() {
+        if (lodLevels.length < size) {
+            lodLevels = new int[speedColorCoeffs.length];
+            lodOrder = new int[speedColorCoeffs.length];
+        }
+        if (lodCounts.length < segmentCount * (LOD_LEVELS + 1)) {
+            lodCounts = new int[segmentStarts.length * (LOD_LEVELS + 1)];
+        }
+
+        int[] survivors = new int[0];
+        int[] next = new int[LOD_LEVELS + 1];
+        for (int s = 0; s < segmentCount; s++) {
+            int start = segmentStarts[s];
+            int end = segmentEnd(s);
+            int n = end - start;
+            if (survivors.length < n) {
+                survivors = new int[n];
+            }
+
+            // Ends and speed extremes survive every level
+            int slowest = start, fastest = start;
+            for (int i = start; i < end; i++) {
+                lodLevels[i] = 0;
+                survivors[i - start] = i;
+                if (speedColorCoeffs[i] < speedColorCoeffs[slowest]) slowest = i;
+                if (speedColorCoeffs[i] > speedColorCoeffs[fastest]) fastest = i;
+            }
+
+            int count = n;
+            for (int level = 1; level <= LOD_LEVELS && count > 2; level++) {
+                double spacingSq = getLodSpacing(level) * getLodSpacing(level);
+                int kept = 0;
+                int run = 0;
+                while (run < count) {
+                    int first = survivors[run];
+                    int last = run;
+                    while (last + 1 < count && distanceSq(first, survivors[last + 1]) < spacingSq) {
+                        last++;
+                    }
+                    int representative = last == run ? first : getRepresentative(survivors, run, last);
+                    for (int k = run; k <= last; k++) {
+                        int i = survivors[k];
+                        if (i == representative || i == start || i == end - 1 || i == slowest || i == fastest) {
+                            survivors[kept++] = i;
+                        }
+                    }
+                    run = last + 1;
+                }
+                count = kept;
+                for (int k = 0; k < count; k++) {
+                    lodLevels[survivors[k]] = level;
+                }
+            }
+            // Whatever is left once nothing more can be collapsed survives all levels
+            for (int k = 0; k < count; k++) {
+                lodLevels[survivors[k]] = LOD_LEVELS;
+            }
+
+            // Counting sort of the segment by descending level
+            int countsBase = s * (LOD_LEVELS + 1);
+            Arrays.fill(lodCounts, countsBase, countsBase + LOD_LEVELS + 1, 0);
+            for (int i = start; i < end; i++) {
+                lodCounts[countsBase + lodLevels[i]]++;
+            }
+            for (int level = LOD_LEVELS - 1; level >= 0; level--) {
+                lodCounts[countsBase + level] += lodCounts[countsBase + level + 1];
+            }
+            for (int level = 0; level <= LOD_LEVELS; level++) {
+                next[level] = start + (level == LOD_LEVELS ? 0 : lodCounts[countsBase + level + 1]);
+            }
+            for (int i = start; i < end; i++) {
+                lodOrder[next[lodLevels[i]]++] = i;
+            }
+        }
+        lodIndexOutdated = false;
+    }
+
+    /**
+     * Returns the point of a run deviating most from the speed interpolated
+     * linearly between the first and last point of the run.
+     */
+    private int getRepresentative(int[] survivors, int from, int to) {
+        double first = speedColorCoeffs[survivors[from]];
+        double last = speedColorCoeffs[survivors[to]];
+        int best = survivors[from];
+        double bestDeviation = -1;
+        for (int k = from; k <= to; k++) {
+            double t = (double) (k - from) / (to - from);
+            double deviation = Math.abs(speedColorCoeffs[survivors[k]] - (first + t * (last - first)));
+            if (deviation > bestDeviation) {
+                bestDeviation = deviation;
+                best = survivors[k];
+            }
+        }
+        return best;
+    }
+
+    private double distanceSq(int a, int b) {
+        double dx = fieldPoints[2 * a] - fieldPoints[2 * b];
+        double dy = fieldPoints[2 * a + 1] - fieldPoints[2 * b + 1];
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Finds the first follow pointer within the given distance of a field position.
+     *
+     * @param fieldX      the x-coordinate to test on the field
+     * @param fieldY      the y-coordinate to test on the field
+     * @param fieldRadius the hit radius in field units
+     * @return the index of the pointer, or {@code -1} if none is within reach
+     */
+    public int indexAt(double fieldX, double fieldY, double fieldRadius) {
+        int radius = (int) Math.ceil(fieldRadius * Config.PIXELS_IN_ONE_INCH);
+        return grid.find(toGrid(fieldX), toGrid(-fieldY), radius, id -> true);
+    }
+
+    /**
+     * Creates a {@link FollowPointer} describing the pointer at the given index.
+     *
+     * @param index         the index of the pointer
+     * @param fieldToScreen the transform from field to screen coordinates
+     * @return the follow pointer
+     */
+    public FollowPointer getPointer(int index, AffineTransform fieldToScreen) {
+        double[] screen = new double[2];
+        fieldToScreen.transform(fieldPoints, 2 * index, screen, 0, 1);
+        return new FollowPointer((int) screen[0], (int) screen[1],
+            Math.max(0.0, Math.min(1.0, speedColorCoeffs[index])), relatedControlPoints[index]);
+    }
+
+    /**
+     * Returns the field-space area in which two layers differ. Segments are matched
+     * by their related control point; a segment counts as changed if its points or
+     * colors differ, or if it exists in only one of the layers.
+     *
+     * @param oldLayer the layer before a change
+     * @param newLayer the layer after the change
+     * @return the union of the bounds of all changed segments in both layers, or
+     *         {@code null} if the layers are identical
+     */
+    public static Rectangle2D getChangedBounds(FollowPointerLayer oldLayer, FollowPointerLayer newLayer) {
+        IdentityHashMap<ControlPoint, Integer> newSegments = new IdentityHashMap<>();
+        for (int s = 0; s < newLayer.segmentCount; s++) {
+            newSegments.put(newLayer.relatedControlPoints[newLayer.segmentStarts[s]], s);
+        }
+
+        Rectangle2D changed = null;
+        for (int s = 0; s < oldLayer.segmentCount; s++) {
+            Integer match = newSegments.remove(oldLayer.relatedControlPoints[oldLayer.segmentStarts[s]]);
+            if (match == null) {
+                changed = oldLayer.addSegmentBounds(s, changed);
+            } else if (!isSameSegment(oldLayer, s, newLayer, match)) {
+                changed = oldLayer.addSegmentBounds(s, changed);
+                changed = newLayer.addSegmentBounds(match, changed);
+            }
+        }
+        for (int s : newSegments.values()) {
+            changed = newLayer.addSegmentBounds(s, changed);
+        }
+        return changed;
+    }
+
+    private static boolean isSameSegment(FollowPointerLayer a, int segmentA, FollowPointerLayer b, int segmentB) {
+        int startA = a.segmentStarts[segmentA], endA = a.segmentEnd(segmentA);
+        int startB = b.segmentStarts[segmentB], endB = b.segmentEnd(segmentB);
+        return endA - startA == endB - startB
+            && Arrays.equals(a.fieldPoints, 2 * startA, 2 * endA, b.fieldPoints, 2 * startB, 2 * endB)
+            && Arrays.equals(a.colorIndices, startA, endA, b.colorIndices, startB, endB);
+    }
+
+    private Rectangle2D addSegmentBounds(int segment, Rectangle2D bounds) {
+        int b = 4 * segment;
+        Rectangle2D segmentBounds = new Rectangle2D.Double(this.segmentBounds[b], this.segmentBounds[b + 1],
+            this.segmentBounds[b + 2] - this.segmentBounds[b], this.segmentBounds[b + 3] - this.segmentBounds[b + 1]);
+        if (bounds == null) {
+            return segmentBounds;
+        }
+        bounds.add(segmentBounds);
+        return bounds;
+    }
+
+    private int segmentEnd(int segment) {
+        return segment + 1 < segmentCount ? segmentStarts[segment + 1] : size;
+    }
+
+    /**
+     * Returns the number of follow pointers.
+     *
+     * @return the number of follow pointers
+     */
+    public int size() {
+        return size;
+    }
+
+    private void beginSegment(double fieldX, double fieldY) {
+        if (segmentCount == segmentStarts.length) {
+            segmentStarts = Arrays.copyOf(segmentStarts, 2 * segmentCount);
+            segmentBounds = Arrays.copyOf(segmentBounds, 8 * segmentCount);
+        }
+        segmentStarts[segmentCount] = size;
+        int b = 4 * segmentCount;
+        segmentBounds[b] = segmentBounds[b + 2] = fieldX;
+        segmentBounds[b + 1] = segmentBounds[b + 3] = fieldY;
+        segmentCount++;
+    }
+
+    /**
+     * Scales a field coordinate to the unzoomed pixels the grid works in.
+     */
+    private static int toGrid(double fieldCoordinate) {
+        return (int) Math.round(fieldCoordinate * Config.PIXELS_IN_ONE_INCH);
+    }
+
+    private void grow() {
+        int capacity = speedColorCoeffs.length * 2;
+        fieldPoints = Arrays.copyOf(fieldPoints, 2 * capacity);
+        screenPoints = new double[2 * capacity];
+        speedColorCoeffs = Arrays.copyOf(speedColorCoeffs, capacity);
+        colorIndices = Arrays.copyOf(colorIndices, capacity);
+        relatedControlPoints = Arrays.copyOf(relatedControlPoints, capacity);
+    }
+
+}
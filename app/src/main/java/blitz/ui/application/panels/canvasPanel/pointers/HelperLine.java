@@ -16,38 +16,41 @@
 
 package blitz.ui.application.panels.canvasPanel.pointers;
 
-import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
-
-import javax.swing.JComponent;
+import java.awt.Rectangle;
+import java.awt.Stroke;
 
 import blitz.configs.Config;
 
 /**
- * Represents a helper line component drawn on the canvas.
+ * Represents a helper line drawn on the canvas.
  * 
  * This class draws a semi-transparent line between two specified points (x1, y1) and (x2, y2)
- * with configurable thickness and color. The line is rendered within a dedicated {@link JComponent}
- * with appropriate padding to ensure full visibility.
+ * with configurable thickness and color. The line is painted by the canvas in the same pass
+ * as all pointers.
  * 
  * <p>
  * Example usage:
  * <pre>
  *     HelperLine helperLine = new HelperLine(50, 50, 150, 150);
- *     canvasPanel.add(helperLine);
+ *     helperLine.paint(g2);
  * </pre>
  * </p>
  * 
  * @author Valery Rabchanka
  */
-public class HelperLine extends JComponent {
+public class HelperLine {
 
     // -=-=-=- FIELDS -=-=-=-=-
     
     /**
-     * The starting x-coordinate of the helper line.
+     * The stroke shared by all helper lines.
+     */
+    private static final Stroke STROKE = new BasicStroke(Config.HELPER_LINE_THICKNESS);
+
+    /**
+     * The start and end coordinates of the helper line.
      */
     private int x1, y1, x2, y2;
 
@@ -66,48 +69,34 @@ public class HelperLine extends JComponent {
         this.y1 = y1;
         this.x2 = x2;
         this.y2 = y2;
-        setBoundsWithPadding();
     }
 
     // -=-=-=- METHODS -=-=-=-=-
     
     /**
-     * Sets the bounds of the component based on the line coordinates with added padding.
+     * Paints the helper line. The caller sets up the composite shared by all
+     * shapes of the pass.
      * 
-     * This ensures that the entire line is visible within the component's area.
+     * @param g2 the {@link Graphics2D} context of the canvas
      */
-    private void setBoundsWithPadding() {
-        int minX = Math.min(x1, x2);
-        int minY = Math.min(y1, y2);
-        int width = Math.abs(x2 - x1);
-        int height = Math.abs(y2 - y1);
-        // Add some padding to ensure the line is fully visible
-        int padding = 10;
-        setBounds(minX - padding, minY - padding, width + 2 * padding, height + 2 * padding);
+    public void paint(Graphics2D g2) {
+        Stroke previous = g2.getStroke();
+        g2.setStroke(STROKE);
+        g2.setColor(Config.HELPER_LINE_COLOR);
+        g2.drawLine(x1, y1, x2, y2);
+        g2.setStroke(previous);
     }
 
     /**
-     * Paints the helper line onto the component.
+     * Returns the screen area covered by the helper line, including its thickness.
      * 
-     * @param g the {@link Graphics} context in which to paint
+     * @return the bounds of the helper line
      */
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g.create();
-        try {
-            // Set stroke thickness based on configuration
-            g2.setStroke(new BasicStroke(Config.HELPER_LINE_THICKNESS));
-            // Set the color based on configuration
-            g2.setColor(Config.HELPER_LINE_COLOR);
-            // Set semi-transparent composite
-            g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
-            // Draw the line relative to the component's position
-            g2.drawLine(x1 - getX(), y1 - getY(), x2 - getX(), y2 - getY());
-        } finally {
-            // Dispose the Graphics2D object to free resources
-            g2.dispose();
-        }
+    public Rectangle getBounds() {
+        Rectangle bounds = new Rectangle(Math.min(x1, x2), Math.min(y1, y2), Math.abs(x2 - x1), Math.abs(y2 - y1));
+        int margin = (int) Math.ceil(Config.HELPER_LINE_THICKNESS / 2.0) + 1;
+        bounds.grow(margin, margin);
+        return bounds;
     }
     
     // -=-=-=- INNER CLASSES -=-=-=-=-
@@ -16,10 +16,6 @@
 
 package blitz.ui.application.panels.canvasPanel.pointers;
 
-import java.awt.AlphaComposite;
-import java.awt.Graphics;
-import java.awt.Graphics2D;
-
 import blitz.configs.Config;
 import blitz.models.trajectories.trajectoryComponents.ControlPoint;
 
@@ -34,7 +30,7 @@ import blitz.models.trajectories.trajectoryComponents.ControlPoint;
  * <pre>
  *     ControlPoint controlPoint = new ControlPoint(...);
  *     HelperPointer helperPointer = new HelperPointer(100, 150, controlPoint, true);
- *     canvasPanel.add(helperPointer);
+ *     helperPointer.paint(g2);
  * </pre>
  * </p>
  * 
@@ -86,30 +82,6 @@ public class HelperPointer extends Pointer{
     private void setIsStart(boolean isStart) {
         this.isStart = isStart;
     }
-
-    /**
-     * Paints the helper pointer component, rendering it as a semi-transparent filled oval.
-     * 
-     * The appearance of the pointer changes based on its color, which reflects its current state.
-     * 
-     * @param g the {@link Graphics} context in which to paint
-     */
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g.create();
-        try {
-            // Set semi-transparent composite
-            g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
-            // Set the color based on the current state
-            g2.setColor(color);
-            // Draw the filled oval representing the pointer
-            g2.fillOval(0, 0, diameter, diameter);
-        } finally {
-            // Dispose the Graphics2D object to free resources
-            g2.dispose();
-        }
-    }
     
     // -=-=-=- INNER CLASSES -=-=-=-=-
     
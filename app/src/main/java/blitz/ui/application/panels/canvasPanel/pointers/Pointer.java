@@ -17,34 +17,41 @@
 package blitz.ui.application.panels.canvasPanel.pointers;
 
 import java.awt.Color;
-import java.awt.Dimension;
-
-import javax.swing.JComponent;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
 
 import blitz.models.trajectories.trajectoryComponents.ControlPoint;
 
 /**
- * Represents an abstract pointer component on the canvas, associated with a {@link ControlPoint}.
+ * Represents an abstract pointer drawn on the canvas, associated with a {@link ControlPoint}.
  * 
  * This class provides foundational properties and methods for different types of pointers
  * that can be displayed on the canvas. It handles positioning, sizing, color management,
  * and hit detection within the pointer's area.
  * 
+ * Pointers are lightweight shapes rather than Swing components: the canvas paints all of
+ * them in a single pass and hit-tests them geometrically.
+ * 
  * <p>
  * Example usage:
  * <pre>
  *     ControlPoint controlPoint = new ControlPoint(...);
  *     Pointer pointer = new ConcretePointer(x, y, Color.RED, 10, controlPoint);
- *     canvasPanel.add(pointer);
+ *     pointer.paint(g2);
  * </pre>
  * </p>
  * 
  * @author Valery Rabchanka
  */
-public abstract class Pointer extends JComponent{
+public abstract class Pointer {
     
     // -=-=-=- FIELDS -=-=-=-=-
     
+    /**
+     * The center position of the pointer in screen pixels.
+     */
+    protected int centerX, centerY;
+
     /**
      * The diameter of the pointer in pixels.
      */
@@ -74,33 +81,41 @@ public abstract class Pointer extends JComponent{
     /**
      * Constructs a {@code Pointer} with the specified position, color, diameter, and associated control point.
      * 
-     * @param x              the x-coordinate of the pointer's top-left corner
-     * @param y              the y-coordinate of the pointer's top-left corner
+     * @param x              the x-coordinate of the pointer's center
+     * @param y              the y-coordinate of the pointer's center
      * @param color          the color of the pointer
      * @param diameter       the diameter of the pointer in pixels
      * @param controlPoint   the {@link ControlPoint} associated with this pointer
      */
     public Pointer(int x, int y, Color color, int diameter, ControlPoint controlPoint){
         setDiameter(diameter);
-        this.color = color;
-        relatedControlPoint = controlPoint;
-        setBounds(x, y, diameter, diameter);
         setCenterPosition(x, y);
         this.color = color;
+        relatedControlPoint = controlPoint;
     }
     
     // -=-=-=- METHODS -=-=-=-=-
     
     /**
-     * Returns the preferred size of the pointer component.
+     * Paints the pointer as a filled oval. The caller sets up the composite shared
+     * by all pointers of the pass.
      * 
-     * @return a {@link Dimension} representing the preferred size
+     * @param g2 the {@link Graphics2D} context of the canvas
      */
-    @Override
-    public Dimension getPreferredSize() {
-        return new Dimension(diameter, diameter);
+    public void paint(Graphics2D g2) {
+        g2.setColor(color);
+        g2.fillOval(centerX - diameter / 2, centerY - diameter / 2, diameter, diameter);
     }
     
+    /**
+     * Returns the screen area covered by the pointer.
+     * 
+     * @return the bounds of the pointer
+     */
+    public Rectangle getBounds() {
+        return new Rectangle(centerX - diameter / 2, centerY - diameter / 2, diameter, diameter);
+    }
+
     /**
      * Determines whether a given point (x, y) is within the bounds of the pointer.
      * 
@@ -110,9 +125,9 @@ public abstract class Pointer extends JComponent{
      */
     public boolean isWithinPointer(int x, int y) {
         int radius = diameter / 2;
-        int centerX = this.getCenterX();
-        int centerY = this.getCenterY();
-        return Math.pow(x - centerX, 2) + Math.pow(y - centerY, 2) <= Math.pow(radius, 2);
+        int dx = x - getCenterX();
+        int dy = y - getCenterY();
+        return dx * dx + dy * dy <= radius * radius;
     }
     
     /**
@@ -121,7 +136,7 @@ public abstract class Pointer extends JComponent{
      * @return the x-coordinate of the center
      */
     public int getCenterX(){
-        return getX() + diameter/2;
+        return centerX;
     }
     
     /**
@@ -139,7 +154,7 @@ public abstract class Pointer extends JComponent{
      * @return the y-coordinate of the center
      */
     public int getCenterY(){
-        return getY() + diameter/2;
+        return centerY;
     }
     
     /**
@@ -158,17 +173,17 @@ public abstract class Pointer extends JComponent{
      * @param y the new y-coordinate for the center position
      */
     public void setCenterPosition(int x, int y) {
-        setBounds(x - diameter / 2, y - diameter / 2, diameter, diameter);
+        centerX = x;
+        centerY = y;
     }
     
     /**
-     * Sets the diameter of the pointer and updates its position accordingly.
+     * Sets the diameter of the pointer, keeping its center position.
      * 
      * @param diameter the new diameter of the pointer in pixels
      */
     protected void setDiameter(int diameter){
         this.diameter = diameter;
-        setCenterPosition(getCenterX(), getCenterY());
     }
     
     /**
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.ui.application.panels.canvasPanel.pointers;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Uniform-grid spatial hash over the screen positions of pointers.
+ *
+ * Pointers are identified by their index in the collection that owns them.
+ * Hit-testing a position only visits the few cells around it instead of every
+ * pointer, and moving a pointer only updates the two cells involved.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *     PointerGrid grid = new PointerGrid(32);
+ *     grid.insert(0, 100, 150);
+ *     int hit = grid.find(102, 149, 10, id -> true); // 0
+ * </pre>
+ * </p>
+ *
+ * @author Valery Rabchanka
+ */
+public class PointerGrid {
+
+    // -=-=-=- FIELDS -=-=-=-=-
+
+    private final int cellSize;
+
+    /**
+     * Cells keyed by packed cell coordinates. Emptied cells are kept for reuse.
+     */
+    private final HashMap<Long, Cell> cells = new HashMap<>();
+
+    /**
+     * Position of every pointer by id, {@link Integer#MIN_VALUE} when absent.
+     */
+    private int[] xs = new int[64];
+    private int[] ys = new int[64];
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-=-
+
+    /**
+     * Constructs an empty grid.
+     *
+     * @param cellSize the edge length of a cell in pixels, at least the largest pointer diameter
+     */
+    public PointerGrid(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive.");
+        }
+        this.cellSize = cellSize;
+        Arrays.fill(xs, Integer.MIN_VALUE);
+    }
+
+    // -=-=-=- METHODS -=-=-=-=-
+
+    /**
+     * Removes all pointers.
+     */
+    public void clear() {
+        if (cells.size() > 4096) {
+            cells.clear();
+        } else {
+            for (Cell cell : cells.values()) {
+                cell.size = 0;
+            }
+        }
+        Arrays.fill(xs, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Adds a pointer at the given position.
+     *
+     * @param id the id of the pointer
+     * @param x  the x-coordinate of the pointer's center
+     * @param y  the y-coordinate of the pointer's center
+     */
+    public void insert(int id, int x, int y) {
+        if (id >= xs.length) {
+            int capacity = Math.max(xs.length * 2, id + 1);
+            int oldLength = xs.length;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            Arrays.fill(xs, oldLength, capacity, Integer.MIN_VALUE);
+        }
+        xs[id] = x;
+        ys[id] = y;
+        cellAt(x, y, true).add(id);
+    }
+
+    /**
+     * Moves a pointer, updating only the cells it leaves and enters.
+     *
+     * @param id the id of the pointer
+     * @param x  the new x-coordinate of the pointer's center
+     * @param y  the new y-coordinate of the pointer's center
+     */
+    public void move(int id, int x, int y) {
+        if (id >= xs.length || xs[id] == Integer.MIN_VALUE) {
+            insert(id, x, y);
+            return;
+        }
+        int oldX = xs[id];
+        int oldY = ys[id];
+        xs[id] = x;
+        ys[id] = y;
+        if (Math.floorDiv(oldX, cellSize) != Math.floorDiv(x, cellSize)
+                || Math.floorDiv(oldY, cellSize) != Math.floorDiv(y, cellSize)) {
+            cellAt(oldX, oldY, false).remove(id);
+            cellAt(x, y, true).add(id);
+        }
+    }
+
+    /**
+     * Removes a pointer, if present.
+     *
+     * @param id the id of the pointer
+     */
+    public void remove(int id) {
+        if (id >= xs.length || xs[id] == Integer.MIN_VALUE) {
+            return;
+        }
+        cellAt(xs[id], ys[id], false).remove(id);
+        xs[id] = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Finds the pointer with the lowest id whose center lies within the given
+     * radius of a position and which is accepted by the filter.
+     *
+     * @param x      the x-coordinate to test
+     * @param y      the y-coordinate to test
+     * @param radius the hit radius in pixels, at most the cell size
+     * @param accept filter for candidate ids
+     * @return the id of the pointer, or {@code -1} if none was hit
+     */
+    public int find(int x, int y, int radius, IntPredicate accept) {
+        int radiusSq = radius * radius;
+        int best = -1;
+        int minCellX = Math.floorDiv(x - radius, cellSize), maxCellX = Math.floorDiv(x + radius, cellSize);
+        int minCellY = Math.floorDiv(y - radius, cellSize), maxCellY = Math.floorDiv(y + radius, cellSize);
+
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                Cell cell = cells.get(key(cx, cy));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    int id = cell.ids[i];
+                    if (best != -1 && id > best) {
+                        continue;
+                    }
+                    int dx = x - xs[id];
+                    int dy = y - ys[id];
+                    if (dx * dx + dy * dy <= radiusSq && accept.test(id)) {
+                        best = id;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private Cell cellAt(int x, int y, boolean create) {
+        long key = key(Math.floorDiv(x, cellSize), Math.floorDiv(y, cellSize));
+        Cell cell = cells.get(key);
+        if (cell == null && create) {
+            cell = new Cell();
+            cells.put(key, cell);
+        }
+        return cell;
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    // -=-=-=- INNER CLASSES -=-=-=-=-
+
+    /**
+     * Growable list of the ids within one cell.
+     */
+    private static final class Cell {
+
+        private int[] ids = new int[8];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        void remove(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+}
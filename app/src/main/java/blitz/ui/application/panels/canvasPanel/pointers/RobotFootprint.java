@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.ui.application.panels.canvasPanel.pointers;
+
+import java.awt.BasicStroke;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+
+import blitz.configs.Config;
+import blitz.models.simulation.PoseTable;
+
+/**
+ * Represents the footprint of the robot drawn on the canvas during playback.
+ * 
+ * The footprint is a {@link Config#ROBOT_LENGTH} by {@link Config#ROBOT_WIDTH}
+ * rectangle centered on the robot pose, with a line pointing in its heading. It is
+ * placed anew for every frame into preallocated buffers, so moving it allocates
+ * nothing.
+ * 
+ * <p>
+ * Example usage:
+ * <pre>
+ *     RobotFootprint footprint = new RobotFootprint();
+ *     footprint.place(pose, fieldToScreen);
+ *     footprint.paint(g2);
+ * </pre>
+ * </p>
+ * 
+ * @author Valery Rabchanka
+ */
+public class RobotFootprint {
+
+    // -=-=-=- FIELDS -=-=-=-=-
+
+    private static final Stroke HEADING_STROKE = new BasicStroke(2f);
+
+    /**
+     * Four corners, the center and the heading tip, in field and then screen coordinates.
+     */
+    private final double[] points = new double[12];
+
+    private final int[] xs = new int[4];
+    private final int[] ys = new int[4];
+    private int centerX, centerY, tipX, tipY;
+
+    private final Rectangle bounds = new Rectangle();
+    private boolean placed = false;
+
+    // -=-=-=- METHODS -=-=-=-=-
+
+    /**
+     * Places the footprint at a pose.
+     * 
+     * @param pose          the pose, laid out as by {@link PoseTable#poseAt(double, double[])}
+     * @param fieldToScreen the transform from field to screen coordinates
+     */
+    public void place(double[] pose, AffineTransform fieldToScreen) {
+        double x = pose[PoseTable.X];
+        double y = pose[PoseTable.Y];
+        double cos = Math.cos(pose[PoseTable.HEADING]);
+        double sin = Math.sin(pose[PoseTable.HEADING]);
+        double halfLength = Config.ROBOT_LENGTH / 2;
+        double halfWidth = Config.ROBOT_WIDTH / 2;
+
+        // Corners counterclockwise from front left, in field coordinates
+        setCorner(0, x, y, cos, sin, halfLength, halfWidth);
+        setCorner(1, x, y, cos, sin, -halfLength, halfWidth);
+        setCorner(2, x, y, cos, sin, -halfLength, -halfWidth);
+        setCorner(3, x, y, cos, sin, halfLength, -halfWidth);
+        points[8] = x;
+        points[9] = y;
+        points[10] = x + cos * halfLength;
+        points[11] = y + sin * halfLength;
+
+        fieldToScreen.transform(points, 0, points, 0, 6);
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < 4; i++) {
+            xs[i] = (int) Math.round(points[2 * i]);
+            ys[i] = (int) Math.round(points[2 * i + 1]);
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        centerX = (int) Math.round(points[8]);
+        centerY = (int) Math.round(points[9]);
+        tipX = (int) Math.round(points[10]);
+        tipY = (int) Math.round(points[11]);
+
+        // Grown by the stroke and rounding
+        bounds.setBounds(minX - 2, minY - 2, maxX - minX + 5, maxY - minY + 5);
+        placed = true;
+    }
+
+    private void setCorner(int i, double x, double y, double cos, double sin, double forward, double left) {
+        points[2 * i] = x + cos * forward - sin * left;
+        points[2 * i + 1] = y + sin * forward + cos * left;
+    }
+
+    /**
+     * Paints the footprint where it was last placed.
+     * 
+     * @param g2 the {@link Graphics2D} context of the canvas
+     */
+    public void paint(Graphics2D g2) {
+        if (!placed) {
+            return;
+        }
+        g2.setColor(Config.ROBOT_COLOR);
+        g2.fillPolygon(xs, ys, 4);
+
+        Stroke stroke = g2.getStroke();
+        g2.setStroke(HEADING_STROKE);
+        g2.setColor(Config.ROBOT_HEADING_COLOR);
+        g2.drawLine(centerX, centerY, tipX, tipY);
+        g2.setStroke(stroke);
+    }
+
+    /**
+     * Hides the footprint until it is placed again.
+     */
+    public void clear() {
+        placed = false;
+    }
+
+    /**
+     * @return whether the footprint was placed and is painted
+     */
+    public boolean isPlaced() {
+        return placed;
+    }
+
+    /**
+     * Returns the screen area covered by the footprint. The rectangle is reused and
+     * must not be modified.
+     * 
+     * @return the bounds of the footprint in screen coordinates
+     */
+    public Rectangle getBounds() {
+        return bounds;
+    }
+
+}
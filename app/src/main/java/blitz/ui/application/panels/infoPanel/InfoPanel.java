@@ -22,15 +22,20 @@ import javax.swing.BoxLayout;
 import javax.swing.JPanel;
 
 import blitz.configs.Config;
+import blitz.models.active.ActiveEntitiesListener;
 import blitz.ui.application.panels.infoPanel.linePanels.AbstractLinePanel;
 import blitz.ui.application.panels.infoPanel.linePanels.DistanceLine;
+import blitz.ui.application.panels.infoPanel.linePanels.HeadingLine;
 import blitz.ui.application.panels.infoPanel.linePanels.HelperEndLine;
 import blitz.ui.application.panels.infoPanel.linePanels.HelperStartLine;
 import blitz.ui.application.panels.infoPanel.linePanels.InterpolationTypeLine;
 import blitz.ui.application.panels.infoPanel.linePanels.NumSegmentsLine;
 import blitz.ui.application.panels.infoPanel.linePanels.PositionLine;
+import blitz.ui.application.panels.infoPanel.linePanels.SpeedPlannerLine;
 import blitz.ui.application.panels.infoPanel.linePanels.SplineTypeLine;
+import blitz.ui.application.panels.infoPanel.linePanels.StatisticsLine;
 import blitz.ui.application.panels.infoPanel.linePanels.SymmetryLine;
+import blitz.ui.application.panels.infoPanel.linePanels.TrackWidthLine;
 
 /**
  * Represents the information panel containing various line panels for editing trajectory properties.
@@ -39,6 +44,9 @@ import blitz.ui.application.panels.infoPanel.linePanels.SymmetryLine;
  * displaying and editing specific properties of a trajectory's control point. It organizes
  * the line panels vertically and manages their initialization and addition to the panel.
  * 
+ * The line panels do not listen to active entity changes themselves: they are subscribed to an
+ * {@link InfoUpdateChannel}, which delivers changes at a limited rate while they keep coming.
+ * 
  * <p>
  * Example usage:
  * <pre>
@@ -58,6 +66,11 @@ public class InfoPanel extends JPanel{
      */
     private ArrayList<AbstractLinePanel> lines;
 
+    /**
+     * Channel delivering active entity changes to the line panels.
+     */
+    private InfoUpdateChannel updateChannel;
+
     // -=-=-=- CONSTRUCTORS -=-=-=-=-
     
     /**
@@ -71,7 +84,9 @@ public class InfoPanel extends JPanel{
         setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
 
         lines = new ArrayList<>();
+        updateChannel = new InfoUpdateChannel();
         fillLines();
+        updateChannel.connect();
     }
 
     // -=-=-=- METHODS -=-=-=-=-
@@ -89,12 +104,19 @@ public class InfoPanel extends JPanel{
         lines.add(new HelperEndLine());
         lines.add(new DistanceLine());
         lines.add(new NumSegmentsLine());
+        lines.add(new HeadingLine());
         lines.add(new SymmetryLine());
         lines.add(new SplineTypeLine());
         lines.add(new InterpolationTypeLine());
+        lines.add(new SpeedPlannerLine());
+        lines.add(new TrackWidthLine());
+        lines.add(new StatisticsLine());
 
         for (AbstractLinePanel linePanel : lines) {
             add(linePanel);
+            if (linePanel instanceof ActiveEntitiesListener) {
+                updateChannel.subscribe((ActiveEntitiesListener) linePanel);
+            }
         }
     }
     
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.ui.application.panels.infoPanel;
+
+import java.util.ArrayList;
+
+import javax.swing.Timer;
+
+import blitz.configs.Config;
+import blitz.models.active.ActiveEntities;
+import blitz.models.active.ActiveEntitiesListener;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+
+/**
+ * Delivers active entity changes to its subscribers at a limited rate.
+ *
+ * The channel listens to {@link ActiveEntities} once on behalf of all its
+ * subscribers. A change arriving after a quiet period is delivered right away;
+ * changes arriving faster than the configured rate, e.g. during a drag, are
+ * merged and delivered once per interval. Each kind of change is delivered at
+ * most once per interval with its latest argument, and a final delivery always
+ * follows the last change, so subscribers end up showing the final state.
+ *
+ * Must only be used on the Event Dispatch Thread.
+ *
+ * @author Valery Rabchanka
+ */
+public class InfoUpdateChannel implements ActiveEntitiesListener {
+
+    // -=-=-=- FIELDS -=-=-=-
+
+    private final ArrayList<ActiveEntitiesListener> subscribers = new ArrayList<>();
+
+    /**
+     * Minimum time between two deliveries, in nanoseconds.
+     */
+    private final long intervalNanos;
+
+    private final Timer timer;
+
+    /**
+     * When the last delivery started, or {@code Long.MIN_VALUE} before the first one.
+     */
+    private long lastDelivery = Long.MIN_VALUE;
+
+    // Pending changes and their latest arguments
+    private boolean trajectoryChanged;
+    private boolean controlPointChanged;
+    private boolean trajectoryStateEdited;
+    private boolean controlPointStateEdited;
+    private Trajectory changedTrajectory;
+    private ControlPoint changedControlPoint;
+    private Trajectory editedTrajectory;
+    private ControlPoint editedControlPoint;
+
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-
+
+    /**
+     * Creates a channel delivering at most {@link Config#INFO_PANEL_REFRESH_RATE}
+     * times per second.
+     */
+    public InfoUpdateChannel() {
+        this(Config.INFO_PANEL_REFRESH_RATE);
+    }
+
+    /**
+     * Creates a channel delivering at most the given number of times per second.
+     *
+     * @param refreshRate the maximum number of deliveries per second
+     */
+    public InfoUpdateChannel(int refreshRate) {
+        if (refreshRate <= 0) {
+            throw new IllegalArgumentException("Refresh rate must be positive.");
+        }
+        intervalNanos = 1_000_000_000L / refreshRate;
+
+        timer = new Timer((int) Math.max(1, intervalNanos / 1_000_000), e -> tick());
+        timer.setRepeats(true);
+        timer.setCoalesce(true);
+    }
+
+
+    // -=-=-=- METHODS -=-=-=-
+
+    /**
+     * Starts listening to active entity changes.
+     */
+    public void connect() {
+        ActiveEntities.addActiveListener(this);
+    }
+
+    /**
+     * Stops listening to active entity changes and drops pending deliveries.
+     */
+    public void disconnect() {
+        ActiveEntities.removeActiveListener(this);
+        timer.stop();
+        clearPending();
+    }
+
+    /**
+     * Adds a subscriber. Subscribers are notified in the order they were added.
+     *
+     * @param subscriber the listener to deliver changes to
+     */
+    public void subscribe(ActiveEntitiesListener subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Removes a subscriber.
+     *
+     * @param subscriber the listener to remove
+     */
+    public void unsubscribe(ActiveEntitiesListener subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Delivers pending changes right away.
+     */
+    public void flush() {
+        if (isPending()) {
+            deliver(System.nanoTime());
+        }
+    }
+
+    /**
+     * Delivers pending changes now if the channel was quiet for an interval,
+     * otherwise leaves them to the timer.
+     */
+    private void schedule() {
+        if (timer.isRunning()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (lastDelivery == Long.MIN_VALUE || now - lastDelivery >= intervalNanos) {
+            deliver(now);
+        }
+        // Keep ticking until an interval passes without changes
+        timer.restart();
+    }
+
+    private void tick() {
+        if (isPending()) {
+            deliver(System.nanoTime());
+        } else {
+            timer.stop();
+        }
+    }
+
+    private void deliver(long now) {
+        lastDelivery = now;
+
+        // Take the pending changes first, subscribers may cause new ones
+        boolean trChanged = trajectoryChanged, cpChanged = controlPointChanged;
+        boolean trEdited = trajectoryStateEdited, cpEdited = controlPointStateEdited;
+        Trajectory trChangedArg = changedTrajectory, trEditedArg = editedTrajectory;
+        ControlPoint cpChangedArg = changedControlPoint, cpEditedArg = editedControlPoint;
+        clearPending();
+
+        for (ActiveEntitiesListener subscriber : new ArrayList<>(subscribers)) {
+            if (trChanged) subscriber.activeTrajectoryChanged(trChangedArg);
+            if (cpChanged) subscriber.activeControlPointChanged(cpChangedArg);
+            if (trEdited) subscriber.activeTrajectoryStateEdited(trEditedArg);
+            if (cpEdited) subscriber.activeControlPointStateEdited(cpEditedArg);
+        }
+    }
+
+    private boolean isPending() {
+        return trajectoryChanged || controlPointChanged || trajectoryStateEdited || controlPointStateEdited;
+    }
+
+    private void clearPending() {
+        trajectoryChanged = controlPointChanged = trajectoryStateEdited = controlPointStateEdited = false;
+        changedTrajectory = editedTrajectory = null;
+        changedControlPoint = editedControlPoint = null;
+    }
+
+
+    // -=-=-=- LISTENER METHODS -=-=-=-
+
+    @Override
+    public void activeTrajectoryChanged(Trajectory tr) {
+        trajectoryChanged = true;
+        changedTrajectory = tr;
+        schedule();
+    }
+
+    @Override
+    public void activeControlPointChanged(ControlPoint cp) {
+        controlPointChanged = true;
+        changedControlPoint = cp;
+        schedule();
+    }
+
+    @Override
+    public void activeControlPointStateEdited(ControlPoint cp) {
+        controlPointStateEdited = true;
+        editedControlPoint = cp;
+        schedule();
+    }
+
+    @Override
+    public void activeTrajectoryStateEdited(Trajectory tr) {
+        trajectoryStateEdited = true;
+        editedTrajectory = tr;
+        schedule();
+    }
+
+}
@@ -79,7 +79,7 @@ public class DistanceLine extends AbstractLinePanel implements ActiveEntitiesLis
      * Constructs a {@code DistanceLine} panel with configured components and listeners.
      * 
      * Initializes the layout, adds labels and text fields, and sets up interactability based on the active trajectory.
-     * Registers this panel as a listener to active entity changes.
+     * Active entity changes are delivered by the throttled update channel of the info panel.
      */
     public DistanceLine() {
         super();
@@ -125,8 +125,6 @@ public class DistanceLine extends AbstractLinePanel implements ActiveEntitiesLis
         add(distanceTextField, gbc);
 
         displayInteractability();
-
-        ActiveEntities.addActiveListener(this);
     }
     
     // -=-=-=- METHODS -=-=-=-=-
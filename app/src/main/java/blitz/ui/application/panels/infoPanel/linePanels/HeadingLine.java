@@ -0,0 +1,225 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.ui.application.panels.infoPanel.linePanels;
+
+import java.awt.Component;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.text.DecimalFormat;
+
+import javax.swing.Box;
+import javax.swing.JLabel;
+import javax.swing.JTextField;
+import javax.swing.text.AbstractDocument;
+
+import blitz.configs.Config;
+import blitz.models.active.ActiveEntities;
+import blitz.models.active.ActiveEntitiesListener;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.services.DecimalFilter;
+
+/**
+ * Represents a panel for displaying and editing the heading keyframe of a control point.
+ * 
+ * A holonomic robot faces the headings of the keyframes independently of its direction
+ * of travel, turning smoothly between them. Clearing the text field removes the keyframe
+ * of the active control point; without any keyframes the robot faces the path tangent.
+ * 
+ * <p>
+ * Example usage:
+ * <pre>
+ *     HeadingLine headingLine = new HeadingLine();
+ *     infoPanel.add(headingLine);
+ * </pre>
+ * </p>
+ * 
+ * @author Valery Rabchanka
+ */
+public class HeadingLine extends AbstractLinePanel implements ActiveEntitiesListener {
+    
+    // -=-=-=- FIELDS -=-=-=-=-
+    
+    /**
+     * Text field for displaying and editing the heading.
+     */
+    private JTextField headingTextField;
+    
+    /**
+     * Formatter for decimal values, ensuring consistency in display.
+     */
+    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("0.####");
+    
+    // -=-=-=- CONSTRUCTORS -=-=-=-=-
+    
+    /**
+     * Constructs a {@code HeadingLine} panel with configured components and listeners.
+     * 
+     * Initializes the layout, adds labels and text fields, and sets up interactability based on the active control point.
+     * Active entity changes are delivered by the throttled update channel of the info panel.
+     */
+    public HeadingLine() {
+        super();
+
+        setLayout(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        JLabel headingLabel = new JLabel("Heading:");
+
+        headingTextField = new JTextField(6);
+        configureTextField(headingTextField, new ValueGetter() {
+            @Override
+            public String getValue() {
+                if (isInteractable() && ActiveEntities.getActiveControlPoint().hasHeading()) {
+                    return DECIMAL_FORMAT.format(ActiveEntities.getActiveControlPoint().getHeading());
+                }
+                return "";
+            }
+        }, new ValueSetter() {
+            @Override
+            public void setValue(String value) {
+                if (isInteractable()) {
+                    ControlPoint cp = ActiveEntities.getActiveControlPoint();
+                    if (value == null || value.isBlank()) {
+                        cp.clearHeading();
+                    } else {
+                        double parsedValue = parseDouble(value, cp.hasHeading() ? cp.getHeading() : Double.NaN);
+                        if (!Double.isNaN(parsedValue)) {
+                            cp.setHeading(parsedValue);
+                        }
+                    }
+                    ActiveEntities.notifyActiveControlPointStateEdited();
+                }
+            }
+        });
+
+        // Add components using GridBagLayout
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        Component horizontalStrut = Box.createHorizontalStrut(99);
+        add(horizontalStrut, gbc);
+        
+        gbc.gridx++;
+        add(headingLabel, gbc);
+
+        gbc.gridx++;
+        add(headingTextField, gbc);
+
+        displayInteractability();
+    }
+    
+    // -=-=-=- METHODS -=-=-=-=-
+    
+    /**
+     * Configures a {@link JTextField} with value getters and setters, applying input filters and listeners.
+     * 
+     * @param textField the {@link JTextField} to configure
+     * @param getter    the {@link ValueGetter} to retrieve the current value
+     * @param setter    the {@link ValueSetter} to apply a new value
+     */
+    private void configureTextField(JTextField textField, ValueGetter getter, ValueSetter setter) {
+        AbstractDocument doc = (AbstractDocument) textField.getDocument();
+        doc.setDocumentFilter(new DecimalFilter(Config.STANDART_TEXT_FIELD_DOUBLE_REGEX));
+
+        textField.putClientProperty("ValueGetter", getter);
+        textField.putClientProperty("ValueSetter", setter);
+        textFieldSetup(textField);
+    }
+
+    /**
+     * Updates the text field with the current value from the {@link ValueGetter}.
+     */
+    private void updateTextField(){
+        ValueGetter getter;
+        getter = (ValueGetter) headingTextField.getClientProperty("ValueGetter");
+        headingTextField.setText(getter.getValue());
+    }
+
+    /**
+     * Determines whether the panel is interactable, which requires an active control point.
+     * 
+     * @return {@code true} if there is an active control point, {@code false} otherwise
+     */
+    @Override
+    public boolean isInteractable() {
+        return ActiveEntities.getActiveControlPoint() != null;
+    }
+
+    /**
+     * Updates the panel's interactability state, enabling or disabling components accordingly.
+     */
+    @Override
+    protected void displayInteractability(){
+        super.displayInteractability();
+        headingTextField.setEnabled(isInteractable());
+    }
+
+    /**
+     * Handles changes to the active trajectory.
+     * 
+     * <strong>Note:</strong> Currently not implemented. Can be expanded if needed.
+     * 
+     * @param tr the updated {@link Trajectory}
+     */
+    @Override
+    public void activeTrajectoryChanged(Trajectory tr) {
+        // Implementation can be added if needed
+    }
+
+    /**
+     * Handles changes to the active control point.
+     * 
+     * Updates the panel's interactability and refreshes the text field display.
+     * 
+     * @param cp the updated {@link ControlPoint}
+     */
+    @Override
+    public void activeControlPointChanged(ControlPoint cp) {
+        displayInteractability();
+        updateTextField();
+    }
+
+    /**
+     * Handles edits to the state of the active control point.
+     * 
+     * Updates the panel's interactability and refreshes the text field display.
+     * 
+     * @param cp the {@link ControlPoint} whose state was edited
+     */
+    @Override
+    public void activeControlPointStateEdited(ControlPoint cp) {
+        displayInteractability();
+        updateTextField();
+    }
+
+    /**
+     * Handles changes to the state of the active trajectory.
+     * 
+     * <strong>Note:</strong> Currently not implemented. Can be expanded if needed.
+     * 
+     * @param tr the updated {@link Trajectory}
+     */
+    @Override
+    public void activeTrajectoryStateEdited(Trajectory tr) {
+        // Implementation can be added if needed
+    }
+}
@@ -77,7 +77,7 @@ public class HelperStartLine extends AbstractLinePanel implements ActiveEntities
      * Constructs a {@code HelperStartLine} panel with configured components and listeners.
      * 
      * Initializes the layout, adds labels and text fields, and sets up interactability based on the active control point.
-     * Registers this panel as a listener to active entity changes.
+     * Active entity changes are delivered by the throttled update channel of the info panel.
      */
     public HelperStartLine() {
         super();
@@ -150,8 +150,6 @@ public class HelperStartLine extends AbstractLinePanel implements ActiveEntities
         add(thetaStartTextField, gbc);
 
         displayInteractability();
-
-        ActiveEntities.addActiveListener(this);
     }
     
     // -=-=-=- METHODS -=-=-=-=-
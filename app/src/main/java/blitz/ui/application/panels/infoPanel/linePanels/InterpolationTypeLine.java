@@ -71,7 +71,7 @@ public class InterpolationTypeLine extends AbstractLinePanel implements ActiveEn
      * Constructs an {@code InterpolationTypeLine} panel with configured components and listeners.
      * 
      * Initializes the layout, adds labels and combo boxes, and sets up interactability based on the active trajectory.
-     * Registers this panel as a listener to active entity changes.
+     * Active entity changes are delivered by the throttled update channel of the info panel.
      */
     public InterpolationTypeLine() {
         super();
@@ -115,8 +115,6 @@ public class InterpolationTypeLine extends AbstractLinePanel implements ActiveEn
         add(interpolationTypeComboBox, gbc);
 
         displayInteractability();
-
-        ActiveEntities.addActiveListener(this);
     }
     
     // -=-=-=- METHODS -=-=-=-=-
@@ -73,7 +73,7 @@ public class NumSegmentsLine extends AbstractLinePanel implements ActiveEntities
      * Constructs a {@code NumSegmentsLine} panel with configured components and listeners.
      * 
      * Initializes the layout, adds labels and text fields, and sets up interactability based on the active control point.
-     * Registers this panel as a listener to active entity changes.
+     * Active entity changes are delivered by the throttled update channel of the info panel.
      */
     public NumSegmentsLine() {
         super();
@@ -119,8 +119,6 @@ public class NumSegmentsLine extends AbstractLinePanel implements ActiveEntities
         add(numSegTextField, gbc);
 
         displayInteractability();
-
-        ActiveEntities.addActiveListener(this);
     }
     
     // -=-=-=- METHODS -=-=-=-=-
@@ -77,7 +77,7 @@ public class PositionLine extends AbstractLinePanel implements ActiveEntitiesLis
      * Constructs a {@code PositionLine} panel with configured components and listeners.
      * 
      * Initializes the layout, adds labels and text fields, and sets up interactability based on the active control point.
-     * Registers this panel as a listener to active entity changes.
+     * Active entity changes are delivered by the throttled update channel of the info panel.
      */
     public PositionLine() {
         super();
@@ -154,8 +154,6 @@ public class PositionLine extends AbstractLinePanel implements ActiveEntitiesLis
         add(yTextField, gbc);
 
         displayInteractability();
-
-        ActiveEntities.addActiveListener(this);
     }
     
     // -=-=-=- METHODS -=-=-=-=-
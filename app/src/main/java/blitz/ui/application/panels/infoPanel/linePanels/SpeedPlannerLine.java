@@ -0,0 +1,209 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.ui.application.panels.infoPanel.linePanels;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+
+import javax.swing.Box;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+
+import blitz.configs.Config;
+import blitz.models.active.ActiveEntities;
+import blitz.models.active.ActiveEntitiesListener;
+import blitz.models.calculations.Calculations;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+
+/**
+ * Represents a panel for selecting and displaying the speed planner of a trajectory.
+ * 
+ * This panel provides a user interface component that allows users to select how the speeds
+ * of the follow points of the active trajectory are planned: mapped from the bent rate, or
+ * capped by the lateral acceleration with a lookahead before turns.
+ * 
+ * <p>
+ * Example usage:
+ * <pre>
+ *     SpeedPlannerLine speedPlannerLine = new SpeedPlannerLine();
+ *     infoPanel.add(speedPlannerLine);
+ * </pre>
+ * </p>
+ * 
+ * @author Valery Rabchanka
+ */
+public class SpeedPlannerLine extends AbstractLinePanel implements ActiveEntitiesListener {
+    
+    // -=-=-=- FIELDS -=-=-=-=-
+    
+    /**
+     * Combo box for selecting the speed planner of the active trajectory.
+     */
+    private JComboBox<String> speedPlannerComboBox;
+    
+    /**
+     * Array of all available speed planners retrieved from {@link Calculations}.
+     */
+    private final String[] PLANNER_TYPES = Calculations.ALL_SPEED_PLANNER_TYPES;
+    
+    // -=-=-=- CONSTRUCTORS -=-=-=-=-
+    
+    /**
+     * Constructs a {@code SpeedPlannerLine} panel with configured components and listeners.
+     * 
+     * Initializes the layout, adds labels and combo boxes, and sets up interactability based on the active trajectory.
+     * Active entity changes are delivered by the throttled update channel of the info panel.
+     */
+    public SpeedPlannerLine() {
+        super();
+
+        setLayout(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        JLabel speedPlannerLabel = new JLabel("Speed Planner:");
+
+        // Initialize the drop-down menu
+        speedPlannerComboBox = new JComboBox<>(PLANNER_TYPES);
+        Dimension dim = Config.LINE_PANEL_COMBO_BOX_DIMENSITONS;
+        speedPlannerComboBox.setPreferredSize(dim);
+        speedPlannerComboBox.setMaximumSize(dim);
+        speedPlannerComboBox.setMinimumSize(dim);
+        speedPlannerComboBox.addActionListener(e -> {
+            if (isInteractable()) {
+                String selectedPlannerType = (String) speedPlannerComboBox.getSelectedItem();
+                if (selectedPlannerType != null) {
+                    Trajectory tr = ActiveEntities.getActiveTrajectory();
+                    tr.setSpeedPlannerType(selectedPlannerType);
+                    ActiveEntities.notifyActiveControlPointStateEdited();
+                }
+                ActiveEntities.notifyActiveTrajectoryStateEdited();
+            }
+        });
+
+        // Add components using GridBagLayout
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        Component horizontalStrut = Box.createHorizontalStrut(26);
+        add(horizontalStrut, gbc);
+
+        gbc.gridx++;
+        add(speedPlannerLabel, gbc);
+
+        gbc.gridx++;
+        add(speedPlannerComboBox, gbc);
+
+        displayInteractability();
+    }
+    
+    // -=-=-=- METHODS -=-=-=-=-
+    
+    /**
+     * Updates the combo box selection based on the active trajectory's speed planner.
+     * 
+     * Retrieves the current speed planner from the active trajectory and sets it as the selected item
+     * in the combo box. This ensures that the combo box reflects the current state of the trajectory.
+     */
+    private void updateComboBox() {
+        Trajectory tr = ActiveEntities.getActiveTrajectory();
+        if (tr != null) {
+            speedPlannerComboBox.setSelectedItem(tr.getSpeedPlannerType());
+        }
+    }
+
+    /**
+     * Determines whether the panel is interactable based on the presence of an active trajectory.
+     * 
+     * The panel is interactable if there is an active trajectory selected. If no trajectory is active,
+     * the panel is non-interactable.
+     * 
+     * @return {@code true} if there is an active trajectory, {@code false} otherwise
+     */
+    @Override
+    public boolean isInteractable() {
+        return ActiveEntities.getActiveTrajectory() != null;
+    }
+
+    /**
+     * Updates the panel's interactability state, enabling or disabling components accordingly.
+     * 
+     * Changes the background color based on interactability and enables or disables the speed
+     * planner combo box.
+     */
+    @Override
+    protected void displayInteractability() {
+        super.displayInteractability();
+        boolean isInteractable = isInteractable();
+        speedPlannerComboBox.setEnabled(isInteractable);
+    }
+
+    /**
+     * Handles changes to the active trajectory.
+     * 
+     * <strong>Note:</strong> Currently not implemented. Can be expanded if needed.
+     * 
+     * @param tr the updated {@link Trajectory}
+     */
+    @Override
+    public void activeTrajectoryChanged(Trajectory tr) {
+        // Implementation can be added if needed
+    }
+
+    /**
+     * Handles changes to the active control point.
+     * 
+     * Updates the panel's interactability and refreshes the combo box selection.
+     * 
+     * @param cp the updated {@link ControlPoint}
+     */
+    @Override
+    public void activeControlPointChanged(ControlPoint cp) {
+        displayInteractability();
+        updateComboBox();
+    }
+
+    /**
+     * Handles edits to the state of the active control point.
+     * 
+     * Updates the panel's interactability and refreshes the combo box selection.
+     * 
+     * @param cp the {@link ControlPoint} whose state was edited
+     */
+    @Override
+    public void activeControlPointStateEdited(ControlPoint cp) {
+        displayInteractability();
+        updateComboBox();
+    }
+
+    /**
+     * Handles changes to the state of the active trajectory.
+     * 
+     * <strong>Note:</strong> Currently not implemented. Can be expanded if needed.
+     * 
+     * @param tr the updated {@link Trajectory}
+     */
+    @Override
+    public void activeTrajectoryStateEdited(Trajectory tr) {
+        // Implementation can be added if needed
+    }
+}
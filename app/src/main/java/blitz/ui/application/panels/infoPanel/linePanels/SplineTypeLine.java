@@ -70,7 +70,7 @@ public class SplineTypeLine extends AbstractLinePanel implements ActiveEntitiesL
      * Constructs a {@code SplineTypeLine} panel with configured components and listeners.
      * 
      * Initializes the layout, adds labels and combo boxes, and sets up interactability based on the active trajectory.
-     * Registers this panel as a listener to active entity changes.
+     * Active entity changes are delivered by the throttled update channel of the info panel.
      */
     public SplineTypeLine() {
         super();
@@ -114,8 +114,6 @@ public class SplineTypeLine extends AbstractLinePanel implements ActiveEntitiesL
         add(splineTypeComboBox, gbc);
 
         displayInteractability();
-
-        ActiveEntities.addActiveListener(this);
     }
     
     // -=-=-=- METHODS -=-=-=-=-
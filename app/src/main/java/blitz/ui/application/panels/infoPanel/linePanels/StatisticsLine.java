@@ -0,0 +1,239 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.ui.application.panels.infoPanel.linePanels;
+
+import java.awt.Component;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.text.DecimalFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.swing.Box;
+import javax.swing.JLabel;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+
+import blitz.models.active.ActiveEntities;
+import blitz.models.active.ActiveEntitiesListener;
+import blitz.models.calculations.PathStatistics;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+
+/**
+ * Represents a panel displaying the path length and the estimated driving time of
+ * the active trajectory.
+ * 
+ * Both values are derived from the calculated path, so they are computed on a
+ * background thread after every change of the active trajectory. Only the latest
+ * request is computed; a request made while another one is waiting replaces it,
+ * and results of outdated requests are discarded.
+ * 
+ * <p>
+ * Example usage:
+ * <pre>
+ *     StatisticsLine statisticsLine = new StatisticsLine();
+ *     infoPanel.add(statisticsLine);
+ * </pre>
+ * </p>
+ * 
+ * @see PathStatistics
+ * 
+ * @author Valery Rabchanka
+ */
+public class StatisticsLine extends AbstractLinePanel implements ActiveEntitiesListener {
+
+    // -=-=-=- FIELDS -=-=-=-=-
+
+    /**
+     * Text field displaying the path length.
+     */
+    private JTextField lengthTextField;
+
+    /**
+     * Text field displaying the estimated time.
+     */
+    private JTextField timeTextField;
+
+    /**
+     * Pending calculation, if any.
+     */
+    private Future<?> pendingCalculation;
+
+    /**
+     * Number of the latest request, results of earlier ones are discarded.
+     */
+    private long latestRequest = 0;
+
+    /**
+     * Formatter for decimal values, ensuring consistency in display.
+     */
+    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("0.##");
+
+    /**
+     * Background thread shared by all statistics lines.
+     */
+    private static final ExecutorService CALCULATOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Blitz Path Statistics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-=-
+
+    /**
+     * Constructs a {@code StatisticsLine} panel with read-only text fields.
+     * 
+     * Active entity changes are delivered by the throttled update channel of the info panel.
+     */
+    public StatisticsLine() {
+        super();
+
+        setLayout(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        JLabel lengthLabel = new JLabel("Length:");
+        JLabel timeLabel = new JLabel("Time:");
+
+        lengthTextField = new JTextField(6);
+        lengthTextField.setEditable(false);
+        timeTextField = new JTextField(6);
+        timeTextField.setEditable(false);
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        add(lengthLabel, gbc);
+
+        gbc.gridx++;
+        add(lengthTextField, gbc);
+
+        gbc.gridx++;
+        Component horizontalStrut = Box.createHorizontalStrut(10);
+        add(horizontalStrut, gbc);
+
+        gbc.gridx++;
+        add(timeLabel, gbc);
+
+        gbc.gridx++;
+        add(timeTextField, gbc);
+
+        displayInteractability();
+        requestStatistics();
+    }
+
+    // -=-=-=- METHODS -=-=-=-=-
+
+    /**
+     * Requests the statistics of the active trajectory to be calculated and displayed.
+     */
+    private void requestStatistics() {
+        long request = ++latestRequest;
+        if (pendingCalculation != null) {
+            pendingCalculation.cancel(false);
+        }
+
+        Trajectory tr = ActiveEntities.getActiveTrajectory();
+        if (tr == null) {
+            pendingCalculation = null;
+            display(null);
+            return;
+        }
+
+        pendingCalculation = CALCULATOR.submit(() -> {
+            PathStatistics stats = PathStatistics.of(tr);
+            SwingUtilities.invokeLater(() -> {
+                if (request == latestRequest) {
+                    pendingCalculation = null;
+                    display(stats);
+                }
+            });
+        });
+    }
+
+    /**
+     * Displays statistics, or clears the fields if there are none.
+     * 
+     * @param stats the statistics to display, or {@code null}
+     */
+    private void display(PathStatistics stats) {
+        if (stats == null) {
+            lengthTextField.setText("");
+            timeTextField.setText("");
+            return;
+        }
+        lengthTextField.setText(DECIMAL_FORMAT.format(stats.getLength()));
+        double time = stats.getEstimatedTime();
+        timeTextField.setText(Double.isInfinite(time) ? "∞" : DECIMAL_FORMAT.format(time));
+    }
+
+    /**
+     * Determines whether the panel is interactable based on the presence of an active trajectory.
+     * 
+     * @return {@code true} if there is an active trajectory, {@code false} otherwise
+     */
+    @Override
+    public boolean isInteractable() {
+        return ActiveEntities.getActiveTrajectory() != null;
+    }
+
+    /**
+     * Handles changes to the active trajectory.
+     * 
+     * @param tr the updated {@link Trajectory}
+     */
+    @Override
+    public void activeTrajectoryChanged(Trajectory tr) {
+        displayInteractability();
+        requestStatistics();
+    }
+
+    /**
+     * Handles changes to the active control point.
+     * 
+     * <strong>Note:</strong> The path does not depend on the active control point.
+     * 
+     * @param cp the updated {@link ControlPoint}
+     */
+    @Override
+    public void activeControlPointChanged(ControlPoint cp) {
+        // The path does not depend on which control point is active
+    }
+
+    /**
+     * Handles edits to the state of the active control point, which change the path.
+     * 
+     * @param cp the {@link ControlPoint} whose state was edited
+     */
+    @Override
+    public void activeControlPointStateEdited(ControlPoint cp) {
+        requestStatistics();
+    }
+
+    /**
+     * Handles edits to the state of the active trajectory, which change the path.
+     * 
+     * @param tr the {@link Trajectory} whose state was edited
+     */
+    @Override
+    public void activeTrajectoryStateEdited(Trajectory tr) {
+        requestStatistics();
+    }
+}
@@ -70,7 +70,7 @@ public class SymmetryLine extends AbstractLinePanel implements ActiveEntitiesLis
      * Constructs a {@code SymmetryLine} panel with configured components and listeners.
      * 
      * Initializes the layout, adds labels and combo boxes, and sets up interactability based on the active control point.
-     * Registers this panel as a listener to active entity changes.
+     * Active entity changes are delivered by the throttled update channel of the info panel.
      */
     public SymmetryLine() {
         super();
@@ -113,8 +113,6 @@ public class SymmetryLine extends AbstractLinePanel implements ActiveEntitiesLis
         add(symmetryComboBox, gbc);
 
         displayInteractability();
-
-        ActiveEntities.addActiveListener(this);
     }
     
     // -=-=-=- METHODS -=-=-=-=-
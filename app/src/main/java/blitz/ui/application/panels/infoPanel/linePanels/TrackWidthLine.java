@@ -0,0 +1,221 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.ui.application.panels.infoPanel.linePanels;
+
+import java.awt.Component;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.text.DecimalFormat;
+
+import javax.swing.Box;
+import javax.swing.JLabel;
+import javax.swing.JTextField;
+import javax.swing.text.AbstractDocument;
+
+import blitz.configs.Config;
+import blitz.models.active.ActiveEntities;
+import blitz.models.active.ActiveEntitiesListener;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.services.DecimalFilter;
+
+/**
+ * Represents a panel for displaying and editing the track width of a trajectory.
+ * 
+ * The track width is the distance between the left and right wheels of the
+ * differential drive that follows the active trajectory, from which its wheel
+ * velocities are derived.
+ * 
+ * <p>
+ * Example usage:
+ * <pre>
+ *     TrackWidthLine trackWidthLine = new TrackWidthLine();
+ *     infoPanel.add(trackWidthLine);
+ * </pre>
+ * </p>
+ * 
+ * @author Valery Rabchanka
+ */
+public class TrackWidthLine extends AbstractLinePanel implements ActiveEntitiesListener {
+    
+    // -=-=-=- FIELDS -=-=-=-=-
+    
+    /**
+     * Text field for displaying and editing the track width.
+     */
+    private JTextField trackWidthTextField;
+    
+    /**
+     * Formatter for decimal values, ensuring consistency in display.
+     */
+    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("0.####");
+    
+    // -=-=-=- CONSTRUCTORS -=-=-=-=-
+    
+    /**
+     * Constructs a {@code TrackWidthLine} panel with configured components and listeners.
+     * 
+     * Initializes the layout, adds labels and text fields, and sets up interactability based on the active trajectory.
+     * Active entity changes are delivered by the throttled update channel of the info panel.
+     */
+    public TrackWidthLine() {
+        super();
+
+        setLayout(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        JLabel trackWidthLabel = new JLabel("Track Width:");
+
+        trackWidthTextField = new JTextField(6);
+        configureTextField(trackWidthTextField, new ValueGetter() {
+            @Override
+            public String getValue() {
+                if (isInteractable()) {
+                    return DECIMAL_FORMAT.format(ActiveEntities.getActiveTrajectory().getTrackWidth());
+                }
+                return "";
+            }
+        }, new ValueSetter() {
+            @Override
+            public void setValue(String value) {
+                if (isInteractable()) {
+                    Trajectory tr = ActiveEntities.getActiveTrajectory();
+                    double parsedValue = parseDouble(value, tr.getTrackWidth());
+                    if (parsedValue > 0) {
+                        tr.setTrackWidth(parsedValue);
+                    }
+                    ActiveEntities.notifyActiveTrajectoryStateEdited();
+                }
+            }
+        });
+
+        // Add components using GridBagLayout
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        Component horizontalStrut = Box.createHorizontalStrut(74);
+        add(horizontalStrut, gbc);
+        
+        gbc.gridx++;
+        add(trackWidthLabel, gbc);
+
+        gbc.gridx++;
+        add(trackWidthTextField, gbc);
+
+        displayInteractability();
+    }
+    
+    // -=-=-=- METHODS -=-=-=-=-
+    
+    /**
+     * Configures a {@link JTextField} with value getters and setters, applying input filters and listeners.
+     * 
+     * @param textField the {@link JTextField} to configure
+     * @param getter    the {@link ValueGetter} to retrieve the current value
+     * @param setter    the {@link ValueSetter} to apply a new value
+     */
+    private void configureTextField(JTextField textField, ValueGetter getter, ValueSetter setter) {
+        AbstractDocument doc = (AbstractDocument) textField.getDocument();
+        doc.setDocumentFilter(new DecimalFilter(Config.STANDART_TEXT_FIELD_DOUBLE_REGEX));
+
+        textField.putClientProperty("ValueGetter", getter);
+        textField.putClientProperty("ValueSetter", setter);
+        textFieldSetup(textField);
+    }
+
+    /**
+     * Updates the text field with the current value from the {@link ValueGetter}.
+     */
+    private void updateTextField(){
+        ValueGetter getter;
+        getter = (ValueGetter) trackWidthTextField.getClientProperty("ValueGetter");
+        trackWidthTextField.setText(getter.getValue());
+    }
+
+    /**
+     * Determines whether the panel is interactable, which requires an active trajectory.
+     * 
+     * @return {@code true} if there is an active trajectory, {@code false} otherwise
+     */
+    @Override
+    public boolean isInteractable() {
+        return ActiveEntities.getActiveTrajectory() != null;
+    }
+
+    /**
+     * Updates the panel's interactability state, enabling or disabling components accordingly.
+     */
+    @Override
+    protected void displayInteractability(){
+        super.displayInteractability();
+        trackWidthTextField.setEnabled(isInteractable());
+    }
+
+    /**
+     * Handles changes to the active trajectory.
+     * 
+     * Updates the panel's interactability and refreshes the text field display.
+     * 
+     * @param tr the updated {@link Trajectory}
+     */
+    @Override
+    public void activeTrajectoryChanged(Trajectory tr) {
+        displayInteractability();
+        updateTextField();
+    }
+
+    /**
+     * Handles changes to the active control point.
+     * 
+     * Updates the panel's interactability and refreshes the text field display.
+     * 
+     * @param cp the updated {@link ControlPoint}
+     */
+    @Override
+    public void activeControlPointChanged(ControlPoint cp) {
+        displayInteractability();
+        updateTextField();
+    }
+
+    /**
+     * Handles edits to the state of the active control point.
+     * 
+     * <strong>Note:</strong> The track width does not depend on control points.
+     * 
+     * @param cp the {@link ControlPoint} whose state was edited
+     */
+    @Override
+    public void activeControlPointStateEdited(ControlPoint cp) {
+        // Implementation can be added if needed
+    }
+
+    /**
+     * Handles changes to the state of the active trajectory.
+     * 
+     * Updates the panel's interactability and refreshes the text field display.
+     * 
+     * @param tr the updated {@link Trajectory}
+     */
+    @Override
+    public void activeTrajectoryStateEdited(Trajectory tr) {
+        displayInteractability();
+        updateTextField();
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.ui.application.panels.selectionPanel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.AbstractListModel;
+
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoriesList.TrajectoriesList;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+
+/**
+ * Flat list of the rows of the selection panel: every {@link Trajectory}
+ * followed by its {@link ControlPoint}s unless it is collapsed.
+ *
+ * Collapse states are kept in a map by trajectory, so they survive any change of
+ * the trajectories list. {@link #update()} rebuilds the rows from the model and
+ * only reports the range between the unchanged head and tail of the list, so the
+ * list repaints and re-measures just the rows that actually changed.
+ *
+ * @author Valery Rabchanka
+ */
+public class SelectionListModel extends AbstractListModel<Object> {
+
+    // -=-=-=- FIELDS -=-=-=-=-
+
+    /**
+     * Rows, each either a {@link Trajectory} or a {@link ControlPoint}.
+     */
+    private ArrayList<Object> rows = new ArrayList<>();
+
+    /**
+     * One-based number shown for each row: the trajectory index in the list, or
+     * the control point index in its trajectory.
+     */
+    private int[] numbers = new int[0];
+
+    /**
+     * Row index of every trajectory and control point.
+     */
+    private Map<Object, Integer> rowIndices = new IdentityHashMap<>();
+
+    /**
+     * Collapsed trajectories.
+     */
+    private final Set<Trajectory> collapsed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // -=-=-=- METHODS -=-=-=-=-
+
+    /**
+     * Rebuilds the rows from the trajectories list and notifies the list of the
+     * range that differs from the previous rows.
+     */
+    public void update() {
+        ArrayList<Trajectory> trajectories = TrajectoriesList.getTrajectoriesList();
+        ArrayList<Object> newRows = new ArrayList<>(rows.size());
+        ArrayList<Integer> newNumbers = new ArrayList<>(rows.size());
+
+        Set<Trajectory> present = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < trajectories.size(); i++) {
+            Trajectory tr = trajectories.get(i);
+            present.add(tr);
+            newRows.add(tr);
+            newNumbers.add(i + 1);
+            if (!collapsed.contains(tr)) {
+                List<ControlPoint> controlPoints = tr.getAllControlPoints();
+                for (int j = 0; j < controlPoints.size(); j++) {
+                    newRows.add(controlPoints.get(j));
+                    newNumbers.add(j + 1);
+                }
+            }
+        }
+        collapsed.retainAll(present);
+
+        int[] oldNumbers = numbers;
+        ArrayList<Object> oldRows = rows;
+        rows = newRows;
+        numbers = new int[newNumbers.size()];
+        rowIndices = new IdentityHashMap<>(newRows.size() * 2);
+        for (int i = 0; i < newRows.size(); i++) {
+            numbers[i] = newNumbers.get(i);
+            rowIndices.put(newRows.get(i), i);
+        }
+
+        fireDifference(oldRows, oldNumbers);
+    }
+
+    /**
+     * Reports the rows between the common head and tail of the old and new rows.
+     */
+    private void fireDifference(ArrayList<Object> oldRows, int[] oldNumbers) {
+        int oldSize = oldRows.size();
+        int newSize = rows.size();
+
+        int head = 0;
+        while (head < oldSize && head < newSize
+                && oldRows.get(head) == rows.get(head) && oldNumbers[head] == numbers[head]) {
+            head++;
+        }
+        int tail = 0;
+        while (tail < oldSize - head && tail < newSize - head
+                && oldRows.get(oldSize - 1 - tail) == rows.get(newSize - 1 - tail)
+                && oldNumbers[oldSize - 1 - tail] == numbers[newSize - 1 - tail]) {
+            tail++;
+        }
+
+        int oldChanged = oldSize - head - tail;
+        int newChanged = newSize - head - tail;
+        int common = Math.min(oldChanged, newChanged);
+        if (common > 0) {
+            fireContentsChanged(this, head, head + common - 1);
+        }
+        if (oldChanged > newChanged) {
+            fireIntervalRemoved(this, head + common, head + oldChanged - 1);
+        } else if (newChanged > oldChanged) {
+            fireIntervalAdded(this, head + common, head + newChanged - 1);
+        }
+    }
+
+    /**
+     * Notifies the list that the contents of a row changed, e.g. its name or state.
+     *
+     * @param row the trajectory or control point of the row
+     */
+    public void fireRowChanged(Object row) {
+        int index = indexOf(row);
+        if (index >= 0) {
+            fireContentsChanged(this, index, index);
+        }
+    }
+
+    /**
+     * Returns the index of the row of a trajectory or control point.
+     *
+     * @param row the trajectory or control point
+     * @return the row index, or {@code -1} if it has no row
+     */
+    public int indexOf(Object row) {
+        Integer index = row == null ? null : rowIndices.get(row);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the one-based number shown for a row.
+     *
+     * @param index the row index
+     * @return the trajectory index in the list, or the control point index in its trajectory
+     */
+    public int getNumberAt(int index) {
+        return numbers[index];
+    }
+
+    /**
+     * Returns whether the control points of a trajectory are hidden.
+     *
+     * @param tr the trajectory
+     * @return {@code true} if the trajectory is collapsed
+     */
+    public boolean isCollapsed(Trajectory tr) {
+        return collapsed.contains(tr);
+    }
+
+    /**
+     * Collapses or expands a trajectory, updating its control point rows.
+     *
+     * @param tr          the trajectory
+     * @param isCollapsed {@code true} to hide its control points
+     */
+    public void setCollapsed(Trajectory tr, boolean isCollapsed) {
+        if (isCollapsed) {
+            collapsed.add(tr);
+        } else {
+            collapsed.remove(tr);
+        }
+        update();
+        fireRowChanged(tr);
+    }
+
+    @Override
+    public int getSize() {
+        return rows.size();
+    }
+
+    @Override
+    public Object getElementAt(int index) {
+        return rows.get(index);
+    }
+
+}
@@ -20,18 +20,24 @@ import java.awt.BorderLayout;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
+import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 
-import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JTextField;
 import javax.swing.SwingConstants;
 
 import blitz.configs.Config;
@@ -42,6 +48,9 @@ import blitz.models.trajectories.trajectoriesList.TrajectoriesList;
 import blitz.models.trajectories.trajectoriesList.TrajectoriesListListener;
 import blitz.models.trajectories.trajectoryComponents.ControlPoint;
 import blitz.models.trajectories.visibleTrajectories.VisibleTrajectories;
+import blitz.models.workspace.Workspace;
+import blitz.services.Utils;
+import blitz.ui.application.panels.selectionPanel.selectionLayers.ControlPointLayer;
 import blitz.ui.application.panels.selectionPanel.selectionLayers.TrajectoryLayer;
 
 /**
@@ -51,6 +60,11 @@ import blitz.ui.application.panels.selectionPanel.selectionLayers.TrajectoryLaye
  * and an options bar that provides actions such as adding or deleting trajectories. It listens
  * to changes in active entities and updates the UI accordingly.
  * 
+ * The selection menu is a {@link JList} over a {@link SelectionListModel} with fixed row
+ * heights: only the rows in view are painted, by a single reused {@link SelectionRowRenderer},
+ * and model changes update only the rows they affect. Clicks are mapped to the element of the
+ * row under the mouse and names are edited in a text field placed over the row.
+ * 
  * <p>
  * Example usage:
  * <pre>
@@ -71,9 +85,30 @@ public class SelectionPanel extends JPanel implements ActiveEntitiesListener, Tr
     private JPanel headerPanel;
     
     /**
-     * Panel for the selection menu containing trajectory layers.
+     * List of the trajectory and control point rows.
+     */
+    private JList<Object> selectionMenuList;
+
+    /**
+     * Rows of the selection menu.
+     */
+    private SelectionListModel selectionListModel;
+
+    /**
+     * Renderer of the selection menu rows.
+     */
+    private SelectionRowRenderer selectionRowRenderer;
+
+    /**
+     * Text field editing the name of a row, or {@code null} when no name is edited.
      */
-    private JPanel selectionMenuPanel;
+    private JTextField nameEditor;
+
+    /**
+     * Active entities whose rows are shown as active.
+     */
+    private Trajectory shownActiveTrajectory;
+    private ControlPoint shownActiveControlPoint;
     
     /**
      * Panel for the options bar containing action buttons.
@@ -145,96 +180,193 @@ public class SelectionPanel extends JPanel implements ActiveEntitiesListener, Tr
     }
       
     /**
-     * Constructs the selection menu panel that holds all trajectory layers.
+     * Constructs the selection menu list that holds all trajectory and control point rows.
      * 
-     * Initializes the selection menu panel with a vertical box layout and wraps it inside a scroll pane.
-     * Calls {@link #renderSelectionMenuPanel()} to populate the panel with existing trajectories.
+     * Initializes the list with fixed row dimensions, so that its layout does not depend on
+     * the number of rows, and wraps it inside a scroll pane.
      */
     private void constructSelectionMenuPanel() {
-        selectionMenuPanel = new JPanel();
-        selectionMenuPanel.setLayout(new BoxLayout(selectionMenuPanel, BoxLayout.Y_AXIS));
+        selectionListModel = new SelectionListModel();
+        selectionRowRenderer = new SelectionRowRenderer(selectionListModel);
 
-        selectionMenuPanel.setBackground(Config.SELECTION_MENU_COLOR);
-    
-        selectionMenuScrollPane = new JScrollPane(selectionMenuPanel);
+        selectionMenuList = new JList<>(selectionListModel);
+        selectionMenuList.setCellRenderer(selectionRowRenderer);
+        selectionMenuList.setFixedCellHeight((int) Config.TRAJECTORY_LAYER_PREFERRED_DIMENSION.getHeight());
+        selectionMenuList.setFixedCellWidth((int) Config.TRAJECTORY_LAYER_PREFERRED_DIMENSION.getWidth());
+        selectionMenuList.setBackground(Config.SELECTION_MENU_COLOR);
+        selectionMenuList.setFocusable(false);
+        selectionMenuList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                rowClicked(e.getPoint());
+            }
+        });
+
+        selectionMenuScrollPane = new JScrollPane(selectionMenuList);
         selectionMenuScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         selectionMenuScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
-    
+        selectionMenuScrollPane.getVerticalScrollBar().setUnitIncrement(selectionMenuList.getFixedCellHeight() / 2);
+
         renderSelectionMenuPanel();
-    
+
         add(selectionMenuScrollPane, BorderLayout.CENTER);
     }
-    
+
     /**
-     * Renders the selection menu panel by adding all existing trajectories.
+     * Updates the rows of the selection menu from the trajectories list.
      * 
-     * This method retrieves the list of trajectories, preserves their collapsed states, and adds
-     * each trajectory as a {@link TrajectoryLayer} to the selection menu panel. It also adds
-     * spacers between trajectory layers for better visual separation.
+     * Only rows that were added, removed or moved are reported to the list; the rows in view
+     * are repainted to reflect edits of names and states.
      */
     private void renderSelectionMenuPanel() {
-        // Store the collapsed states of existing TrajectoryLayers
-        ArrayList<Trajectory> trajectories = TrajectoriesList.getTrajectoriesList();
-        ArrayList<Boolean> collapsedStates = new ArrayList<>();
-        for (Trajectory tr : trajectories) {
-            for (int i = 0; i < selectionMenuPanel.getComponentCount(); i++) {
-                if (selectionMenuPanel.getComponent(i) instanceof TrajectoryLayer) {
-                    TrajectoryLayer layer = (TrajectoryLayer) selectionMenuPanel.getComponent(i);
-                    if (layer.getRelatedTrajectory().equals(tr)) {
-                        collapsedStates.add(layer.isCollapsed());
-                        break;
-                    }
-                }
+        selectionListModel.update();
+        updateActiveRows();
+        selectionMenuList.repaint();
+    }
+
+    /**
+     * Repaints the rows of the previously and currently active trajectory and control point.
+     */
+    private void updateActiveRows() {
+        Trajectory tr = ActiveEntities.getActiveTrajectory();
+        ControlPoint cp = ActiveEntities.getActiveControlPoint();
+        if (tr != shownActiveTrajectory) {
+            selectionListModel.fireRowChanged(shownActiveTrajectory);
+            selectionListModel.fireRowChanged(tr);
+            shownActiveTrajectory = tr;
+        }
+        if (cp != shownActiveControlPoint) {
+            selectionListModel.fireRowChanged(shownActiveControlPoint);
+            selectionListModel.fireRowChanged(cp);
+            shownActiveControlPoint = cp;
+        }
+    }
+
+    /**
+     * Performs the action of the row element at the clicked point.
+     * 
+     * @param p the clicked point in list coordinates
+     */
+    private void rowClicked(Point p) {
+        int index = selectionMenuList.locationToIndex(p);
+        if (index < 0) {
+            return;
+        }
+        Rectangle cell = selectionMenuList.getCellBounds(index, index);
+        if (cell == null || !cell.contains(p)) {
+            return;
+        }
+        Object row = selectionListModel.getElementAt(index);
+        selectionRowRenderer.prepareRow(selectionMenuList, index);
+        int x = p.x - cell.x;
+        int y = p.y - cell.y;
+
+        if (row instanceof Trajectory) {
+            Trajectory tr = (Trajectory) row;
+            TrajectoryLayer layer = selectionRowRenderer.getTrajectoryLayer();
+            TrajectoryLayer.Element element = layer.getElementAt(x, y);
+            if (element == TrajectoryLayer.Element.NAME) {
+                startNameEditing(tr, layer.getNameBounds(), cell);
+                return;
+            }
+            if (element == TrajectoryLayer.Element.COLLAPSE) {
+                selectionListModel.setCollapsed(tr, !selectionListModel.isCollapsed(tr));
+            } else {
+                layer.performAction(element);
             }
+        } else {
+            ControlPoint cp = (ControlPoint) row;
+            ControlPointLayer layer = selectionRowRenderer.getControlPointLayer();
+            ControlPointLayer.Element element = layer.getElementAt(x - layer.getX(), y - layer.getY());
+            if (element == ControlPointLayer.Element.NAME) {
+                Rectangle nameBounds = layer.getNameBounds();
+                nameBounds.translate(layer.getX(), layer.getY());
+                startNameEditing(cp, nameBounds, cell);
+                return;
+            }
+            layer.performAction(element);
         }
-    
-        // Clear existing components
-        selectionMenuPanel.removeAll();
-        selectionMenuPanel.setLayout(new GridBagLayout());
-        GridBagConstraints gbc = new GridBagConstraints();
-    
-        gbc.gridx = 0;
-        gbc.fill = GridBagConstraints.HORIZONTAL;
-        gbc.anchor = GridBagConstraints.NORTHWEST;
-        gbc.weightx = 1.0;
-    
-        // Add TrajectoryLayers to the selection menu
-        for (int i = 0; i < trajectories.size(); i++) {
-            Trajectory tr = trajectories.get(i);
-            TrajectoryLayer layer = new TrajectoryLayer(tr);
-    
-            // Restore the collapsed state if previously collapsed
-            if (i < collapsedStates.size()) {
-                if (collapsedStates.get(i)) {
-                    layer.collapse(); // Collapse the layer if it was previously collapsed
-                }
+        selectionListModel.fireRowChanged(row);
+        Utils.requestFocusInWindowFor(selectionMenuList);
+    }
+
+    /**
+     * Places a text field over the name of a row to edit it. The name is applied when
+     * editing is confirmed or the field loses focus.
+     * 
+     * @param row        the trajectory or control point being renamed
+     * @param nameBounds bounds of the name within the row
+     * @param cell       bounds of the row within the list
+     */
+    private void startNameEditing(Object row, Rectangle nameBounds, Rectangle cell) {
+        stopNameEditing();
+
+        JTextField editor = new JTextField(row instanceof Trajectory
+            ? ((Trajectory) row).getName() : ((ControlPoint) row).getName());
+        Rectangle bounds = new Rectangle(nameBounds);
+        bounds.translate(cell.x, cell.y);
+        bounds.grow(0, 2);
+        editor.setBounds(bounds);
+        editor.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                stopNameEditing();
             }
-    
-            gbc.gridy = i * 2;
-            selectionMenuPanel.add(layer, gbc);
-    
-            // Add spacer between trajectory layers except after the last one
-            if (!layer.isEmpty() && i < trajectories.size() - 1) {
-                gbc.gridy = i * 2 + 1;
-                gbc.insets = new Insets(0, 0, Config.SPACING_BETWEEN_TRAJECTORY_LAYERS, 0);
-                JPanel spacer = new JPanel();
-                spacer.setOpaque(false);
-                selectionMenuPanel.add(spacer, gbc);
+        });
+        editor.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                stopNameEditing();
+            }
+        });
+        editor.putClientProperty(SelectionPanel.class, row);
+
+        nameEditor = editor;
+        selectionMenuList.add(editor);
+        selectionMenuList.repaint(bounds);
+        editor.requestFocusInWindow();
+        editor.selectAll();
+    }
+
+    /**
+     * Applies the edited name, if any, and removes the name editor.
+     */
+    private void stopNameEditing() {
+        JTextField editor = nameEditor;
+        if (editor == null) {
+            return;
+        }
+        nameEditor = null;
+
+        Object row = editor.getClientProperty(SelectionPanel.class);
+        if (row instanceof Trajectory) {
+            Trajectory tr = (Trajectory) row;
+            if (!editor.getText().equals(tr.getName())) {
+                tr.setName(editor.getText());
+                TrajectoriesList.notifyTrajectoryStateEdited(tr);
+            }
+        } else {
+            ControlPoint cp = (ControlPoint) row;
+            if (!editor.getText().equals(cp.getName())) {
+                cp.setName(editor.getText());
+                if (cp == ActiveEntities.getActiveControlPoint()) {
+                    ActiveEntities.notifyActiveControlPointStateEdited();
+                } else {
+                    Trajectory owner = TrajectoriesList.getTrajectoryByControlPoint(cp);
+                    if (owner != null) {
+                        TrajectoriesList.notifyTrajectoryStateEdited(owner);
+                    }
+                }
             }
         }
-    
-        // Add glue to push components to the top
-        gbc.gridy = trajectories.size() * 2;
-        gbc.weighty = 1.0;
-        JPanel gluePanel = new JPanel();
-        gluePanel.setOpaque(false);
-        selectionMenuPanel.add(gluePanel, gbc);
-    
-        // Refresh the selection menu panel
-        selectionMenuPanel.revalidate();
-        selectionMenuPanel.repaint();
+
+        Rectangle bounds = editor.getBounds();
+        selectionMenuList.remove(editor);
+        selectionMenuList.repaint(bounds);
+        selectionListModel.fireRowChanged(row);
+        Utils.requestFocusInWindowFor(selectionMenuList);
     }
-    
+
     /**
      * Constructs the options bar panel that contains action buttons.
      * 
@@ -328,30 +460,38 @@ public class SelectionPanel extends JPanel implements ActiveEntitiesListener, Tr
         b.setMaximumSize(b.getPreferredSize());
     }
 
+    /**
+     * Requests the selection menu panel to be re-rendered once after the current
+     * batch of model events.
+     */
+    private void requestRender() {
+        Workspace.getDefault().getEventBus().coalesce(this, this::renderSelectionMenuPanel);
+    }
+
     // -=-=-=- LISTENER METHODS -=-=-=-=-
     
     /**
      * Handles changes to the active trajectory.
      * 
-     * Re-renders the selection menu panel to reflect the new active trajectory.
+     * Repaints the rows of the previous and the new active trajectory.
      * 
      * @param tr the updated {@link Trajectory}
      */
     @Override
     public void activeTrajectoryChanged(Trajectory tr) {
-        renderSelectionMenuPanel();
+        updateActiveRows();
     }
 
     /**
      * Handles changes to the active control point.
      * 
-     * Re-renders the selection menu panel to reflect the new active control point.
+     * Repaints the rows of the previous and the new active control point.
      * 
      * @param cp the updated {@link ControlPoint}
      */
     @Override
     public void activeControlPointChanged(ControlPoint cp) {
-        renderSelectionMenuPanel();
+        updateActiveRows();
     }
 
     /**
@@ -373,18 +513,18 @@ public class SelectionPanel extends JPanel implements ActiveEntitiesListener, Tr
      */
     @Override
     public void TrajectoryListChanged() {
-        renderSelectionMenuPanel();
+        requestRender();
     }
 
     /**
      * Handles edits to the state of the active trajectory.
      * 
-     * <strong>Note:</strong> Currently not implemented.
+     * Updates the selection menu, as control points may have been added or removed.
      * 
      * @param tr the {@link Trajectory} whose state was edited
      */
     @Override
     public void activeTrajectoryStateEdited(Trajectory tr) {
-
+        requestRender();
     }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package blitz.ui.application.panels.selectionPanel;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Rectangle;
+
+import javax.swing.BorderFactory;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.ListCellRenderer;
+import javax.swing.border.Border;
+
+import blitz.configs.Config;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.ui.application.panels.selectionPanel.selectionLayers.ControlPointLayer;
+import blitz.ui.application.panels.selectionPanel.selectionLayers.TrajectoryLayer;
+
+/**
+ * Renders the rows of a {@link SelectionListModel}.
+ *
+ * A single {@link TrajectoryLayer} and a single {@link ControlPointLayer} are
+ * reused for every row, so the number of components does not depend on the
+ * number of trajectories and control points. Control point rows are indented by
+ * a filler, as they were below their trajectory.
+ *
+ * @author Valery Rabchanka
+ */
+public class SelectionRowRenderer implements ListCellRenderer<Object> {
+
+    // -=-=-=- FIELDS -=-=-=-=-
+
+    private final SelectionListModel model;
+
+    private final TrajectoryLayer trajectoryLayer = new TrajectoryLayer();
+
+    private final ControlPointLayer controlPointLayer = new ControlPointLayer();
+
+    /**
+     * Indented row holding the {@link #controlPointLayer}.
+     */
+    private final JPanel controlPointRow = new JPanel(new BorderLayout());
+
+    /**
+     * Separates a trajectory from the rows of the previous one.
+     */
+    private final Border separatorBorder = BorderFactory.createMatteBorder(
+        Config.SELECTION_ROW_SEPARATOR_THICKNESS, 0, 0, 0, Config.SELECTION_MENU_COLOR);
+
+    // -=-=-=- CONSTRUCTORS -=-=-=-=-
+
+    /**
+     * Creates a renderer for the rows of the given model.
+     *
+     * @param model the model providing row numbers and collapse states
+     */
+    public SelectionRowRenderer(SelectionListModel model) {
+        this.model = model;
+
+        JPanel fillerPanel = new JPanel();
+        fillerPanel.setOpaque(false);
+        fillerPanel.setPreferredSize(Config.TRAJECTORY_LAYER_FILLER_PANEL_PREFERRED_DIMENSION);
+        controlPointRow.setBackground(Config.SELECTION_MENU_COLOR);
+        controlPointRow.add(fillerPanel, BorderLayout.WEST);
+        controlPointRow.add(controlPointLayer, BorderLayout.CENTER);
+    }
+
+    // -=-=-=- METHODS -=-=-=-=-
+
+    @Override
+    public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+            boolean isSelected, boolean cellHasFocus) {
+        if (value instanceof Trajectory) {
+            Trajectory tr = (Trajectory) value;
+            trajectoryLayer.setRelatedTrajectory(tr, model.getNumberAt(index), model.isCollapsed(tr));
+            trajectoryLayer.setBorder(index > 0 ? separatorBorder : null);
+            return trajectoryLayer;
+        }
+        controlPointLayer.setRelatedControlPoint((ControlPoint) value, model.getNumberAt(index));
+        return controlPointRow;
+    }
+
+    /**
+     * Configures and lays out the renderer for a row, so that the element at a
+     * position within it can be found.
+     *
+     * @param list  the list being rendered
+     * @param index the row index
+     * @return the laid out row component
+     */
+    public Component prepareRow(JList<?> list, int index) {
+        Rectangle cell = list.getCellBounds(index, index);
+        Component c = getListCellRendererComponent(list, model.getElementAt(index), index, false, false);
+        c.setBounds(0, 0, cell.width, cell.height);
+        layoutTree(c);
+        return c;
+    }
+
+    /**
+     * Lays out a component and all its descendants. Renderers are not part of a
+     * displayed hierarchy, so they are not validated by Swing.
+     */
+    private static void layoutTree(Component c) {
+        if (c instanceof Container) {
+            Container container = (Container) c;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layoutTree(child);
+            }
+        }
+    }
+
+    /**
+     * @return the layer rendering trajectory rows
+     */
+    public TrajectoryLayer getTrajectoryLayer() {
+        return trajectoryLayer;
+    }
+
+    /**
+     * @return the layer rendering control point rows, placed within its row
+     */
+    public ControlPointLayer getControlPointLayer() {
+        return controlPointLayer;
+    }
+
+}
@@ -16,41 +16,47 @@
 
 package blitz.ui.application.panels.selectionPanel.selectionLayers;
 
+import java.awt.Component;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.awt.event.FocusAdapter;
-import java.awt.event.FocusEvent;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-
-import javax.swing.ImageIcon;
+import java.awt.Rectangle;
+
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
-import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 
 import blitz.configs.Config;
 import blitz.models.active.ActiveEntities;
-import blitz.models.trajectories.trajectoriesList.TrajectoriesList;
 import blitz.models.trajectories.trajectoryComponents.ControlPoint;
-import blitz.services.Utils;
 
+/**
+ * Renderer of a control point row within the selection panel, configured for each
+ * painted row by {@link #setRelatedControlPoint(ControlPoint, int)}.
+ */
 public class ControlPointLayer extends JPanel{
 
     private ControlPoint relatedControlPoint;
     private JButton activeButton; // Set ControlPoint active
     private JButton lockButton; // Lock ControlPoint
-    private JLabel indexLabel; // Display trajectory's index in the trajectoriesList
+    private JLabel indexLabel; // Display ControlPoint's index in its trajectory
     private JLabel nameLabel; // Display name
-    private JTextField nameTextField; // Edit name
     private GridBagConstraints gbc;
 
     private final int INSETS_DEFAULT = 4;
 
-    public ControlPointLayer(ControlPoint cp) {
+    /**
+     * Clickable elements of the layer.
+     */
+    public enum Element {
+        ACTIVE,
+        NAME,
+        LOCK,
+        NONE
+    }
+
+    public ControlPointLayer() {
         setPreferredSize(Config.CONTROL_POINT_LAYER_PREFERRED_DIMENSIONS);
         setMaximumSize(Config.CONTROL_POINT_LAYER_PREFERRED_DIMENSIONS);
         setMinimumSize(Config.CONTROL_POINT_LAYER_PREFERRED_DIMENSIONS);
@@ -58,7 +64,6 @@ public class ControlPointLayer extends JPanel{
         setLayout(new GridBagLayout());
 
         gbc = new GridBagConstraints();
-        relatedControlPoint = cp;
 
         constructControlPointLayerPanel();
     }
@@ -74,80 +79,94 @@ public class ControlPointLayer extends JPanel{
         gbc.gridy = 0;
         activeButton = new JButton();
         configureLayerButton(activeButton, true);
-        setLayerButtonImage(activeButton, relatedControlPoint == ActiveEntities.getActiveControlPoint(), Config.PATH_TO_SELECTED_LAYER_SELECTION_ICON, Config.PATH_TO_UNSELECTED_LAYER_SELECTION_ICON);
         add(activeButton, gbc);
-        activeButton.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                ActiveEntities.setActiveControlPoint(relatedControlPoint);
-                Utils.requestFocusInWindowFor(activeButton);
-            }
-        });
 
         // Index
         gbc.gridx++;
-        gbc.insets = new Insets(INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT);
         gbc.insets = new Insets(5, 5, 5, 5);
-        indexLabel = new JLabel("" + (TrajectoriesList.getTrajectoryByControlPoint(relatedControlPoint).indexOf(relatedControlPoint) + 1));
+        indexLabel = new JLabel();
         add(indexLabel, gbc);
     
         // Name Label
         gbc.gridx++;
         gbc.insets = new Insets(INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT);
-        nameLabel = new JLabel(relatedControlPoint.getName());
+        nameLabel = new JLabel();
         nameLabel.setPreferredSize(Config.TRAJECTORY_LAYER_NAME_ELEMENT_PREFERRED_DIMENSION);
-        nameLabel.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                switchToTextField();
-            }
-        });
         add(nameLabel, gbc);
-    
-        // Name TextField
-        nameTextField = new JTextField(relatedControlPoint.getName());
-        nameTextField.setPreferredSize(Config.TRAJECTORY_LAYER_NAME_ELEMENT_PREFERRED_DIMENSION);
-        nameTextField.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                switchToLabel();
-                Utils.requestFocusInWindowFor(nameTextField);
-            }
-        });
-
-        // FocusAdapter for focus lost
-        nameTextField.addFocusListener(new FocusAdapter() {
-            @Override
-            public void focusLost(FocusEvent e) {
-                switchToLabel();
-                Utils.requestFocusInWindowFor(nameTextField);
-            }
-        });
-        nameTextField.setVisible(false);
-        add(nameTextField, gbc);
 
         // Lock Button
         gbc.gridx++;
-        gbc.insets = new Insets(INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT);
         lockButton = new JButton();
         configureLayerButton(lockButton, true);
-        setLayerButtonImage(lockButton, relatedControlPoint.isLocked(), Config.PATH_TO_LOCKED_LAYER_SELECTION_ICON, Config.PATH_TO_UNLOCKED_LAYER_SELECTION_ICON);
         add(lockButton, gbc);
-        lockButton.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                relatedControlPoint.setIsLocked(!relatedControlPoint.isLocked());
-                setLayerButtonImage(lockButton, relatedControlPoint.isLocked(), Config.PATH_TO_LOCKED_LAYER_SELECTION_ICON, Config.PATH_TO_UNLOCKED_LAYER_SELECTION_ICON);
-                ControlPoint activeCP = ActiveEntities.getActiveControlPoint();
-                if(activeCP != null && activeCP.equals(relatedControlPoint)){
+
+    }
+
+    /**
+     * Configures the layer to render the given control point.
+     * 
+     * @param cp    the {@link ControlPoint} to render
+     * @param index the one-based index of the control point in its trajectory
+     */
+    public void setRelatedControlPoint(ControlPoint cp, int index) {
+        relatedControlPoint = cp;
+        indexLabel.setText("" + index);
+        nameLabel.setText(cp.getName());
+        TrajectoryLayer.setLayerButtonImage(activeButton, cp == ActiveEntities.getActiveControlPoint(), Config.PATH_TO_SELECTED_LAYER_SELECTION_ICON, Config.PATH_TO_UNSELECTED_LAYER_SELECTION_ICON);
+        TrajectoryLayer.setLayerButtonImage(lockButton, cp.isLocked(), Config.PATH_TO_LOCKED_LAYER_SELECTION_ICON, Config.PATH_TO_UNLOCKED_LAYER_SELECTION_ICON);
+    }
+
+    /**
+     * Returns the element at a position within the layer, which must have been laid out.
+     * 
+     * @param x the x-coordinate relative to the layer
+     * @param y the y-coordinate relative to the layer
+     * @return the element at the position, or {@link Element#NONE}
+     */
+    public Element getElementAt(int x, int y) {
+        Component c = SwingUtilities.getDeepestComponentAt(this, x, y);
+        if (c == activeButton) return Element.ACTIVE;
+        if (c == nameLabel) return Element.NAME;
+        if (c == lockButton) return Element.LOCK;
+        return Element.NONE;
+    }
+
+    /**
+     * Performs the action of a clicked element on the related control point.
+     * Renaming is handled by the selection panel.
+     * 
+     * @param element the clicked element
+     */
+    public void performAction(Element element) {
+        ControlPoint cp = relatedControlPoint;
+        switch (element) {
+            case ACTIVE:
+                ActiveEntities.setActiveControlPoint(cp);
+                break;
+
+            case LOCK:
+                cp.setIsLocked(!cp.isLocked());
+                if (ActiveEntities.getActiveControlPoint() == cp) {
                     ActiveEntities.setActiveControlPoint(null);
                 }
-                Utils.requestFocusInWindowFor(lockButton);
-            }
-        });
+                break;
 
+            default:
+                break;
+        }
+    }
 
+    /**
+     * Returns the bounds of the name label within the layer.
+     * 
+     * @return the bounds of the name label
+     */
+    public Rectangle getNameBounds() {
+        return nameLabel.getBounds();
+    }
 
+    public ControlPoint getRelatedControlPoint() {
+        return relatedControlPoint;
     }
 
     private void configureLayerButton(JButton b, boolean isRegular){
@@ -162,30 +181,5 @@ public class ControlPointLayer extends JPanel{
         b.setFocusPainted(false);
         b.setMaximumSize(b.getPreferredSize());
     }
-
-    private void setLayerButtonImage(JButton b, Boolean condition, String path1, String path2){
-        ImageIcon image;
-        if(condition){
-            image = new ImageIcon(path1);
-        } else {
-            image = new ImageIcon(path2);
-        }
-        b.setIcon(image);
-    }
-
-    private void switchToTextField() {
-        nameLabel.setVisible(false);
-        nameTextField.setVisible(true);
-        nameTextField.requestFocusInWindow();
-        nameTextField.selectAll();
-    }
-
-    private void switchToLabel() {
-        relatedControlPoint.setName(nameTextField.getText());
-        nameLabel.setText(relatedControlPoint.getName());
-        nameLabel.setVisible(true);
-        nameTextField.setVisible(false);
-        Utils.requestFocusInWindowFor(nameTextField);
-    }
     
 }
@@ -16,48 +16,44 @@
 
 package blitz.ui.application.panels.selectionPanel.selectionLayers;
 
-import java.awt.BorderLayout;
+import java.awt.Component;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.awt.event.FocusAdapter;
-import java.awt.event.FocusEvent;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import java.util.ArrayList;
+import java.awt.Rectangle;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.swing.BoxLayout;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
-import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 
 import blitz.configs.Config;
 import blitz.models.active.ActiveEntities;
 import blitz.models.trajectories.Trajectory;
 import blitz.models.trajectories.trajectoriesList.TrajectoriesList;
-import blitz.models.trajectories.trajectoryComponents.ControlPoint;
 import blitz.models.trajectories.visibleTrajectories.VisibleTrajectories;
-import blitz.services.Utils;
 
 /**
- * Represents a layer for displaying and managing a trajectory within the selection panel.
+ * Represents the row of a trajectory within the selection panel.
  * 
- * This panel provides user interface components for interacting with a {@link Trajectory},
- * including buttons to activate, lock, move, and collapse the trajectory, labels to display
- * its index and name, and a text field for editing the trajectory's name. It also manages
- * a list of {@link ControlPointLayer} instances associated with the trajectory, allowing
- * users to interact with individual control points.
+ * The layer is a renderer: a single instance is configured for each trajectory
+ * row being painted by {@link #setRelatedTrajectory(Trajectory, int, boolean)}, so
+ * only visible rows are ever realized. It shows buttons to activate, hide, lock,
+ * move, and collapse the trajectory, and labels with its index and name. As a
+ * renderer receives no input itself, the selection panel locates the clicked
+ * element with {@link #getElementAt(int, int)} and runs it through
+ * {@link #performAction(Element)}.
  * 
  * <p>
  * Example usage:
  * <pre>
- *     Trajectory tr = new Trajectory(...);
- *     TrajectoryLayer trLayer = new TrajectoryLayer(tr);
- *     selectionPanel.add(trLayer);
+ *     TrajectoryLayer trLayer = new TrajectoryLayer();
+ *     trLayer.setRelatedTrajectory(tr, 1, false);
+ *     TrajectoryLayer.Element element = trLayer.getElementAt(x, y);
  * </pre>
  * </p>
  * 
@@ -68,25 +64,15 @@ public class TrajectoryLayer extends JPanel {
     // -=-=-=- FIELDS -=-=-=-=-
     
     /**
-     * The trajectory associated with this layer.
+     * Icons by path, shared by all layers.
      */
-    private Trajectory relatedTrajectory;
+    private static final Map<String, ImageIcon> ICONS = new HashMap<>();
 
     /**
-     * Panel that stores and displays the control point layers.
-     */
-    private JPanel controlPointsPanel; // Stores ControlPointLayers
-    
-    /**
-     * List of {@link ControlPointLayer} instances associated with this trajectory.
+     * The trajectory the layer is currently configured for.
      */
-    private ArrayList<ControlPointLayer> controlPointLayers;
+    private Trajectory relatedTrajectory;
 
-    /**
-     * Panel containing the trajectory's interactive elements (buttons and labels).
-     */
-    private JPanel trajectoryPanelElements;
-    
     /**
      * Button to set/show the trajectory as active.
      */
@@ -127,47 +113,44 @@ public class TrajectoryLayer extends JPanel {
      */
     private JLabel nameLabel; // Display name
     
-    /**
-     * Text field to edit the trajectory's name.
-     */
-    private JTextField nameTextField; // Edit name
-    
     /**
      * Constraints used for layout management of the trajectory panel elements.
      */
     private GridBagConstraints trLayerGBC;
 
     /**
-     * Flag indicating whether the control points are collapsed (hidden) or expanded (visible).
+     * Default insets for component spacing.
      */
-    private boolean isCollapsed;
-
+    private final int INSETS_DEFAULT = 4;
 
     /**
-     * Default insets for component spacing.
+     * Clickable elements of the layer.
      */
-    private final int INSETS_DEFAULT = 4;
+    public enum Element {
+        ACTIVE,
+        NAME,
+        VISIBILITY,
+        LOCK,
+        MOVE_UP,
+        MOVE_DOWN,
+        COLLAPSE,
+        NONE
+    }
 
     // -=-=-=- CONSTRUCTORS -=-=-=-=-
     
     /**
-     * Constructs a {@code TrajectoryLayer} panel for the specified trajectory.
-     * 
-     * Initializes the panel's layout, background color, and size. It sets up the trajectory's
-     * interactive elements and initializes the control points panel.
-     * 
-     * @param tr the {@link Trajectory} to associate with this layer
+     * Constructs a {@code TrajectoryLayer} renderer with configured size and layout.
      */
-    public TrajectoryLayer(Trajectory tr) {
-        setLayout(new BorderLayout());
+    public TrajectoryLayer() {
+        setLayout(new GridBagLayout());
+        setPreferredSize(Config.TRAJECTORY_LAYER_PREFERRED_DIMENSION);
+        setMinimumSize(Config.TRAJECTORY_LAYER_PREFERRED_DIMENSION);
+        setMaximumSize(Config.TRAJECTORY_LAYER_PREFERRED_DIMENSION);
+        setBackground(Config.TRAJECTORY_LAYER_BACKGROUND_COLOR);
     
         trLayerGBC = new GridBagConstraints();
-        relatedTrajectory = tr;
-    
-        isCollapsed = false;
-    
         constructTrajectoryPanelElements();
-        constructControlPointsPanel();
     }
     
 
@@ -176,18 +159,10 @@ public class TrajectoryLayer extends JPanel {
     /**
      * Constructs and adds the trajectory panel elements (buttons and labels) to the panel.
      * 
-     * This method sets up the active button, index label, name label and text field,
-     * visibility button, lock button, move up and move down buttons, and collapse button.
-     * It also configures their behaviors and appearances.
+     * This method sets up the active button, index label, name label, visibility button,
+     * lock button, move up and move down buttons, and collapse button.
      */
     private void constructTrajectoryPanelElements() {
-        trajectoryPanelElements = new JPanel(new GridBagLayout());
-        trajectoryPanelElements.setPreferredSize(Config.TRAJECTORY_LAYER_PREFERRED_DIMENSION);
-        trajectoryPanelElements.setMinimumSize(Config.TRAJECTORY_LAYER_PREFERRED_DIMENSION);
-        trajectoryPanelElements.setMaximumSize(Config.TRAJECTORY_LAYER_PREFERRED_DIMENSION);
-        trajectoryPanelElements.setBackground(Config.TRAJECTORY_LAYER_BACKGROUND_COLOR);
-        add(trajectoryPanelElements, BorderLayout.NORTH);
-
         trLayerGBC.anchor = GridBagConstraints.WEST;
         trLayerGBC.weightx = 1.0;
 
@@ -197,170 +172,145 @@ public class TrajectoryLayer extends JPanel {
         trLayerGBC.gridy = 0;
         activeButton = new JButton();
         configureLayerButton(activeButton, true);
-        setLayerButtonImage(activeButton, relatedTrajectory == ActiveEntities.getActiveTrajectory(), Config.PATH_TO_SELECTED_LAYER_SELECTION_ICON, Config.PATH_TO_UNSELECTED_LAYER_SELECTION_ICON);
-        trajectoryPanelElements.add(activeButton, trLayerGBC);
-        activeButton.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                ActiveEntities.setActiveTrajectory(relatedTrajectory);
-                Utils.requestFocusInWindowFor(activeButton);
-            }
-        });
+        add(activeButton, trLayerGBC);
 
         // Index
         trLayerGBC.gridx++;
-        trLayerGBC.insets = new Insets(INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT);
         trLayerGBC.insets = new Insets(5, 5, 5, 5);
-        indexLabel = new JLabel("" + (TrajectoriesList.getTrajectoryIndex(relatedTrajectory) + 1));
-        trajectoryPanelElements.add(indexLabel, trLayerGBC);
+        indexLabel = new JLabel();
+        add(indexLabel, trLayerGBC);
     
         // Name Label
         trLayerGBC.gridx++;
         trLayerGBC.insets = new Insets(INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT);
-        nameLabel = new JLabel(relatedTrajectory.getName());
+        nameLabel = new JLabel();
         nameLabel.setPreferredSize(Config.TRAJECTORY_LAYER_NAME_ELEMENT_PREFERRED_DIMENSION);
-        nameLabel.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                switchToTextField();
-            }
-        });
-        trajectoryPanelElements.add(nameLabel, trLayerGBC);
-    
-        // Name TextField
-        nameTextField = new JTextField(relatedTrajectory.getName());
-        nameTextField.setPreferredSize(Config.TRAJECTORY_LAYER_NAME_ELEMENT_PREFERRED_DIMENSION);
-        nameTextField.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                switchToLabel();
-                Utils.requestFocusInWindowFor(nameTextField);
-            }
-        });
-
-        // FocusAdapter for focus lost
-        nameTextField.addFocusListener(new FocusAdapter() {
-            @Override
-            public void focusLost(FocusEvent e) {
-                switchToLabel();
-                Utils.requestFocusInWindowFor(nameTextField);
-            }
-        });
-        nameTextField.setVisible(false);
-        trajectoryPanelElements.add(nameTextField, trLayerGBC);
+        add(nameLabel, trLayerGBC);
     
         // Visibility Button
         trLayerGBC.gridx++;
-        trLayerGBC.insets = new Insets(INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT);
         visibilityButton = new JButton();
         configureLayerButton(visibilityButton, true);
-        setLayerButtonImage(visibilityButton, relatedTrajectory.isVisible(), Config.PATH_TO_SHOWN_LAYER_SELECTION_ICON, Config.PATH_TO_HIDDEN_LAYER_SELECTION_ICON);
-        trajectoryPanelElements.add(visibilityButton, trLayerGBC);
-        visibilityButton.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                
-                relatedTrajectory.setIsVisible(!relatedTrajectory.isVisible());
-                
-                if (ActiveEntities.getActiveTrajectory() == getRelatedTrajectory()) {
-                    ActiveEntities.setActiveTrajectory(null);
-                }
-                    
-                setLayerButtonImage(visibilityButton, relatedTrajectory.isVisible(), Config.PATH_TO_SHOWN_LAYER_SELECTION_ICON, Config.PATH_TO_HIDDEN_LAYER_SELECTION_ICON);
-                VisibleTrajectories.notifyVisibleTrajectoriesChanged();
-                Utils.requestFocusInWindowFor(visibilityButton);
-            }
-        });
+        add(visibilityButton, trLayerGBC);
     
         // Lock Button
         trLayerGBC.gridx++;
-        trLayerGBC.insets = new Insets(INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT);
         lockButton = new JButton();
         configureLayerButton(lockButton, true);
-        setLayerButtonImage(lockButton, relatedTrajectory.isLocked(), Config.PATH_TO_LOCKED_LAYER_SELECTION_ICON, Config.PATH_TO_UNLOCKED_LAYER_SELECTION_ICON);
-        trajectoryPanelElements.add(lockButton, trLayerGBC);
-        lockButton.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                relatedTrajectory.setIsLocked(!relatedTrajectory.isLocked());
-                setLayerButtonImage(lockButton, relatedTrajectory.isLocked(), Config.PATH_TO_LOCKED_LAYER_SELECTION_ICON, Config.PATH_TO_UNLOCKED_LAYER_SELECTION_ICON);
-                if (ActiveEntities.getActiveTrajectory() == relatedTrajectory) {
-                    ActiveEntities.setActiveTrajectory(null);
-                }
-                Utils.requestFocusInWindowFor(lockButton);
-            }
-        });
-
+        add(lockButton, trLayerGBC);
 
         // Move Up & Down
         trLayerGBC.gridx++;
-        trLayerGBC.insets = new Insets(INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT);
         JPanel movePanel = new JPanel();
         movePanel.setLayout(new BoxLayout(movePanel, BoxLayout.Y_AXIS));
         movePanel.setOpaque(false);
-        trajectoryPanelElements.add(movePanel);        
+        add(movePanel, trLayerGBC);
 
         // Move Up
         moveUpButton = new JButton();
         configureLayerButton(moveUpButton, false);
-        moveUpButton.setIcon(new ImageIcon(Config.PATH_TO_MOVE_UP_LAYER_SELECTION_ICON));
+        moveUpButton.setIcon(getIcon(Config.PATH_TO_MOVE_UP_LAYER_SELECTION_ICON));
         movePanel.add(moveUpButton);
-        moveUpButton.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                TrajectoriesList.moveTrajectoryUp(relatedTrajectory);
-                Utils.requestFocusInWindowFor(moveUpButton);
-            }
-        });
     
         // Move Down
-        trLayerGBC.gridx++;
         moveDownButton = new JButton();
         configureLayerButton(moveDownButton, false);
-        moveDownButton.setIcon(new ImageIcon(Config.PATH_TO_MOVE_DOWN_LAYER_SELECTION_ICON));
+        moveDownButton.setIcon(getIcon(Config.PATH_TO_MOVE_DOWN_LAYER_SELECTION_ICON));
         movePanel.add(moveDownButton);
-        moveDownButton.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                TrajectoriesList.moveTrajectoryDown(relatedTrajectory);
-                Utils.requestFocusInWindowFor(moveDownButton);
-            }
-        });
     
         // Collapse Button
         trLayerGBC.gridx++;
-        trLayerGBC.insets = new Insets(INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT, INSETS_DEFAULT);
         collapseButton = new JButton();
         configureLayerButton(collapseButton, true);
-        setLayerButtonImage(collapseButton, true, Config.PATH_TO_COLLAPSE_LAYERS_SELECTION_ICON, null);
-        trajectoryPanelElements.add(collapseButton, trLayerGBC);
-        collapseButton.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                isCollapsed = !isCollapsed;
-                
-                // Toggle visibility of controlPointsPanel
-                controlPointsPanel.setVisible(!isCollapsed);
-                
-                // Optionally change the icon to indicate expanded/collapsed state
-                String iconPath = isCollapsed ? Config.PATH_TO_EXPAND_LAYERS_SELECTION_ICON : Config.PATH_TO_COLLAPSE_LAYERS_SELECTION_ICON;
-                setLayerButtonImage(collapseButton, true, iconPath, null);
-        
-                revalidate();
-                repaint();
-                Utils.requestFocusInWindowFor(collapseButton);
-            }
-        });
-    
+        add(collapseButton, trLayerGBC);
+    }
+
+    /**
+     * Configures the layer to render the given trajectory.
+     * 
+     * @param tr          the {@link Trajectory} to render
+     * @param index       the one-based index of the trajectory in the trajectories list
+     * @param isCollapsed whether the control points of the trajectory are hidden
+     */
+    public void setRelatedTrajectory(Trajectory tr, int index, boolean isCollapsed) {
+        relatedTrajectory = tr;
+        indexLabel.setText("" + index);
+        nameLabel.setText(tr.getName());
+        setLayerButtonImage(activeButton, tr == ActiveEntities.getActiveTrajectory(), Config.PATH_TO_SELECTED_LAYER_SELECTION_ICON, Config.PATH_TO_UNSELECTED_LAYER_SELECTION_ICON);
+        setLayerButtonImage(visibilityButton, tr.isVisible(), Config.PATH_TO_SHOWN_LAYER_SELECTION_ICON, Config.PATH_TO_HIDDEN_LAYER_SELECTION_ICON);
+        setLayerButtonImage(lockButton, tr.isLocked(), Config.PATH_TO_LOCKED_LAYER_SELECTION_ICON, Config.PATH_TO_UNLOCKED_LAYER_SELECTION_ICON);
+        setLayerButtonImage(collapseButton, isCollapsed, Config.PATH_TO_EXPAND_LAYERS_SELECTION_ICON, Config.PATH_TO_COLLAPSE_LAYERS_SELECTION_ICON);
     }
 
     /**
-     * Returns whether the control points are currently collapsed.
+     * Returns the element at a position within the layer. The layer must have been
+     * laid out at its row's size.
      * 
-     * @return {@code true} if the control points are collapsed, {@code false} otherwise
+     * @param x the x-coordinate relative to the layer
+     * @param y the y-coordinate relative to the layer
+     * @return the element at the position, or {@link Element#NONE}
      */
-    public boolean isCollapsed() {
-        return isCollapsed;
+    public Element getElementAt(int x, int y) {
+        Component c = SwingUtilities.getDeepestComponentAt(this, x, y);
+        if (c == activeButton) return Element.ACTIVE;
+        if (c == nameLabel) return Element.NAME;
+        if (c == visibilityButton) return Element.VISIBILITY;
+        if (c == lockButton) return Element.LOCK;
+        if (c == moveUpButton) return Element.MOVE_UP;
+        if (c == moveDownButton) return Element.MOVE_DOWN;
+        if (c == collapseButton) return Element.COLLAPSE;
+        return Element.NONE;
+    }
+
+    /**
+     * Performs the action of a clicked element on the related trajectory. Collapsing
+     * and renaming are handled by the selection panel.
+     * 
+     * @param element the clicked element
+     */
+    public void performAction(Element element) {
+        Trajectory tr = relatedTrajectory;
+        switch (element) {
+            case ACTIVE:
+                ActiveEntities.setActiveTrajectory(tr);
+                break;
+
+            case VISIBILITY:
+                tr.setIsVisible(!tr.isVisible());
+                if (ActiveEntities.getActiveTrajectory() == tr) {
+                    ActiveEntities.setActiveTrajectory(null);
+                }
+                VisibleTrajectories.notifyVisibleTrajectoriesChanged();
+                break;
+
+            case LOCK:
+                tr.setIsLocked(!tr.isLocked());
+                if (ActiveEntities.getActiveTrajectory() == tr) {
+                    ActiveEntities.setActiveTrajectory(null);
+                }
+                break;
+
+            case MOVE_UP:
+                TrajectoriesList.moveTrajectoryUp(tr);
+                break;
+
+            case MOVE_DOWN:
+                TrajectoriesList.moveTrajectoryDown(tr);
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Returns the bounds of the name label within the layer, where the name editor
+     * is placed.
+     * 
+     * @return the bounds of the name label
+     */
+    public Rectangle getNameBounds() {
+        return nameLabel.getBounds();
     }
 
     /**
@@ -390,130 +340,27 @@ public class TrajectoryLayer extends JPanel {
      * @param path1     the file path to the first image icon
      * @param path2     the file path to the second image icon
      */
-    private void setLayerButtonImage(JButton b, Boolean condition, String path1, String path2){
-        ImageIcon image;
-        if(condition){
-            image = new ImageIcon(path1);
-        } else {
-            image = new ImageIcon(path2);
-        }
-        b.setIcon(image);
+    static void setLayerButtonImage(JButton b, Boolean condition, String path1, String path2){
+        b.setIcon(getIcon(condition ? path1 : path2));
     }
-    
-    /**
-     * Constructs and adds the control points panel to the trajectory layer.
-     * 
-     * This method initializes the controlPointsPanel with a vertical box layout and populates it
-     * with {@link ControlPointLayer} instances corresponding to each control point in the trajectory.
-     * The panel's visibility is managed based on the collapsed state.
-     */
-    private void constructControlPointsPanel() {
-        // Filler Panel
-        JPanel fillerPanel = new JPanel();
-        fillerPanel.setOpaque(false);
-        fillerPanel.setPreferredSize(Config.TRAJECTORY_LAYER_FILLER_PANEL_PREFERRED_DIMENSION);
-        fillerPanel.setMinimumSize(Config.TRAJECTORY_LAYER_FILLER_PANEL_PREFERRED_DIMENSION);
-        fillerPanel.setMaximumSize(Config.TRAJECTORY_LAYER_FILLER_PANEL_PREFERRED_DIMENSION);
-        add(fillerPanel, BorderLayout.WEST);
-    
-        // Control Points Panel
-        controlPointsPanel = new JPanel();
-        controlPointsPanel.setLayout(new BoxLayout(controlPointsPanel, BoxLayout.Y_AXIS));
-        add(controlPointsPanel, BorderLayout.CENTER);
-    
-        controlPointLayers = new ArrayList<>();
-    
-        if (!isCollapsed) {
-            for (ControlPoint cp : relatedTrajectory.getAllControlPoints()) {
-                ControlPointLayer cpLayer = new ControlPointLayer(cp);
-                controlPointLayers.add(cpLayer);
-                controlPointsPanel.add(cpLayer);
-            }
-        }
-    }
-      
 
     /**
-     * Switches the display from the name label to the name text field for editing.
+     * Returns the icon at the given path, loading it only once.
      * 
-     * Makes the name label invisible and the text field visible, then requests focus on the text field.
+     * @param path the file path to the icon
+     * @return the icon
      */
-    private void switchToTextField() {
-        nameLabel.setVisible(false);
-        nameTextField.setVisible(true);
-        nameTextField.requestFocusInWindow();
-        nameTextField.selectAll();
+    static ImageIcon getIcon(String path) {
+        return ICONS.computeIfAbsent(path, ImageIcon::new);
     }
 
     /**
-     * Switches the display from the name text field back to the name label after editing.
-     * 
-     * Updates the trajectory's name with the text field's content, makes the text field invisible,
-     * and the name label visible. It also requests focus back to the text field.
-     */
-    private void switchToLabel() {
-        relatedTrajectory.setName(nameTextField.getText());
-        nameLabel.setText(relatedTrajectory.getName());
-        nameLabel.setVisible(true);
-        nameTextField.setVisible(false);
-        Utils.requestFocusInWindowFor(nameTextField);
-    }
-
-    /**
-     * Sets the index label to the specified index.
-     * 
-     * @param index the new index to display
-     */
-    public void setIndexLabel(int index) {
-        indexLabel.setText("" + index);
-    }
-
-    /**
-     * Returns the trajectory associated with this layer.
+     * Returns the trajectory the layer is currently configured for.
      * 
      * @return the {@link Trajectory} associated with this layer
      */
     public Trajectory getRelatedTrajectory(){
         return relatedTrajectory;
     }
-
-    /**
-     * Checks if the trajectory layer has no associated control points.
-     * 
-     * @return {@code true} if there are no control points, {@code false} otherwise
-     */
-    public boolean isEmpty() {
-        return controlPointLayers.isEmpty();
-    }
-
-    /**
-     * Collapses the control points panel, hiding all control points.
-     * 
-     * Sets the isCollapsed flag to {@code true}, hides the controlPointsPanel, updates the
-     * collapse button icon, and refreshes the panel's layout.
-     */
-    public void collapse() {
-        isCollapsed = true;
-        controlPointsPanel.setVisible(false);
-        String iconPath = Config.PATH_TO_EXPAND_LAYERS_SELECTION_ICON;
-        setLayerButtonImage(collapseButton, true, iconPath, null);
-        revalidate();
-        repaint();
-    }
-    
-    /**
-     * Expands the control points panel, showing all control points.
-     * 
-     * Sets the isCollapsed flag to {@code false}, shows the controlPointsPanel, updates the
-     * collapse button icon, and refreshes the panel's layout.
-     */
-    public void expand() {
-        isCollapsed = false;
-        controlPointsPanel.setVisible(true);
-        String iconPath = Config.PATH_TO_COLLAPSE_LAYERS_SELECTION_ICON;
-        setLayerButtonImage(collapseButton, true, iconPath, null);
-        revalidate();
-        repaint();
-    }
     
 }
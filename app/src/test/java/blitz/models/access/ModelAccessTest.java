@@ -0,0 +1,131 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link ModelAccess} locking.
+ *
+ * @author Valery Rabchanka
+ */
+class ModelAccessTest {
+
+    private final ModelAccess access = new ModelAccess();
+
+    /**
+     * Runs a write on another thread and returns whether it finished in time.
+     */
+    private boolean writeOnOtherThread(long timeoutMillis) throws InterruptedException {
+        boolean[] written = new boolean[1];
+        Thread thread = new Thread(() -> access.write(() -> written[0] = true));
+        thread.setDaemon(true);
+        thread.start();
+        thread.join(timeoutMillis);
+        return written[0];
+    }
+
+    private boolean writeOnOtherThread() throws InterruptedException {
+        return writeOnOtherThread(2000);
+    }
+
+    @Test
+    void writeIsReentrant() throws InterruptedException {
+        int[] depth = new int[1];
+
+        access.write(() -> access.write(() -> access.write(() -> depth[0] = 3)));
+
+        assertEquals(3, depth[0]);
+        assertTrue(writeOnOtherThread(), "the lock is released after the outermost write");
+    }
+
+    @Test
+    void nestedLockWriteReleasesOnTheOutermostUnlock() throws InterruptedException {
+        long outer = access.lockWrite();
+        long inner = access.lockWrite();
+        access.unlockWrite(inner);
+        try {
+            assertFalse(writeOnOtherThread(200), "the lock is still held by the outer write");
+        } finally {
+            access.unlockWrite(outer);
+        }
+        assertTrue(writeOnOtherThread());
+    }
+
+    @Test
+    void readInsideWriteSeesTheWrite() {
+        int[] value = new int[1];
+
+        access.write(() -> {
+            value[0] = 1;
+            assertEquals(1, (int) access.read(() -> value[0]));
+        });
+    }
+
+    @Test
+    void upgradingAReadToAWriteThrows() throws InterruptedException {
+        access.read(() -> {
+            assertThrows(IllegalStateException.class, () -> access.write(() -> { }));
+            assertThrows(IllegalStateException.class, access::lockWrite);
+            return null;
+        });
+
+        assertTrue(writeOnOtherThread(), "a rejected upgrade leaves the lock free");
+    }
+
+    @Test
+    void writeDoesNotBlockAnotherGuard() throws InterruptedException {
+        ModelAccess other = new ModelAccess();
+        boolean[] written = new boolean[1];
+
+        long stamp = access.lockWrite();
+        try {
+            Thread thread = new Thread(() -> other.write(() -> written[0] = true));
+            thread.start();
+            thread.join(2000);
+        } finally {
+            access.unlockWrite(stamp);
+        }
+        assertTrue(written[0]);
+    }
+
+    @Test
+    void readNeverObservesAHalfDoneWrite() throws InterruptedException {
+        int[] pair = new int[2];
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= 20000; i++) {
+                int value = i;
+                access.write(() -> {
+                    pair[0] = value;
+                    pair[1] = value;
+                });
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            assertTrue(access.read(() -> pair[0] == pair[1]));
+        }
+        writer.join();
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.calculations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import blitz.configs.Config;
+import blitz.models.trajectories.trajectoryComponents.FollowPoint;
+import blitz.services.CartesianCoordinate;
+
+/**
+ * Tests of {@link AbstractInterpolation#applyLookahead}.
+ *
+ * @author Valery Rabchanka
+ */
+class AbstractInterpolationTest {
+
+    private static final double MIN_SPEED = 10;
+    private static final double MAX_SPEED = 100;
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Follow points along the x axis at the given positions, curvatures and speeds.
+     */
+    private static ArrayList<FollowPoint> followPoints(double[] xs, double[] curvatures, double[] speeds) {
+        ArrayList<FollowPoint> followPoints = new ArrayList<>();
+        for (int i = 0; i < xs.length; i++) {
+            followPoints.add(new FollowPoint(new CartesianCoordinate(xs[i], 0), speeds[i], curvatures[i], null));
+        }
+        return followPoints;
+    }
+
+    private static double limit(double curvature) {
+        double speed = Math.sqrt(Config.SPEED_PLANNER_MAX_LATERAL_ACCELERATION / Math.abs(curvature));
+        return Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+    }
+
+    @Test
+    void matchesTheWindowMinimum() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 2 + random.nextInt(300);
+            double lookahead = random.nextDouble() * 20;
+            double[] xs = new double[n];
+            double[] curvatures = new double[n];
+            double[] speeds = new double[n];
+            for (int i = 0; i < n; i++) {
+                // Duplicate points and whole-inch spacings put some follow points on the window edge
+                xs[i] = i == 0 ? 0 : xs[i - 1] + (random.nextInt(4) == 0 ? random.nextInt(3) : random.nextDouble() * 3);
+                curvatures[i] = random.nextInt(3) == 0 ? 0 : (random.nextDouble() - 0.5) * 20;
+                speeds[i] = MIN_SPEED + random.nextDouble() * (MAX_SPEED - MIN_SPEED);
+            }
+            ArrayList<FollowPoint> followPoints = followPoints(xs, curvatures, speeds);
+
+            AbstractInterpolation.applyLookahead(followPoints, MIN_SPEED, MAX_SPEED, lookahead);
+
+            for (int i = 0; i < n; i++) {
+                double expected = speeds[i];
+                for (int j = i; j < n && xs[j] - xs[i] <= lookahead; j++) {
+                    expected = Math.min(expected, limit(curvatures[j]));
+                }
+                assertEquals(expected, followPoints.get(i).getSpeed(), EPSILON, "trial " + trial + ", point " + i);
+            }
+        }
+    }
+
+    @Test
+    void slowsDownAheadOfATurn() {
+        double[] xs = { 0, 1, 2, 3, 4, 5, 6 };
+        double[] curvatures = { 0, 0, 0, 0, 0, 1.5, 0 };
+        double[] speeds = { 100, 100, 100, 100, 100, 100, 0 };
+        ArrayList<FollowPoint> followPoints = followPoints(xs, curvatures, speeds);
+
+        AbstractInterpolation.applyLookahead(followPoints, MIN_SPEED, MAX_SPEED, 2);
+
+        double turn = limit(1.5);
+        double[] expected = { 100, 100, 100, turn, turn, turn, 0 };
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(expected[i], followPoints.get(i).getSpeed(), EPSILON, "point " + i);
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.calculations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import blitz.models.trajectories.trajectoryComponents.FollowPoint;
+import blitz.services.CartesianCoordinate;
+
+/**
+ * Tests of {@link DifferentialDrive}.
+ *
+ * @author Valery Rabchanka
+ */
+class DifferentialDriveTest {
+
+    private static final double TRACK_WIDTH = 12;
+    private static final double EPSILON = 1e-9;
+
+    private static DifferentialDrive drive(double speed, double curvature, double maxWheelSpeed) {
+        List<FollowPoint> followPoints = new ArrayList<>();
+        followPoints.add(new FollowPoint(new CartesianCoordinate(0, 0), speed, curvature, null));
+        return DifferentialDrive.of(followPoints, TRACK_WIDTH, maxWheelSpeed);
+    }
+
+    @Test
+    void straightPathDrivesBothWheelsAtCenterVelocity() {
+        DifferentialDrive drive = drive(50, 0, 100);
+
+        assertEquals(50, drive.getCenterVelocity(0), EPSILON);
+        assertEquals(50, drive.getLeftVelocity(0), EPSILON);
+        assertEquals(50, drive.getRightVelocity(0), EPSILON);
+    }
+
+    @Test
+    void turnWithinLimitIsNotScaled() {
+        // Left turn: the right wheel is the outer one, 50 * (1 + 0.1 * 6) = 80
+        DifferentialDrive drive = drive(50, 0.1, 100);
+
+        assertEquals(50, drive.getCenterVelocity(0), EPSILON);
+        assertEquals(20, drive.getLeftVelocity(0), EPSILON);
+        assertEquals(80, drive.getRightVelocity(0), EPSILON);
+    }
+
+    @Test
+    void outerWheelIsLimitedInBothDirectionsOfTurn() {
+        DifferentialDrive left = drive(100, 0.1, 80);
+        DifferentialDrive right = drive(100, -0.1, 80);
+
+        // The center velocity is scaled to 80 / 1.6 = 50, keeping the ratio of the wheels
+        assertEquals(50, left.getCenterVelocity(0), EPSILON);
+        assertEquals(80, left.getRightVelocity(0), EPSILON);
+        assertEquals(20, left.getLeftVelocity(0), EPSILON);
+        assertEquals(50, right.getCenterVelocity(0), EPSILON);
+        assertEquals(80, right.getLeftVelocity(0), EPSILON);
+        assertEquals(20, right.getRightVelocity(0), EPSILON);
+    }
+
+    @Test
+    void wheelSpinningBackwardsIsLimitedByItsMagnitude() {
+        // Tight turn: 1 - 0.5 * 6 = -2, so the inner wheel is the faster one, backwards
+        DifferentialDrive drive = drive(30, 0.5, 40);
+
+        assertEquals(10, drive.getCenterVelocity(0), EPSILON);
+        assertEquals(-20, drive.getLeftVelocity(0), EPSILON);
+        assertEquals(40, drive.getRightVelocity(0), EPSILON);
+    }
+
+    @Test
+    void reversingKeepsItsDirection() {
+        DifferentialDrive drive = drive(-100, 0.1, 80);
+
+        assertEquals(-50, drive.getCenterVelocity(0), EPSILON);
+        assertEquals(-20, drive.getLeftVelocity(0), EPSILON);
+        assertEquals(-80, drive.getRightVelocity(0), EPSILON);
+    }
+
+    @Test
+    void infiniteLimitNeverScales() {
+        DifferentialDrive drive = drive(1000, 1, Double.POSITIVE_INFINITY);
+
+        assertEquals(1000, drive.getCenterVelocity(0), EPSILON);
+        assertEquals(-5000, drive.getLeftVelocity(0), EPSILON);
+        assertEquals(7000, drive.getRightVelocity(0), EPSILON);
+    }
+
+    @Test
+    void noFollowPointsGiveNoVelocities() {
+        assertNull(DifferentialDrive.of(null, TRACK_WIDTH, 100));
+        assertNull(DifferentialDrive.of(new ArrayList<>(), TRACK_WIDTH, 100));
+    }
+
+    @Test
+    void rejectsNonPositiveArguments() {
+        assertThrows(IllegalArgumentException.class, () -> drive(50, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> drive(50, 0, Double.NaN));
+        assertThrows(IllegalArgumentException.class,
+            () -> DifferentialDrive.of(new ArrayList<>(), 0, 100));
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.calculations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import blitz.configs.Config;
+import blitz.models.calculations.splines.BezierSpline;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+
+/**
+ * Tests of {@link HeadingProfile} turn rate limiting.
+ *
+ * @author Valery Rabchanka
+ */
+class HeadingProfileTest {
+
+    private static final int SAMPLES = 2000;
+    private static final double EPSILON = 1e-6;
+
+    private final BezierSpline spline = new BezierSpline();
+
+    /**
+     * Control points of a straight segment of the given length along the x axis.
+     */
+    private static List<ControlPoint> segment(double length) {
+        return List.of(new ControlPoint("A", 0, 0, 5, 0, 5, 180), new ControlPoint("B", length, 0, 5, 0, 5, 180));
+    }
+
+    /**
+     * Returns the largest turn per unit of distance between neighbouring samples.
+     */
+    private double maxTurnRate(HeadingProfile profile, double length) {
+        double max = 0;
+        double previous = profile.headingAt(0, 0, 0);
+        for (int i = 1; i <= SAMPLES; i++) {
+            double fraction = (double) i / SAMPLES;
+            double heading = profile.headingAt(0, fraction, fraction);
+            double turn = Math.abs(Math.IEEEremainder(heading - previous, 360));
+            max = Math.max(max, turn / (length / SAMPLES));
+            previous = heading;
+        }
+        return max;
+    }
+
+    @Test
+    void turnThatFitsReachesItsKeyframe() {
+        List<ControlPoint> cps = segment(100);
+        cps.get(0).setHeading(0);
+        cps.get(1).setHeading(90);
+
+        HeadingProfile profile = HeadingProfile.of(cps, spline);
+
+        assertTrue(profile.hasKeyframes());
+        assertEquals(0, profile.headingAt(0, 0, 0), EPSILON);
+        assertEquals(90, profile.headingAtEnd(), EPSILON);
+        assertTrue(maxTurnRate(profile, 100) <= Config.HEADING_MAX_TURN_RATE * (1 + 1e-3));
+    }
+
+    @Test
+    void turnThatDoesNotFitIsCutShort() {
+        double length = 10;
+        List<ControlPoint> cps = segment(length);
+        cps.get(0).setHeading(0);
+        cps.get(1).setHeading(180);
+
+        HeadingProfile profile = HeadingProfile.of(cps, spline);
+
+        // The smoothstep peaks at 1.5 times its mean rate
+        double reachable = Config.HEADING_MAX_TURN_RATE * length / 1.5;
+        assertTrue(reachable < 180);
+        assertEquals(reachable, profile.headingAtEnd(), 1e-3);
+        assertTrue(maxTurnRate(profile, length) <= Config.HEADING_MAX_TURN_RATE * (1 + 1e-3));
+    }
+
+    @Test
+    void turnGoesTheShortWayAround() {
+        List<ControlPoint> cps = segment(100);
+        cps.get(0).setHeading(350);
+        cps.get(1).setHeading(20);
+
+        HeadingProfile profile = HeadingProfile.of(cps, spline);
+
+        for (int i = 0; i <= 10; i++) {
+            double heading = profile.headingAt(0, i / 10.0, i / 10.0);
+            assertTrue(heading >= 350 || heading <= 20, "heading " + heading);
+        }
+        assertEquals(20, profile.headingAtEnd(), EPSILON);
+    }
+
+    @Test
+    void pathWithoutKeyframesFacesItsTangent() {
+        List<ControlPoint> cps = List.of(new ControlPoint("A", 0, 0, 5, 90, 5, 270),
+            new ControlPoint("B", 0, 50, 5, 90, 5, 270));
+
+        HeadingProfile profile = HeadingProfile.of(cps, spline);
+
+        assertFalse(profile.hasKeyframes());
+        assertEquals(90, profile.headingAt(0, 0.5, 0.5), EPSILON);
+    }
+
+}
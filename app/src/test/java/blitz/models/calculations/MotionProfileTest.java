@@ -0,0 +1,183 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.calculations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import blitz.configs.Config;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.models.trajectories.trajectoryComponents.FollowPoint;
+
+/**
+ * Tests of {@link MotionProfile}.
+ *
+ * @author Valery Rabchanka
+ */
+class MotionProfileTest {
+
+    private static final double MAX_ACCELERATION = 120;
+    private static final double MAX_JERK = 600;
+    private static final double EPSILON = 1e-6;
+
+    /**
+     * Follow points along the x axis, related to {@code first} before index
+     * {@code split} and to {@code second} from it on.
+     */
+    private static List<FollowPoint> line(int n, double spacing, double speed, ControlPoint first,
+            ControlPoint second, int split) {
+        List<FollowPoint> followPoints = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            followPoints.add(new FollowPoint(i * spacing, 0, speed, i < split ? first : second));
+        }
+        return followPoints;
+    }
+
+    private static List<FollowPoint> line(int n, double spacing, double speed) {
+        ControlPoint cp = new ControlPoint("A");
+        return line(n, spacing, speed, cp, cp, n);
+    }
+
+    @Test
+    void startsAndEndsAtRest() {
+        MotionProfile profile = MotionProfile.of(line(400, 0.5, 100), MAX_ACCELERATION, MAX_JERK);
+
+        assertEquals(0, profile.getVelocity(0), EPSILON);
+        assertEquals(0, profile.getVelocity(profile.size() - 1), EPSILON);
+        assertEquals(100, profile.getVelocity(profile.size() / 2), EPSILON);
+    }
+
+    @Test
+    void accelerationStaysWithinLimit() {
+        MotionProfile profile = MotionProfile.of(line(400, 0.5, 100), MAX_ACCELERATION, MAX_JERK);
+
+        for (int i = 0; i < profile.size(); i++) {
+            assertTrue(Math.abs(profile.getAcceleration(i)) <= MAX_ACCELERATION + EPSILON,
+                "acceleration " + profile.getAcceleration(i) + " at " + i);
+        }
+    }
+
+    @Test
+    void jerkStaysWithinLimitWhileRampingUp() {
+        // Fine spacing, so the short ramp spans several follow points
+        MotionProfile profile = MotionProfile.of(line(2000, 0.05, 100), MAX_ACCELERATION, MAX_JERK);
+
+        // The acceleration grows from rest until it reaches its limit
+        int i = 0;
+        while (profile.getAcceleration(i + 1) > profile.getAcceleration(i)) {
+            double jerk = (profile.getAcceleration(i + 1) - profile.getAcceleration(i))
+                / (profile.getTime(i + 1) - profile.getTime(i));
+            assertTrue(jerk <= MAX_JERK * (1 + EPSILON), "jerk " + jerk + " at " + i);
+            i++;
+        }
+        assertTrue(i > 5, "the ramp spans several follow points");
+    }
+
+    @Test
+    void velocityStaysWithinSpeedLimits() {
+        ControlPoint cp = new ControlPoint("A");
+        List<FollowPoint> followPoints = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            followPoints.add(new FollowPoint(i * 0.5, 0, 150 < i && i < 250 ? 20 : 100, cp));
+        }
+
+        MotionProfile profile = MotionProfile.of(followPoints, MAX_ACCELERATION, MAX_JERK);
+
+        for (int i = 0; i < profile.size(); i++) {
+            double limit = Math.max(followPoints.get(i).getSpeed(), Config.MOTION_PROFILE_MIN_VELOCITY);
+            assertTrue(profile.getVelocity(i) <= limit + EPSILON, "velocity " + profile.getVelocity(i) + " at " + i);
+            assertTrue(Math.abs(profile.getAcceleration(i)) <= MAX_ACCELERATION + EPSILON,
+                "acceleration " + profile.getAcceleration(i) + " at " + i);
+        }
+    }
+
+    @Test
+    void timedControlPointIsReachedOnTime() {
+        ControlPoint start = new ControlPoint("A");
+        ControlPoint timed = new ControlPoint("B");
+        timed.setTime(10);
+
+        MotionProfile profile = MotionProfile.of(line(400, 0.5, 100, start, timed, 200), MAX_ACCELERATION, MAX_JERK);
+
+        assertEquals(10, profile.getTime(200), 10 * Config.MOTION_PROFILE_TIMING_TOLERANCE);
+    }
+
+    @Test
+    void unreachableArrivalTimeIsMetAsEarlyAsPossible() {
+        ControlPoint start = new ControlPoint("A");
+        ControlPoint timed = new ControlPoint("B");
+        MotionProfile untimed = MotionProfile.of(line(400, 0.5, 100, start, timed, 200), MAX_ACCELERATION, MAX_JERK);
+        timed.setTime(0.5);
+
+        MotionProfile profile = MotionProfile.of(line(400, 0.5, 100, start, timed, 200), MAX_ACCELERATION, MAX_JERK);
+
+        assertTrue(untimed.getTime(200) > 0.5);
+        assertEquals(untimed.getTime(200), profile.getTime(200), EPSILON);
+    }
+
+    @Test
+    void zeroLengthStepsKeepTheProfileFinite() {
+        ControlPoint cp = new ControlPoint("A");
+        List<FollowPoint> followPoints = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            followPoints.add(new FollowPoint(i, 0, i == 25 ? 5 : 100, cp));
+            if (i == 20 || i == 25) {
+                // A duplicate, with a lower speed at the second one
+                followPoints.add(new FollowPoint(i, 0, i == 25 ? 2 : 100, cp));
+            }
+        }
+
+        MotionProfile profile = MotionProfile.of(followPoints, MAX_ACCELERATION, MAX_JERK);
+
+        for (int i = 0; i < profile.size(); i++) {
+            assertTrue(Double.isFinite(profile.getVelocity(i)), "velocity at " + i);
+            assertTrue(Double.isFinite(profile.getAcceleration(i)), "acceleration at " + i);
+            assertTrue(Double.isFinite(profile.getTime(i)), "time at " + i);
+            if (i > 0) {
+                assertTrue(profile.getTime(i) >= profile.getTime(i - 1), "time decreases at " + i);
+            }
+        }
+        // The duplicates of points 20 and 25 follow them at indices 21 and 27
+        assertEquals(profile.getTime(20), profile.getTime(21), EPSILON);
+        assertEquals(profile.getTime(26), profile.getTime(27), EPSILON);
+        assertTrue(profile.getVelocity(26) <= 5 + EPSILON);
+        assertTrue(profile.getVelocity(27) <= 2 + EPSILON);
+    }
+
+    @Test
+    void needsTwoFollowPoints() {
+        assertNull(MotionProfile.of(null, MAX_ACCELERATION, MAX_JERK));
+        assertNull(MotionProfile.of(line(1, 0.5, 100), MAX_ACCELERATION, MAX_JERK));
+        assertNotNull(MotionProfile.of(line(2, 0.5, 100), MAX_ACCELERATION, MAX_JERK));
+    }
+
+    @Test
+    void rejectsNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class, () -> MotionProfile.of(line(10, 0.5, 100), 0, MAX_JERK));
+        assertThrows(IllegalArgumentException.class, () -> MotionProfile.of(line(10, 0.5, 100), MAX_ACCELERATION, -1));
+    }
+
+}
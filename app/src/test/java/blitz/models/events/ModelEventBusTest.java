@@ -0,0 +1,197 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link ModelEventBus} deduplication and batching.
+ *
+ * @author Valery Rabchanka
+ */
+class ModelEventBusTest {
+
+    private final List<String> delivered = new ArrayList<>();
+
+    private static void onEdt(Runnable task) throws InterruptedException, InvocationTargetException {
+        SwingUtilities.invokeAndWait(task);
+    }
+
+    @Test
+    void immediateBusDeliversEveryPost() {
+        ModelEventBus bus = new ModelEventBus(false);
+        Object listener = new Object();
+
+        bus.post(listener, ModelEvent.TRAJECTORIES_LIST_CHANGED, () -> delivered.add("a"));
+        bus.post(listener, ModelEvent.TRAJECTORIES_LIST_CHANGED, () -> delivered.add("b"));
+
+        assertEquals(List.of("a", "b"), delivered);
+    }
+
+    @Test
+    void batchDeliversEachKindOncePerListener() throws Exception {
+        ModelEventBus bus = new ModelEventBus(true);
+        Object first = new Object();
+        Object second = new Object();
+
+        onEdt(() -> {
+            bus.post(first, ModelEvent.ACTIVE_TRAJECTORY_STATE_EDITED, () -> delivered.add("first edited 1"));
+            bus.post(second, ModelEvent.ACTIVE_TRAJECTORY_STATE_EDITED, () -> delivered.add("second edited"));
+            bus.post(first, ModelEvent.ACTIVE_CONTROL_POINT_CHANGED, () -> delivered.add("first changed"));
+            bus.post(first, ModelEvent.ACTIVE_TRAJECTORY_STATE_EDITED, () -> delivered.add("first edited 2"));
+            assertEquals(List.of(), delivered);
+            bus.flush();
+        });
+
+        // The latest delivery of a kind wins, in the order the kind was first raised
+        assertEquals(List.of("first edited 2", "second edited", "first changed"), delivered);
+    }
+
+    @Test
+    void batchIsFlushedOnTheNextTurn() throws Exception {
+        ModelEventBus bus = new ModelEventBus(true);
+        Object listener = new Object();
+
+        onEdt(() -> {
+            for (int i = 0; i < 10; i++) {
+                bus.post(listener, ModelEvent.VISIBLE_TRAJECTORIES_CHANGED, () -> delivered.add("changed"));
+            }
+        });
+        onEdt(() -> { });
+
+        assertEquals(List.of("changed"), delivered);
+    }
+
+    @Test
+    void postsFromOtherThreadsAreBatchedOnTheEdt() throws Exception {
+        ModelEventBus bus = new ModelEventBus(true);
+        Object listener = new Object();
+        boolean[] onEdt = new boolean[1];
+        CountDownLatch edtHeld = new CountDownLatch(1);
+        CountDownLatch posted = new CountDownLatch(1);
+
+        // Hold the EDT so every hand-over is queued before the first one runs
+        SwingUtilities.invokeLater(() -> {
+            edtHeld.countDown();
+            try {
+                posted.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        edtHeld.await();
+        for (int i = 0; i < 10; i++) {
+            bus.post(listener, ModelEvent.ACTIVE_TRAJECTORY_STATE_EDITED, () -> {
+                delivered.add("edited");
+                onEdt[0] = SwingUtilities.isEventDispatchThread();
+            });
+        }
+        posted.countDown();
+        // One turn takes the hand-overs, the next flushes
+        onEdt(() -> { });
+        onEdt(() -> { });
+
+        assertEquals(List.of("edited"), delivered);
+        assertTrue(onEdt[0]);
+    }
+
+    @Test
+    void coalescedTaskRunsOnceAfterTheDeliveries() throws Exception {
+        ModelEventBus bus = new ModelEventBus(true);
+        Object listener = new Object();
+        Runnable rebuild = () -> bus.coalesce(listener, () -> delivered.add("rebuild"));
+
+        onEdt(() -> {
+            bus.post(listener, ModelEvent.TRAJECTORIES_LIST_CHANGED, () -> {
+                delivered.add("list");
+                rebuild.run();
+            });
+            bus.post(listener, ModelEvent.ACTIVE_TRAJECTORY_CHANGED, () -> {
+                delivered.add("active");
+                rebuild.run();
+            });
+            bus.flush();
+        });
+
+        assertEquals(List.of("list", "active", "rebuild"), delivered);
+    }
+
+    @Test
+    void postsDuringABatchGoToTheNextOne() throws Exception {
+        ModelEventBus bus = new ModelEventBus(true);
+        Object listener = new Object();
+        int[] batches = new int[1];
+        bus.addBatchListener(() -> batches[0]++);
+
+        onEdt(() -> {
+            bus.post(listener, ModelEvent.TRAJECTORIES_LIST_CHANGED, () -> {
+                delivered.add("list");
+                bus.post(listener, ModelEvent.VISIBLE_TRAJECTORIES_CHANGED, () -> delivered.add("visible"));
+            });
+            bus.flush();
+            assertEquals(List.of("list"), delivered);
+            assertEquals(1, batches[0]);
+        });
+        onEdt(() -> { });
+
+        assertEquals(List.of("list", "visible"), delivered);
+        assertEquals(2, batches[0]);
+    }
+
+    @Test
+    void removedListenerLosesItsPendingNotifications() throws Exception {
+        ModelEventBus bus = new ModelEventBus(true);
+        Object removed = new Object();
+        Object kept = new Object();
+
+        onEdt(() -> {
+            bus.post(removed, ModelEvent.TRAJECTORIES_LIST_CHANGED, () -> delivered.add("removed"));
+            bus.post(kept, ModelEvent.TRAJECTORIES_LIST_CHANGED, () -> delivered.add("kept"));
+            bus.removeListener(removed);
+            bus.flush();
+        });
+
+        assertEquals(List.of("kept"), delivered);
+    }
+
+    @Test
+    void failingListenerDoesNotStopTheBatch() throws Exception {
+        ModelEventBus bus = new ModelEventBus(true);
+
+        onEdt(() -> {
+            bus.post(new Object(), ModelEvent.TRAJECTORIES_LIST_CHANGED, () -> {
+                throw new IllegalStateException("Expected by the test");
+            });
+            bus.post(new Object(), ModelEvent.TRAJECTORIES_LIST_CHANGED, () -> delivered.add("second"));
+            bus.flush();
+        });
+
+        assertEquals(List.of("second"), delivered);
+    }
+
+}
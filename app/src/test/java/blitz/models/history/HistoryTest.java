@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.models.workspace.Workspace;
+
+/**
+ * Tests of {@link History}.
+ *
+ * @author Valery Rabchanka
+ */
+class HistoryTest {
+
+    private final Workspace workspace;
+    private final History history;
+
+    HistoryTest() {
+        ArrayList<Trajectory> trajectories = new ArrayList<>();
+        for (String name : new String[]{"First", "Second"}) {
+            Trajectory tr = new Trajectory(name);
+            tr.addControlPoint(new ControlPoint("A", 0, 0));
+            tr.addControlPoint(new ControlPoint("B", 10, 0));
+            trajectories.add(tr);
+        }
+        workspace = new Workspace(trajectories);
+        history = workspace.getHistory();
+    }
+
+    private ControlPoint controlPoint(int trajectory, int index) {
+        return workspace.getTrajectoryByIndex(trajectory).getControlPoint(index);
+    }
+
+    private void moveAndCommit(double x) {
+        controlPoint(0, 0).setX(x);
+        history.commit();
+    }
+
+    @Test
+    void undoAndRedoRestoreEdits() {
+        moveAndCommit(5);
+        moveAndCommit(7);
+
+        assertTrue(history.undo());
+        assertEquals(5, controlPoint(0, 0).getX(), 0);
+        assertTrue(history.undo());
+        assertEquals(0, controlPoint(0, 0).getX(), 0);
+        assertFalse(history.undo());
+
+        assertTrue(history.redo());
+        assertEquals(5, controlPoint(0, 0).getX(), 0);
+        assertTrue(history.redo());
+        assertEquals(7, controlPoint(0, 0).getX(), 0);
+        assertFalse(history.redo());
+    }
+
+    @Test
+    void unchangedStateIsNotCommitted() {
+        int size = history.size();
+
+        assertFalse(history.commit());
+        assertEquals(size, history.size());
+    }
+
+    @Test
+    void unchangedNodesAreShared() {
+        moveAndCommit(5);
+
+        WorkspaceSnapshot before = history.getState(0);
+        WorkspaceSnapshot after = history.getState(1);
+        assertNotSame(before.getTrajectories().get(0), after.getTrajectories().get(0));
+        assertSame(before.getTrajectories().get(1), after.getTrajectories().get(1));
+        assertSame(before.getTrajectories().get(0).getControlPoints().get(1),
+            after.getTrajectories().get(0).getControlPoints().get(1));
+    }
+
+    @Test
+    void gestureIsUndoneAtOnce() {
+        int size = history.size();
+
+        history.beginGesture();
+        for (int x = 1; x <= 5; x++) {
+            moveAndCommit(x);
+        }
+        history.endGesture();
+
+        assertEquals(size + 1, history.size());
+        assertTrue(history.undo());
+        assertEquals(0, controlPoint(0, 0).getX(), 0);
+        assertTrue(history.redo());
+        assertEquals(5, controlPoint(0, 0).getX(), 0);
+    }
+
+    @Test
+    void newEditDropsTheRedoableEntries() {
+        moveAndCommit(5);
+        history.undo();
+
+        moveAndCommit(3);
+
+        assertFalse(history.canRedo());
+        assertTrue(history.undo());
+        assertEquals(0, controlPoint(0, 0).getX(), 0);
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import blitz.models.history.ControlPointSnapshot;
+import blitz.models.history.WorkspaceSnapshot;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.models.workspace.Workspace;
+
+/**
+ * Tests of {@link EditJournal} recovery.
+ *
+ * @author Valery Rabchanka
+ */
+class EditJournalTest {
+
+    private static final String LOG_FILE_NAME = "edits.log";
+    private static final int HEADER_BYTES = 16;
+    private static final int CLEAN_FLAG_OFFSET = 12;
+    private static final int RECORD_HEADER_BYTES = 12;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Journals a trajectory of three control points at x = 0, 10 and 20, then
+     * moves each of them to x = 100, 101 and 102 in separate history entries,
+     * each written as one record.
+     */
+    private void journalEdits(boolean crash) throws IOException {
+        Trajectory tr = new Trajectory("Path");
+        tr.addControlPoint(new ControlPoint("A", 0, 0));
+        tr.addControlPoint(new ControlPoint("B", 10, 0));
+        tr.addControlPoint(new ControlPoint("C", 20, 0));
+        ArrayList<Trajectory> trajectories = new ArrayList<>();
+        trajectories.add(tr);
+        Workspace workspace = new Workspace(trajectories);
+
+        EditJournal journal = new EditJournal(directory);
+        assertTrue(journal.tryLock());
+        journal.start(workspace.getHistory());
+        for (int i = 0; i < 3; i++) {
+            tr.getControlPoint(i).setX(100 + i);
+            workspace.getHistory().commit();
+        }
+        journal.close();
+
+        if (crash) {
+            try (FileChannel channel = openLog()) {
+                channel.write(ByteBuffer.allocate(4).putInt(0, 0), CLEAN_FLAG_OFFSET);
+            }
+        }
+    }
+
+    private FileChannel openLog() throws IOException {
+        return FileChannel.open(directory.resolve(LOG_FILE_NAME), StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * @return the offset of the given record of the log
+     */
+    private long recordOffset(FileChannel channel, int index) throws IOException {
+        long offset = HEADER_BYTES;
+        ByteBuffer length = ByteBuffer.allocate(4);
+        for (int i = 0; i < index; i++) {
+            channel.read(length.clear(), offset);
+            offset += RECORD_HEADER_BYTES + length.getInt(0);
+        }
+        return offset;
+    }
+
+    private WorkspaceSnapshot recover() {
+        EditJournal journal = new EditJournal(directory);
+        assertTrue(journal.tryLock());
+        try {
+            return journal.recover();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private static void assertXs(WorkspaceSnapshot recovered, double... xs) {
+        assertNotNull(recovered);
+        List<ControlPointSnapshot> controlPoints = recovered.getTrajectories().get(0).getControlPoints();
+        assertEquals(xs.length, controlPoints.size());
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(xs[i], controlPoints.get(i).getX(), 0, "control point " + i);
+        }
+    }
+
+    @Test
+    void cleanShutdownLeavesNothingToRecover() throws IOException {
+        journalEdits(false);
+
+        assertNull(recover());
+    }
+
+    @Test
+    void crashRecoversEveryEdit() throws IOException {
+        journalEdits(true);
+
+        assertXs(recover(), 100, 101, 102);
+    }
+
+    @Test
+    void truncatedRecordIsDropped() throws IOException {
+        journalEdits(true);
+        try (FileChannel channel = openLog()) {
+            channel.truncate(recordOffset(channel, 2) + RECORD_HEADER_BYTES + 1);
+        }
+
+        assertXs(recover(), 100, 101, 20);
+    }
+
+    @Test
+    void corruptRecordStopsReplay() throws IOException {
+        journalEdits(true);
+        try (FileChannel channel = openLog()) {
+            long payload = recordOffset(channel, 1) + RECORD_HEADER_BYTES;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, payload + 9);
+            channel.write(b.put(0, (byte) ~b.get(0)).clear(), payload + 9);
+        }
+
+        // The intact record after the corrupt one is not applied either
+        assertXs(recover(), 100, 10, 20);
+    }
+
+    @Test
+    void directoryIsLockedByOneInstance() {
+        EditJournal first = new EditJournal(directory);
+        EditJournal second = new EditJournal(directory);
+        try {
+            assertTrue(first.tryLock());
+            assertFalse(second.tryLock());
+            assertThrows(IllegalStateException.class, second::recover);
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+
+}
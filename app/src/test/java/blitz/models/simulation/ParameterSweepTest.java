@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import blitz.models.simulation.ParameterSweep.Outcome;
+import blitz.models.simulation.ParameterSweep.Parameters;
+import blitz.models.simulation.ParameterSweep.Ranking;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.models.workspace.Workspace;
+
+/**
+ * Tests of {@link ParameterSweep} on a seeded sample of 486 parameter sets.
+ *
+ * @author Valery Rabchanka
+ */
+class ParameterSweepTest {
+
+    private static final Parameters LOWER = new Parameters(0.3, 0, 60, 0, 0.05);
+    private static final Parameters UPPER = new Parameters(3, 60, 127, 0.2, 1);
+    private static final long SEED = 42;
+
+    /**
+     * An S-shaped trajectory of four control points.
+     */
+    private static Trajectory trajectory() {
+        Trajectory tr = new Trajectory("Path");
+        tr.addControlPoint(new ControlPoint("A", 0, 0, 15, 0, 15, 180));
+        tr.addControlPoint(new ControlPoint("B", 48, 0, 15, 45, 15, 225));
+        tr.addControlPoint(new ControlPoint("C", 48, 48, 15, 135, 15, 315));
+        tr.addControlPoint(new ControlPoint("D", -24, 60, 15, 180, 15, 0));
+        tr.setMinBentRate(0);
+        tr.setMaxBentRate(0.5);
+        tr.setMinSpeed(20);
+        return tr;
+    }
+
+    private static List<Parameters> sample() {
+        return ParameterSweep.sample(LOWER, UPPER, 520, SEED);
+    }
+
+    private static double metric(Ranking ranking, Outcome o) {
+        switch (ranking) {
+            case PATH_TIME:
+                return o.getPathTime();
+            case TRACKING_ERROR:
+                return o.getTrackingError();
+            default:
+                return o.getNumFollowPoints();
+        }
+    }
+
+    @Test
+    void sampleIsRepeatable() {
+        List<Parameters> first = sample();
+        List<Parameters> second = sample();
+
+        // Draws with a minimum above the maximum are skipped
+        assertEquals(486, first.size());
+        assertEquals(first.toString(), second.toString());
+        for (Parameters p : first) {
+            assertTrue(p.isValid(), p.toString());
+        }
+    }
+
+    @Test
+    void ranksEverySetInOrder() throws InterruptedException {
+        Trajectory tr = trajectory();
+        List<Parameters> sets = sample();
+
+        for (Ranking ranking : Ranking.values()) {
+            ParameterSweep sweep = ParameterSweep.start(tr, sets, ranking, null);
+            List<Outcome> ranked = sweep.getRanked();
+
+            assertTrue(sweep.isDone());
+            assertEquals(sets.size(), sweep.getCompleted());
+            assertEquals(sets.size(), ranked.size());
+            assertTrue(ranked.get(0).isCompleted(), ranking + " ranks a completed run first");
+            for (int i = 1; i < ranked.size(); i++) {
+                Outcome previous = ranked.get(i - 1);
+                Outcome o = ranked.get(i);
+                assertFalse(o.isCompleted() && !previous.isCompleted(), ranking + " ranks completed runs first, at " + i);
+                if (o.isCompleted() == previous.isCompleted()) {
+                    assertTrue(metric(ranking, previous) <= metric(ranking, o), ranking + " order at " + i);
+                }
+            }
+            assertSame(ranked.get(0), sweep.getBest());
+        }
+    }
+
+    @Test
+    void rankingIsRepeatable() throws InterruptedException {
+        Trajectory tr = trajectory();
+        List<Parameters> sets = sample();
+
+        List<Outcome> first = ParameterSweep.start(tr, sets, Ranking.TRACKING_ERROR, null).getRanked();
+        List<Outcome> second = ParameterSweep.start(tr, sets, Ranking.TRACKING_ERROR, null).getRanked();
+
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).toString(), second.get(i).toString(), "outcome " + i);
+        }
+    }
+
+    @Test
+    void sweepLeavesTheTrajectoryUnchanged() throws InterruptedException {
+        Trajectory tr = trajectory();
+        String before = Parameters.of(tr).toString();
+
+        ParameterSweep.start(tr, sample(), Ranking.PATH_TIME, null).getBest();
+
+        assertEquals(before, Parameters.of(tr).toString());
+    }
+
+    @Test
+    void workersDoNotWaitForTheWorkspace() throws InterruptedException {
+        Workspace workspace = new Workspace();
+        Trajectory tr = trajectory();
+        workspace.addTrajectory(tr);
+
+        // The sweep snapshots the trajectory within the write, then runs while it is held
+        long stamp = workspace.getAccess().lockWrite();
+        try {
+            ParameterSweep sweep = ParameterSweep.start(tr, sample().subList(0, 20), Ranking.PATH_TIME, null);
+            for (int i = 0; i < 300 && !sweep.isDone(); i++) {
+                Thread.sleep(100);
+            }
+            assertTrue(sweep.isDone(), "the sweep finished while the workspace was locked");
+        } finally {
+            workspace.getAccess().unlockWrite(stamp);
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import blitz.models.calculations.MotionProfile;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.models.trajectories.trajectoryComponents.FollowPoint;
+
+/**
+ * Tests of {@link PoseTable} resampling.
+ *
+ * @author Valery Rabchanka
+ */
+class PoseTableTest {
+
+    private static final double TIME_STEP = 0.01;
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Follow points along an L: 40 units up the x axis, then 30 units up the y axis.
+     */
+    private static List<FollowPoint> path() {
+        ControlPoint cp = new ControlPoint("A");
+        List<FollowPoint> followPoints = new ArrayList<>();
+        for (int i = 0; i <= 40; i++) {
+            followPoints.add(new FollowPoint(i, 0, 60, cp));
+        }
+        for (int i = 1; i <= 30; i++) {
+            followPoints.add(new FollowPoint(40, i, 60, cp));
+        }
+        return followPoints;
+    }
+
+    private static double[] poseAt(PoseTable table, double time) {
+        double[] pose = new double[PoseTable.POSE_SIZE];
+        table.poseAt(time, pose);
+        return pose;
+    }
+
+    @Test
+    void firstSampleIsTheStartOfThePath() {
+        PoseTable table = PoseTable.of(path(), TIME_STEP);
+
+        double[] pose = poseAt(table, 0);
+        assertEquals(0, pose[PoseTable.X], EPSILON);
+        assertEquals(0, pose[PoseTable.Y], EPSILON);
+    }
+
+    @Test
+    void lastSampleIsTheEndOfThePath() {
+        PoseTable table = PoseTable.of(path(), TIME_STEP);
+
+        double[] pose = poseAt(table, table.getDuration());
+        assertEquals(40, pose[PoseTable.X], EPSILON);
+        assertEquals(30, pose[PoseTable.Y], EPSILON);
+    }
+
+    @Test
+    void timesOutsideThePathAreClampedToItsEnds() {
+        PoseTable table = PoseTable.of(path(), TIME_STEP);
+
+        double[] before = poseAt(table, -1);
+        double[] after = poseAt(table, table.getDuration() + 1);
+        assertEquals(0, before[PoseTable.X], EPSILON);
+        assertEquals(0, before[PoseTable.Y], EPSILON);
+        assertEquals(40, after[PoseTable.X], EPSILON);
+        assertEquals(30, after[PoseTable.Y], EPSILON);
+    }
+
+    @Test
+    void durationIsTheEndOfTheProfile() {
+        // A step that does not divide the duration leaves a shorter last interval
+        double step = 0.07;
+        PoseTable table = PoseTable.of(path(), step);
+        double duration = MotionProfile.of(path()).getDuration();
+
+        assertTrue(duration > 0);
+        assertEquals(duration, table.getDuration(), EPSILON);
+        assertTrue((table.getNumSamples() - 2) * step < duration);
+        assertTrue((table.getNumSamples() - 1) * step >= duration);
+
+        double[] last = new double[PoseTable.POSE_SIZE];
+        table.sampleAt(table.getNumSamples() - 1, last);
+        assertEquals(40, last[PoseTable.X], EPSILON);
+        assertEquals(30, last[PoseTable.Y], EPSILON);
+
+        double[] almost = poseAt(table, duration - 1e-9);
+        assertEquals(40, almost[PoseTable.X], 1e-3);
+        assertEquals(30, almost[PoseTable.Y], 1e-3);
+    }
+
+    @Test
+    void nearestTimeOfTheEndsIsTheirTime() {
+        PoseTable table = PoseTable.of(path(), TIME_STEP);
+
+        assertEquals(0, table.nearestTime(-5, 0), EPSILON);
+        assertEquals(table.getDuration(), table.nearestTime(40, 50), EPSILON);
+    }
+
+    @Test
+    void needsTwoFollowPointsAndAPositiveTimeStep() {
+        assertNull(PoseTable.of((List<FollowPoint>) null, TIME_STEP));
+        assertNull(PoseTable.of(path().subList(0, 1), TIME_STEP));
+        assertThrows(IllegalArgumentException.class, () -> PoseTable.of(path(), 0));
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import blitz.configs.Config;
+import blitz.models.calculations.MotionProfile;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+import blitz.models.trajectories.trajectoryComponents.FollowPoint;
+import blitz.services.CartesianCoordinate;
+
+/**
+ * Tests of {@link PurePursuitSimulator} on a straight line.
+ *
+ * @author Valery Rabchanka
+ */
+class PurePursuitSimulatorTest {
+
+    private static final double TRACK_WIDTH = 12;
+    private static final double MAX_WHEEL_SPEED = 80;
+
+    /**
+     * Follow points every half unit along 100 units of the x axis.
+     */
+    private static List<FollowPoint> line() {
+        ControlPoint cp = new ControlPoint("A");
+        List<FollowPoint> followPoints = new ArrayList<>();
+        for (int i = 0; i <= 200; i++) {
+            followPoints.add(new FollowPoint(new CartesianCoordinate(i * 0.5, 0), 60, 0, 0, cp));
+        }
+        return followPoints;
+    }
+
+    private static PurePursuitSimulator simulator(List<FollowPoint> followPoints) {
+        return PurePursuitSimulator.of(MotionProfile.of(followPoints), TRACK_WIDTH, MAX_WHEEL_SPEED,
+            Config.SIMULATION_MAX_WHEEL_ACCELERATION);
+    }
+
+    @Test
+    void straightLineIsTrackedToItsEnd() {
+        PurePursuitSimulator simulator = simulator(line());
+
+        PurePursuitSimulator.Result result = simulator.run();
+
+        assertTrue(result.isCompleted(), result.toString());
+        assertEquals(0, result.getMaxCrossTrackError(), 1e-9);
+        assertEquals(0, result.getRmsCrossTrackError(), 1e-9);
+    }
+
+    @Test
+    void keyframedHeadingsDoNotTurnTheStart() {
+        // A holonomic robot facing across the line still drives along it
+        ControlPoint cp = new ControlPoint("A");
+        List<FollowPoint> followPoints = new ArrayList<>();
+        for (int i = 0; i <= 200; i++) {
+            followPoints.add(new FollowPoint(new CartesianCoordinate(i * 0.5, 0), 60, 0, 90, cp));
+        }
+
+        PurePursuitSimulator.Result result = simulator(followPoints).run();
+
+        assertTrue(result.isCompleted(), result.toString());
+        assertEquals(0, result.getMaxCrossTrackError(), 1e-9);
+    }
+
+    @Test
+    void straightLineTakesAboutTheProfiledTime() {
+        PurePursuitSimulator simulator = simulator(line());
+
+        PurePursuitSimulator.Result result = simulator.run();
+
+        // The wheel loops lag the profile a little, and the run ends within the tolerance of the end
+        double duration = simulator.getProfiledDuration();
+        assertTrue(result.getCompletionTime() > duration / 2, result.toString());
+        assertTrue(result.getCompletionTime() < duration * 1.5, result.toString());
+    }
+
+    @Test
+    void shorterStepsConvergeToTheSameRun() {
+        PurePursuitSimulator simulator = simulator(line());
+
+        PurePursuitSimulator.Result coarse = simulator.run(Config.SIMULATION_LOOKAHEAD,
+            Config.SIMULATION_VELOCITY_GAIN, 0.01);
+        PurePursuitSimulator.Result fine = simulator.run(Config.SIMULATION_LOOKAHEAD,
+            Config.SIMULATION_VELOCITY_GAIN, 0.001);
+
+        assertTrue(coarse.isCompleted());
+        assertTrue(fine.isCompleted());
+        assertEquals(fine.getCompletionTime(), coarse.getCompletionTime(), 0.05);
+    }
+
+    @Test
+    void needsAProfileAndPositiveLimits() {
+        assertNull(PurePursuitSimulator.of(null, TRACK_WIDTH, MAX_WHEEL_SPEED, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> PurePursuitSimulator.of(MotionProfile.of(line()), 0, MAX_WHEEL_SPEED, 1));
+        assertThrows(IllegalArgumentException.class, () -> simulator(line()).run(0, 1, 0.01));
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 Valery Rabchanka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package blitz.models.workspace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import blitz.models.access.ModelAccess;
+import blitz.models.trajectories.Trajectory;
+import blitz.models.trajectories.trajectoryComponents.ControlPoint;
+
+/**
+ * Tests of {@link Workspace} isolation.
+ *
+ * @author Valery Rabchanka
+ */
+class WorkspaceTest {
+
+    @Test
+    void workspacesKeepTheirOwnTrajectories() {
+        Workspace a = new Workspace();
+        Workspace b = new Workspace();
+        Trajectory tr = new Trajectory("Path");
+
+        a.addTrajectory(tr);
+
+        assertTrue(a.contains(tr));
+        assertFalse(b.contains(tr));
+        assertFalse(Workspace.getDefault().contains(tr));
+        assertEquals(0, b.getTrajectoriesList().size());
+    }
+
+    @Test
+    void listenersAreNotifiedByTheirWorkspaceOnly() {
+        Workspace a = new Workspace();
+        Workspace b = new Workspace();
+        int[] notifications = new int[1];
+        a.addTrajectoriesListListener(() -> notifications[0]++);
+
+        b.addTrajectory();
+        assertEquals(0, notifications[0]);
+
+        a.addTrajectory();
+        assertEquals(1, notifications[0]);
+    }
+
+    @Test
+    void activeEntitiesArePerWorkspace() {
+        Trajectory tr = new Trajectory("Path");
+        ControlPoint cp = new ControlPoint("A", 0, 0);
+        tr.addControlPoint(cp);
+        ArrayList<Trajectory> trajectories = new ArrayList<>();
+        trajectories.add(tr);
+        Workspace a = new Workspace(trajectories);
+        Workspace b = new Workspace();
+
+        a.setActiveControlPoint(cp);
+
+        assertSame(cp, a.getActiveControlPoint());
+        assertSame(tr, a.getActiveTrajectory());
+        assertNull(b.getActiveControlPoint());
+        assertNull(b.getActiveTrajectory());
+    }
+
+    @Test
+    void namesAreUniqueWithinAWorkspace() {
+        Workspace a = new Workspace();
+        Workspace b = new Workspace();
+
+        a.addTrajectory();
+        a.addTrajectory();
+
+        assertEquals("Trajectory 1", a.getTrajectoryByIndex(0).getName());
+        assertEquals("Trajectory 2", a.getTrajectoryByIndex(1).getName());
+        assertEquals("Trajectory 1", b.getNextAvaliableName());
+    }
+
+    @Test
+    void copiesAreDetachedUntilAdded() {
+        Workspace a = new Workspace();
+        Workspace b = new Workspace();
+        Trajectory tr = new Trajectory("Path");
+        tr.addControlPoint(new ControlPoint("A", 0, 0));
+        a.addTrajectory(tr);
+
+        Trajectory copy = new Trajectory(tr);
+        copy.getControlPoint(0).setX(10);
+
+        assertEquals(0, tr.getControlPoint(0).getX());
+        assertNotSame(tr.getControlPoint(0), copy.getControlPoint(0));
+        assertSame(ModelAccess.UNBOUND, copy.getAccess());
+        assertSame(ModelAccess.UNBOUND, copy.getControlPoint(0).getAccess());
+
+        b.addTrajectory(copy);
+
+        assertSame(b.getAccess(), copy.getAccess());
+        assertSame(b.getAccess(), copy.getControlPoint(0).getAccess());
+    }
+
+}